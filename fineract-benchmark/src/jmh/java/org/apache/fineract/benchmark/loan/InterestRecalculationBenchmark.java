@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.loan;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.LoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleDTO;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DecliningBalanceInterestLoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Regenerates the schedule of a declining balance loan with interest recalculation enabled, replaying its repayments
+ * the way {@code Loan#regenerateRepaymentScheduleWithInterestRecalculation} does after a backdated transaction.
+ * Recalculation runs with the rest frequency same as the repayment period, which needs no rest calendar. Rest dates
+ * are derived by walking the repayment dates from the disbursement again for every transaction and period, which is why
+ * a single recalculation is reported in milliseconds.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InterestRecalculationBenchmark {
+
+    @Param({ "60" })
+    private int installments;
+
+    @Param({ "10", "100", "1000" })
+    private int transactions;
+
+    private LoanScheduleGenerator generator;
+    private LoanRepaymentScheduleTransactionProcessor processor;
+    private HolidayDetailDTO holidayDetail;
+    private Loan loan;
+
+    @Setup
+    public void setUp() {
+        LoanBenchmarkFixtures.initializeContext(LoanBenchmarkFixtures.DISBURSEMENT_DATE);
+        this.generator = new DecliningBalanceInterestLoanScheduleGenerator();
+        this.processor = new FineractStyleLoanRepaymentScheduleTransactionProcessor();
+        this.holidayDetail = LoanBenchmarkFixtures.holidayDetail();
+
+        final LoanScheduleModel schedule = this.generator.generate(LoanBenchmarkFixtures.MATH_CONTEXT, newTerms(), new HashSet<>(),
+                this.holidayDetail);
+        final List<LoanRepaymentScheduleInstallment> scheduleInstallments = LoanBenchmarkFixtures.installmentsFrom(schedule);
+        this.loan = LoanBenchmarkFixtures.loanWithTransactions(LoanBenchmarkFixtures.repayments(this.transactions, scheduleInstallments));
+
+        // recalculation only looks at what happened up to the business date, so move it past the end of the loan
+        LoanBenchmarkFixtures.initializeContext(scheduleInstallments.get(scheduleInstallments.size() - 1).getDueDate().plusDays(1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        LoanBenchmarkFixtures.clearContext();
+    }
+
+    @Benchmark
+    public LoanScheduleDTO recalculate() {
+        return this.generator.rescheduleNextInstallments(LoanBenchmarkFixtures.MATH_CONTEXT, newTerms(), this.loan, this.holidayDetail,
+                this.processor, null);
+    }
+
+    private LoanApplicationTerms newTerms() {
+        return LoanBenchmarkFixtures.monthlyTerms(InterestMethod.DECLINING_BALANCE, this.installments, true, this.holidayDetail);
+    }
+}
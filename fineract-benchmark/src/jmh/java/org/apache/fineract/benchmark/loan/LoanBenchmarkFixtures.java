@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.loan;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyAccumulator;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModelPeriod;
+import org.apache.fineract.portfolio.loanproduct.domain.AmortizationMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestRecalculationCompoundingMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanPreClosureInterestCalculationStrategy;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanRescheduleStrategyMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.RecalculationFrequencyType;
+
+/**
+ * Builds the in-memory loan terms, schedules and transactions the loan benchmarks run against. Everything here is
+ * assembled from domain classes directly, so the benchmarks need neither Spring nor a database; only the thread local
+ * tenant and business date have to be set up on the benchmark thread.
+ */
+final class LoanBenchmarkFixtures {
+
+    static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2020, 1, 6);
+    static final BigDecimal PRINCIPAL = BigDecimal.valueOf(1_000_000);
+    static final MathContext MATH_CONTEXT = new MathContext(8, RoundingMode.HALF_EVEN);
+
+    private static final BigDecimal NOMINAL_INTEREST_RATE_PER_PERIOD = new BigDecimal("0.5");
+    private static final BigDecimal ANNUAL_NOMINAL_INTEREST_RATE = BigDecimal.valueOf(6);
+
+    private static final String CURRENCY_CODE = "USD";
+    private static final int CURRENCY_DIGITS = 2;
+    private static final String ALL_DAYS_WORKING = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU";
+
+    private LoanBenchmarkFixtures() {}
+
+    /**
+     * Sets the tenant, business date and rounding mode the domain reads from thread locals and static helpers. Has to
+     * run on the thread that executes the benchmark.
+     */
+    static void initializeContext(final LocalDate businessDate) {
+        MoneyHelper.initializeRoundingMode(RoundingMode.HALF_EVEN);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "UTC", null));
+        final HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>(
+                Map.of(BusinessDateType.BUSINESS_DATE, businessDate, BusinessDateType.COB_DATE, businessDate.minusDays(1)));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+    }
+
+    static void clearContext() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    static MonetaryCurrency currency() {
+        return new MonetaryCurrency(CURRENCY_CODE, CURRENCY_DIGITS, null);
+    }
+
+    /**
+     * Holiday handling disabled and every day a working day, which keeps the schedule deterministic while still going
+     * through the working day checks on each due date.
+     */
+    static HolidayDetailDTO holidayDetail() {
+        final WorkingDays workingDays = new WorkingDays(ALL_DAYS_WORKING, RepaymentRescheduleType.SAME_DAY.getValue(), false, false) {};
+        return new HolidayDetailDTO(false, new ArrayList<>(), workingDays);
+    }
+
+    /**
+     * Monthly repayments at 6% nominal per year. Terms are mutated while a schedule is generated, so a fresh instance is
+     * needed for every generation.
+     */
+    static LoanApplicationTerms monthlyTerms(final InterestMethod interestMethod, final int numberOfRepayments,
+            final boolean interestRecalculationEnabled, final HolidayDetailDTO holidayDetail) {
+        final MonetaryCurrency currency = currency();
+        final InterestCalculationPeriodMethod interestCalculationPeriodMethod = InterestMethod.FLAT.equals(interestMethod)
+                ? InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD
+                : InterestCalculationPeriodMethod.DAILY;
+        final LoanProductRelatedDetail detail = new LoanProductRelatedDetail(currency, PRINCIPAL, NOMINAL_INTEREST_RATE_PER_PERIOD,
+                PeriodFrequencyType.MONTHS, ANNUAL_NOMINAL_INTEREST_RATE, interestMethod, interestCalculationPeriodMethod, false, 1,
+                PeriodFrequencyType.MONTHS, numberOfRepayments, null, null, null, null, AmortizationMethod.EQUAL_INSTALLMENTS,
+                BigDecimal.ZERO, null, DaysInMonthType.ACTUAL.getValue(), DaysInYearType.DAYS_365.getValue(), interestRecalculationEnabled,
+                false);
+
+        final RecalculationFrequencyType recalculationFrequencyType = interestRecalculationEnabled
+                ? RecalculationFrequencyType.SAME_AS_REPAYMENT_PERIOD
+                : null;
+        final InterestRecalculationCompoundingMethod compoundingMethod = interestRecalculationEnabled
+                ? InterestRecalculationCompoundingMethod.NONE
+                : null;
+        final LoanPreClosureInterestCalculationStrategy preClosureStrategy = interestRecalculationEnabled
+                ? LoanPreClosureInterestCalculationStrategy.TILL_PRE_CLOSURE_DATE
+                : null;
+        final LoanRescheduleStrategyMethod rescheduleStrategyMethod = interestRecalculationEnabled
+                ? LoanRescheduleStrategyMethod.REDUCE_EMI_AMOUNT
+                : null;
+
+        return LoanApplicationTerms.assembleFrom(applicationCurrency(), numberOfRepayments, PeriodFrequencyType.MONTHS, null, null,
+                DISBURSEMENT_DATE, null, null, Money.zero(currency), detail, false, null, new ArrayList<>(), null, null, BigDecimal.ZERO,
+                null, recalculationFrequencyType, null, compoundingMethod, null, null, preClosureStrategy, rescheduleStrategyMethod,
+                PRINCIPAL, ANNUAL_NOMINAL_INTEREST_RATE, new ArrayList<>(), null, false, null, holidayDetail, false, false, numberOfRepayments);
+    }
+
+    /**
+     * Turns the repayment periods of a generated schedule into unsaved installments, the way {@code Loan} does when it
+     * stores a new schedule.
+     */
+    static List<LoanRepaymentScheduleInstallment> installmentsFrom(final LoanScheduleModel schedule) {
+        final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        for (final LoanScheduleModelPeriod period : schedule.getPeriods()) {
+            if (period.isRepaymentPeriod()) {
+                installments.add(new LoanRepaymentScheduleInstallment(null, period.periodNumber(), period.periodFromDate(),
+                        period.periodDueDate(), period.principalDue(), period.interestDue(), period.feeChargesDue(),
+                        period.penaltyChargesDue(), period.isRecalculatedInterestComponent(), period.getLoanCompoundingDetails()));
+            }
+        }
+        return installments;
+    }
+
+    /**
+     * Spreads {@code count} equal repayments that add up to everything due on the installments evenly between the
+     * disbursement and the last due date, so that depending on the date a repayment is early, on time or late against
+     * its installment.
+     */
+    static List<LoanTransaction> repayments(final int count, final List<LoanRepaymentScheduleInstallment> installments) {
+        final MonetaryCurrency currency = currency();
+        final MoneyAccumulator total = MoneyAccumulator.zero(currency);
+        for (final LoanRepaymentScheduleInstallment installment : installments) {
+            total.plus(installment.getDue(currency));
+        }
+        final LocalDate lastDueDate = installments.get(installments.size() - 1).getDueDate();
+        final long days = lastDueDate.toEpochDay() - DISBURSEMENT_DATE.toEpochDay();
+        final BigDecimal amount = total.getAmount().divide(BigDecimal.valueOf(count), CURRENCY_DIGITS, RoundingMode.HALF_EVEN);
+        final List<LoanTransaction> transactions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            final LocalDate date = DISBURSEMENT_DATE.plusDays(days * i / count);
+            transactions.add(LoanTransaction.repayment(null, Money.of(currency, amount), null, date, null));
+        }
+        return transactions;
+    }
+
+    /**
+     * An unsaved loan carrying only the transactions; that is all interest recalculation reads from it when the whole
+     * schedule is regenerated.
+     */
+    static Loan loanWithTransactions(final List<LoanTransaction> transactions) {
+        final Loan loan = new Loan() {};
+        for (final LoanTransaction transaction : transactions) {
+            loan.addLoanTransaction(transaction);
+        }
+        return loan;
+    }
+
+    private static ApplicationCurrency applicationCurrency() {
+        final ApplicationCurrency base = new ApplicationCurrency() {};
+        base.setCode(CURRENCY_CODE);
+        return ApplicationCurrency.from(base, CURRENCY_DIGITS, null);
+    }
+}
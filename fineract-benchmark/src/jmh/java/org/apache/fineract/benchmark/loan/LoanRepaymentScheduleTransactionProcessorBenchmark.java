@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.loan;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.LoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.CreocoreLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.EarlyPaymentLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.HeavensFamilyLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.RBILoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DecliningBalanceInterestLoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Replays the repayments of a loan against its schedule with each {@link LoanRepaymentScheduleTransactionProcessor},
+ * which is what every backdated transaction, adjustment and reversal triggers. The processors reset the installments
+ * and the derived transaction portions before replaying, so the same fixtures are reused across invocations.
+ */
+@State(Scope.Thread)
+public class LoanRepaymentScheduleTransactionProcessorBenchmark {
+
+    @Param({ "FineractStyle", "HeavensFamily", "EarlyPayment", "Creocore", "RBI", "PrincipalInterestPenaltyFeesOrder",
+            "InterestPrincipalPenaltyFeesOrder" })
+    private String processorName;
+
+    @Param({ "360" })
+    private int installments;
+
+    @Param({ "1000" })
+    private int transactions;
+
+    private LoanRepaymentScheduleTransactionProcessor processor;
+    private MonetaryCurrency currency;
+    private List<LoanRepaymentScheduleInstallment> scheduleInstallments;
+    private List<LoanTransaction> repayments;
+    private Set<LoanCharge> charges;
+
+    @Setup
+    public void setUp() {
+        LoanBenchmarkFixtures.initializeContext(LoanBenchmarkFixtures.DISBURSEMENT_DATE);
+        this.processor = processorFor(this.processorName);
+        this.currency = LoanBenchmarkFixtures.currency();
+        this.charges = new HashSet<>();
+
+        final LoanScheduleModel schedule = new DecliningBalanceInterestLoanScheduleGenerator().generate(
+                LoanBenchmarkFixtures.MATH_CONTEXT,
+                LoanBenchmarkFixtures.monthlyTerms(InterestMethod.DECLINING_BALANCE, this.installments, false,
+                        LoanBenchmarkFixtures.holidayDetail()),
+                new HashSet<>(), LoanBenchmarkFixtures.holidayDetail());
+        this.scheduleInstallments = LoanBenchmarkFixtures.installmentsFrom(schedule);
+        this.repayments = LoanBenchmarkFixtures.repayments(this.transactions, this.scheduleInstallments);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LoanBenchmarkFixtures.clearContext();
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail replay() {
+        return this.processor.handleTransaction(LoanBenchmarkFixtures.DISBURSEMENT_DATE, this.repayments, this.currency,
+                this.scheduleInstallments, this.charges);
+    }
+
+    private static LoanRepaymentScheduleTransactionProcessor processorFor(final String name) {
+        switch (name) {
+            case "FineractStyle":
+                return new FineractStyleLoanRepaymentScheduleTransactionProcessor();
+            case "HeavensFamily":
+                return new HeavensFamilyLoanRepaymentScheduleTransactionProcessor();
+            case "EarlyPayment":
+                return new EarlyPaymentLoanRepaymentScheduleTransactionProcessor();
+            case "Creocore":
+                return new CreocoreLoanRepaymentScheduleTransactionProcessor();
+            case "RBI":
+                return new RBILoanRepaymentScheduleTransactionProcessor();
+            case "PrincipalInterestPenaltyFeesOrder":
+                return new PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor();
+            case "InterestPrincipalPenaltyFeesOrder":
+                return new InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor();
+            default:
+                throw new IllegalArgumentException("Unknown repayment schedule transaction processor: " + name);
+        }
+    }
+}
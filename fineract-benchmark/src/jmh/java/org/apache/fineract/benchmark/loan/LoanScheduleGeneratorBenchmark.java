@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.loan;
+
+import java.util.HashSet;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultLoanScheduleGeneratorFactory;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Generates a complete repayment schedule with the declining balance and the flat interest generator. Each invocation
+ * assembles fresh {@link LoanApplicationTerms} because generation mutates them, just as every schedule calculation in
+ * the platform does.
+ */
+@State(Scope.Thread)
+public class LoanScheduleGeneratorBenchmark {
+
+    @Param({ "DECLINING_BALANCE", "FLAT" })
+    private InterestMethod interestMethod;
+
+    @Param({ "12", "60", "360" })
+    private int installments;
+
+    private LoanScheduleGenerator generator;
+    private HolidayDetailDTO holidayDetail;
+
+    @Setup
+    public void setUp() {
+        LoanBenchmarkFixtures.initializeContext(LoanBenchmarkFixtures.DISBURSEMENT_DATE);
+        this.generator = new DefaultLoanScheduleGeneratorFactory().create(this.interestMethod);
+        this.holidayDetail = LoanBenchmarkFixtures.holidayDetail();
+    }
+
+    @TearDown
+    public void tearDown() {
+        LoanBenchmarkFixtures.clearContext();
+    }
+
+    @Benchmark
+    public LoanScheduleModel generate() {
+        final LoanApplicationTerms terms = LoanBenchmarkFixtures.monthlyTerms(this.interestMethod, this.installments, false,
+                this.holidayDetail);
+        return this.generator.generate(LoanBenchmarkFixtures.MATH_CONTEXT, terms, new HashSet<>(), this.holidayDetail);
+    }
+}
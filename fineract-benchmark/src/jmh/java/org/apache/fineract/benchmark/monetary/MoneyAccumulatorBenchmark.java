@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.monetary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyAccumulator;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Sums installment sized amounts the way the schedule generators and {@code LoanSummaryWrapper} do, once by chaining
+ * {@link Money#plus(Money)} and once with a {@link MoneyAccumulator}. Run with the gc profiler to compare allocation
+ * rates as well as time.
+ */
+@State(Scope.Benchmark)
+public class MoneyAccumulatorBenchmark {
+
+    @Param({ "12", "60", "360" })
+    private int installments;
+
+    @Param({ "USD", "XOF" })
+    private String currencyCode;
+
+    private MonetaryCurrency currency;
+    private List<Money> amounts;
+
+    @Setup
+    public void setUp() {
+        MoneyHelper.initializeRoundingMode(RoundingMode.HALF_EVEN);
+        // XOF stands in for a currency without decimals that is rounded to multiples of 5
+        this.currency = "USD".equals(this.currencyCode) ? new MonetaryCurrency("USD", 2, null) : new MonetaryCurrency("XOF", 0, 5);
+        final Random random = new Random(42);
+        this.amounts = new ArrayList<>(this.installments);
+        for (int i = 0; i < this.installments; i++) {
+            this.amounts.add(Money.of(this.currency, BigDecimal.valueOf(random.nextInt(10_000_000), 2)));
+        }
+    }
+
+    @Benchmark
+    public Money moneyPlus() {
+        Money total = Money.zero(this.currency);
+        for (final Money amount : this.amounts) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneyAccumulator() {
+        final MoneyAccumulator total = MoneyAccumulator.zero(this.currency);
+        for (final Money amount : this.amounts) {
+            total.plus(amount);
+        }
+        return total.toMoney();
+    }
+
+    @Benchmark
+    public Money moneyPlusAndMinus() {
+        Money outstanding = Money.zero(this.currency);
+        for (final Money amount : this.amounts) {
+            outstanding = outstanding.plus(amount).minus(amount.getAmount().movePointLeft(1));
+        }
+        return outstanding;
+    }
+
+    @Benchmark
+    public Money moneyAccumulatorPlusAndMinus() {
+        final MoneyAccumulator outstanding = MoneyAccumulator.zero(this.currency);
+        for (final Money amount : this.amounts) {
+            outstanding.plus(amount).minus(amount.getAmount().movePointLeft(1));
+        }
+        return outstanding.toMoney();
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.serialization;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Validates a loan application payload the way the command pipeline does: the JSON is always parsed once into the
+ * {@code JsonCommand}, then either re-read from the raw string by the validator (deserialized into a map for the
+ * unsupported parameter check, parsed again, and each charge serialized and deserialized for its own check) or checked
+ * against the already parsed tree.
+ */
+@State(Scope.Benchmark)
+public class CommandValidationBenchmark {
+
+    private static final Type TYPE_OF_MAP = new TypeToken<Map<String, Object>>() {}.getType();
+
+    private static final Set<String> SUPPORTED_PARAMETERS = new HashSet<>(Arrays.asList("dateFormat", "locale", "loanType", "clientId",
+            "productId", "principal", "loanTermFrequency", "loanTermFrequencyType", "numberOfRepayments", "repaymentEvery",
+            "repaymentFrequencyType", "interestRatePerPeriod", "amortizationType", "interestType", "interestCalculationPeriodType",
+            "transactionProcessingStrategyId", "expectedDisbursementDate", "submittedOnDate", "externalId", "charges",
+            "disbursementData"));
+
+    private static final Set<String> SUPPORTED_CHARGE_PARAMETERS = new HashSet<>(
+            Arrays.asList("id", "chargeId", "amount", "chargeTimeType", "chargeCalculationType", "dueDate"));
+
+    @Param({ "5", "50" })
+    private int charges;
+
+    private FromJsonHelper fromJsonHelper;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        this.fromJsonHelper = new FromJsonHelper();
+        final JsonObject command = new JsonObject();
+        command.addProperty("dateFormat", "dd MMMM yyyy");
+        command.addProperty("locale", "en");
+        command.addProperty("loanType", "individual");
+        command.addProperty("clientId", 1);
+        command.addProperty("productId", 1);
+        command.addProperty("principal", "100000.00");
+        command.addProperty("loanTermFrequency", 12);
+        command.addProperty("loanTermFrequencyType", 2);
+        command.addProperty("numberOfRepayments", 12);
+        command.addProperty("repaymentEvery", 1);
+        command.addProperty("repaymentFrequencyType", 2);
+        command.addProperty("interestRatePerPeriod", 2);
+        command.addProperty("amortizationType", 1);
+        command.addProperty("interestType", 0);
+        command.addProperty("interestCalculationPeriodType", 1);
+        command.addProperty("transactionProcessingStrategyId", 1);
+        command.addProperty("expectedDisbursementDate", "01 January 2023");
+        command.addProperty("submittedOnDate", "01 January 2023");
+        command.addProperty("externalId", "benchmark-loan");
+        final JsonArray chargeArray = new JsonArray();
+        for (int i = 0; i < this.charges; i++) {
+            final JsonObject charge = new JsonObject();
+            charge.addProperty("chargeId", i + 1);
+            charge.addProperty("amount", "10.00");
+            charge.addProperty("dueDate", "01 February 2023");
+            chargeArray.add(charge);
+        }
+        command.add("charges", chargeArray);
+        final JsonArray disbursementData = new JsonArray();
+        for (int i = 0; i < 12; i++) {
+            final JsonObject tranche = new JsonObject();
+            tranche.addProperty("expectedDisbursementDate", "01 January 2023");
+            tranche.addProperty("principal", "8000.00");
+            disbursementData.add(tranche);
+        }
+        command.add("disbursementData", disbursementData);
+        this.json = this.fromJsonHelper.toJson(command);
+    }
+
+    @Benchmark
+    public JsonElement reparseRawJson() {
+        this.fromJsonHelper.parse(this.json);
+
+        this.fromJsonHelper.checkForUnsupportedParameters(TYPE_OF_MAP, this.json, SUPPORTED_PARAMETERS);
+        final JsonElement element = this.fromJsonHelper.parse(this.json);
+        for (final JsonElement charge : element.getAsJsonObject().getAsJsonArray("charges")) {
+            final String chargeJson = this.fromJsonHelper.toJson(charge);
+            this.fromJsonHelper.checkForUnsupportedParameters(TYPE_OF_MAP, chargeJson, SUPPORTED_CHARGE_PARAMETERS);
+        }
+        return element;
+    }
+
+    @Benchmark
+    public JsonElement sharedParsedTree() {
+        final JsonElement element = this.fromJsonHelper.parse(this.json);
+
+        this.fromJsonHelper.checkForUnsupportedParameters(element, SUPPORTED_PARAMETERS);
+        for (final JsonElement charge : element.getAsJsonObject().getAsJsonArray("charges")) {
+            this.fromJsonHelper.checkForUnsupportedParameters(charge.getAsJsonObject(), SUPPORTED_CHARGE_PARAMETERS);
+        }
+        return element;
+    }
+}
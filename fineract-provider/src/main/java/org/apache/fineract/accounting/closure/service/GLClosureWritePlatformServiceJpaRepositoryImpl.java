@@ -32,6 +32,7 @@ import org.apache.fineract.accounting.closure.exception.GLClosureInvalidExceptio
 import org.apache.fineract.accounting.closure.exception.GLClosureInvalidException.GlClosureInvalidReason;
 import org.apache.fineract.accounting.closure.exception.GLClosureNotFoundException;
 import org.apache.fineract.accounting.closure.serialization.GLClosureCommandFromApiJsonDeserializer;
+import org.apache.fineract.accounting.common.AccountingMappingCache;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
@@ -53,6 +54,7 @@ public class GLClosureWritePlatformServiceJpaRepositoryImpl implements GLClosure
     private final GLClosureRepository glClosureRepository;
     private final OfficeRepositoryWrapper officeRepositoryWrapper;
     private final GLClosureCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    private final AccountingMappingCache accountingMappingCache;
 
     @Transactional
     @Override
@@ -81,6 +83,7 @@ public class GLClosureWritePlatformServiceJpaRepositoryImpl implements GLClosure
             final GLClosure glClosure = GLClosure.fromJson(office, command);
 
             this.glClosureRepository.saveAndFlush(glClosure);
+            this.accountingMappingCache.invalidateClosingDates();
 
             return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withOfficeId(officeId)
                     .withEntityId(glClosure.getId()).build();
@@ -105,6 +108,7 @@ public class GLClosureWritePlatformServiceJpaRepositoryImpl implements GLClosure
 
         if (!changesOnly.isEmpty()) {
             this.glClosureRepository.saveAndFlush(glClosure);
+            this.accountingMappingCache.invalidateClosingDates();
         }
 
         return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withOfficeId(glClosure.getOffice().getId())
@@ -128,6 +132,7 @@ public class GLClosureWritePlatformServiceJpaRepositoryImpl implements GLClosure
         }
 
         this.glClosureRepository.delete(glClosure);
+        this.accountingMappingCache.invalidateClosingDates();
 
         return new CommandProcessingResultBuilder().withOfficeId(glClosure.getOffice().getId()).withEntityId(glClosure.getId()).build();
     }
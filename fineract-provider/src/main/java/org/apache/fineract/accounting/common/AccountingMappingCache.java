@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.common;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.fineract.accounting.closure.domain.GLClosure;
+import org.apache.fineract.accounting.closure.domain.GLClosureRepository;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMapping;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMappingRepository;
+import org.apache.fineract.infrastructure.cache.service.TenantVersionedCache;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.portfolio.charge.domain.ChargeRepositoryWrapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of the lookups made for every journal entry leg: the GL account of product to GL account mappings
+ * and of charges, and the latest closing date of each office. Only ids and dates are cached, never entities.
+ *
+ * Both are kept per tenant in a {@link TenantVersionedCache}; every write to product mappings or charges calls
+ * {@link #invalidate()} and every write to closures calls {@link #invalidateClosingDates()}. Closing dates have their
+ * own version so that closing a period does not drop the mappings of the tenant.
+ */
+@Component
+public class AccountingMappingCache {
+
+    private static final String CACHE_NAME = "accounting_mapping";
+    private static final String CLOSING_DATES_CACHE_NAME = "gl_closure";
+
+    private final ProductToGLAccountMappingRepository accountMappingRepository;
+    private final ChargeRepositoryWrapper chargeRepositoryWrapper;
+    private final GLClosureRepository closureRepository;
+    private final TenantVersionedCache<Entries> cache;
+    private final TenantVersionedCache<Map<Long, Optional<LocalDate>>> closingDates;
+
+    public AccountingMappingCache(final JdbcTemplate jdbcTemplate, final ProductToGLAccountMappingRepository accountMappingRepository,
+            final ChargeRepositoryWrapper chargeRepositoryWrapper, final GLClosureRepository closureRepository,
+            final FineractProperties fineractProperties) {
+        this.accountMappingRepository = accountMappingRepository;
+        this.chargeRepositoryWrapper = chargeRepositoryWrapper;
+        this.closureRepository = closureRepository;
+        final FineractProperties.FineractAccountingProperties accounting = fineractProperties.getAccounting();
+        final Integer checkIntervalSeconds = accounting == null ? null : accounting.getMappingCacheCheckIntervalSeconds();
+        this.cache = new TenantVersionedCache<>(jdbcTemplate, CACHE_NAME, checkIntervalSeconds, Entries::new);
+        this.closingDates = new TenantVersionedCache<>(jdbcTemplate, CLOSING_DATES_CACHE_NAME, checkIntervalSeconds,
+                ConcurrentHashMap::new);
+    }
+
+    /**
+     * GL account id of the general mapping of the product, or null if there is none.
+     */
+    public Long getProductAccountId(final Long productId, final int productType, final int financialAccountType) {
+        return getAccountId("P:" + productType + ":" + productId + ":" + financialAccountType, () -> this.accountMappingRepository
+                .findCoreProductToFinAccountMapping(productId, productType, financialAccountType));
+    }
+
+    /**
+     * GL account id of the mapping of the product specific to a payment type, or null if there is none.
+     */
+    public Long getPaymentTypeAccountId(final Long productId, final int productType, final int financialAccountType,
+            final Long paymentTypeId) {
+        return getAccountId("PT:" + productType + ":" + productId + ":" + financialAccountType + ":" + paymentTypeId,
+                () -> this.accountMappingRepository.findByProductIdAndProductTypeAndFinancialAccountTypeAndPaymentTypeId(productId,
+                        productType, financialAccountType, paymentTypeId));
+    }
+
+    /**
+     * GL account id of the mapping of the product specific to a charge, or null if there is none.
+     */
+    public Long getChargeMappingAccountId(final Long productId, final int productType, final int financialAccountType,
+            final Long chargeId) {
+        return getAccountId("CH:" + productType + ":" + productId + ":" + financialAccountType + ":" + chargeId,
+                () -> this.accountMappingRepository.findProductIdAndProductTypeAndFinancialAccountTypeAndChargeId(productId, productType,
+                        financialAccountType, chargeId));
+    }
+
+    /**
+     * GL account id set on the charge itself, or null if there is none. Throws when the charge does not exist.
+     */
+    public Long getChargeAccountId(final Long chargeId) {
+        return this.cache.get().chargeAccounts.computeIfAbsent(chargeId, id -> {
+            final GLAccount account = this.chargeRepositoryWrapper.findOneWithNotFoundDetection(id).getAccount();
+            return Optional.ofNullable(account == null ? null : account.getId());
+        }).orElse(null);
+    }
+
+    /**
+     * Closing date of the latest closure of the office, or null if the office was never closed.
+     */
+    public LocalDate getLatestClosingDate(final Long officeId) {
+        return this.closingDates.get().computeIfAbsent(officeId, id -> {
+            final GLClosure closure = this.closureRepository.getLatestGLClosureByBranch(id);
+            return Optional.ofNullable(closure == null ? null : closure.getClosingDate());
+        }).orElse(null);
+    }
+
+    public void invalidate() {
+        this.cache.invalidate();
+    }
+
+    public void invalidateClosingDates() {
+        this.closingDates.invalidate();
+    }
+
+    private Long getAccountId(final String key, final Supplier<ProductToGLAccountMapping> loader) {
+        return this.cache.get().mappings.computeIfAbsent(key, k -> {
+            final ProductToGLAccountMapping mapping = loader.get();
+            return Optional.ofNullable(mapping == null ? null : mapping.getGlAccount().getId());
+        }).orElse(null);
+    }
+
+    private static final class Entries {
+
+        private final Map<String, Optional<Long>> mappings = new ConcurrentHashMap<>();
+        private final Map<Long, Optional<Long>> chargeAccounts = new ConcurrentHashMap<>();
+    }
+}
@@ -41,6 +41,14 @@ public class GLAccountRepositoryWrapper {
         return this.repository.findById(id).orElseThrow(() -> new GLAccountNotFoundException(id));
     }
 
+    /**
+     * Reference to the account that is only loaded once more than its id is used, for callers that already know the
+     * account exists.
+     */
+    public GLAccount getReference(final Long id) {
+        return this.repository.getReferenceById(id);
+    }
+
     // finding account id by glcode for opening balance bulk import
     public GLAccount findOneByGlCodeWithNotFoundDetection(final String glCode) {
         return this.repository.findOneByGlCode(glCode).orElseThrow(() -> new GLAccountNotFoundException(glCode));
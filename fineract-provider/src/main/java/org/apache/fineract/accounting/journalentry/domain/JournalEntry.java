@@ -223,6 +223,10 @@ public class JournalEntry extends AbstractAuditableCustom {
         return this.reversed;
     }
 
+    public boolean isManualEntry() {
+        return this.manualEntry;
+    }
+
     public String getDescription() {
         return this.description;
     }
@@ -21,7 +21,6 @@ package org.apache.fineract.accounting.journalentry.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import org.apache.fineract.accounting.closure.domain.GLClosure;
 import org.apache.fineract.accounting.common.AccountingConstants.ACCRUAL_ACCOUNTS_FOR_SAVINGS;
 import org.apache.fineract.accounting.common.AccountingConstants.FINANCIAL_ACTIVITY;
 import org.apache.fineract.accounting.journalentry.data.ChargePaymentDTO;
@@ -43,7 +42,7 @@ public class AccrualBasedAccountingProcessorForSavings implements AccountingProc
 
     @Override
     public void createJournalEntriesForSavings(final SavingsDTO savingsDTO) {
-        final GLClosure latestGLClosure = this.helper.getLatestClosureByBranch(savingsDTO.getOfficeId());
+        final LocalDate latestClosingDate = this.helper.getLatestClosingDateByBranch(savingsDTO.getOfficeId());
         final Long savingsProductId = savingsDTO.getSavingsProductId();
         final Long savingsId = savingsDTO.getSavingsId();
         final String currencyCode = savingsDTO.getCurrencyCode();
@@ -60,7 +59,7 @@ public class AccrualBasedAccountingProcessorForSavings implements AccountingProc
             final BigDecimal value = amount.subtract(overdraftAmount);
             if (!savingsTransactionDTO.getTransactionType().isAccrualInterestPosting()
                     && !savingsTransactionDTO.getTransactionType().isOverdraftAccrualInterest()) {
-                this.helper.checkForBranchClosures(latestGLClosure, transactionDate);
+                this.helper.checkForBranchClosures(latestClosingDate, transactionDate);
             }
 
             if (savingsTransactionDTO.getTransactionType().isWithdrawal() && savingsTransactionDTO.isOverdraftTransaction()) {
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException.GlJournalEntryInvalidReason;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the journal entries of one business transaction with a single JDBC batch insert, after checking that their
+ * debits and credits balance. {@link JournalEntry} ids are generated by the database, which keeps Hibernate from
+ * batching the inserts itself, and the entries are not used as entities after they have been posted.
+ */
+@Component
+@RequiredArgsConstructor
+public class JournalEntryBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO acc_gl_journal_entry (office_id, payment_details_id, account_id, "
+            + "currency_code, transaction_id, loan_transaction_id, savings_transaction_id, client_transaction_id, "
+            + "share_transaction_id, reversed, manual_entry, entry_date, type_enum, amount, description, entity_type_enum, entity_id, "
+            + "ref_num, createdby_id, created_date, lastmodifiedby_id, lastmodified_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<Long> auditorAware;
+
+    public void write(final List<JournalEntry> journalEntries) {
+        if (journalEntries.isEmpty()) {
+            return;
+        }
+        validateBalanced(journalEntries);
+
+        final Long auditor = this.auditorAware.getCurrentAuditor().orElse(null);
+        final LocalDateTime now = DateUtils.getLocalDateTimeOfSystem();
+        final List<Object[]> rows = new ArrayList<>(journalEntries.size());
+        for (final JournalEntry journalEntry : journalEntries) {
+            rows.add(new Object[] { id(journalEntry.getOffice()), id(journalEntry.getPaymentDetails()), id(journalEntry.getGlAccount()),
+                    journalEntry.getCurrencyCode(), journalEntry.getTransactionId(), id(journalEntry.getLoanTransaction()),
+                    id(journalEntry.getSavingsTransaction()), id(journalEntry.getClientTransaction()), journalEntry.getShareTransactionId(),
+                    journalEntry.isReversed(), journalEntry.isManualEntry(), journalEntry.getTransactionDate(), journalEntry.getType(),
+                    journalEntry.getAmount(), journalEntry.getDescription(), journalEntry.getEntityType(), journalEntry.getEntityId(),
+                    journalEntry.getReferenceNumber(), auditor, now, auditor, now });
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private static void validateBalanced(final List<JournalEntry> journalEntries) {
+        final Map<String, BigDecimal> balanceByCurrency = new HashMap<>();
+        for (final JournalEntry journalEntry : journalEntries) {
+            final BigDecimal amount = journalEntry.isDebitEntry() ? journalEntry.getAmount() : journalEntry.getAmount().negate();
+            balanceByCurrency.merge(journalEntry.getCurrencyCode(), amount, BigDecimal::add);
+        }
+        for (final BigDecimal balance : balanceByCurrency.values()) {
+            if (balance.compareTo(BigDecimal.ZERO) != 0) {
+                throw new JournalEntryInvalidException(GlJournalEntryInvalidReason.DEBIT_CREDIT_SUM_MISMATCH,
+                        journalEntries.get(0).getTransactionDate(), null, null);
+            }
+        }
+    }
+
+    private static Long id(final AbstractPersistableCustom entity) {
+        return entity == null ? null : entity.getId();
+    }
+}
@@ -19,41 +19,60 @@
 package org.apache.fineract.accounting.journalentry.service;
 
 import java.math.BigDecimal;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.accounting.common.AccountingEnumerations;
 import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
 import org.apache.fineract.accounting.journalentry.api.JournalEntryJsonInputParams;
-import org.apache.fineract.accounting.journalentry.data.JournalEntryData;
 import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobItemProcessor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobParameters;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Recalculates the organization and office running balances of journal entries.
+ *
+ * The organization running balance of an entry only depends on the earlier entries of the same GL account, and the
+ * office running balance on the earlier entries of the same GL account and office, so every GL account is recalculated
+ * independently and in parallel on the {@link PartitionedJobExecutor}. The entries of an account are read in pages
+ * ordered by entry date and id, starting at its oldest entry that is not calculated yet, and written back with one
+ * prepared batch update per page. Each page is committed together with its {@code is_running_balance_calculated} flags,
+ * so that a run that is interrupted continues from the first page that was not committed.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntryRunningBalanceUpdateService {
 
+    private static final int DEFAULT_THREAD_POOL_SIZE = 4;
+    private static final int DEFAULT_PAGE_SIZE = 5000;
+
+    private static final String ORGANIZATION_UPDATE_SQL = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=true, "
+            + "organization_running_balance=?, office_running_balance=? WHERE id=?";
+    private static final String OFFICE_UPDATE_SQL = "UPDATE acc_gl_journal_entry SET office_running_balance=? WHERE id=?";
+
     private final JdbcTemplate jdbcTemplate;
 
     private final OfficeRepositoryWrapper officeRepositoryWrapper;
@@ -62,20 +81,14 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
 
     private final FromJsonHelper fromApiJsonHelper;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
-
-    private final GLJournalEntryMapper entryMapper = new GLJournalEntryMapper();
+    private final TransactionTemplate transactionTemplate;
+    private final FineractProperties fineractProperties;
+    private final PartitionedJobExecutor partitionedJobExecutor;
 
     @Override
     @CronTarget(jobName = JobName.ACCOUNTING_RUNNING_BALANCE_UPDATE)
-    public void updateRunningBalance() {
-        String dateFinder = "select MIN(je.entry_date) as entityDate from acc_gl_journal_entry  je "
-                + "where je.is_running_balance_calculated=false ";
-        try {
-            LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class);
-            updateOrganizationRunningBalance(entityDate);
-        } catch (EmptyResultDataAccessException e) {
-            log.debug("No results found for updation of running balance ");
-        }
+    public void updateRunningBalance() throws JobExecutionException {
+        updateAccounts("Running balance update", null);
     }
 
     @Override
@@ -85,145 +98,173 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
                 command.parsedJson());
         CommandProcessingResultBuilder commandProcessingResultBuilder = new CommandProcessingResultBuilder()
                 .withCommandId(command.commandId());
-        if (officeId == null) {
-            updateRunningBalance();
-        } else {
-            this.officeRepositoryWrapper.findOneWithNotFoundDetection(officeId);
-            String dateFinder = "select MIN(je.entry_date) as entityDate " + "from acc_gl_journal_entry  je "
-                    + "where je.is_running_balance_calculated=false  and je.office_id=?";
-            try {
-                LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class, officeId);
-                updateRunningBalance(officeId, entityDate);
-            } catch (EmptyResultDataAccessException e) {
-                log.debug("No results found for updation of office running balance with office id: {}", officeId);
+        try {
+            if (officeId == null) {
+                updateRunningBalance();
+            } else {
+                this.officeRepositoryWrapper.findOneWithNotFoundDetection(officeId);
+                updateAccounts("Office running balance update for office " + officeId, officeId);
+                commandProcessingResultBuilder.withOfficeId(officeId);
             }
-            commandProcessingResultBuilder.withOfficeId(officeId);
+        } catch (JobExecutionException e) {
+            throw new GeneralPlatformDomainRuleException("error.msg.journalentry.running.balance.update.failed",
+                    "Running balance update failed for " + e.getCauses().size() + " GL accounts", e);
         }
         return commandProcessingResultBuilder.build();
     }
 
-    private void updateOrganizationRunningBalance(LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-        Map<Long, Map<Long, BigDecimal>> officesRunningBalance = new HashMap<>();
-
-        final String organizationRunningBalanceQuery = "select je.organization_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
+    /**
+     * Recalculates the GL accounts with pending entries on the {@link PartitionedJobExecutor}, one account per chunk so
+     * that the accounts are spread over the workers. With an office, only the office running balances of that office
+     * are recalculated and the entries are not marked as calculated, as the organization running balances still have to
+     * be updated.
+     */
+    private void updateAccounts(final String description, final Long officeId) throws JobExecutionException {
+        final int threadPoolSize = threadPoolSize();
+        final int pageSize = pageSize();
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        try {
+            this.partitionedJobExecutor.execute(description, new PartitionedJobParameters(threadPoolSize, 1, threadPoolSize * 2),
+                    (lastAccountId, accountPageSize) -> retrievePendingAccountIds(officeId, lastAccountId, accountPageSize),
+                    new PartitionedJobItemProcessor<Void>() {
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(organizationRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
+                        @Override
+                        public void process(final Long accountId, final Void chunkData) {
+                            try {
+                                updateAccount(accountId, officeId, pageSize);
+                            } catch (RuntimeException e) {
+                                log.error("{}: failed for GL account {}", description, accountId, e);
+                                errors.add(e);
+                            }
+                        }
 
-        for (Map<String, Object> entries : list) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString()); // Drizzle
-                                                                                  // is
-                                                                                  // returning
-                                                                                  // Big
-                                                                                  // Integer
-                                                                                  // where
-                                                                                  // as
-                                                                                  // MySQL
-                                                                                  // returns
-                                                                                  // Long.
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
+                        @Override
+                        public boolean isChunkTransactional() {
+                            // every page of an account commits on its own so that an interrupted run can resume
+                            return false;
+                        }
+                    });
+        } catch (JobExecutionException e) {
+            errors.addAll(e.getCauses());
         }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
 
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId,je.office_id as officeId "
-                + "from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by office_id,account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by office_id,account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
+    private List<Long> retrievePendingAccountIds(final Long officeId, final Long lastAccountId, final int limit) {
+        final String officeCondition = officeId == null ? "" : " and je.office_id=?";
+        return this.jdbcTemplate.queryForList("select distinct je.account_id from acc_gl_journal_entry je "
+                + "where je.is_running_balance_calculated=false" + officeCondition + " and je.account_id > ? order by je.account_id "
+                + this.sqlGenerator.limit(limit), Long.class, officeId == null ? new Object[] { lastAccountId }
+                        : new Object[] { officeId, lastAccountId });
+    }
 
-        List<Map<String, Object>> officesRunningBalanceList = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
-        for (Map<String, Object> entries : officesRunningBalanceList) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString());
-            Long officeId = Long.parseLong(entries.get("officeId").toString());
-            Map<Long, BigDecimal> runningBalance = null;
-            if (officesRunningBalance.containsKey(officeId)) {
-                runningBalance = officesRunningBalance.get(officeId);
-            } else {
-                runningBalance = new HashMap<>();
-                officesRunningBalance.put(officeId, runningBalance);
-            }
-            if (!runningBalance.containsKey(accountId)) {
-                runningBalance.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
+    private void updateAccount(final Long accountId, final Long officeId, final int pageSize) {
+        final String officeCondition = officeId == null ? "" : " and je.office_id=?";
+        final LocalDate startDate = this.jdbcTemplate.queryForObject("select min(je.entry_date) from acc_gl_journal_entry je "
+                + "where je.account_id=? and je.is_running_balance_calculated=false" + officeCondition, LocalDate.class,
+                queryArgs(accountId, officeId));
+        if (startDate == null) {
+            return;
         }
+        final Integer classification = this.jdbcTemplate.queryForObject("select classification_enum from acc_gl_account where id=?",
+                Integer.class, accountId);
+        final GLAccountType accountType = GLAccountType.fromInt(classification);
 
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.organizationRunningBalanceSchema(), entryMapper, entityDate);
-        if (entryDatas.size() > 0) {
-            // run a batch update of 1000 SQL statements at a time
-            final Integer batchUpdateSize = 1000;
-            ArrayList<String> updateSql = new ArrayList<>();
-            int batchIndex = 0;
-            for (int index = 0; index < entryDatas.size(); index++) {
-                JournalEntryData entryData = entryDatas.get(index);
-                Map<Long, BigDecimal> officeRunningBalanceMap = null;
-                if (officesRunningBalance.containsKey(entryData.getOfficeId())) {
-                    officeRunningBalanceMap = officesRunningBalance.get(entryData.getOfficeId());
-                } else {
-                    officeRunningBalanceMap = new HashMap<>();
-                    officesRunningBalance.put(entryData.getOfficeId(), officeRunningBalanceMap);
+        final BigDecimal[] organizationRunningBalance = new BigDecimal[1];
+        if (officeId == null) {
+            // entries after the start date that were calculated before are recalculated as well; clearing their flag up
+            // front makes the calculated entries of the account a prefix in entry order, which is where a rerun resumes
+            this.jdbcTemplate.update("UPDATE acc_gl_journal_entry SET is_running_balance_calculated=false "
+                    + "WHERE account_id=? AND entry_date >= ? AND is_running_balance_calculated=true", accountId, startDate);
+            organizationRunningBalance[0] = lastRunningBalance("organization_running_balance", "je.account_id=?", startDate, accountId);
+        }
+        final Map<Long, BigDecimal> officeRunningBalances = new HashMap<>();
+
+        final String pageSql = "select je.id as id, je.office_id as officeId, je.entry_date as entryDate, je.type_enum as entryType, "
+                + "je.amount as amount from acc_gl_journal_entry je where je.account_id=?" + officeCondition
+                + " and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) order by je.entry_date, je.id "
+                + this.sqlGenerator.limit(pageSize);
+
+        LocalDate lastDate = startDate;
+        Long lastId = 0L;
+        while (true) {
+            final LocalDate fromDate = lastDate;
+            final Long fromId = lastId;
+            final List<RunningBalanceEntry> entries = this.transactionTemplate.execute(status -> {
+                final List<RunningBalanceEntry> page = this.jdbcTemplate.query(pageSql,
+                        (rs, rowNum) -> new RunningBalanceEntry(rs.getLong("id"), rs.getLong("officeId"),
+                                JdbcSupport.getLocalDate(rs, "entryDate"), JdbcSupport.getInteger(rs, "entryType"),
+                                rs.getBigDecimal("amount")),
+                        queryArgs(accountId, officeId, fromDate, fromDate, fromId));
+                final List<Object[]> updates = new ArrayList<>(page.size());
+                for (final RunningBalanceEntry entry : page) {
+                    final boolean increase = isIncrease(accountType, JournalEntryType.fromInt(entry.entryType));
+                    final BigDecimal officeRunningBalance = apply(
+                            officeRunningBalances.computeIfAbsent(entry.officeId,
+                                    office -> lastRunningBalance("office_running_balance", "je.account_id=? and je.office_id=?",
+                                            startDate, accountId, office)),
+                            entry.amount, increase);
+                    officeRunningBalances.put(entry.officeId, officeRunningBalance);
+                    if (officeId == null) {
+                        organizationRunningBalance[0] = apply(organizationRunningBalance[0], entry.amount, increase);
+                        updates.add(new Object[] { organizationRunningBalance[0], officeRunningBalance, entry.id });
+                    } else {
+                        updates.add(new Object[] { officeRunningBalance, entry.id });
+                    }
                 }
-                BigDecimal officeRunningBalance = calculateRunningBalance(entryData, officeRunningBalanceMap);
-                BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-                String sql = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=true, organization_running_balance="
-                        + runningBalance + ",office_running_balance=" + officeRunningBalance + " WHERE  id=" + entryData.getId();
-                updateSql.add(sql);
-                batchIndex++;
-                if (batchIndex == batchUpdateSize || index == entryDatas.size() - 1) {
-                    // run a batch update of the 1000 update SQL statements
-                    String[] batch = new String[updateSql.size()];
-                    updateSql.toArray(batch);
-                    this.jdbcTemplate.batchUpdate(batch);
-                    // reset counter and string array
-                    batchIndex = 0;
-                    updateSql.clear();
+                if (!updates.isEmpty()) {
+                    this.jdbcTemplate.batchUpdate(officeId == null ? ORGANIZATION_UPDATE_SQL : OFFICE_UPDATE_SQL, updates);
                 }
+                return page;
+            });
+            if (entries == null || entries.isEmpty()) {
+                return;
+            }
+            final RunningBalanceEntry last = entries.get(entries.size() - 1);
+            lastDate = last.entryDate;
+            lastId = last.id;
+            log.debug("Running balance of GL account {} calculated up to entry {} of {}", accountId, lastId, lastDate);
+            if (entries.size() < pageSize) {
+                return;
             }
         }
-
     }
 
-    private void updateRunningBalance(Long officeId, LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where office_id=?  and entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where office_id=? and entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
-
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                officeId, entityDate, officeId, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
+    /**
+     * Running balance of the latest entry before the given date matching the condition, zero if there is none.
+     */
+    private BigDecimal lastRunningBalance(final String column, final String condition, final LocalDate beforeDate, final Object... args) {
+        final Object[] queryArgs = new Object[args.length + 1];
+        System.arraycopy(args, 0, queryArgs, 0, args.length);
+        queryArgs[args.length] = beforeDate;
+        final List<BigDecimal> balances = this.jdbcTemplate.queryForList("select je." + column + " from acc_gl_journal_entry je where "
+                + condition + " and je.entry_date < ? order by je.entry_date desc, je.id desc " + this.sqlGenerator.limit(1),
+                BigDecimal.class, queryArgs);
+        if (balances.isEmpty() || balances.get(0) == null) {
+            return BigDecimal.ZERO;
         }
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.officeRunningBalanceSchema(), entryMapper, officeId, entityDate);
-        String[] updateSql = new String[entryDatas.size()];
-        int i = 0;
-        for (JournalEntryData entryData : entryDatas) {
-            BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-            String sql = "UPDATE acc_gl_journal_entry SET office_running_balance=" + runningBalance + " WHERE id=" + entryData.getId();
-            updateSql[i++] = sql;
-        }
-        this.jdbcTemplate.batchUpdate(updateSql);
+        return balances.get(0);
     }
 
-    private BigDecimal calculateRunningBalance(JournalEntryData entry, Map<Long, BigDecimal> runningBalanceMap) {
-        BigDecimal runningBalance = BigDecimal.ZERO;
-        if (runningBalanceMap.containsKey(entry.getGlAccountId())) {
-            runningBalance = runningBalanceMap.get(entry.getGlAccountId());
+    private static Object[] queryArgs(final Long accountId, final Long officeId, final Object... args) {
+        final List<Object> queryArgs = new ArrayList<>(args.length + 2);
+        queryArgs.add(accountId);
+        if (officeId != null) {
+            queryArgs.add(officeId);
         }
-        GLAccountType accounttype = GLAccountType.fromInt(entry.getGlAccountType().getId().intValue());
-        JournalEntryType entryType = JournalEntryType.fromInt(entry.getEntryType().getId().intValue());
+        queryArgs.addAll(Arrays.asList(args));
+        return queryArgs.toArray();
+    }
+
+    private static BigDecimal apply(final BigDecimal runningBalance, final BigDecimal amount, final boolean increase) {
+        return increase ? runningBalance.add(amount) : runningBalance.subtract(amount);
+    }
+
+    private static boolean isIncrease(final GLAccountType accountType, final JournalEntryType entryType) {
         boolean isIncrease = false;
-        switch (accounttype) {
+        switch (accountType) {
             case ASSET:
                 if (entryType.isDebitType()) {
                     isIncrease = true;
@@ -250,46 +291,36 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
                 }
             break;
         }
-        if (isIncrease) {
-            runningBalance = runningBalance.add(entry.getAmount());
-        } else {
-            runningBalance = runningBalance.subtract(entry.getAmount());
-        }
-        runningBalanceMap.put(entry.getGlAccountId(), runningBalance);
-        return runningBalance;
+        return isIncrease;
     }
 
-    private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
-
-        public String officeRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId,je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.office_id=? and je.entry_date >= ? order by je.entry_date,je.id";
-        }
+    private int threadPoolSize() {
+        final FineractProperties.FineractAccountingProperties accounting = this.fineractProperties.getAccounting();
+        return accounting == null || accounting.getRunningBalanceThreadPoolSize() <= 0 ? DEFAULT_THREAD_POOL_SIZE
+                : accounting.getRunningBalanceThreadPoolSize();
+    }
 
-        public String organizationRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId," + "je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId  "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.entry_date >= ? order by je.entry_date,je.id";
-        }
+    private int pageSize() {
+        final FineractProperties.FineractAccountingProperties accounting = this.fineractProperties.getAccounting();
+        return accounting == null || accounting.getRunningBalancePageSize() <= 0 ? DEFAULT_PAGE_SIZE
+                : accounting.getRunningBalancePageSize();
+    }
 
-        @Override
-        public JournalEntryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+    private static final class RunningBalanceEntry {
 
-            final Long id = rs.getLong("id");
-            final Long glAccountId = rs.getLong("glAccountId");
-            final Long officeId = rs.getLong("officeId");
-            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
-            final EnumOptionData accountType = AccountingEnumerations.gLAccountType(accountTypeId);
-            final BigDecimal amount = rs.getBigDecimal("amount");
-            final int entryTypeId = JdbcSupport.getInteger(rs, "entryType");
-            final EnumOptionData entryType = AccountingEnumerations.journalEntryType(entryTypeId);
+        private final Long id;
+        private final Long officeId;
+        private final LocalDate entryDate;
+        private final Integer entryType;
+        private final BigDecimal amount;
 
-            return new JournalEntryData(id, officeId, null, null, glAccountId, null, accountType, null, entryType, amount, null, null, null,
-                    null, null, null, null, null, null, null, null, null, null, null, null);
+        RunningBalanceEntry(final Long id, final Long officeId, final LocalDate entryDate, final Integer entryType,
+                final BigDecimal amount) {
+            this.id = id;
+            this.officeId = officeId;
+            this.entryDate = entryDate;
+            this.entryType = entryType;
+            this.amount = amount;
         }
     }
-
 }
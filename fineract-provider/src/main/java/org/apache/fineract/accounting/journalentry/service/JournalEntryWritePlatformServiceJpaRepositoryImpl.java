@@ -480,7 +480,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     upfrontAccrualBasedAccountingEnabled, periodicAccrualBasedAccountingEnabled);
             final AccountingProcessorForLoan accountingProcessorForLoan = this.accountingProcessorForLoanFactory
                     .determineProcessor(loanDTO);
-            accountingProcessorForLoan.createJournalEntriesForLoan(loanDTO);
+            this.helper.executeInUnitOfWork(() -> accountingProcessorForLoan.createJournalEntriesForLoan(loanDTO));
         }
     }
 
@@ -496,7 +496,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     accrualBasedAccountingEnabled);
             final AccountingProcessorForSavings accountingProcessorForSavings = this.accountingProcessorForSavingsFactory
                     .determineProcessor(savingsDTO);
-            accountingProcessorForSavings.createJournalEntriesForSavings(savingsDTO);
+            this.helper.executeInUnitOfWork(() -> accountingProcessorForSavings.createJournalEntriesForSavings(savingsDTO));
         }
     }
 
@@ -512,7 +512,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     accrualBasedAccountingEnabled);
             final AccountingProcessorForShares accountingProcessorForShares = this.accountingProcessorForSharesFactory
                     .determineProcessor(sharesDTO);
-            accountingProcessorForShares.createJournalEntriesForShares(sharesDTO);
+            this.helper.executeInUnitOfWork(() -> accountingProcessorForShares.createJournalEntriesForShares(sharesDTO));
         }
 
     }
@@ -755,7 +755,8 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
     @Override
     public void createJournalEntriesForClientTransactions(Map<String, Object> accountingBridgeData) {
         final ClientTransactionDTO clientTransactionDTO = this.helper.populateClientTransactionDtoFromMap(accountingBridgeData);
-        accountingProcessorForClientTransactions.createJournalEntriesForClientTransaction(clientTransactionDTO);
+        this.helper.executeInUnitOfWork(
+                () -> accountingProcessorForClientTransactions.createJournalEntriesForClientTransaction(clientTransactionDTO));
     }
 
     private static class OfficeCurrencyKey {
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
@@ -39,6 +40,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.batch.domain.BatchRequest;
 import org.apache.fineract.batch.domain.BatchResponse;
 import org.apache.fineract.batch.serialization.BatchRequestJsonHelper;
@@ -74,6 +76,9 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class BatchApiResource {
 
+    public static final String BATCH_MODE_HEADER = "Fineract-Batch-Mode";
+    public static final String BATCH_MODE_PARALLEL = "parallel";
+
     private final PlatformSecurityContext context;
     private final ToApiJsonSerializer<BatchResponse> toApiJsonSerializer;
     private final BatchApiService service;
@@ -92,12 +97,15 @@ public class BatchApiResource {
     @Produces({ MediaType.APPLICATION_JSON })
     @Operation(summary = "Batch requests in a single transaction", description = "The Apache Fineract Batch API is also capable of executing all the requests in a single transaction, by setting a Query Parameter, \"enclosingTransaction=true\". So, if one or more of the requests in a batch returns an erroneous response all of the Data base transactions made by other successful requests will be rolled back.\n"
             + "\n"
-            + "If there has been a rollback in a transaction then a single response will be provided, with a '400' status code and a body consisting of the error details of the first failed request.")
+            + "If there has been a rollback in a transaction then a single response will be provided, with a '400' status code and a body consisting of the error details of the first failed request.\n"
+            + "\n"
+            + "With the header \"Fineract-Batch-Mode: parallel\" the requests without a reference are executed concurrently, each together with the requests depending on it. Responses keep the request id order. Every such group of requests runs in a transaction of its own, whatever the value of \"enclosingTransaction\": a failing request rolls back its group only, and the other responses of that group get a '409' status code.")
     @RequestBody(required = true, content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchRequest.class, description = "request body"))))
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Success", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchResponse.class)))) })
     public String handleBatchRequests(
             @DefaultValue("false") @QueryParam("enclosingTransaction") @Parameter(description = "enclosingTransaction", required = false) final boolean enclosingTransaction,
+            @HeaderParam(BATCH_MODE_HEADER) @Parameter(description = "sequential (default) or parallel", required = false) final String batchMode,
             @Parameter(hidden = true) final String jsonRequestString, @Context UriInfo uriInfo) {
 
         // Handles user authentication
@@ -111,7 +119,9 @@ public class BatchApiResource {
 
         // If the request is to be handled as a Transaction. All requests will
         // be rolled back on error
-        if (enclosingTransaction) {
+        if (BATCH_MODE_PARALLEL.equalsIgnoreCase(StringUtils.trimToEmpty(batchMode))) {
+            result = service.handleBatchRequestsInParallel(requestList, uriInfo);
+        } else if (enclosingTransaction) {
             result = service.handleBatchRequestsWithEnclosingTransaction(requestList, uriInfo);
         } else {
             result = service.handleBatchRequestsWithoutEnclosingTransaction(requestList, uriInfo);
@@ -56,4 +56,17 @@ public interface BatchApiService {
      * @return List&lt;BatchResponse&gt;
      */
     List<BatchResponse> handleBatchRequestsWithEnclosingTransaction(List<BatchRequest> requestList, UriInfo uriInfo);
+
+    /**
+     * Returns a list of {@link org.apache.fineract.batch.domain.BatchResponse}s like
+     * {@link #handleBatchRequestsWithoutEnclosingTransaction(List, UriInfo)}, but executes the independent root
+     * requests concurrently on a bounded pool. A root request and the requests depending on it are still executed one
+     * after the other, and the responses are returned in request id order. Every root request runs with its dependent
+     * requests in a transaction of its own, which is rolled back if any of them fails.
+     *
+     * @param requestList
+     * @param uriInfo
+     * @return List&lt;BatchResponse&gt;
+     */
+    List<BatchResponse> handleBatchRequestsInParallel(List<BatchRequest> requestList, UriInfo uriInfo);
 }
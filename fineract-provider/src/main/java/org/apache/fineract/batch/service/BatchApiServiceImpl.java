@@ -23,6 +23,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
@@ -37,7 +45,13 @@ import org.apache.fineract.batch.exception.ClientDetailsNotFoundException;
 import org.apache.fineract.batch.exception.ErrorHandler;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionStatus;
@@ -59,9 +73,32 @@ import org.springframework.transaction.support.TransactionTemplate;
 @Slf4j
 public class BatchApiServiceImpl implements BatchApiService {
 
+    private static final int DEFAULT_PARALLEL_THREAD_POOL_SIZE = 8;
+    private static final int DEFAULT_PARALLEL_QUEUE_CAPACITY = 1000;
+
     private final CommandStrategyProvider strategyProvider;
     private final ResolutionHelper resolutionHelper;
     private final TransactionTemplate transactionTemplate;
+    private final FineractProperties fineractProperties;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void initExecutor() {
+        final FineractProperties.FineractBatchProperties batch = this.fineractProperties.getBatch();
+        final int threadPoolSize = batch == null || batch.getParallelThreadPoolSize() <= 0 ? DEFAULT_PARALLEL_THREAD_POOL_SIZE
+                : batch.getParallelThreadPoolSize();
+        final int queueCapacity = batch == null || batch.getParallelQueueCapacity() <= 0 ? DEFAULT_PARALLEL_QUEUE_CAPACITY
+                : batch.getParallelQueueCapacity();
+        this.executor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("batch-request-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdownExecutor() {
+        this.executor.shutdown();
+    }
 
     /**
      * Returns the response list by getting a proper {@link org.apache.fineract.batch.command.CommandStrategy}.
@@ -85,19 +122,128 @@ public class BatchApiServiceImpl implements BatchApiService {
             return responseList;
         }
         for (BatchRequestNode rootNode : batchRequestNodes) {
-            final BatchRequest rootRequest = rootNode.getRequest();
-            final CommandStrategy commandStrategy = this.strategyProvider
-                    .getCommandStrategy(CommandContext.resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
-            final BatchResponse rootResponse = safelyExecuteStrategy(commandStrategy, rootRequest, uriInfo);
+            responseList.addAll(this.processRootRequest(rootNode, uriInfo));
+        }
+
+        Collections.sort(responseList, Comparator.comparing(BatchResponse::getRequestId));
+
+        return responseList;
+
+    }
+
+    @Override
+    public List<BatchResponse> handleBatchRequestsInParallel(final List<BatchRequest> requestList, final UriInfo uriInfo) {
+
+        final List<BatchRequestNode> batchRequestNodes = this.resolutionHelper.getDependingRequests(requestList);
+        if (batchRequestNodes.isEmpty()) {
+            return handleBatchRequests(requestList, uriInfo);
+        }
+
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        final Thread callerThread = Thread.currentThread();
+
+        final List<Future<List<BatchResponse>>> futures = new ArrayList<>(batchRequestNodes.size());
+        for (BatchRequestNode rootNode : batchRequestNodes) {
+            futures.add(this.executor.submit(() -> {
+                ThreadLocalContextUtil.init(context);
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    return processRootRequestInTransaction(rootNode, uriInfo);
+                } finally {
+                    // the caller thread runs tasks itself when the queue is full and must keep its own context
+                    if (Thread.currentThread() != callerThread) {
+                        SecurityContextHolder.clearContext();
+                        ThreadLocalContextUtil.reset();
+                    }
+                }
+            }));
+        }
 
-            responseList.add(rootResponse);
-            responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        final List<BatchResponse> responseList = new ArrayList<>(requestList.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                responseList.addAll(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                responseList.addAll(errorResponses(batchRequestNodes.get(i), e));
+            } catch (ExecutionException e) {
+                log.warn("Exception while executing batch request {}", batchRequestNodes.get(i).getRequest().getRequestId(), e.getCause());
+                responseList.addAll(errorResponses(batchRequestNodes.get(i), e.getCause()));
+            }
         }
 
         Collections.sort(responseList, Comparator.comparing(BatchResponse::getRequestId));
 
         return responseList;
+    }
+
+    private List<BatchResponse> processRootRequest(final BatchRequestNode rootNode, final UriInfo uriInfo) {
+        final BatchRequest rootRequest = rootNode.getRequest();
+        final CommandStrategy commandStrategy = this.strategyProvider
+                .getCommandStrategy(CommandContext.resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
+        final BatchResponse rootResponse = safelyExecuteStrategy(commandStrategy, rootRequest, uriInfo);
+
+        final List<BatchResponse> responses = new ArrayList<>();
+        responses.add(rootResponse);
+        responses.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        return responses;
+    }
+
+    private List<BatchResponse> processRootRequestInTransaction(final BatchRequestNode rootNode, final UriInfo uriInfo) {
+        try {
+            return this.transactionTemplate.execute(status -> {
+                final List<BatchResponse> responses = processRootRequest(rootNode, uriInfo);
+                final BatchResponse failed = responses.stream().filter(response -> !response.getStatusCode().equals(200)).findFirst()
+                        .orElse(null);
+                if (failed != null) {
+                    status.setRollbackOnly();
+                    markRolledBack(responses, failed);
+                }
+                return responses;
+            });
+        } catch (TransactionException | NonTransientDataAccessException ex) {
+            return errorResponses(rootNode, ex);
+        }
+    }
 
+    /**
+     * Answers every request of a group whose transaction failed as a whole with the same error, so that no request of
+     * the batch is left without a response.
+     */
+    private List<BatchResponse> errorResponses(final BatchRequestNode node, final Throwable throwable) {
+        final List<BatchResponse> responses = new ArrayList<>();
+        responses.add(errorResponse(node.getRequest(), throwable));
+        for (BatchRequestNode childNode : node.getChildRequests()) {
+            responses.addAll(errorResponses(childNode, throwable));
+        }
+        return responses;
+    }
+
+    private void markRolledBack(final List<BatchResponse> responses, final BatchResponse failed) {
+        for (BatchResponse response : responses) {
+            if (response.getStatusCode().equals(200)) {
+                final ErrorInfo conflictError = new ErrorInfo(Status.CONFLICT.getStatusCode(), 8001,
+                        "Transaction rolled back, request with id " + failed.getRequestId() + " was erroneous!");
+                response.setStatusCode(Status.CONFLICT.getStatusCode());
+                response.setBody(conflictError.getMessage());
+            }
+        }
+    }
+
+    private BatchResponse errorResponse(final BatchRequest request, final Throwable throwable) {
+        final BatchResponse response = new BatchResponse();
+        response.setRequestId(request.getRequestId());
+        response.setHeaders(request.getHeaders());
+        if (throwable instanceof RuntimeException) {
+            final ErrorInfo ex = ErrorHandler.handler((RuntimeException) throwable);
+            response.setStatusCode(ex.getStatusCode());
+            response.setBody(ex.getMessage());
+        } else {
+            response.setStatusCode(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+            response.setBody(throwable.getMessage());
+        }
+        return response;
     }
 
     private BatchResponse safelyExecuteStrategy(CommandStrategy commandStrategy, BatchRequest request, UriInfo uriInfo) {
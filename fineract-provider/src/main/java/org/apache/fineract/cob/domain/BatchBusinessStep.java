@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import lombok.Getter;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+
+/**
+ * One configured step of a Close-of-Business job. The steps of a job are executed in ascending {@code stepOrder}; the
+ * {@code stepName} refers to {@link org.apache.fineract.cob.COBBusinessStep#getEnumStyledName()} of a Spring bean.
+ */
+@Getter
+@Entity
+@Table(name = "m_batch_business_steps")
+public class BatchBusinessStep extends AbstractPersistableCustom {
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "step_name", nullable = false)
+    private String stepName;
+
+    @Column(name = "step_order", nullable = false)
+    private Long stepOrder;
+
+    protected BatchBusinessStep() {}
+
+    public BatchBusinessStep(final String jobName, final String stepName, final Long stepOrder) {
+        this.jobName = jobName;
+        this.stepName = stepName;
+        this.stepOrder = stepOrder;
+    }
+}
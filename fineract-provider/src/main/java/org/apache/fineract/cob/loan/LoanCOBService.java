@@ -16,16 +16,12 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package org.apache.fineract.infrastructure.hooks.event;
+package org.apache.fineract.cob.loan;
 
-import java.io.Serializable;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 
-@RequiredArgsConstructor
-@Getter
-public class HookEventSource implements Serializable {
+public interface LoanCOBService {
 
-    private final String entityName;
-    private final String actionName;
+    void executeLoanCOB(Map<String, String> jobParameters) throws JobExecutionException;
 }
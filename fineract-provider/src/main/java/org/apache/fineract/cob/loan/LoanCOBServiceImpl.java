@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.service.COBBusinessStepService;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobParameters;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.apache.fineract.portfolio.loanaccount.service.LoanAssembler;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the loan COB step chain over all active loans on the {@link PartitionedJobExecutor}. Each loan is loaded once,
+ * passed through every step and saved; the loans of a chunk are committed in one transaction and retried one per
+ * transaction when the chunk fails, so that a single broken loan does not roll back its neighbours.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoanCOBServiceImpl implements LoanCOBService {
+
+    private final COBBusinessStepService cobBusinessStepService;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final PartitionedJobExecutor partitionedJobExecutor;
+    private final LoanAssembler loanAssembler;
+    private final LoanRepositoryWrapper loanRepositoryWrapper;
+
+    @Override
+    @CronTarget(jobName = JobName.LOAN_COB)
+    public void executeLoanCOB(final Map<String, String> jobParameters) throws JobExecutionException {
+        final List<LoanCOBBusinessStep> steps = this.cobBusinessStepService.getOrderedSteps(JobName.LOAN_COB.name(),
+                LoanCOBBusinessStep.class);
+        if (steps.isEmpty()) {
+            log.warn("{}: no business steps configured for {}, nothing to do", ThreadLocalContextUtil.getTenant().getName(),
+                    JobName.LOAN_COB);
+            return;
+        }
+
+        this.partitionedJobExecutor.execute("Loan COB", PartitionedJobParameters.fromJobParameters(jobParameters),
+                this::retrieveActiveLoanIds, (loanId, chunkData) -> {
+                    final Loan loan = this.loanAssembler.assembleFrom(loanId);
+                    this.loanRepositoryWrapper.save(this.cobBusinessStepService.run(steps, loan));
+                });
+    }
+
+    private List<Long> retrieveActiveLoanIds(final Long lastId, final int pageSize) {
+        final String sql = "select ml.id from m_loan ml where ml.loan_status_id = ? and ml.id > ? order by ml.id "
+                + this.sqlGenerator.limit(pageSize);
+        return this.jdbcTemplate.queryForList(sql, Long.class, LoanStatus.ACTIVE.getValue(), lastId);
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.service;
+
+import java.util.List;
+import org.apache.fineract.cob.COBBusinessStep;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+
+public interface COBBusinessStepService {
+
+    /**
+     * Resolves the step beans configured for the given job in {@code m_batch_business_steps}, in execution order.
+     */
+    <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> List<T> getOrderedSteps(String jobName, Class<T> stepType);
+
+    /**
+     * Runs the item through every step of the chain, feeding the output of one step into the next.
+     */
+    <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> S run(List<T> steps, S item);
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.cob.COBBusinessStep;
+import org.apache.fineract.cob.domain.BatchBusinessStep;
+import org.apache.fineract.cob.domain.BatchBusinessStepRepository;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class COBBusinessStepServiceImpl implements COBBusinessStepService {
+
+    private final BatchBusinessStepRepository batchBusinessStepRepository;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> List<T> getOrderedSteps(final String jobName,
+            final Class<T> stepType) {
+        final Map<String, T> availableSteps = new HashMap<>();
+        for (final T step : this.applicationContext.getBeansOfType(stepType).values()) {
+            availableSteps.put(step.getEnumStyledName(), step);
+        }
+
+        final List<BatchBusinessStep> configuredSteps = this.batchBusinessStepRepository.findAllByJobNameOrdered(jobName);
+        final List<T> orderedSteps = new ArrayList<>(configuredSteps.size());
+        for (final BatchBusinessStep configuredStep : configuredSteps) {
+            final T step = availableSteps.get(configuredStep.getStepName());
+            if (step == null) {
+                throw new GeneralPlatformDomainRuleException("error.msg.cob.business.step.not.found",
+                        "Business step " + configuredStep.getStepName() + " configured for job " + jobName + " does not exist",
+                        configuredStep.getStepName(), jobName);
+            }
+            orderedSteps.add(step);
+        }
+        log.info("{}: resolved business steps {}", jobName, configuredSteps.stream().map(BatchBusinessStep::getStepName).toList());
+        return orderedSteps;
+    }
+
+    @Override
+    public <T extends COBBusinessStep<S>, S extends AbstractPersistableCustom> S run(final List<T> steps, final S item) {
+        S result = item;
+        for (final T step : steps) {
+            result = step.execute(result);
+        }
+        return result;
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.fineract.commands.service;
 import java.util.Collection;
 import org.apache.fineract.commands.data.AuditData;
 import org.apache.fineract.commands.data.AuditSearchData;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.data.PaginationParameters;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.security.utils.SQLBuilder;
@@ -31,6 +32,8 @@ public interface AuditReadPlatformService {
 
     Page<AuditData> retrievePaginatedAuditEntries(SQLBuilder extraCriteria, boolean includeJson, PaginationParameters parameters);
 
+    Page<AuditData> retrieveKeysetAuditEntries(SQLBuilder extraCriteria, boolean includeJson, KeysetPageRequest pageRequest);
+
     Collection<AuditData> retrieveAllEntriesToBeChecked(SQLBuilder extraCriteria, boolean includeJson);
 
     AuditData retrieveAuditEntry(Long auditId);
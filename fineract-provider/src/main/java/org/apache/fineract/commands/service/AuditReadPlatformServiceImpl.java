@@ -37,6 +37,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.commands.data.AuditData;
 import org.apache.fineract.commands.data.AuditSearchData;
 import org.apache.fineract.commands.data.ProcessingResultLookup;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.data.PaginationParameters;
 import org.apache.fineract.infrastructure.core.data.PaginationParametersDataValidator;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
@@ -198,6 +199,21 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
         return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), extraCriteria.getArguments(), rm);
     }
 
+    @Override
+    public Page<AuditData> retrieveKeysetAuditEntries(final SQLBuilder extraCriteria, final boolean includeJson,
+            final KeysetPageRequest pageRequest) {
+
+        final AppUser currentUser = this.context.authenticatedUser();
+        final String hierarchy = currentUser.getOffice().getHierarchy();
+
+        final AuditMapper rm = new AuditMapper();
+        final String criteria = extraCriteria.getSQLTemplate();
+        final String sql = "select " + rm.schema(includeJson, hierarchy) + (criteria.isEmpty() ? " where 1=1" : criteria);
+
+        return this.paginationHelper.fetchKeysetPage(this.jdbcTemplate, sql, extraCriteria.getArguments(), "aud.id", true, pageRequest,
+                rm, AuditData::getId);
+    }
+
     @Override
     public Collection<AuditData> retrieveAllEntriesToBeChecked(final SQLBuilder extraCriteria, final boolean includeJson) {
         extraCriteria.addCriteria("aud.processing_result_enum = ", 2);
@@ -42,9 +42,7 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
-import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.apache.fineract.infrastructure.hooks.event.HookEvent;
-import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
+import org.apache.fineract.infrastructure.hooks.service.HookOutboxService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.context.ApplicationContext;
@@ -63,6 +61,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final CommandSourceRepository commandSourceRepository;
     private final ConfigurationDomainService configurationDomainService;
     private final CommandHandlerProvider commandHandlerProvider;
+    private final HookOutboxService hookOutboxService;
 
     @Transactional
     @Override
@@ -224,9 +223,10 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private void publishEvent(final String entityName, final String actionName, JsonCommand command, final Object result) {
         Gson gson = new Gson();
         try {
-            final AppUser appUser = this.context.authenticatedUser(CommandWrapper.wrap(actionName, entityName, null, null));
-
-            final HookEventSource hookEventSource = new HookEventSource(entityName, actionName);
+            // commands without hooks are the norm, skip building the payload for them
+            if (!this.hookOutboxService.hasHooks(entityName, actionName)) {
+                return;
+            }
 
             // TODO: Add support for publishing array events
             if (command.json() != null && command.json().startsWith("{")) {
@@ -266,10 +266,12 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
                 final String serializedResult = this.toApiResultJsonSerializer.serialize(reqmap);
 
-                final HookEvent applicationEvent = new HookEvent(hookEventSource, serializedResult, appUser,
-                        ThreadLocalContextUtil.getContext());
-
-                applicationContext.publishEvent(applicationEvent);
+                if (result instanceof ErrorInfo) {
+                    // the command's transaction is rolled back, so the event is queued on its own
+                    this.hookOutboxService.enqueueInNewTransaction(entityName, actionName, serializedResult);
+                } else {
+                    this.hookOutboxService.enqueue(entityName, actionName, serializedResult);
+                }
             }
         } catch (Exception e) {
             log.error("Error", e);
@@ -282,9 +284,9 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     public void publishEventInternalForActions(final String entityName, final String actionName, JsonCommand command, final Object result) {
         Gson gson = new Gson();
         try {
-            final AppUser appUser = this.context.authenticatedUser(CommandWrapper.wrap(actionName, entityName, null, null));
-
-            final HookEventSource hookEventSource = new HookEventSource(entityName, actionName);
+            if (!this.hookOutboxService.hasHooks(entityName, actionName)) {
+                return;
+            }
 
             // TODO: Add support for publishing array events
             if (command.json() != null && command.json().startsWith("{")) {
@@ -324,10 +326,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
                 final String serializedResult = this.toApiResultJsonSerializer.serialize(reqmap);
 
-                final HookEvent applicationEvent = new HookEvent(hookEventSource, serializedResult, appUser,
-                        ThreadLocalContextUtil.getContext());
-
-                applicationContext.publishEvent(applicationEvent);
+                this.hookOutboxService.enqueue(entityName, actionName, serializedResult);
             }
         } catch (Exception e) {
             log.error("Error", e);
@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports workbook rows a chunk at a time.
+ *
+ * The rows of a chunk are grouped by an ordering key, typically the account they post to. The rows of a group run in
+ * sheet order on one worker and are committed in a single transaction, while different groups run in parallel on a
+ * bounded pool. When the transaction of a group fails, its rows are retried in one transaction per row so that every row
+ * still gets its own status.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImportChunkExecutor {
+
+    private static final int DEFAULT_WORKER_THREAD_POOL_SIZE = 4;
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final int QUEUE_CAPACITY = 1000;
+
+    private final TransactionTemplate transactionTemplate;
+    private final FineractProperties fineractProperties;
+
+    private ThreadPoolExecutor executor;
+    private int chunkSize;
+
+    @PostConstruct
+    public void initExecutor() {
+        final FineractProperties.FineractBulkImportProperties bulkImport = this.fineractProperties.getBulkImport();
+        final int threadPoolSize = bulkImport == null || bulkImport.getWorkerThreadPoolSize() <= 0 ? DEFAULT_WORKER_THREAD_POOL_SIZE
+                : bulkImport.getWorkerThreadPoolSize();
+        this.chunkSize = bulkImport == null || bulkImport.getChunkSize() <= 0 ? DEFAULT_CHUNK_SIZE : bulkImport.getChunkSize();
+        this.executor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), new CustomizableThreadFactory("bulk-import-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdownExecutor() {
+        this.executor.shutdown();
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Imports a chunk of rows.
+     *
+     * @param rows
+     *            the rows of the chunk, in sheet order
+     * @param orderingKey
+     *            rows with equal keys are imported in order, in one transaction
+     * @param importer
+     *            imports a single row, throwing on failure
+     * @return the failure of each row, by position in <code>rows</code>, or <code>null</code> for rows that were
+     *         imported
+     */
+    public <T> List<RuntimeException> importChunk(final List<T> rows, final Function<T, Object> orderingKey, final Consumer<T> importer) {
+        final Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            groups.computeIfAbsent(orderingKey.apply(rows.get(i)), key -> new ArrayList<>()).add(i);
+        }
+
+        final RuntimeException[] failures = new RuntimeException[rows.size()];
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        final Thread callerThread = Thread.currentThread();
+
+        final List<List<Integer>> groupList = new ArrayList<>(groups.values());
+        final List<Future<?>> futures = new ArrayList<>(groupList.size());
+        for (final List<Integer> group : groupList) {
+            futures.add(this.executor.submit(() -> {
+                ThreadLocalContextUtil.init(context);
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    importGroup(rows, group, importer, failures);
+                } finally {
+                    // the caller thread runs tasks itself when the queue is full and must keep its own context
+                    if (Thread.currentThread() != callerThread) {
+                        SecurityContextHolder.clearContext();
+                        ThreadLocalContextUtil.reset();
+                    }
+                }
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                markFailed(groupList.get(i), failures, new IllegalStateException("Import was interrupted", e));
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                markFailed(groupList.get(i), failures,
+                        cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause));
+            }
+        }
+        return Arrays.asList(failures);
+    }
+
+    private <T> void importGroup(final List<T> rows, final List<Integer> group, final Consumer<T> importer,
+            final RuntimeException[] failures) {
+        if (group.size() > 1) {
+            try {
+                this.transactionTemplate.executeWithoutResult(status -> group.forEach(index -> importer.accept(rows.get(index))));
+                return;
+            } catch (RuntimeException e) {
+                log.debug("Import of {} rows rolled back, retrying them one by one", group.size(), e);
+            }
+        }
+        for (final Integer index : group) {
+            try {
+                this.transactionTemplate.executeWithoutResult(status -> importer.accept(rows.get(index)));
+            } catch (RuntimeException e) {
+                failures[index] = e;
+            }
+        }
+    }
+
+    private static void markFailed(final List<Integer> group, final RuntimeException[] failures, final RuntimeException failure) {
+        for (final Integer index : group) {
+            if (failures[index] == null) {
+                failures[index] = failure;
+            }
+        }
+    }
+}
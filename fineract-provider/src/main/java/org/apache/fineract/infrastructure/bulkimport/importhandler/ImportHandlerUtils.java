@@ -58,11 +58,8 @@ public final class ImportHandlerUtils {
     }
 
     public static boolean isNotImported(Row row, int statusColumn) {
-        if (readAsString(statusColumn, row) != null) {
-            return !readAsString(statusColumn, row).equals(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
-        } else {
-            return true;
-        }
+        final String status = readAsString(statusColumn, row);
+        return status == null || !status.equals(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
     }
 
     public static Long readAsLong(int colIndex, Row row) {
@@ -70,8 +67,9 @@ public final class ImportHandlerUtils {
         if (c == null || c.getCellType() == CellType.BLANK) {
             return null;
         }
-        FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
         if (c.getCellType() == CellType.FORMULA) {
+            // evaluators are costly to create, only formula cells need one
+            FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
             if (eval != null) {
                 CellValue val = null;
                 try {
@@ -95,8 +93,8 @@ public final class ImportHandlerUtils {
         if (c == null || c.getCellType() == CellType.BLANK) {
             return null;
         }
-        FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
         if (c.getCellType() == CellType.FORMULA) {
+            FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
             if (eval != null) {
                 CellValue val = null;
                 try {
@@ -154,8 +152,8 @@ public final class ImportHandlerUtils {
         if (c == null || c.getCellType() == CellType.BLANK) {
             return false;
         }
-        FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
         if (c.getCellType() == CellType.FORMULA) {
+            FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
             if (eval != null) {
                 CellValue val = null;
                 try {
@@ -183,8 +181,8 @@ public final class ImportHandlerUtils {
         if (c == null || c.getCellType() == CellType.BLANK) {
             return null;
         }
-        FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
         if (c.getCellType() == CellType.FORMULA) {
+            FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
             if (eval != null) {
                 CellValue val = null;
                 try {
@@ -207,8 +205,8 @@ public final class ImportHandlerUtils {
         if (c == null || c.getCellType() == CellType.BLANK) {
             return 0.0;
         }
-        FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
         if (c.getCellType() == CellType.FORMULA) {
+            FormulaEvaluator eval = row.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
             if (eval != null) {
                 CellValue val = null;
                 try {
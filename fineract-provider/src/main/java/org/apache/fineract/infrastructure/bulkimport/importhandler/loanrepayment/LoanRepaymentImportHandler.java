@@ -19,18 +19,22 @@
 package org.apache.fineract.infrastructure.bulkimport.importhandler.loanrepayment;
 
 import com.google.common.base.Splitter;
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.apache.fineract.infrastructure.bulkimport.constants.LoanRepaymentConstants;
 import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateImportConstants;
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportChunkExecutor;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
@@ -38,6 +42,7 @@ import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerialize
 import org.apache.fineract.portfolio.loanaccount.data.LoanTransactionData;
 import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -51,45 +56,67 @@ import org.springframework.stereotype.Service;
 public class LoanRepaymentImportHandler implements ImportHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(LoanRepaymentImportHandler.class);
-    private Workbook workbook;
-    private List<LoanTransactionData> loanRepayments;
-    private Long loanAccountId;
     private final LoanReadPlatformService loanReadPlatformService;
 
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final ImportChunkExecutor importChunkExecutor;
 
     @Autowired
     public LoanRepaymentImportHandler(final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
-            final LoanReadPlatformService loanReadPlatformService) {
+            final LoanReadPlatformService loanReadPlatformService, final ImportChunkExecutor importChunkExecutor) {
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
         this.loanReadPlatformService = loanReadPlatformService;
+        this.importChunkExecutor = importChunkExecutor;
     }
 
+    /**
+     * Reads the repayment sheet a chunk of rows at a time and imports each chunk before reading the next one, so only one
+     * chunk of {@link LoanTransactionData} is held at once. Repayments of one loan are imported in sheet order.
+     */
     @Override
     public Count process(Workbook workbook, String locale, String dateFormat) {
-        this.workbook = workbook;
-        this.loanRepayments = new ArrayList<>();
-        readExcelFile(locale, dateFormat);
-        return importEntity(dateFormat);
-    }
+        final Sheet loanRepaymentSheet = workbook.getSheet(TemplatePopulateImportConstants.LOAN_REPAYMENT_SHEET_NAME);
+        final Sheet extrasSheet = workbook.getSheet(TemplatePopulateImportConstants.EXTRAS_SHEET_NAME);
+        final GsonBuilder gsonBuilder = GoogleGsonSerializerHelper.createGsonBuilder();
+        gsonBuilder.registerTypeAdapter(LocalDate.class, new DateSerializer(dateFormat));
+        final Gson gson = gsonBuilder.create();
+        final Map<String, Long> loanIdsByAccountNumber = new HashMap<>();
+        final Map<String, Long> repaymentTypeIdsByName = new HashMap<>();
+        final CellStyle importedStyle = ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN);
 
-    public void readExcelFile(String locale, String dateFormat) {
-        Sheet loanRepaymentSheet = workbook.getSheet(TemplatePopulateImportConstants.LOAN_REPAYMENT_SHEET_NAME);
-        Integer noOfEntries = ImportHandlerUtils.getNumberOfRows(loanRepaymentSheet, LoanRepaymentConstants.AMOUNT_COL);
+        final int chunkSize = this.importChunkExecutor.getChunkSize();
+        final Integer noOfEntries = ImportHandlerUtils.getNumberOfRows(loanRepaymentSheet, LoanRepaymentConstants.AMOUNT_COL);
+        final List<LoanTransactionData> chunk = new ArrayList<>(Math.min(chunkSize, noOfEntries));
+        int successCount = 0;
+        int errorCount = 0;
         for (int rowIndex = 1; rowIndex <= noOfEntries; rowIndex++) {
-            Row row;
-            row = loanRepaymentSheet.getRow(rowIndex);
+            final Row row = loanRepaymentSheet.getRow(rowIndex);
             if (ImportHandlerUtils.isNotImported(row, LoanRepaymentConstants.STATUS_COL)) {
-                loanRepayments.add(readLoanRepayment(row, locale, dateFormat));
+                chunk.add(readLoanRepayment(row, extrasSheet, loanIdsByAccountNumber, repaymentTypeIdsByName, locale, dateFormat));
+            }
+            if (chunk.size() == chunkSize || (rowIndex == noOfEntries && !chunk.isEmpty())) {
+                final int imported = importChunk(chunk, loanRepaymentSheet, gson, importedStyle);
+                successCount += imported;
+                errorCount += chunk.size() - imported;
+                chunk.clear();
             }
         }
+
+        loanRepaymentSheet.setColumnWidth(LoanRepaymentConstants.STATUS_COL, TemplatePopulateImportConstants.SMALL_COL_SIZE);
+        ImportHandlerUtils.writeString(LoanRepaymentConstants.STATUS_COL,
+                loanRepaymentSheet.getRow(TemplatePopulateImportConstants.ROWHEADER_INDEX),
+                TemplatePopulateImportConstants.STATUS_COL_REPORT_HEADER);
+        return Count.instance(successCount, errorCount);
     }
 
-    private LoanTransactionData readLoanRepayment(Row row, String locale, String dateFormat) {
+    private LoanTransactionData readLoanRepayment(Row row, Sheet extrasSheet, Map<String, Long> loanIdsByAccountNumber,
+            Map<String, Long> repaymentTypeIdsByName, String locale, String dateFormat) {
+        Long loanAccountId = null;
         String loanaccountInfo = ImportHandlerUtils.readAsString(LoanRepaymentConstants.LOAN_ACCOUNT_NO_COL, row);
         if (loanaccountInfo != null) {
             List<String> loanAccountAr = Splitter.on('-').splitToList(loanaccountInfo);
-            loanAccountId = this.loanReadPlatformService.retrieveLoanIdByAccountNumber(loanAccountAr.get(0));
+            loanAccountId = loanIdsByAccountNumber.computeIfAbsent(loanAccountAr.get(0),
+                    this.loanReadPlatformService::retrieveLoanIdByAccountNumber);
         }
         BigDecimal repaymentAmount = null;
         if (ImportHandlerUtils.readAsDouble(LoanRepaymentConstants.AMOUNT_COL, row) != null) {
@@ -97,8 +124,8 @@ public class LoanRepaymentImportHandler implements ImportHandler {
         }
         LocalDate repaymentDate = ImportHandlerUtils.readAsDate(LoanRepaymentConstants.REPAID_ON_DATE_COL, row);
         String repaymentType = ImportHandlerUtils.readAsString(LoanRepaymentConstants.REPAYMENT_TYPE_COL, row);
-        Long repaymentTypeId = ImportHandlerUtils.getIdByName(workbook.getSheet(TemplatePopulateImportConstants.EXTRAS_SHEET_NAME),
-                repaymentType);
+        Long repaymentTypeId = repaymentTypeIdsByName.computeIfAbsent(repaymentType,
+                name -> ImportHandlerUtils.getIdByName(extrasSheet, name));
         String accountNumber = ImportHandlerUtils.readAsString(LoanRepaymentConstants.ACCOUNT_NO_COL, row);
         Integer checkNumber = ImportHandlerUtils.readAsInt(LoanRepaymentConstants.CHECK_NO_COL, row);
         Integer routingCode = ImportHandlerUtils.readAsInt(LoanRepaymentConstants.ROUTING_CODE_COL, row);
@@ -108,44 +135,40 @@ public class LoanRepaymentImportHandler implements ImportHandler {
                 receiptNumber, bankNumber, loanAccountId, "", row.getRowNum(), locale, dateFormat);
     }
 
-    public Count importEntity(String dateFormat) {
-        Sheet loanRepaymentSheet = workbook.getSheet(TemplatePopulateImportConstants.LOAN_REPAYMENT_SHEET_NAME);
-        int successCount = 0;
-        int errorCount = 0;
-        String errorMessage = "";
-        GsonBuilder gsonBuilder = GoogleGsonSerializerHelper.createGsonBuilder();
-        gsonBuilder.registerTypeAdapter(LocalDate.class, new DateSerializer(dateFormat));
-
-        for (LoanTransactionData loanRepayment : loanRepayments) {
-            try {
+    private int importChunk(List<LoanTransactionData> loanRepayments, Sheet loanRepaymentSheet, Gson gson, CellStyle importedStyle) {
+        final List<RuntimeException> failures = this.importChunkExecutor.importChunk(loanRepayments, LoanTransactionData::getAccountId,
+                loanRepayment -> importLoanRepayment(loanRepayment, gson));
 
-                JsonObject loanRepaymentJsonob = gsonBuilder.create().toJsonTree(loanRepayment).getAsJsonObject();
-                loanRepaymentJsonob.remove("manuallyReversed");
-                loanRepaymentJsonob.remove("numberOfRepayments");
-                String payload = loanRepaymentJsonob.toString();
-                final CommandWrapper commandRequest = new CommandWrapperBuilder() //
-                        .loanRepaymentTransaction(loanRepayment.getAccountId()) //
-                        .withJson(payload) //
-                        .build(); //
-                commandsSourceWritePlatformService.logCommandSource(commandRequest);
+        // POI workbooks are not thread safe, the statuses are written back on the calling thread
+        int successCount = 0;
+        for (int i = 0; i < loanRepayments.size(); i++) {
+            final LoanTransactionData loanRepayment = loanRepayments.get(i);
+            final RuntimeException failure = failures.get(i);
+            if (failure == null) {
                 successCount++;
                 Cell statusCell = loanRepaymentSheet.getRow(loanRepayment.getRowIndex()).createCell(LoanRepaymentConstants.STATUS_COL);
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
-                statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
-            } catch (RuntimeException ex) {
-                errorCount++;
-                LOG.error("Problem occurred in importEntity function", ex);
-                errorMessage = ImportHandlerUtils.getErrorMessage(ex);
+                statusCell.setCellStyle(importedStyle);
+            } else {
+                LOG.error("Problem occurred in importEntity function", failure);
+                String errorMessage = ImportHandlerUtils.getErrorMessage(failure);
                 ImportHandlerUtils.writeErrorMessage(loanRepaymentSheet, loanRepayment.getRowIndex(), errorMessage,
                         LoanRepaymentConstants.STATUS_COL);
             }
-
         }
-        loanRepaymentSheet.setColumnWidth(LoanRepaymentConstants.STATUS_COL, TemplatePopulateImportConstants.SMALL_COL_SIZE);
-        ImportHandlerUtils.writeString(LoanRepaymentConstants.STATUS_COL,
-                loanRepaymentSheet.getRow(TemplatePopulateImportConstants.ROWHEADER_INDEX),
-                TemplatePopulateImportConstants.STATUS_COL_REPORT_HEADER);
-        return Count.instance(successCount, errorCount);
+        return successCount;
+    }
+
+    private void importLoanRepayment(LoanTransactionData loanRepayment, Gson gson) {
+        JsonObject loanRepaymentJsonob = gson.toJsonTree(loanRepayment).getAsJsonObject();
+        loanRepaymentJsonob.remove("manuallyReversed");
+        loanRepaymentJsonob.remove("numberOfRepayments");
+        String payload = loanRepaymentJsonob.toString();
+        final CommandWrapper commandRequest = new CommandWrapperBuilder() //
+                .loanRepaymentTransaction(loanRepayment.getAccountId()) //
+                .withJson(payload) //
+                .build(); //
+        commandsSourceWritePlatformService.logCommandSource(commandRequest);
     }
 
 }
@@ -18,27 +18,31 @@
  */
 package org.apache.fineract.infrastructure.bulkimport.importhandler.savings;
 
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateImportConstants;
 import org.apache.fineract.infrastructure.bulkimport.constants.TransactionConstants;
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportChunkExecutor;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.SavingsAccountTransactionEnumValueSerialiser;
-import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionData;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionEnumData;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -52,44 +56,67 @@ import org.springframework.stereotype.Service;
 public class SavingsTransactionImportHandler implements ImportHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(SavingsTransactionImportHandler.class);
-    private Workbook workbook;
-    private List<SavingsAccountTransactionData> savingsTransactions;
-    private String savingsAccountId = "";
 
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final ImportChunkExecutor importChunkExecutor;
 
     @Autowired
-    public SavingsTransactionImportHandler(final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService) {
+    public SavingsTransactionImportHandler(final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
+            final ImportChunkExecutor importChunkExecutor) {
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
+        this.importChunkExecutor = importChunkExecutor;
     }
 
+    /**
+     * Reads the transaction sheet a chunk of rows at a time and imports each chunk before reading the next one, so only one
+     * chunk of {@link SavingsAccountTransactionData} is held at once. Transactions of one savings account are imported in
+     * sheet order.
+     */
     @Override
     public Count process(Workbook workbook, String locale, String dateFormat) {
-        this.workbook = workbook;
-        this.savingsTransactions = new ArrayList<>();
-        readExcelFile(locale, dateFormat);
-        return importEntity(dateFormat);
-    }
+        final Sheet savingsTransactionSheet = workbook.getSheet(TemplatePopulateImportConstants.SAVINGS_TRANSACTION_SHEET_NAME);
+        final Sheet extrasSheet = workbook.getSheet(TemplatePopulateImportConstants.EXTRAS_SHEET_NAME);
+        final GsonBuilder gsonBuilder = GoogleGsonSerializerHelper.createGsonBuilder();
+        gsonBuilder.registerTypeAdapter(LocalDate.class, new DateSerializer(dateFormat));
+        gsonBuilder.registerTypeAdapter(SavingsAccountTransactionEnumData.class, new SavingsAccountTransactionEnumValueSerialiser());
+        final Gson gson = gsonBuilder.create();
+        final Map<String, Long> paymentTypeIdsByName = new HashMap<>();
+        final CellStyle importedStyle = ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN);
 
-    public void readExcelFile(String locale, String dateFormat) {
-        Sheet savingsTransactionSheet = workbook.getSheet(TemplatePopulateImportConstants.SAVINGS_TRANSACTION_SHEET_NAME);
-        Integer noOfEntries = ImportHandlerUtils.getNumberOfRows(savingsTransactionSheet, TransactionConstants.AMOUNT_COL);
+        final int chunkSize = this.importChunkExecutor.getChunkSize();
+        final Integer noOfEntries = ImportHandlerUtils.getNumberOfRows(savingsTransactionSheet, TransactionConstants.AMOUNT_COL);
+        final List<SavingsAccountTransactionData> chunk = new ArrayList<>(Math.min(chunkSize, noOfEntries));
+        // rows without an account number belong to the account of the row above
+        String savingsAccountId = "";
+        int successCount = 0;
+        int errorCount = 0;
         for (int rowIndex = 1; rowIndex <= noOfEntries; rowIndex++) {
-            Row row;
-            row = savingsTransactionSheet.getRow(rowIndex);
+            final Row row = savingsTransactionSheet.getRow(rowIndex);
             if (ImportHandlerUtils.isNotImported(row, TransactionConstants.STATUS_COL)) {
-                savingsTransactions.add(readSavingsTransaction(row, locale, dateFormat));
+                final SavingsAccountTransactionData transaction = readSavingsTransaction(row, extrasSheet, paymentTypeIdsByName,
+                        savingsAccountId, locale, dateFormat);
+                savingsAccountId = transaction.getSavingsAccountId().toString();
+                chunk.add(transaction);
+            }
+            if (chunk.size() == chunkSize || (rowIndex == noOfEntries && !chunk.isEmpty())) {
+                final int imported = importChunk(chunk, savingsTransactionSheet, gson, importedStyle);
+                successCount += imported;
+                errorCount += chunk.size() - imported;
+                chunk.clear();
             }
         }
+
+        savingsTransactionSheet.setColumnWidth(TransactionConstants.STATUS_COL, TemplatePopulateImportConstants.SMALL_COL_SIZE);
+        ImportHandlerUtils.writeString(TransactionConstants.STATUS_COL, savingsTransactionSheet.getRow(TransactionConstants.STATUS_COL),
+                TemplatePopulateImportConstants.STATUS_COL_REPORT_HEADER);
+        return Count.instance(successCount, errorCount);
     }
 
-    private SavingsAccountTransactionData readSavingsTransaction(Row row, String locale, String dateFormat) {
-        String savingsAccountIdCheck = null;
+    private SavingsAccountTransactionData readSavingsTransaction(Row row, Sheet extrasSheet, Map<String, Long> paymentTypeIdsByName,
+            String previousSavingsAccountId, String locale, String dateFormat) {
+        String savingsAccountId = previousSavingsAccountId;
         if (ImportHandlerUtils.readAsLong(TransactionConstants.SAVINGS_ACCOUNT_NO_COL, row) != null) {
-            savingsAccountIdCheck = ImportHandlerUtils.readAsLong(TransactionConstants.SAVINGS_ACCOUNT_NO_COL, row).toString();
-        }
-        if (savingsAccountIdCheck != null) {
-            savingsAccountId = savingsAccountIdCheck;
+            savingsAccountId = ImportHandlerUtils.readAsLong(TransactionConstants.SAVINGS_ACCOUNT_NO_COL, row).toString();
         }
         String transactionType = ImportHandlerUtils.readAsString(TransactionConstants.TRANSACTION_TYPE_COL, row);
         SavingsAccountTransactionEnumData savingsAccountTransactionEnumData = new SavingsAccountTransactionEnumData(null, null,
@@ -102,8 +129,7 @@ public class SavingsTransactionImportHandler implements ImportHandler {
 
         LocalDate transactionDate = ImportHandlerUtils.readAsDate(TransactionConstants.TRANSACTION_DATE_COL, row);
         String paymentType = ImportHandlerUtils.readAsString(TransactionConstants.PAYMENT_TYPE_COL, row);
-        Long paymentTypeId = ImportHandlerUtils.getIdByName(workbook.getSheet(TemplatePopulateImportConstants.EXTRAS_SHEET_NAME),
-                paymentType);
+        Long paymentTypeId = paymentTypeIdsByName.computeIfAbsent(paymentType, name -> ImportHandlerUtils.getIdByName(extrasSheet, name));
         String accountNumber = ImportHandlerUtils.readAsString(TransactionConstants.ACCOUNT_NO_COL, row);
         String checkNumber = ImportHandlerUtils.readAsString(TransactionConstants.CHECK_NO_COL, row);
         String routingCode = ImportHandlerUtils.readAsString(TransactionConstants.ROUTING_CODE_COL, row);
@@ -115,52 +141,50 @@ public class SavingsTransactionImportHandler implements ImportHandler {
 
     }
 
-    public Count importEntity(String dateFormat) {
-        Sheet savingsTransactionSheet = workbook.getSheet(TemplatePopulateImportConstants.SAVINGS_TRANSACTION_SHEET_NAME);
-        int successCount = 0;
-        int errorCount = 0;
-        String errorMessage = "";
-        GsonBuilder gsonBuilder = GoogleGsonSerializerHelper.createGsonBuilder();
-        gsonBuilder.registerTypeAdapter(LocalDate.class, new DateSerializer(dateFormat));
-        gsonBuilder.registerTypeAdapter(SavingsAccountTransactionEnumData.class, new SavingsAccountTransactionEnumValueSerialiser());
+    private int importChunk(List<SavingsAccountTransactionData> transactions, Sheet savingsTransactionSheet, Gson gson,
+            CellStyle importedStyle) {
+        final List<RuntimeException> failures = this.importChunkExecutor.importChunk(transactions,
+                SavingsAccountTransactionData::getSavingsAccountId, transaction -> importSavingsTransaction(transaction, gson));
 
-        for (SavingsAccountTransactionData transaction : savingsTransactions) {
-            try {
-                JsonObject savingsTransactionJsonob = gsonBuilder.create().toJsonTree(transaction).getAsJsonObject();
-                savingsTransactionJsonob.remove("transactionType");
-                savingsTransactionJsonob.remove("reversed");
-                savingsTransactionJsonob.remove("interestedPostedAsOn");
-                String payload = savingsTransactionJsonob.toString();
-                CommandWrapper commandRequest = null;
-                if (transaction.getTransactionType().getValue().equals("Withdrawal")) {
-                    commandRequest = new CommandWrapperBuilder() //
-                            .savingsAccountWithdrawal(transaction.getSavingsAccountId()) //
-                            .withJson(payload) //
-                            .build(); //
-
-                } else if (transaction.getTransactionType().getValue().equals("Deposit")) {
-                    commandRequest = new CommandWrapperBuilder() //
-                            .savingsAccountDeposit(transaction.getSavingsAccountId()) //
-                            .withJson(payload) //
-                            .build();
-                }
-                final CommandProcessingResult result = commandsSourceWritePlatformService.logCommandSource(commandRequest);
+        // POI workbooks are not thread safe, the statuses are written back on the calling thread
+        int successCount = 0;
+        for (int i = 0; i < transactions.size(); i++) {
+            final SavingsAccountTransactionData transaction = transactions.get(i);
+            final RuntimeException failure = failures.get(i);
+            if (failure == null) {
                 successCount++;
                 Cell statusCell = savingsTransactionSheet.getRow(transaction.getRowIndex()).createCell(TransactionConstants.STATUS_COL);
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
-                statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
-            } catch (RuntimeException ex) {
-                errorCount++;
-                LOG.error("Problem occurred in importEntity function", ex);
-                errorMessage = ImportHandlerUtils.getErrorMessage(ex);
+                statusCell.setCellStyle(importedStyle);
+            } else {
+                LOG.error("Problem occurred in importEntity function", failure);
+                String errorMessage = ImportHandlerUtils.getErrorMessage(failure);
                 ImportHandlerUtils.writeErrorMessage(savingsTransactionSheet, transaction.getRowIndex(), errorMessage,
                         TransactionConstants.STATUS_COL);
             }
         }
-        savingsTransactionSheet.setColumnWidth(TransactionConstants.STATUS_COL, TemplatePopulateImportConstants.SMALL_COL_SIZE);
-        ImportHandlerUtils.writeString(TransactionConstants.STATUS_COL, savingsTransactionSheet.getRow(TransactionConstants.STATUS_COL),
-                TemplatePopulateImportConstants.STATUS_COL_REPORT_HEADER);
-        return Count.instance(successCount, errorCount);
+        return successCount;
     }
 
+    private void importSavingsTransaction(SavingsAccountTransactionData transaction, Gson gson) {
+        JsonObject savingsTransactionJsonob = gson.toJsonTree(transaction).getAsJsonObject();
+        savingsTransactionJsonob.remove("transactionType");
+        savingsTransactionJsonob.remove("reversed");
+        savingsTransactionJsonob.remove("interestedPostedAsOn");
+        String payload = savingsTransactionJsonob.toString();
+        CommandWrapper commandRequest = null;
+        if (transaction.getTransactionType().getValue().equals("Withdrawal")) {
+            commandRequest = new CommandWrapperBuilder() //
+                    .savingsAccountWithdrawal(transaction.getSavingsAccountId()) //
+                    .withJson(payload) //
+                    .build(); //
+
+        } else if (transaction.getTransactionType().getValue().equals("Deposit")) {
+            commandRequest = new CommandWrapperBuilder() //
+                    .savingsAccountDeposit(transaction.getSavingsAccountId()) //
+                    .withJson(payload) //
+                    .build();
+        }
+        commandsSourceWritePlatformService.logCommandSource(commandRequest);
+    }
 }
@@ -18,10 +18,12 @@
  */
 package org.apache.fineract.infrastructure.bulkimport.service;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Set;
 import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
@@ -148,19 +150,33 @@ public class BulkImportEventListener implements ApplicationListener<BulkImportEv
         DocumentCommand documentCommand = new DocumentCommand(modifiedParams, document.getId(), entityType.name(), null, document.getName(),
                 document.getFileName(), document.getSize(), URLConnection.guessContentTypeFromName(document.getFileName()), null, null);
 
-        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Path file = null;
         try {
-            try {
-                workbook.write(bos);
+            file = Files.createTempFile("fineract-import-", ".xls");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
             } finally {
-                bos.close();
+                workbook.close();
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                this.documentService.updateDocument(documentCommand, in);
             }
         } catch (IOException io) {
             LOG.error("Problem occurred in onApplicationEvent function", io);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Could not delete temporary import file {}", file, e);
         }
-        byte[] bytes = bos.toByteArray();
-        ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-        this.documentService.updateDocument(documentCommand, bis);
     }
 
 }
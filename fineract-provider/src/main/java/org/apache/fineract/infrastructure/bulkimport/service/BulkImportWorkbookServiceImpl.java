@@ -18,19 +18,18 @@
  */
 package org.apache.fineract.infrastructure.bulkimport.service;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Collection;
 import javax.ws.rs.core.Response;
-import org.apache.commons.io.IOUtils;
 import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
 import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
 import org.apache.fineract.infrastructure.bulkimport.data.ImportData;
@@ -48,6 +47,7 @@ import org.apache.fineract.infrastructure.documentmanagement.service.DocumentWri
 import org.apache.fineract.infrastructure.documentmanagement.service.DocumentWritePlatformServiceJpaRepositoryImpl;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.tika.Tika;
 import org.apache.tika.io.TikaInputStream;
@@ -86,16 +86,18 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
     @Override
     public Long importWorkbook(String entity, InputStream inputStream, FormDataContentDisposition fileDetail, final String locale,
             final String dateFormat) {
+        Path upload = null;
         try {
             if (entity != null && inputStream != null && fileDetail != null && locale != null && dateFormat != null) {
-                final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                IOUtils.copy(inputStream, baos);
-                final byte[] bytes = baos.toByteArray();
-                InputStream clonedInputStream = new ByteArrayInputStream(bytes);
-                final BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(bytes));
+                // the upload is spooled to disk once instead of being copied around in byte arrays, the workbook and the
+                // stored document are both read from the spooled file
+                upload = Files.createTempFile("fineract-import-", ".tmp");
+                Files.copy(inputStream, upload, StandardCopyOption.REPLACE_EXISTING);
                 final Tika tika = new Tika();
-                final TikaInputStream tikaInputStream = TikaInputStream.get(bis);
-                final String fileType = tika.detect(tikaInputStream);
+                final String fileType;
+                try (TikaInputStream tikaInputStream = TikaInputStream.get(upload)) {
+                    fileType = tika.detect(tikaInputStream);
+                }
                 if (!fileType.contains("msoffice") && !fileType.contains("application/vnd.ms-excel")) {
                     // We had a problem where we tried to upload the downloaded
                     // file from the import options, it was somehow changed the
@@ -104,7 +106,10 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                             "Uploaded file extension is not recognized.");
 
                 }
-                Workbook workbook = new HSSFWorkbook(clonedInputStream);
+                final Workbook workbook;
+                try (POIFSFileSystem fileSystem = new POIFSFileSystem(upload.toFile(), true)) {
+                    workbook = new HSSFWorkbook(fileSystem.getRoot(), false);
+                }
                 GlobalEntityType entityType = null;
                 int primaryColumn = 0;
                 if (entity.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())) {
@@ -169,7 +174,9 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
                     throw new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource", "Unable to find requested resource");
 
                 }
-                return publishEvent(primaryColumn, fileDetail, bis, entityType, workbook, locale, dateFormat);
+                try (InputStream documentInputStream = Files.newInputStream(upload)) {
+                    return publishEvent(primaryColumn, fileDetail, documentInputStream, entityType, workbook, locale, dateFormat);
+                }
             }
             throw new GeneralPlatformDomainRuleException("error.msg.null", "One or more of the given parameters not found");
         } catch (IOException e) {
@@ -177,6 +184,19 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
             throw new GeneralPlatformDomainRuleException("error.msg.io.exception",
                     "IO exception occured with " + fileDetail.getFileName() + " " + e.getMessage(), e);
 
+        } finally {
+            deleteUpload(upload);
+        }
+    }
+
+    private static void deleteUpload(final Path upload) {
+        if (upload == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            LOG.warn("Could not delete temporary import file {}", upload, e);
         }
     }
 
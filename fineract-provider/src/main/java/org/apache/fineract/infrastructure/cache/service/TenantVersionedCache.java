@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Value kept per tenant on this node and shared between nodes through a version stamp in {@code m_cache_version},
+ * stored under the name of the cache.
+ *
+ * {@link #invalidate()} drops the tenant's value on this node and bumps the stamp. A value is trusted for the check
+ * interval, after which the stamp is compared, so changes made on other nodes are picked up too. Every cache name used
+ * must have its row in {@code m_cache_version}.
+ */
+public final class TenantVersionedCache<T> {
+
+    static final long DEFAULT_CHECK_INTERVAL_SECONDS = 5L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String cacheName;
+    private final long checkIntervalMillis;
+    private final Supplier<T> loader;
+    private final LongSupplier clock;
+
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param checkIntervalSeconds
+     *            seconds a value is trusted without comparing its version; null or negative for the default
+     * @param loader
+     *            builds the value of the current tenant; it is called after the version is read
+     */
+    public TenantVersionedCache(final JdbcTemplate jdbcTemplate, final String cacheName, final Integer checkIntervalSeconds,
+            final Supplier<T> loader) {
+        this(jdbcTemplate, cacheName, checkIntervalSeconds, loader, System::currentTimeMillis);
+    }
+
+    TenantVersionedCache(final JdbcTemplate jdbcTemplate, final String cacheName, final Integer checkIntervalSeconds,
+            final Supplier<T> loader, final LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheName = cacheName;
+        this.checkIntervalMillis = TimeUnit.SECONDS.toMillis(checkIntervalSeconds == null || checkIntervalSeconds < 0
+                ? DEFAULT_CHECK_INTERVAL_SECONDS
+                : checkIntervalSeconds);
+        this.loader = loader;
+        this.clock = clock;
+    }
+
+    public T get() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        final long now = this.clock.getAsLong();
+        final Entry<T> entry = this.entries.get(tenantIdentifier);
+        if (entry != null) {
+            if (now - entry.verifiedAt < this.checkIntervalMillis) {
+                return entry.value;
+            }
+            if (entry.version == currentVersion()) {
+                entry.verifiedAt = now;
+                return entry.value;
+            }
+        }
+        // the value is loaded after the version is read, so it is never older than the version it is kept under
+        final long version = currentVersion();
+        final Entry<T> loaded = new Entry<>(version, now, this.loader.get());
+        this.entries.put(tenantIdentifier, loaded);
+        return loaded.value;
+    }
+
+    public void invalidate() {
+        this.jdbcTemplate.update("UPDATE m_cache_version SET version = version + 1 WHERE cache_name = ?", this.cacheName);
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // drop the value again once the change is visible, in case it was reloaded from the old data meanwhile
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TenantVersionedCache.this.entries.remove(tenantIdentifier);
+                }
+            });
+        }
+        this.entries.remove(tenantIdentifier);
+    }
+
+    /**
+     * Drops the tenant's value on this node only, so that it is reloaded on next use without bumping the version.
+     */
+    public void evict() {
+        this.entries.remove(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+    }
+
+    private long currentVersion() {
+        final List<Long> versions = this.jdbcTemplate.queryForList("SELECT version FROM m_cache_version WHERE cache_name = ?", Long.class,
+                this.cacheName);
+        return versions.isEmpty() || versions.get(0) == null ? 0L : versions.get(0);
+    }
+
+    private static final class Entry<T> {
+
+        private final long version;
+        private volatile long verifiedAt;
+        private final T value;
+
+        Entry(final long version, final long verifiedAt, final T value) {
+            this.version = version;
+            this.verifiedAt = verifiedAt;
+            this.value = value;
+        }
+    }
+}
@@ -29,13 +29,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.campaigns.email.domain.EmailCampaign;
 import org.apache.fineract.infrastructure.campaigns.email.domain.EmailCampaignRepository;
 import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignTriggerType;
-import org.apache.fineract.portfolio.businessevent.BusinessEventListener;
+import org.apache.fineract.portfolio.businessevent.AsyncBusinessEventListener;
+import org.apache.fineract.portfolio.businessevent.domain.BusinessEventIds;
 import org.apache.fineract.portfolio.businessevent.domain.loan.LoanApprovedBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.domain.loan.LoanRejectedBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionMakeRepaymentPostBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.service.BusinessEventNotifierService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
+import org.apache.fineract.portfolio.loanaccount.exception.LoanTransactionNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -46,20 +50,28 @@ public class EmailCampaignDomainServiceImpl implements EmailCampaignDomainServic
     private final BusinessEventNotifierService businessEventNotifierService;
     private final EmailCampaignWritePlatformService emailCampaignWritePlatformService;
     private final EmailCampaignRepository emailCampaignRepository;
+    private final LoanRepositoryWrapper loanRepositoryWrapper;
+    private final LoanTransactionRepository loanTransactionRepository;
 
     @PostConstruct
     public void addListeners() {
-        businessEventNotifierService.addPostBusinessEventListener(LoanApprovedBusinessEvent.class, new SendEmailOnLoanApproved());
-        businessEventNotifierService.addPostBusinessEventListener(LoanRejectedBusinessEvent.class, new SendEmailOnLoanRejected());
-        businessEventNotifierService.addPostBusinessEventListener(LoanTransactionMakeRepaymentPostBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanApprovedBusinessEvent.class, new SendEmailOnLoanApproved());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanRejectedBusinessEvent.class, new SendEmailOnLoanRejected());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanTransactionMakeRepaymentPostBusinessEvent.class,
                 new SendEmailOnLoanRepayment());
     }
 
-    private class SendEmailOnLoanRepayment implements BusinessEventListener<LoanTransactionMakeRepaymentPostBusinessEvent> {
+    private class SendEmailOnLoanRepayment implements AsyncBusinessEventListener<LoanTransactionMakeRepaymentPostBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanTransactionMakeRepaymentPostBusinessEvent event) {
-            LoanTransaction loanTransaction = event.get();
+        public BusinessEventIds idsOf(LoanTransactionMakeRepaymentPostBusinessEvent event) {
+            return BusinessEventIds.loanTransaction(event.get().getLoan().getId(), event.get().getId());
+        }
+
+        @Override
+        public void onBusinessEvent(BusinessEventIds ids) {
+            LoanTransaction loanTransaction = loanTransactionRepository.findById(ids.getEntityId())
+                    .orElseThrow(() -> new LoanTransactionNotFoundException(ids.getEntityId(), ids.getAggregateId()));
             try {
                 notifyLoanOwner(loanTransaction, "Loan Repayment");
             } catch (IOException e) {
@@ -68,11 +80,16 @@ public class EmailCampaignDomainServiceImpl implements EmailCampaignDomainServic
         }
     }
 
-    private class SendEmailOnLoanRejected implements BusinessEventListener<LoanRejectedBusinessEvent> {
+    private class SendEmailOnLoanRejected implements AsyncBusinessEventListener<LoanRejectedBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanRejectedBusinessEvent event) {
-            Loan loan = event.get();
+        public BusinessEventIds idsOf(LoanRejectedBusinessEvent event) {
+            return BusinessEventIds.loan(event.get().getId());
+        }
+
+        @Override
+        public void onBusinessEvent(BusinessEventIds ids) {
+            Loan loan = loanRepositoryWrapper.findOneWithNotFoundDetection(ids.getEntityId());
             try {
                 notifyLoanOwner(loan, "Loan Rejected");
             } catch (IOException e) {
@@ -81,11 +98,16 @@ public class EmailCampaignDomainServiceImpl implements EmailCampaignDomainServic
         }
     }
 
-    private class SendEmailOnLoanApproved implements BusinessEventListener<LoanApprovedBusinessEvent> {
+    private class SendEmailOnLoanApproved implements AsyncBusinessEventListener<LoanApprovedBusinessEvent> {
+
+        @Override
+        public BusinessEventIds idsOf(LoanApprovedBusinessEvent event) {
+            return BusinessEventIds.loan(event.get().getId());
+        }
 
         @Override
-        public void onBusinessEvent(LoanApprovedBusinessEvent event) {
-            Loan loan = event.get();
+        public void onBusinessEvent(BusinessEventIds ids) {
+            Loan loan = loanRepositoryWrapper.findOneWithNotFoundDetection(ids.getEntityId());
             try {
                 notifyLoanOwner(loan, "Loan Approved");
             } catch (IOException e) {
@@ -20,16 +20,11 @@ package org.apache.fineract.infrastructure.campaigns.email.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.mustachejava.DefaultMustacheFactory;
-import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import com.google.gson.Gson;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -60,6 +55,7 @@ import org.apache.fineract.infrastructure.campaigns.email.domain.ScheduledEmailA
 import org.apache.fineract.infrastructure.campaigns.email.exception.EmailCampaignMustBeClosedToBeDeletedException;
 import org.apache.fineract.infrastructure.campaigns.email.exception.EmailCampaignMustBeClosedToEditException;
 import org.apache.fineract.infrastructure.campaigns.email.exception.EmailCampaignNotFound;
+import org.apache.fineract.infrastructure.campaigns.helper.CampaignTemplateCache;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.api.JsonQuery;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
@@ -119,6 +115,7 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
     private final SavingsAccountRepository savingsAccountRepository;
     private final EmailMessageJobEmailService emailMessageJobEmailService;
     private final FineractProperties fineractProperties;
+    private final CampaignTemplateCache campaignTemplateCache;
 
     @Autowired
     public EmailCampaignWritePlatformCommandHandlerImpl(final PlatformSecurityContext context,
@@ -127,7 +124,8 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
             final EmailMessageRepository emailMessageRepository, final ClientRepositoryWrapper clientRepositoryWrapper,
             final ReadReportingService readReportingService, final GenericDataService genericDataService,
             final FromJsonHelper fromJsonHelper, final LoanRepository loanRepository, final FineractProperties fineractProperties,
-            final SavingsAccountRepository savingsAccountRepository, final EmailMessageJobEmailService emailMessageJobEmailService) {
+            final SavingsAccountRepository savingsAccountRepository, final EmailMessageJobEmailService emailMessageJobEmailService,
+            final CampaignTemplateCache campaignTemplateCache) {
         this.context = context;
         this.emailCampaignRepository = emailCampaignRepository;
         this.emailCampaignValidator = emailCampaignValidator;
@@ -142,6 +140,7 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
         this.savingsAccountRepository = savingsAccountRepository;
         this.emailMessageJobEmailService = emailMessageJobEmailService;
         this.fineractProperties = fineractProperties;
+        this.campaignTemplateCache = campaignTemplateCache;
     }
 
     @Transactional
@@ -448,13 +447,7 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
 
     private String compileEmailTemplate(final String textMessageTemplate, final String campaignName,
             final Map<String, Object> emailParams) {
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(textMessageTemplate), campaignName);
-
-        final StringWriter stringWriter = new StringWriter();
-        mustache.execute(stringWriter, emailParams);
-
-        return stringWriter.toString();
+        return this.campaignTemplateCache.compile(textMessageTemplate, campaignName, emailParams);
     }
 
     @SuppressWarnings({ "unused", "rawtypes" })
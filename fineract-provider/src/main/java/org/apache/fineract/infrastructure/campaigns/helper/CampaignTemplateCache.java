@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.campaigns.helper;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiled Mustache templates of SMS and email campaigns. A campaign run renders the same template once per recipient,
+ * so templates are compiled once and kept keyed by campaign name and template text: editing a campaign's message
+ * yields a new entry and the old one ages out of the bounded cache.
+ */
+@Component
+public class CampaignTemplateCache {
+
+    private static final int MAXIMUM_SIZE = 500;
+
+    private final MustacheFactory mustacheFactory = new DefaultMustacheFactory();
+    private final Cache<TemplateKey, Mustache> templates = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+
+    public String compile(final String template, final String campaignName, final Map<String, Object> params) {
+        final StringWriter stringWriter = new StringWriter();
+        getMustache(template, campaignName).execute(stringWriter, params);
+        return stringWriter.toString();
+    }
+
+    private Mustache getMustache(final String template, final String campaignName) {
+        final TemplateKey key = new TemplateKey(campaignName, template);
+        Mustache mustache = this.templates.getIfPresent(key);
+        if (mustache == null) {
+            // concurrent first uses may both compile, the result is the same either way
+            mustache = this.mustacheFactory.compile(new StringReader(template), campaignName);
+            this.templates.put(key, mustache);
+        }
+        return mustache;
+    }
+
+    private static final class TemplateKey {
+
+        private final String campaignName;
+        private final String template;
+
+        private TemplateKey(final String campaignName, final String template) {
+            this.campaignName = campaignName;
+            this.template = template;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TemplateKey)) {
+                return false;
+            }
+            final TemplateKey that = (TemplateKey) o;
+            return Objects.equals(this.campaignName, that.campaignName) && Objects.equals(this.template, that.template);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.campaignName, this.template);
+        }
+    }
+}
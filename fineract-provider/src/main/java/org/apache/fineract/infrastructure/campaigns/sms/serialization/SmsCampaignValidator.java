@@ -330,9 +330,13 @@ public class SmsCampaignValidator {
     }
 
     public boolean isValidNotificationOrSms(Client client, SmsCampaign smsCampaign, Object mobileNo) {
+        return isValidNotificationOrSms(client == null ? null : client.getId(), smsCampaign, mobileNo);
+    }
+
+    public boolean isValidNotificationOrSms(Long clientId, SmsCampaign smsCampaign, Object mobileNo) {
         if (smsCampaign.isNotification()) {
-            if (client != null) {
-                DeviceRegistration deviceRegistration = this.deviceRegistrationRepository.findDeviceRegistrationByClientId(client.getId());
+            if (clientId != null) {
+                DeviceRegistration deviceRegistration = this.deviceRegistrationRepository.findDeviceRegistrationByClientId(clientId);
                 return deviceRegistration != null;
             }
             return false;
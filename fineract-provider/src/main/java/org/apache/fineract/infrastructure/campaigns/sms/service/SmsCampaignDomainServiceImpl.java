@@ -44,7 +44,8 @@ import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
 import org.apache.fineract.infrastructure.sms.scheduler.SmsMessageScheduledJobService;
 import org.apache.fineract.organisation.office.domain.Office;
 import org.apache.fineract.organisation.office.domain.OfficeRepository;
-import org.apache.fineract.portfolio.businessevent.BusinessEventListener;
+import org.apache.fineract.portfolio.businessevent.AsyncBusinessEventListener;
+import org.apache.fineract.portfolio.businessevent.domain.BusinessEventIds;
 import org.apache.fineract.portfolio.businessevent.domain.client.ClientActivateBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.domain.client.ClientRejectBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.domain.loan.LoanApprovedBusinessEvent;
@@ -56,13 +57,20 @@ import org.apache.fineract.portfolio.businessevent.domain.savings.transaction.Sa
 import org.apache.fineract.portfolio.businessevent.domain.savings.transaction.SavingsWithdrawalBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.service.BusinessEventNotifierService;
 import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.client.domain.ClientRepositoryWrapper;
 import org.apache.fineract.portfolio.group.domain.Group;
 import org.apache.fineract.portfolio.group.domain.GroupRepository;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
 import org.apache.fineract.portfolio.loanaccount.exception.InvalidLoanTypeException;
+import org.apache.fineract.portfolio.loanaccount.exception.LoanTransactionNotFoundException;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransactionRepository;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountTransactionNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -79,21 +87,27 @@ public class SmsCampaignDomainServiceImpl implements SmsCampaignDomainService {
 
     private final SmsMessageScheduledJobService smsMessageScheduledJobService;
     private final SmsCampaignValidator smsCampaignValidator;
+    private final LoanRepositoryWrapper loanRepositoryWrapper;
+    private final LoanTransactionRepository loanTransactionRepository;
+    private final ClientRepositoryWrapper clientRepositoryWrapper;
+    private final SavingsAccountRepositoryWrapper savingsAccountRepositoryWrapper;
+    private final SavingsAccountTransactionRepository savingsAccountTransactionRepository;
 
     @PostConstruct
     public void addListeners() {
-        businessEventNotifierService.addPostBusinessEventListener(LoanApprovedBusinessEvent.class, new SendSmsOnLoanApproved());
-        businessEventNotifierService.addPostBusinessEventListener(LoanRejectedBusinessEvent.class, new SendSmsOnLoanRejected());
-        businessEventNotifierService.addPostBusinessEventListener(LoanTransactionMakeRepaymentPostBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanApprovedBusinessEvent.class, new SendSmsOnLoanApproved());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanRejectedBusinessEvent.class, new SendSmsOnLoanRejected());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanTransactionMakeRepaymentPostBusinessEvent.class,
                 new SendSmsOnLoanRepayment());
-        businessEventNotifierService.addPostBusinessEventListener(ClientActivateBusinessEvent.class, new ClientActivatedListener());
-        businessEventNotifierService.addPostBusinessEventListener(ClientRejectBusinessEvent.class, new ClientRejectedListener());
-        businessEventNotifierService.addPostBusinessEventListener(SavingsActivateBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(ClientActivateBusinessEvent.class, new ClientActivatedListener());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(ClientRejectBusinessEvent.class, new ClientRejectedListener());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(SavingsActivateBusinessEvent.class,
                 new SavingsAccountActivatedListener());
-        businessEventNotifierService.addPostBusinessEventListener(SavingsRejectBusinessEvent.class, new SavingsAccountRejectedListener());
-        businessEventNotifierService.addPostBusinessEventListener(SavingsDepositBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(SavingsRejectBusinessEvent.class,
+                new SavingsAccountRejectedListener());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(SavingsDepositBusinessEvent.class,
                 new DepositSavingsAccountTransactionListener());
-        businessEventNotifierService.addPostBusinessEventListener(SavingsWithdrawalBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(SavingsWithdrawalBusinessEvent.class,
                 new NonDepositSavingsAccountTransactionListener());
     }
 
@@ -372,77 +386,130 @@ public class SmsCampaignDomainServiceImpl implements SmsCampaignDomainService {
         return smsParams;
     }
 
-    private class SendSmsOnLoanApproved implements BusinessEventListener<LoanApprovedBusinessEvent> {
+    private class SendSmsOnLoanApproved implements AsyncBusinessEventListener<LoanApprovedBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanApprovedBusinessEvent event) {
-            Loan loan = event.get();
-            notifyAcceptedLoanOwner(loan);
+        public BusinessEventIds idsOf(LoanApprovedBusinessEvent event) {
+            return BusinessEventIds.loan(event.get().getId());
+        }
+
+        @Override
+        public void onBusinessEvent(BusinessEventIds ids) {
+            notifyAcceptedLoanOwner(loanRepositoryWrapper.findOneWithNotFoundDetection(ids.getEntityId()));
         }
     }
 
-    private class SendSmsOnLoanRejected implements BusinessEventListener<LoanRejectedBusinessEvent> {
+    private class SendSmsOnLoanRejected implements AsyncBusinessEventListener<LoanRejectedBusinessEvent> {
+
+        @Override
+        public BusinessEventIds idsOf(LoanRejectedBusinessEvent event) {
+            return BusinessEventIds.loan(event.get().getId());
+        }
 
         @Override
-        public void onBusinessEvent(LoanRejectedBusinessEvent event) {
-            Loan loan = event.get();
-            notifyRejectedLoanOwner(loan);
+        public void onBusinessEvent(BusinessEventIds ids) {
+            notifyRejectedLoanOwner(loanRepositoryWrapper.findOneWithNotFoundDetection(ids.getEntityId()));
         }
     }
 
-    private class SendSmsOnLoanRepayment implements BusinessEventListener<LoanTransactionMakeRepaymentPostBusinessEvent> {
+    private class SendSmsOnLoanRepayment implements AsyncBusinessEventListener<LoanTransactionMakeRepaymentPostBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanTransactionMakeRepaymentPostBusinessEvent event) {
-            sendSmsForLoanRepayment(event.get());
+        public BusinessEventIds idsOf(LoanTransactionMakeRepaymentPostBusinessEvent event) {
+            return BusinessEventIds.loanTransaction(event.get().getLoan().getId(), event.get().getId());
+        }
+
+        @Override
+        public void onBusinessEvent(BusinessEventIds ids) {
+            sendSmsForLoanRepayment(loanTransactionRepository.findById(ids.getEntityId())
+                    .orElseThrow(() -> new LoanTransactionNotFoundException(ids.getEntityId(), ids.getAggregateId())));
         }
     }
 
-    private class ClientActivatedListener implements BusinessEventListener<ClientActivateBusinessEvent> {
+    private class ClientActivatedListener implements AsyncBusinessEventListener<ClientActivateBusinessEvent> {
+
+        @Override
+        public BusinessEventIds idsOf(ClientActivateBusinessEvent event) {
+            return BusinessEventIds.client(event.get().getId());
+        }
 
         @Override
-        public void onBusinessEvent(ClientActivateBusinessEvent event) {
-            notifyClientActivated(event.get());
+        public void onBusinessEvent(BusinessEventIds ids) {
+            notifyClientActivated(clientRepositoryWrapper.findOneWithNotFoundDetection(ids.getEntityId()));
         }
     }
 
-    private class ClientRejectedListener implements BusinessEventListener<ClientRejectBusinessEvent> {
+    private class ClientRejectedListener implements AsyncBusinessEventListener<ClientRejectBusinessEvent> {
+
+        @Override
+        public BusinessEventIds idsOf(ClientRejectBusinessEvent event) {
+            return BusinessEventIds.client(event.get().getId());
+        }
 
         @Override
-        public void onBusinessEvent(ClientRejectBusinessEvent event) {
-            notifyClientRejected(event.get());
+        public void onBusinessEvent(BusinessEventIds ids) {
+            notifyClientRejected(clientRepositoryWrapper.findOneWithNotFoundDetection(ids.getEntityId()));
         }
     }
 
-    private class SavingsAccountActivatedListener implements BusinessEventListener<SavingsActivateBusinessEvent> {
+    private class SavingsAccountActivatedListener implements AsyncBusinessEventListener<SavingsActivateBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(SavingsActivateBusinessEvent event) {
-            notifySavingsAccountActivated(event.get());
+        public BusinessEventIds idsOf(SavingsActivateBusinessEvent event) {
+            return BusinessEventIds.savingsAccount(event.get().getId());
+        }
+
+        @Override
+        public void onBusinessEvent(BusinessEventIds ids) {
+            notifySavingsAccountActivated(savingsAccountRepositoryWrapper.findOneWithNotFoundDetection(ids.getEntityId()));
         }
     }
 
-    private class SavingsAccountRejectedListener implements BusinessEventListener<SavingsRejectBusinessEvent> {
+    private class SavingsAccountRejectedListener implements AsyncBusinessEventListener<SavingsRejectBusinessEvent> {
+
+        @Override
+        public BusinessEventIds idsOf(SavingsRejectBusinessEvent event) {
+            return BusinessEventIds.savingsAccount(event.get().getId());
+        }
 
         @Override
-        public void onBusinessEvent(SavingsRejectBusinessEvent event) {
-            notifySavingsAccountRejected(event.get());
+        public void onBusinessEvent(BusinessEventIds ids) {
+            notifySavingsAccountRejected(savingsAccountRepositoryWrapper.findOneWithNotFoundDetection(ids.getEntityId()));
         }
     }
 
-    private class DepositSavingsAccountTransactionListener implements BusinessEventListener<SavingsDepositBusinessEvent> {
+    private class DepositSavingsAccountTransactionListener implements AsyncBusinessEventListener<SavingsDepositBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(SavingsDepositBusinessEvent event) {
-            sendSmsForSavingsTransaction(event.get(), true);
+        public BusinessEventIds idsOf(SavingsDepositBusinessEvent event) {
+            return BusinessEventIds.savingsTransaction(event.get().getSavingsAccount().getId(), event.get().getId());
+        }
+
+        @Override
+        public void onBusinessEvent(BusinessEventIds ids) {
+            sendSmsForSavingsTransaction(findSavingsTransaction(ids), true);
         }
     }
 
-    private class NonDepositSavingsAccountTransactionListener implements BusinessEventListener<SavingsWithdrawalBusinessEvent> {
+    private class NonDepositSavingsAccountTransactionListener implements AsyncBusinessEventListener<SavingsWithdrawalBusinessEvent> {
+
+        @Override
+        public BusinessEventIds idsOf(SavingsWithdrawalBusinessEvent event) {
+            return BusinessEventIds.savingsTransaction(event.get().getSavingsAccount().getId(), event.get().getId());
+        }
 
         @Override
-        public void onBusinessEvent(SavingsWithdrawalBusinessEvent event) {
-            sendSmsForSavingsTransaction(event.get(), false);
+        public void onBusinessEvent(BusinessEventIds ids) {
+            sendSmsForSavingsTransaction(findSavingsTransaction(ids), false);
+        }
+    }
+
+    private SavingsAccountTransaction findSavingsTransaction(final BusinessEventIds ids) {
+        final SavingsAccountTransaction transaction = this.savingsAccountTransactionRepository
+                .findOneByIdAndSavingsAccountId(ids.getEntityId(), ids.getAggregateId());
+        if (transaction == null) {
+            throw new SavingsAccountTransactionNotFoundException(ids.getAggregateId(), ids.getEntityId());
         }
+        return transaction;
     }
 }
@@ -21,19 +21,16 @@ package org.apache.fineract.infrastructure.campaigns.sms.service;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.mustachejava.DefaultMustacheFactory;
-import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import com.google.gson.JsonElement;
 import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -41,6 +38,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import org.apache.fineract.infrastructure.campaigns.helper.CampaignTemplateCache;
 import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignStatus;
 import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignTriggerType;
 import org.apache.fineract.infrastructure.campaigns.sms.data.CampaignPreviewData;
@@ -88,14 +86,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWritePlatformService {
 
     private static final Logger LOG = LoggerFactory.getLogger(SmsCampaignWritePlatformServiceJpaImpl.class);
+    private static final int OUTBOUND_BATCH_SIZE = 500;
 
     private final PlatformSecurityContext context;
 
@@ -111,6 +116,10 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
     private final DeviceRegistrationRepositoryWrapper deviceRegistrationRepository;
 
     private final SmsMessageScheduledJobService smsMessageScheduledJobService;
+    private final CampaignTemplateCache campaignTemplateCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final TransactionTemplate streamTransactionTemplate;
 
     @Autowired
     public SmsCampaignWritePlatformServiceJpaImpl(final PlatformSecurityContext context, final SmsCampaignRepository smsCampaignRepository,
@@ -119,7 +128,8 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
             final ReadReportingService readReportingService, final GenericDataService genericDataService,
             final FromJsonHelper fromJsonHelper, final GroupRepository groupRepository,
             final SmsMessageScheduledJobService smsMessageScheduledJobService,
-            final DeviceRegistrationRepositoryWrapper deviceRegistrationRepository) {
+            final DeviceRegistrationRepositoryWrapper deviceRegistrationRepository, final CampaignTemplateCache campaignTemplateCache,
+            final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager) {
         this.context = context;
         this.smsCampaignRepository = smsCampaignRepository;
         this.smsCampaignValidator = smsCampaignValidator;
@@ -132,6 +142,13 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
         this.groupRepository = groupRepository;
         this.smsMessageScheduledJobService = smsMessageScheduledJobService;
         this.deviceRegistrationRepository = deviceRegistrationRepository;
+        this.campaignTemplateCache = campaignTemplateCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // suspends the caller's transaction, so the report cursor does not share its connection with the page writes
+        this.streamTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.streamTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
     }
 
     @Transactional
@@ -216,41 +233,132 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
 
     }
 
-    private void insertDirectCampaignIntoSmsOutboundTable(SmsCampaign smsCampaign) {
-        try {
-            HashMap<String, String> campaignParams = new ObjectMapper().readValue(smsCampaign.getParamValue(),
-                    new TypeReference<HashMap<String, String>>() {});
+    private void insertDirectCampaignIntoSmsOutboundTable(final SmsCampaign smsCampaign) {
+        startCampaignRun(smsCampaign.getId(), true);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // the messages reference the campaign row this transaction has just updated, they are written in their own
+            // transactions once it is committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
 
-            HashMap<String, String> queryParamForRunReport = new ObjectMapper().readValue(smsCampaign.getParamValue(),
-                    new TypeReference<HashMap<String, String>>() {});
+                @Override
+                public void afterCommit() {
+                    writeCampaignMessages(smsCampaign);
+                }
+            });
+        } else {
+            writeCampaignMessages(smsCampaign);
+        }
+    }
 
-            List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
-                    queryParamForRunReport);
+    /**
+     * Marks a run of the campaign as started; {@code last_outbound_client_id} holds the last client whose message the
+     * run has written and is cleared once the run is complete. Unless {@code restart} is set a run that has not
+     * completed yet is kept, so it is resumed instead of being started again.
+     */
+    private void startCampaignRun(final Long campaignId, final boolean restart) {
+        this.jdbcTemplate.update("UPDATE sms_campaign SET last_outbound_client_id = 0 WHERE id = ?"
+                + (restart ? "" : " AND last_outbound_client_id IS NULL"), campaignId);
+    }
 
-            if (runReportObject != null) {
-                for (HashMap<String, Object> entry : runReportObject) {
-                    String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
-                    Integer clientId = (Integer) entry.get("id");
-                    Object mobileNo = entry.get("mobileNo");
+    /**
+     * Streams the campaign's report on a connection of its own, starting after the last client the current run has
+     * written, and writes the messages of every page of recipients as one JDBC batch in its own transaction together
+     * with the run's progress. Returns whether the run is complete; a failed run keeps its progress and is resumed by
+     * the next run of the job.
+     */
+    private boolean writeCampaignMessages(final SmsCampaign smsCampaign) {
+        final Long campaignId = smsCampaign.getId();
+        try {
+            final HashMap<String, String> campaignParams = new ObjectMapper().readValue(smsCampaign.getParamValue(),
+                    new TypeReference<HashMap<String, String>>() {});
 
-                    Client client = this.clientRepositoryWrapper.findOneWithNotFoundDetection(clientId.longValue());
-                    if (this.smsCampaignValidator.isValidNotificationOrSms(client, smsCampaign, mobileNo)) {
-                        // String countryCode =
-                        // this.smsReadPlatformService.retrieveCountryCode(client.getOffice().getId()).getCountryCode();
-                        String mobileNumber = null;
-                        if (mobileNo != null) {
-                            mobileNumber = mobileNo.toString();
-                        }
-                        SmsMessage smsMessage = SmsMessage.pendingSms(null, null, client, null, textMessage, mobileNumber, smsCampaign,
-                                smsCampaign.isNotification());
-                        this.smsMessageRepository.save(smsMessage);
-                    }
+            final long rows = this.streamTransactionTemplate.execute(status -> {
+                final Long resumeAfter = this.jdbcTemplate
+                        .queryForObject("SELECT last_outbound_client_id FROM sms_campaign WHERE id = ?", Long.class, campaignId);
+                if (resumeAfter == null) {
+                    return 0L;
                 }
+                final long[] lastClientId = { resumeAfter };
+                final long read = this.readReportingService.streamGenericResultSetForSmsEmailCampaign(campaignParams.get("reportName"),
+                        "report", campaignParams, resumeAfter, OUTBOUND_BATCH_SIZE, page -> {
+                            final List<HashMap<String, Object>> reportRows = toReportRowsUnchecked(page);
+                            lastClientId[0] = this.newTransactionTemplate
+                                    .execute(pageStatus -> writeCampaignMessages(smsCampaign, reportRows, lastClientId[0]));
+                        });
+                this.newTransactionTemplate.executeWithoutResult(pageStatus -> recordProgress(campaignId, lastClientId[0], null));
+                return read;
+            });
+            LOG.info("Campaign {} processed {} report rows", campaignId, rows);
+            return true;
+        } catch (final CampaignRunSupersededException e) {
+            LOG.info("Campaign {} stopped writing messages, it was closed or another run has taken over", campaignId);
+        } catch (final IOException | RuntimeException e) {
+            LOG.error("Campaign {} failed to write its messages, the run is resumed by the next job run", campaignId, e);
+        }
+        return false;
+    }
+
+    private Long writeCampaignMessages(final SmsCampaign smsCampaign, final List<HashMap<String, Object>> reportRows,
+            final Long lastClientId) {
+        if (reportRows.isEmpty()) {
+            return lastClientId;
+        }
+        final Set<Long> clientIds = new HashSet<>(reportRows.size());
+        Long pageLastClientId = lastClientId;
+        for (HashMap<String, Object> entry : reportRows) {
+            final Long clientId = ((Number) entry.get("id")).longValue();
+            clientIds.add(clientId);
+            pageLastClientId = Math.max(pageLastClientId, clientId);
+        }
+        final Set<Long> existingClientIds = new HashSet<>(
+                this.jdbcTemplate.queryForList("SELECT id FROM m_client WHERE id IN (" + placeholders(clientIds.size()) + ")",
+                        Long.class, clientIds.toArray()));
+
+        final LocalDate submittedOnDate = DateUtils.getBusinessLocalDate();
+        final List<Object[]> messages = new ArrayList<>(reportRows.size());
+        for (HashMap<String, Object> entry : reportRows) {
+            final Long clientId = ((Number) entry.get("id")).longValue();
+            final Object mobileNo = entry.get("mobileNo");
+            if (!existingClientIds.contains(clientId)) {
+                LOG.warn("Campaign {} skips client {} of its report, the client does not exist", smsCampaign.getId(), clientId);
+            } else if (this.smsCampaignValidator.isValidNotificationOrSms(clientId, smsCampaign, mobileNo)) {
+                String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
+                messages.add(new Object[] { clientId, smsCampaign.getId(), SmsMessageStatusType.PENDING.getValue(),
+                        mobileNo == null ? null : mobileNo.toString(), textMessage, submittedOnDate, smsCampaign.isNotification() });
             }
-        } catch (final IOException e) {
-            LOG.error("Error occured.", e);
         }
+        if (!messages.isEmpty()) {
+            this.jdbcTemplate.batchUpdate("INSERT INTO sms_messages_outbound (client_id, campaign_id, status_enum, mobile_no, message, "
+                    + "submittedon_date, is_notification) VALUES (?, ?, ?, ?, ?, ?, ?)", messages);
+        }
+        recordProgress(smsCampaign.getId(), lastClientId, pageLastClientId);
+        return pageLastClientId;
+    }
 
+    private void recordProgress(final Long campaignId, final Long expectedClientId, final Long lastClientId) {
+        final int updated = this.jdbcTemplate.update(
+                "UPDATE sms_campaign SET last_outbound_client_id = ? WHERE id = ? AND last_outbound_client_id = ? AND status_enum = ?",
+                lastClientId, campaignId, expectedClientId, SmsCampaignStatus.ACTIVE.getValue());
+        if (updated == 0) {
+            throw new CampaignRunSupersededException();
+        }
+    }
+
+    private List<HashMap<String, Object>> toReportRowsUnchecked(final GenericResultsetData page) {
+        try {
+            return toReportRows(page);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rolls back the page being written when the campaign's run is no longer the current one.
+     */
+    private static final class CampaignRunSupersededException extends RuntimeException {}
+
+    private static String placeholders(final int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
     }
 
     @Override
@@ -508,23 +616,20 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
 
     @Override
     public String compileSmsTemplate(final String textMessageTemplate, final String campaignName, final Map<String, Object> smsParams) {
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(textMessageTemplate), campaignName);
-
-        final StringWriter stringWriter = new StringWriter();
-        mustache.execute(stringWriter, smsParams);
-
-        return stringWriter.toString();
+        return this.campaignTemplateCache.compile(textMessageTemplate, campaignName, smsParams);
     }
 
     private List<HashMap<String, Object>> getRunReportByServiceImpl(final String reportName, final Map<String, String> queryParams)
             throws IOException {
         final String reportType = "report";
 
-        List<HashMap<String, Object>> resultList = new ArrayList<>();
         final GenericResultsetData results = this.readReportingService.retrieveGenericResultSetForSmsEmailCampaign(reportName, reportType,
                 queryParams);
+        return toReportRows(results);
+    }
 
+    private List<HashMap<String, Object>> toReportRows(final GenericResultsetData results) throws IOException {
+        List<HashMap<String, Object>> resultList = new ArrayList<>();
         try {
             final String response = this.genericDataService.generateJsonFromGenericResultsetData(results);
             resultList = new ObjectMapper().readValue(response, new TypeReference<List<HashMap<String, Object>>>() {});
@@ -637,6 +742,13 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
     @Override
     @CronTarget(jobName = JobName.UPDATE_SMS_OUTBOUND_WITH_CAMPAIGN_MESSAGE)
     public void storeTemplateMessageIntoSmsOutBoundTable() throws JobExecutionException {
+        final List<Long> interruptedCampaignIds = this.jdbcTemplate.queryForList(
+                "SELECT id FROM sms_campaign WHERE campaign_trigger_type = ? AND status_enum = ? AND last_outbound_client_id IS NOT NULL",
+                Long.class, SmsCampaignTriggerType.DIRECT.getValue(), SmsCampaignStatus.ACTIVE.getValue());
+        for (Long campaignId : interruptedCampaignIds) {
+            this.smsCampaignRepository.findById(campaignId).ifPresent(this::writeCampaignMessages);
+        }
+
         final Collection<SmsCampaign> smsCampaignDataCollection = this.smsCampaignRepository
                 .findByTriggerTypeAndStatus(SmsCampaignTriggerType.SCHEDULE.getValue(), SmsCampaignStatus.ACTIVE.getValue());
         if (smsCampaignDataCollection != null) {
@@ -647,8 +759,10 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
                 LOG.info("tenant time {} trigger time {} {}", tenantDateNow, nextTriggerDate,
                         JobName.UPDATE_SMS_OUTBOUND_WITH_CAMPAIGN_MESSAGE.name());
                 if (nextTriggerDate.isBefore(tenantDateNow)) {
-                    insertDirectCampaignIntoSmsOutboundTable(smsCampaign);
-                    this.updateTriggerDates(smsCampaign.getId());
+                    startCampaignRun(smsCampaign.getId(), false);
+                    if (writeCampaignMessages(smsCampaign)) {
+                        this.updateTriggerDates(smsCampaign.getId());
+                    }
                 }
             }
         }
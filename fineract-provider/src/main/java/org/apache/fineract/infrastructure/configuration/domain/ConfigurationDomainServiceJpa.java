@@ -20,20 +20,20 @@ package org.apache.fineract.infrastructure.configuration.domain;
 
 import io.fiter.ff4j.validators.FeatureList;
 import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCache;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCacheRepository;
+import org.apache.fineract.infrastructure.cache.service.TenantVersionedCache;
 import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
-import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.useradministration.domain.Permission;
 import org.apache.fineract.useradministration.domain.PermissionRepository;
 import org.apache.fineract.useradministration.exception.PermissionNotFoundException;
 import org.ff4j.FF4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,21 +43,27 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     public static final String ENABLE_BUSINESS_DATE = "enable_business_date";
     public static final String ENABLE_AUTOMATIC_COB_DATE_ADJUSTMENT = "enable_automatic_cob_date_adjustment";
     public static final String ENFORCE_OVERDUE_LOANS_FOR_MIN_BALANCE = "enforce_loan_overdue_amount_min_balance_check";
+    private static final String SNAPSHOT_CACHE_NAME = "configuration";
+
     private final PermissionRepository permissionRepository;
     private final GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
     private final PlatformCacheRepository cacheTypeRepository;
-    private static Map<String, GlobalConfigurationPropertyData> configurations = new HashMap<>();
+    private final TenantVersionedCache<GlobalConfigurationSnapshot> snapshots;
 
     private final FF4j ff4j;
 
     @Autowired
     public ConfigurationDomainServiceJpa(final PermissionRepository permissionRepository,
             final GlobalConfigurationRepositoryWrapper globalConfigurationRepository, final PlatformCacheRepository cacheTypeRepository,
-            final FF4j ff4j) {
+            final FF4j ff4j, final JdbcTemplate jdbcTemplate, final FineractProperties fineractProperties) {
         this.permissionRepository = permissionRepository;
         this.globalConfigurationRepository = globalConfigurationRepository;
         this.cacheTypeRepository = cacheTypeRepository;
         this.ff4j = ff4j;
+        final FineractProperties.FineractConfigurationProperties configuration = fineractProperties.getConfiguration();
+        this.snapshots = new TenantVersionedCache<>(jdbcTemplate, SNAPSHOT_CACHE_NAME,
+                configuration == null ? null : configuration.getSnapshotCheckIntervalSeconds(),
+                () -> GlobalConfigurationSnapshot.of(globalConfigurationRepository.findAll(), permissionRepository.findAll()));
     }
 
     @Override
@@ -71,15 +77,21 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
             throw new PermissionNotFoundException(taskPermissionCode);
         }
 
-        final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
-        if (thisTask == null) {
-            throw new PermissionNotFoundException(taskPermissionCode);
+        Boolean taskMakerCheckerEnabled = getSnapshot().isMakerCheckerEnabled(taskPermissionCode);
+        if (taskMakerCheckerEnabled == null) {
+            // permissions are also created at runtime (datatables, reports), so a miss is not final
+            final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
+            if (thisTask == null) {
+                throw new PermissionNotFoundException(taskPermissionCode);
+            }
+            this.snapshots.evict();
+            taskMakerCheckerEnabled = thisTask.hasMakerCheckerEnabled();
         }
 
         final String makerCheckerConfigurationProperty = "maker-checker";
         final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(makerCheckerConfigurationProperty);
 
-        return thisTask.hasMakerCheckerEnabled() && property.isEnabled();
+        return taskMakerCheckerEnabled && property.isEnabled();
     }
 
     @Override
@@ -320,10 +332,8 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     }
 
     @Override
-    public void removeGlobalConfigurationPropertyDataFromCache(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        configurations.remove(key);
+    public void invalidateConfigurationSnapshot() {
+        this.snapshots.invalidate();
     }
 
     @Override
@@ -389,15 +399,16 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         return property.getValue();
     }
 
-    @Cacheable(value = "configByName", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#propertyName)")
     private GlobalConfigurationPropertyData getGlobalConfigurationPropertyData(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        if (!configurations.containsKey(key)) {
-            GlobalConfigurationProperty configuration = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
-            configurations.put(key, configuration.toData());
+        final GlobalConfigurationPropertyData configuration = getSnapshot().getConfiguration(propertyName);
+        if (configuration == null) {
+            throw new GlobalConfigurationPropertyNotFoundException(propertyName);
         }
-        return configurations.get(key);
+        return configuration;
+    }
+
+    private GlobalConfigurationSnapshot getSnapshot() {
+        return this.snapshots.get();
     }
 
     @Override
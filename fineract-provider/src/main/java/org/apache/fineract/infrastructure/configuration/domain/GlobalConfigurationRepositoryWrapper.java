@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.configuration.domain;
 
+import java.util.List;
 import org.apache.fineract.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -45,6 +46,10 @@ public class GlobalConfigurationRepositoryWrapper {
         return property;
     }
 
+    public List<GlobalConfigurationProperty> findAll() {
+        return this.repository.findAll();
+    }
+
     public GlobalConfigurationProperty findOneWithNotFoundDetection(final Long configId) {
         return this.repository.findById(configId).orElseThrow(() -> new GlobalConfigurationPropertyNotFoundException(configId));
     }
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.domain;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
+import org.apache.fineract.useradministration.domain.Permission;
+
+/**
+ * Immutable view of a tenant's global configuration and maker-checker permission flags. The values held are never
+ * modified; a changed configuration is published by replacing the whole snapshot.
+ */
+final class GlobalConfigurationSnapshot {
+
+    private final Map<String, GlobalConfigurationPropertyData> configurations;
+    private final Map<String, Boolean> makerCheckerByPermissionCode;
+
+    private GlobalConfigurationSnapshot(final Map<String, GlobalConfigurationPropertyData> configurations,
+            final Map<String, Boolean> makerCheckerByPermissionCode) {
+        this.configurations = configurations;
+        this.makerCheckerByPermissionCode = makerCheckerByPermissionCode;
+    }
+
+    static GlobalConfigurationSnapshot of(final List<GlobalConfigurationProperty> properties, final List<Permission> permissions) {
+        final Map<String, GlobalConfigurationPropertyData> configurations = new HashMap<>(properties.size() * 2);
+        for (final GlobalConfigurationProperty property : properties) {
+            configurations.put(property.getName(), property.toData());
+        }
+        final Map<String, Boolean> makerChecker = new HashMap<>(permissions.size() * 2);
+        for (final Permission permission : permissions) {
+            makerChecker.putIfAbsent(permissionKey(permission.getCode()), permission.hasMakerCheckerEnabled());
+        }
+        return new GlobalConfigurationSnapshot(Map.copyOf(configurations), Map.copyOf(makerChecker));
+    }
+
+    /**
+     * Permission codes are matched the same way as {@code PermissionRepository#findOneByCode}: trimmed and ignoring case.
+     */
+    static String permissionKey(final String code) {
+        return code.trim().toLowerCase(Locale.ROOT);
+    }
+
+    GlobalConfigurationPropertyData getConfiguration(final String name) {
+        return this.configurations.get(name);
+    }
+
+    Boolean isMakerCheckerEnabled(final String permissionCode) {
+        return this.makerCheckerByPermissionCode.get(permissionKey(permissionCode));
+    }
+}
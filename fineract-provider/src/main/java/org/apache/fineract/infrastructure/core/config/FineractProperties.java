@@ -41,6 +41,26 @@ public class FineractProperties {
 
     private FineractTemplateProperties template;
 
+    private FineractReportProperties report;
+
+    private FineractEventsProperties events;
+
+    private FineractConfigurationProperties configuration;
+
+    private FineractBatchProperties batch;
+
+    private FineractAccountingProperties accounting;
+
+    private FineractHooksProperties hooks;
+
+    private FineractDatatablesProperties datatables;
+
+    private FineractTenantPoolsProperties tenantPools;
+
+    private FineractBulkImportProperties bulkImport;
+
+    private FineractNotificationProperties notification;
+
     @Getter
     @Setter
     public static class FineractTenantProperties {
@@ -116,4 +136,85 @@ public class FineractProperties {
         private boolean regexWhitelistEnabled;
         private List<String> regexWhitelist;
     }
+
+    @Getter
+    @Setter
+    public static class FineractReportProperties {
+
+        private int exportFetchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractEventsProperties {
+
+        private int asyncThreadPoolSize;
+        private int asyncQueueCapacity;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractConfigurationProperties {
+
+        private int snapshotCheckIntervalSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBatchProperties {
+
+        private int parallelThreadPoolSize;
+        private int parallelQueueCapacity;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractAccountingProperties {
+
+        private int runningBalanceThreadPoolSize;
+        private int runningBalancePageSize;
+        private int mappingCacheCheckIntervalSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHooksProperties {
+
+        private int dispatcherThreadPoolSize;
+        private int dispatcherBatchSize;
+        private int maxAttempts;
+        private int retryBackoffSeconds;
+        private int indexCheckIntervalSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractDatatablesProperties {
+
+        private int metadataCacheCheckIntervalSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTenantPoolsProperties {
+
+        private int idleEvictionMinutes;
+        private int evictionCheckIntervalSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBulkImportProperties {
+
+        private int workerThreadPoolSize;
+        private int chunkSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractNotificationProperties {
+
+        private boolean asyncDispatchEnabled;
+        private int dispatcherThreadPoolSize;
+    }
 }
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+
+/**
+ * <p>
+ * Immutable data object representing a keyset (cursor) page request.
+ * </p>
+ *
+ * Keyset pages are read in key order starting after the key carried by an opaque cursor, so the cost of a page does not
+ * depend on how deep into the result it is. A request is made by passing the {@code after} query parameter: empty for
+ * the first page, then the {@code nextCursor} of the previous page.
+ */
+public final class KeysetPageRequest {
+
+    public static final String AFTER_PARAMETER = "after";
+    public static final String COUNT_PARAMETER = "count";
+
+    private static final int DEFAULT_LIMIT = 200;
+    private static final String CURSOR_PREFIX = "k:";
+
+    /**
+     * How {@code totalFilteredRecords} is filled for a keyset page.
+     */
+    public enum CountMode {
+        /** an exact {@code COUNT(*)} of the filtered rows */
+        EXACT,
+        /** the row estimate of the query planner, cheap but approximate */
+        ESTIMATED,
+        /** no count, {@code totalFilteredRecords} is 0 */
+        NONE
+    }
+
+    private final Long afterKey;
+    private final int limit;
+    private final CountMode countMode;
+
+    private KeysetPageRequest(final Long afterKey, final int limit, final CountMode countMode) {
+        this.afterKey = afterKey;
+        this.limit = limit;
+        this.countMode = countMode;
+    }
+
+    public static boolean isRequested(final String after) {
+        return after != null;
+    }
+
+    public static KeysetPageRequest instance(final String after, final Integer limit, final String count) {
+        final Integer checkedLimit = PaginationParameters.getCheckedLimit(limit);
+        return new KeysetPageRequest(decodeCursor(after), checkedLimit == null ? DEFAULT_LIMIT : checkedLimit, countMode(count));
+    }
+
+    public static String encodeCursor(final Long key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((CURSOR_PREFIX + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(final String after) {
+        if (StringUtils.isBlank(after)) {
+            return null;
+        }
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(after.trim()), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (final IllegalArgumentException e) {
+            // falls through to the validation error below, NumberFormatException included
+        }
+        throw new PlatformApiDataValidationException(List.of(ApiParameterError.parameterError("validation.msg.pagination.after.invalid",
+                "The cursor `" + after + "` is not valid", AFTER_PARAMETER, after)));
+    }
+
+    private static CountMode countMode(final String count) {
+        if (StringUtils.isBlank(count)) {
+            return CountMode.NONE;
+        }
+        try {
+            return CountMode.valueOf(count.trim().toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new PlatformApiDataValidationException(List.of(ApiParameterError.parameterError(
+                    "validation.msg.pagination.count.value.is.not.supported",
+                    "The count value `" + count + "` is not supported. The supported count values are [exact, estimated, none]",
+                    COUNT_PARAMETER, count)));
+        }
+    }
+
+    public boolean hasCursor() {
+        return this.afterKey != null;
+    }
+
+    public Long getAfterKey() {
+        return this.afterKey;
+    }
+
+    public int getLimit() {
+        return this.limit;
+    }
+
+    public CountMode getCountMode() {
+        return this.countMode;
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.fineract.infrastructure.core.serialization;
 import com.google.gson.Gson;
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -108,6 +109,51 @@ public class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<T> {
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final Collection<T> collection,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return streamWithSettings(delegatedSerializer, settings, collection.toArray());
+    }
+
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final T singleObject,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return streamWithSettings(delegatedSerializer, settings, singleObject);
+    }
+
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final Page<T> singleObject,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return streamWithSettings(delegatedSerializer, settings, singleObject);
+    }
+
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final Collection<T> collection) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings);
+        return streamWithSettings(delegatedSerializer, settings, collection.toArray());
+    }
+
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final T singleObject) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings);
+        return streamWithSettings(delegatedSerializer, settings, singleObject);
+    }
+
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final Page<T> singleObject) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings);
+        return streamWithSettings(delegatedSerializer, settings, singleObject);
+    }
+
+    private StreamingOutput streamWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings,
+            final Object dataObject) {
+        final Gson serializer = gson != null ? gson : this.helper.createGsonBuilderWithNoFiltering(settings.isPrettyPrint());
+        return this.helper.streamingJsonFrom(serializer, dataObject);
+    }
+
     private String serializeWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Object[] dataObject) {
         String json = null;
         if (gson != null) {
@@ -98,17 +98,26 @@ public class FromJsonHelper {
         }
     }
 
+    /**
+     * Checks the top-level keys of an already parsed request, e.g. {@code JsonCommand.parsedJson()}, against the
+     * supported parameters without deserializing the raw JSON again.
+     */
+    public void checkForUnsupportedParameters(final JsonElement element, final Collection<String> supportedParams) {
+        if (element == null || !element.isJsonObject()) {
+            throw new InvalidJsonException();
+        }
+        checkForUnsupportedParameters(element.getAsJsonObject(), supportedParams);
+    }
+
     public void checkForUnsupportedParameters(final JsonObject object, final Collection<String> supportedParams) {
         if (object == null) {
             throw new InvalidParameterException();
         }
 
-        final Set<Map.Entry<String, JsonElement>> entries = object.entrySet();
         final List<String> unsupportedParameterList = new ArrayList<>();
-
-        for (final Map.Entry<String, JsonElement> providedParameter : entries) {
-            if (!supportedParams.contains(providedParameter.getKey())) {
-                unsupportedParameterList.add(providedParameter.getKey());
+        for (final String providedParameter : object.keySet()) {
+            if (!supportedParams.contains(providedParameter)) {
+                unsupportedParameterList.add(providedParameter);
             }
         }
 
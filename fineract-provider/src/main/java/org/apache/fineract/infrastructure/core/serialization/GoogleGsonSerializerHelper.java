@@ -18,9 +18,16 @@
  */
 package org.apache.fineract.infrastructure.core.serialization;
 
-import com.google.gson.ExclusionStrategy;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -29,7 +36,9 @@ import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.api.DateAdapter;
 import org.apache.fineract.infrastructure.core.api.JodaDateTimeAdapter;
 import org.apache.fineract.infrastructure.core.api.JodaMonthDayAdapter;
@@ -48,15 +57,16 @@ import org.springframework.stereotype.Service;
 @Service
 public final class GoogleGsonSerializerHelper {
 
-    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
-        final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
+    private static final int MAX_CACHED_SERIALIZERS = 256;
 
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
-        }
-        return builder.create();
+    /**
+     * Configured {@link Gson} instances are thread safe and keep a per-type adapter cache, so one is kept per distinct
+     * field selection rather than being rebuilt for every request that asks for a partial response.
+     */
+    private final Cache<SerializerKey, Gson> serializers = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SERIALIZERS).build();
+
+    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
+        return cachedSerializer(SerializerType.INCLUDE, Set.copyOf(responseParameters), prettyPrint);
     }
 
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
@@ -78,14 +88,15 @@ public final class GoogleGsonSerializerHelper {
             parameterNamesToSkip.removeAll(responseParameters);
         }
 
-        final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
+        return cachedSerializer(SerializerType.EXCLUDE, Set.copyOf(parameterNamesToSkip), prettyPrint);
+    }
 
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
-        }
-        return builder.create();
+    /**
+     * Returns the shared serializer that writes all fields, for callers that need a {@link Gson} rather than a
+     * {@link String}, e.g. when streaming.
+     */
+    public Gson createGsonBuilderWithNoFiltering(final boolean prettyPrint) {
+        return cachedSerializer(SerializerType.NONE, Set.of(), prettyPrint);
     }
 
     public String serializedJsonFrom(final Gson serializer, final Object[] dataObjects) {
@@ -96,6 +107,44 @@ public final class GoogleGsonSerializerHelper {
         return serializer.toJson(singleDataObject);
     }
 
+    /**
+     * Serializes straight to the response stream instead of building the whole JSON document as a {@link String} first.
+     */
+    public StreamingOutput streamingJsonFrom(final Gson serializer, final Object dataObject) {
+        return output -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            try {
+                serializer.toJson(dataObject, writer);
+            } catch (JsonIOException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw e;
+            }
+            writer.flush();
+        };
+    }
+
+    private Gson cachedSerializer(final SerializerType type, final Set<String> parameterNames, final boolean prettyPrint) {
+        final SerializerKey key = new SerializerKey(type, parameterNames, prettyPrint);
+        Gson gson = this.serializers.getIfPresent(key);
+        if (gson == null) {
+            final GsonBuilder builder = new GsonBuilder();
+            if (type == SerializerType.INCLUDE) {
+                builder.addSerializationExclusionStrategy(new ParameterListInclusionStrategy(parameterNames));
+            } else if (type == SerializerType.EXCLUDE) {
+                builder.addSerializationExclusionStrategy(new ParameterListExclusionStrategy(parameterNames));
+            }
+            registerTypeAdapters(builder);
+            if (prettyPrint) {
+                builder.setPrettyPrinting();
+            }
+            gson = builder.create();
+            this.serializers.put(key, gson);
+        }
+        return gson;
+    }
+
     public static GsonBuilder createGsonBuilder() {
         return createGsonBuilder(false);
     }
@@ -119,4 +168,38 @@ public final class GoogleGsonSerializerHelper {
         builder.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter());
         builder.registerTypeAdapter(OffsetDateTime.class, new OffsetDateTimeAdapter());
     }
+
+    private enum SerializerType {
+        INCLUDE, EXCLUDE, NONE
+    }
+
+    private static final class SerializerKey {
+
+        private final SerializerType type;
+        private final Set<String> parameterNames;
+        private final boolean prettyPrint;
+
+        SerializerKey(final SerializerType type, final Set<String> parameterNames, final boolean prettyPrint) {
+            this.type = type;
+            this.parameterNames = parameterNames;
+            this.prettyPrint = prettyPrint;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SerializerKey)) {
+                return false;
+            }
+            final SerializerKey that = (SerializerKey) o;
+            return this.type == that.type && this.prettyPrint == that.prettyPrint && this.parameterNames.equals(that.parameterNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.type, this.parameterNames, this.prettyPrint);
+        }
+    }
 }
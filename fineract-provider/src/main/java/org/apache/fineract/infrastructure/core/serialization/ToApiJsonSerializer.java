@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.core.serialization;
 
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 
 public interface ToApiJsonSerializer<T> {
@@ -46,4 +47,20 @@ public interface ToApiJsonSerializer<T> {
     String serialize(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
 
     String serialize(ApiRequestJsonSerializationSettings settings, Page<T> singleObject, Set<String> supportedResponseParameters);
+
+    // Streaming variants write the JSON straight to the response OutputStream
+    // rather than building it as a String first, for large list responses.
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, Collection<T> collection);
+
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, T single);
+
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, Page<T> singleObject);
+
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, Collection<T> collection,
+            Set<String> supportedResponseParameters);
+
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
+
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, Page<T> singleObject,
+            Set<String> supportedResponseParameters);
 }
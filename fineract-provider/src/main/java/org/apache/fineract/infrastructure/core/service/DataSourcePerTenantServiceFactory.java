@@ -22,6 +22,8 @@ import static org.apache.fineract.infrastructure.core.domain.FineractPlatformTen
 import static org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection.toProtocol;
 
 import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
@@ -46,14 +48,17 @@ public class DataSourcePerTenantServiceFactory {
     private final ApplicationContext context;
     private final DataSource tenantDataSource;
     private final HikariDataSourceFactory hikariDataSourceFactory;
+    private final MeterRegistry meterRegistry;
 
     public DataSourcePerTenantServiceFactory(@Qualifier("hikariTenantDataSource") DataSource tenantDataSource, HikariConfig hikariConfig,
-            FineractProperties fineractProperties, ApplicationContext context, HikariDataSourceFactory hikariDataSourceFactory) {
+            FineractProperties fineractProperties, ApplicationContext context, HikariDataSourceFactory hikariDataSourceFactory,
+            MeterRegistry meterRegistry) {
         this.hikariConfig = hikariConfig;
         this.fineractProperties = fineractProperties;
         this.context = context;
         this.tenantDataSource = tenantDataSource;
         this.hikariDataSourceFactory = hikariDataSourceFactory;
+        this.meterRegistry = meterRegistry;
     }
 
     public DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
@@ -92,12 +97,18 @@ public class DataSourcePerTenantServiceFactory {
         config.setMinimumIdle(tenantConnection.getInitialSize());
         config.setMaximumPoolSize(tenantConnection.getMaxActive());
         config.setValidationTimeout(tenantConnection.getValidationInterval());
+        if (tenantConnection.getMinEvictableIdleTimeMillis() > 0) {
+            // connections above the minimum idle count are closed after this time, see pool_min_evictable_idle_time_millis
+            config.setIdleTimeout(tenantConnection.getMinEvictableIdleTimeMillis());
+        }
         config.setDriverClassName(hikariConfig.getDriverClassName());
         config.setConnectionTestQuery(hikariConfig.getConnectionTestQuery());
         config.setAutoCommit(hikariConfig.isAutoCommit());
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MBean-(JMX)-Monitoring-and-Management
         config.setRegisterMbeans(true);
+        // hikaricp.connections.active / idle / pending and hikaricp.connections.acquire, tagged with the pool name
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
 
         // https://github.com/brettwooldridge/HikariCP/wiki/MySQL-Configuration
         // These are the properties for each Tenant DB; the same configuration
@@ -25,10 +25,16 @@ public class Page<E> implements Serializable {
 
     private final int totalFilteredRecords;
     private final List<E> pageItems;
+    private final String nextCursor;
 
     public Page(final List<E> pageItems, final int totalFilteredRecords) {
+        this(pageItems, totalFilteredRecords, null);
+    }
+
+    public Page(final List<E> pageItems, final int totalFilteredRecords, final String nextCursor) {
         this.pageItems = pageItems;
         this.totalFilteredRecords = totalFilteredRecords;
+        this.nextCursor = nextCursor;
     }
 
     public int getTotalFilteredRecords() {
@@ -38,4 +44,11 @@ public class Page<E> implements Serializable {
     public List<E> getPageItems() {
         return this.pageItems;
     }
+
+    /**
+     * The cursor to pass as {@code after} for the next keyset page, {@code null} on the last page and for offset pages.
+     */
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
 }
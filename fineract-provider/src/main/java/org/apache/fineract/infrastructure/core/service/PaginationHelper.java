@@ -18,8 +18,13 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import com.google.gson.JsonParser;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -72,6 +77,68 @@ public class PaginationHelper {
         return new Page<>(items, ObjectUtils.defaultIfNull(totalFilteredRecords, 0));
     }
 
+    /**
+     * Fetches one keyset page. {@code sqlFetchRows} is the select with its filters and must end with a where clause; the
+     * keyset condition, order and limit on {@code keyColumn} are appended here. One row more than the page size is read
+     * to tell whether a next page exists, and its cursor is built from the key of the last row on the page.
+     */
+    public <E> Page<E> fetchKeysetPage(final JdbcTemplate jt, final String sqlFetchRows, final Object[] args, final String keyColumn,
+            final boolean descending, final KeysetPageRequest pageRequest, final RowMapper<E> rowMapper,
+            final Function<E, Long> keyExtractor) {
+
+        final StringBuilder sqlBuilder = new StringBuilder(sqlFetchRows);
+        final List<Object> pageArgs = new ArrayList<>(Arrays.asList(args));
+        if (pageRequest.hasCursor()) {
+            sqlBuilder.append(" and ").append(keyColumn).append(descending ? " < ?" : " > ?");
+            pageArgs.add(pageRequest.getAfterKey());
+        }
+        sqlBuilder.append(" order by ").append(keyColumn).append(descending ? " desc " : " asc ");
+        sqlBuilder.append(sqlGenerator.limit(pageRequest.getLimit() + 1));
+
+        final List<E> rows = jt.query(sqlBuilder.toString(), rowMapper, pageArgs.toArray()); // NOSONAR
+        String nextCursor = null;
+        List<E> items = rows;
+        if (rows.size() > pageRequest.getLimit()) {
+            items = new ArrayList<>(rows.subList(0, pageRequest.getLimit()));
+            nextCursor = KeysetPageRequest.encodeCursor(keyExtractor.apply(items.get(items.size() - 1)));
+        }
+
+        final int totalFilteredRecords;
+        switch (pageRequest.getCountMode()) {
+            case EXACT:
+                totalFilteredRecords = ObjectUtils.defaultIfNull(
+                        jt.queryForObject(sqlGenerator.countQueryResult(sqlFetchRows), Integer.class, args), 0); // NOSONAR
+            break;
+            case ESTIMATED:
+                totalFilteredRecords = estimateRowCount(jt, sqlFetchRows, args);
+            break;
+            default:
+                totalFilteredRecords = 0;
+        }
+        return new Page<>(items, totalFilteredRecords, nextCursor);
+    }
+
+    /**
+     * Row count estimate of the query planner for {@code sql}, without executing it. It is only as good as the table
+     * statistics and on MySQL only considers the first table of the plan.
+     */
+    private int estimateRowCount(final JdbcTemplate jt, final String sql, final Object[] args) {
+        if (databaseTypeResolver.isPostgreSQL()) {
+            final String plan = jt.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args); // NOSONAR
+            final long rows = JsonParser.parseString(plan).getAsJsonArray().get(0).getAsJsonObject().getAsJsonObject("Plan")
+                    .get("Plan Rows").getAsLong();
+            return (int) Math.min(rows, Integer.MAX_VALUE);
+        }
+        final Long rows = jt.query("EXPLAIN " + sql, rs -> { // NOSONAR
+            if (!rs.next()) {
+                return 0L;
+            }
+            final double filtered = rs.getDouble("filtered");
+            return (long) (rs.getLong("rows") * (filtered > 0 ? filtered / 100 : 1));
+        }, args);
+        return (int) Math.min(ObjectUtils.defaultIfNull(rows, 0L), Integer.MAX_VALUE);
+    }
+
     public DatabaseTypeResolver getDatabaseTypeResolver() {
         return databaseTypeResolver;
     }
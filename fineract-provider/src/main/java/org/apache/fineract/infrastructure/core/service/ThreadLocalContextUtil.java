@@ -120,6 +120,15 @@ public final class ThreadLocalContextUtil {
         setActionContext(fineractContext.getActionContext());
     }
 
+    public static void reset() {
+        contextHolder.remove();
+        tenantContext.remove();
+        authTokenContext.remove();
+        businessDateContext.remove();
+        actionContext.remove();
+        jobParams.remove();
+    }
+
     public static void setJobParams(final Map<String, Object> params) {
         jobParams.set(params);
     }
@@ -18,13 +18,26 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
-import java.util.HashMap;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 /**
@@ -32,44 +45,188 @@ import org.springframework.stereotype.Service;
  * {@link ThreadLocal} variable for this request.
  *
  * {@link ThreadLocalContextUtil} is used to retrieve the {@link FineractPlatformTenant} for the request.
+ *
+ * Pools are created lazily on the first request of a tenant and looked up without locking afterwards. A pool that has
+ * handed out no connection for {@code fineract.tenant-pools.idle-eviction-minutes} and has none in use is closed, so
+ * quiet tenants do not keep connections open; it is created again on the tenant's next request. A caller still holding
+ * a closed pool gets its connections from the tenant's current pool.
  */
+@Slf4j
 @Service
 public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService {
 
-    private final Map<Long, DataSource> tenantToDataSourceMap = new HashMap<>(1);
+    private static final int DEFAULT_IDLE_EVICTION_MINUTES = 30;
+    private static final int DEFAULT_EVICTION_CHECK_INTERVAL_SECONDS = 60;
+
+    private final Map<Long, TenantPool> tenantPools = new ConcurrentHashMap<>();
     private final DataSource tenantDataSource;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final long idleEvictionMillis;
+    private final ScheduledThreadPoolExecutor evictionExecutor;
 
     @Autowired
     public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
-            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory) {
+            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final FineractProperties fineractProperties) {
         this.tenantDataSource = tenantDataSource;
         this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
+
+        final FineractProperties.FineractTenantPoolsProperties tenantPoolsProperties = fineractProperties.getTenantPools();
+        final int idleEvictionMinutes = tenantPoolsProperties == null ? DEFAULT_IDLE_EVICTION_MINUTES
+                : tenantPoolsProperties.getIdleEvictionMinutes();
+        final int checkIntervalSeconds = tenantPoolsProperties == null || tenantPoolsProperties.getEvictionCheckIntervalSeconds() <= 0
+                ? DEFAULT_EVICTION_CHECK_INTERVAL_SECONDS
+                : tenantPoolsProperties.getEvictionCheckIntervalSeconds();
+        this.idleEvictionMillis = TimeUnit.MINUTES.toMillis(idleEvictionMinutes);
+
+        if (idleEvictionMinutes > 0) {
+            this.evictionExecutor = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("tenant-pool-eviction-"));
+            this.evictionExecutor.scheduleWithFixedDelay(this::evictIdlePools, checkIntervalSeconds, checkIntervalSeconds,
+                    TimeUnit.SECONDS);
+        } else {
+            this.evictionExecutor = null;
+        }
     }
 
     @Override
     public DataSource retrieveDataSource() {
         // default to tenant database datasource
-        DataSource tenantDataSource = this.tenantDataSource;
-
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
-        if (tenant != null) {
-            final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
-
-            synchronized (this.tenantToDataSourceMap) {
-                // if tenantConnection information available switch to the
-                // appropriate datasource for that tenant.
-                DataSource possibleDS = this.tenantToDataSourceMap.get(tenantConnection.getConnectionId());
-                if (possibleDS != null) {
-                    tenantDataSource = possibleDS;
-                } else {
-                    tenantDataSource = dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenantConnection);
-                    this.tenantToDataSourceMap.put(tenantConnection.getConnectionId(), tenantDataSource);
+        if (tenant == null) {
+            return this.tenantDataSource;
+        }
+
+        // if tenantConnection information available switch to the
+        // appropriate datasource for that tenant.
+        return poolFor(tenant.getConnection());
+    }
+
+    private TenantPool poolFor(final FineractPlatformTenantConnection tenantConnection) {
+        while (true) {
+            TenantPool pool = this.tenantPools.get(tenantConnection.getConnectionId());
+            if (pool == null) {
+                pool = this.tenantPools.computeIfAbsent(tenantConnection.getConnectionId(), connectionId -> new TenantPool(
+                        tenantConnection, this.dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenantConnection)));
+            }
+            if (pool.touch()) {
+                return pool;
+            }
+            // closed by the eviction, which removes it right after; the tenant gets a new pool
+            this.tenantPools.remove(tenantConnection.getConnectionId(), pool);
+        }
+    }
+
+    void evictIdlePools() {
+        final long idleSince = System.currentTimeMillis() - this.idleEvictionMillis;
+        for (final TenantPool pool : this.tenantPools.values()) {
+            try {
+                if (pool.markClosedIfIdle(idleSince)) {
+                    this.tenantPools.remove(pool.connectionId, pool);
+                    log.info("Closing connection pool of tenant connection {}, idle for more than {} ms", pool.connectionId,
+                            this.idleEvictionMillis);
+                    pool.close();
                 }
+            } catch (RuntimeException | IOException e) {
+                log.warn("Evicting connection pool of tenant connection {} failed", pool.connectionId, e);
             }
         }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (this.evictionExecutor != null) {
+            this.evictionExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tenant pool handed out to callers, records when it was last used so idle pools can be evicted. Borrowing a
+     * connection and closing the pool are serialised on the pool: once it is marked closed no connection is borrowed
+     * from it any more, and it is only marked closed while no connection is being borrowed or in use.
+     */
+    private final class TenantPool extends DelegatingDataSource implements Closeable {
+
+        private final Long connectionId;
+        private final FineractPlatformTenantConnection tenantConnection;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private int borrowing;
+        private boolean closed;
 
-        return tenantDataSource;
+        TenantPool(final FineractPlatformTenantConnection tenantConnection, final DataSource dataSource) {
+            super(dataSource);
+            this.connectionId = tenantConnection.getConnectionId();
+            this.tenantConnection = tenantConnection;
+        }
+
+        synchronized boolean touch() {
+            this.lastUsed = System.currentTimeMillis();
+            return !this.closed;
+        }
+
+        private synchronized boolean tryBorrow() {
+            if (this.closed) {
+                return false;
+            }
+            this.lastUsed = System.currentTimeMillis();
+            this.borrowing++;
+            return true;
+        }
+
+        private synchronized void returned() {
+            this.borrowing--;
+        }
+
+        synchronized boolean markClosedIfIdle(final long idleSince) {
+            if (this.closed || this.borrowing > 0 || this.lastUsed >= idleSince || isInUse()) {
+                return false;
+            }
+            this.closed = true;
+            return true;
+        }
+
+        private TenantPool borrow() {
+            TenantPool pool = this;
+            while (!pool.tryBorrow()) {
+                pool = poolFor(this.tenantConnection);
+            }
+            return pool;
+        }
+
+        boolean isInUse() {
+            final DataSource target = obtainTargetDataSource();
+            if (target instanceof HikariDataSource) {
+                final HikariPoolMXBean poolBean = ((HikariDataSource) target).getHikariPoolMXBean();
+                return poolBean != null && (poolBean.getActiveConnections() > 0 || poolBean.getThreadsAwaitingConnection() > 0);
+            }
+            return false;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            final TenantPool pool = borrow();
+            try {
+                return pool.obtainTargetDataSource().getConnection();
+            } finally {
+                pool.returned();
+            }
+        }
+
+        @Override
+        public Connection getConnection(final String username, final String password) throws SQLException {
+            final TenantPool pool = borrow();
+            try {
+                return pool.obtainTargetDataSource().getConnection(username, password);
+            } finally {
+                pool.returned();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            final DataSource target = obtainTargetDataSource();
+            if (target instanceof Closeable) {
+                ((Closeable) target).close();
+            }
+        }
     }
 }
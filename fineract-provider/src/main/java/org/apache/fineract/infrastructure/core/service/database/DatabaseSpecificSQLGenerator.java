@@ -20,6 +20,8 @@ package org.apache.fineract.infrastructure.core.service.database;
 
 import static java.lang.String.format;
 
+import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -197,4 +199,22 @@ public class DatabaseSpecificSQLGenerator {
             throw new IllegalStateException("Database type is not supported for Additional date " + databaseTypeResolver.databaseType());
         }
     }
+
+    /**
+     * Insert of one row with a parameter per column, which updates the non-key columns instead when a row with the same
+     * {@code keyColumn} exists. The key column has to be the table's primary key or carry a unique constraint.
+     */
+    public String upsert(String table, String keyColumn, List<String> columns) {
+        final String insert = format("INSERT INTO %s (%s, %s) VALUES (%s?)", table, String.join(", ", columns), keyColumn,
+                "?, ".repeat(columns.size()));
+        if (databaseTypeResolver.isMySQL()) {
+            return insert + " ON DUPLICATE KEY UPDATE "
+                    + columns.stream().map(column -> format("%s = VALUES(%s)", column, column)).collect(Collectors.joining(", "));
+        } else if (databaseTypeResolver.isPostgreSQL()) {
+            return insert + format(" ON CONFLICT (%s) DO UPDATE SET ", keyColumn)
+                    + columns.stream().map(column -> format("%s = EXCLUDED.%s", column, column)).collect(Collectors.joining(", "));
+        } else {
+            throw new IllegalStateException("Database type is not supported for upsert " + databaseTypeResolver.databaseType());
+        }
+    }
 }
@@ -18,27 +18,209 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.data;
 
+import com.google.gson.annotations.JsonAdapter;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Immutable data object for generic resultset data.
+ *
+ * Rows are held column by column in typed arrays (integers as {@code long[]}, dates as epoch days, decimals as
+ * {@link BigDecimal}, everything else as {@link String}) rather than as one {@code List<String>} per row, so large
+ * report results neither pay for a wrapper per row nor for a string conversion per numeric cell. Values are read by
+ * index through {@link #getObject(int, int)} / {@link #getString(int, int)} or row by row through {@link #rows()}; the
+ * JSON shape ({@code columnHeaders} plus {@code data[].row[]} of strings) is kept by {@link GenericResultsetDataJsonAdapter}.
  */
+@JsonAdapter(GenericResultsetDataJsonAdapter.class)
 public final class GenericResultsetData {
 
+    private static final int INITIAL_CAPACITY = 64;
+
     private final List<ResultsetColumnHeaderData> columnHeaders;
-    private final List<ResultsetRowData> data;
+    private final Column[] columns;
+    private final int rowCount;
 
-    public GenericResultsetData(final List<ResultsetColumnHeaderData> columnHeaders, final List<ResultsetRowData> resultsetDataRows) {
+    private GenericResultsetData(final List<ResultsetColumnHeaderData> columnHeaders, final Column[] columns, final int rowCount) {
         this.columnHeaders = columnHeaders;
-        this.data = resultsetDataRows;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Reads the remaining rows of the given (forward only) result set by column index, the column headers are taken from
+     * the result set meta data.
+     */
+    public static GenericResultsetData fromResultSet(final ResultSet rs) throws SQLException {
+        return fromResultSet(columnHeaders(rs), rs);
+    }
+
+    /**
+     * The column headers of the given result set as taken from its meta data.
+     */
+    public static List<ResultsetColumnHeaderData> columnHeaders(final ResultSet rs) throws SQLException {
+        final ResultSetMetaData rsmd = rs.getMetaData();
+        final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>(rsmd.getColumnCount());
+        for (int i = 1; i <= rsmd.getColumnCount(); i++) {
+            columnHeaders.add(ResultsetColumnHeaderData.basic(rsmd.getColumnLabel(i), rsmd.getColumnTypeName(i)));
+        }
+        return columnHeaders;
+    }
+
+    /**
+     * Reads the remaining rows of the given (forward only) result set by column index. The column headers are kept as
+     * passed, they may describe fewer columns than the result set returns.
+     */
+    public static GenericResultsetData fromResultSet(final List<ResultsetColumnHeaderData> columnHeaders, final ResultSet rs)
+            throws SQLException {
+        return fromResultSet(columnHeaders, rs, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads at most {@code maxRows} further rows of the given (forward only) result set, so a large result can be
+     * consumed page by page; an empty result means the result set is exhausted.
+     */
+    public static GenericResultsetData fromResultSet(final List<ResultsetColumnHeaderData> columnHeaders, final ResultSet rs,
+            final int maxRows) throws SQLException {
+        final ResultSetMetaData rsmd = rs.getMetaData();
+        final Column[] columns = new Column[rsmd.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Column.forType(rsmd.getColumnType(i + 1), rsmd.getColumnTypeName(i + 1));
+        }
+
+        int rowCount = 0;
+        int capacity = INITIAL_CAPACITY;
+        for (final Column column : columns) {
+            column.resize(capacity);
+        }
+        while (rowCount < maxRows && rs.next()) {
+            if (rowCount == capacity) {
+                capacity = capacity + (capacity >> 1);
+                for (final Column column : columns) {
+                    column.resize(capacity);
+                }
+            }
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].read(rs, i + 1, rowCount);
+            }
+            rowCount++;
+        }
+        for (final Column column : columns) {
+            column.resize(rowCount);
+        }
+        return new GenericResultsetData(columnHeaders, columns, rowCount);
+    }
+
+    /**
+     * Builds resultset data from rows of strings, as read back from the JSON shape; every column is kept as
+     * {@link String}.
+     */
+    static GenericResultsetData fromStringRows(final List<ResultsetColumnHeaderData> columnHeaders, final List<List<String>> rows) {
+        final int columnCount = rows.isEmpty() ? columnHeaders.size() : rows.get(0).size();
+        final Column[] columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            final StringColumn column = new StringColumn();
+            column.resize(rows.size());
+            for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
+                final List<String> row = rows.get(rowIndex);
+                column.values[rowIndex] = i < row.size() ? row.get(i) : null;
+            }
+            columns[i] = column;
+        }
+        return new GenericResultsetData(columnHeaders, columns, rows.size());
     }
 
     public List<ResultsetColumnHeaderData> getColumnHeaders() {
         return this.columnHeaders;
     }
 
+    /**
+     * Row view kept for callers that still work on {@code List<String>} rows; every access materialises the row, prefer
+     * {@link #rows()} or the index based accessors.
+     */
     public List<ResultsetRowData> getData() {
-        return this.data;
+        return new AbstractList<>() {
+
+            @Override
+            public ResultsetRowData get(final int rowIndex) {
+                return ResultsetRowData.create(getRow(rowIndex));
+            }
+
+            @Override
+            public int size() {
+                return GenericResultsetData.this.rowCount;
+            }
+        };
+    }
+
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+    public int getColumnCount() {
+        return this.columns.length;
+    }
+
+    /**
+     * @return the typed value of the cell: {@link Long}, {@link BigDecimal}, {@link LocalDate} or {@link String}, or
+     *         {@code null}
+     */
+    public Object getObject(final int rowIndex, final int columnIndex) {
+        return this.columns[columnIndex].get(checkRow(rowIndex));
+    }
+
+    /**
+     * @return the value of the cell as the JDBC driver would have rendered it by {@code ResultSet.getString}
+     */
+    public String getString(final int rowIndex, final int columnIndex) {
+        return this.columns[columnIndex].getString(checkRow(rowIndex));
+    }
+
+    public boolean isNull(final int rowIndex, final int columnIndex) {
+        return this.columns[columnIndex].isNull(checkRow(rowIndex));
+    }
+
+    public List<String> getRow(final int rowIndex) {
+        checkRow(rowIndex);
+        final List<String> row = new ArrayList<>(this.columns.length);
+        for (final Column column : this.columns) {
+            row.add(column.getString(rowIndex));
+        }
+        return row;
+    }
+
+    /**
+     * Iterates the rows in order. The returned {@link Row} is a cursor that is moved by every {@code next()} call, it must
+     * not be held on to.
+     */
+    public Iterator<Row> rows() {
+        final Row cursor = new Row();
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return cursor.index + 1 < GenericResultsetData.this.rowCount;
+            }
+
+            @Override
+            public Row next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                cursor.index++;
+                return cursor;
+            }
+        };
     }
 
     public String getColTypeOfColumnNamed(final String columnName) {
@@ -54,7 +236,7 @@ public final class GenericResultsetData {
     }
 
     public boolean hasNoEntries() {
-        return this.data.isEmpty();
+        return this.rowCount == 0;
     }
 
     public boolean hasEntries() {
@@ -62,6 +244,205 @@ public final class GenericResultsetData {
     }
 
     public boolean hasMoreThanOneEntry() {
-        return this.data.size() > 1;
+        return this.rowCount > 1;
+    }
+
+    private int checkRow(final int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= this.rowCount) {
+            throw new IndexOutOfBoundsException("Row " + rowIndex + " out of " + this.rowCount);
+        }
+        return rowIndex;
+    }
+
+    /**
+     * Cursor over one row of a {@link GenericResultsetData}, see {@link GenericResultsetData#rows()}.
+     */
+    public final class Row {
+
+        private int index = -1;
+
+        public int getIndex() {
+            return this.index;
+        }
+
+        public int size() {
+            return GenericResultsetData.this.columns.length;
+        }
+
+        public Object getObject(final int columnIndex) {
+            return GenericResultsetData.this.columns[columnIndex].get(this.index);
+        }
+
+        public String getString(final int columnIndex) {
+            return GenericResultsetData.this.columns[columnIndex].getString(this.index);
+        }
+
+        public boolean isNull(final int columnIndex) {
+            return GenericResultsetData.this.columns[columnIndex].isNull(this.index);
+        }
+    }
+
+    private abstract static class Column {
+
+        static Column forType(final int jdbcType, final String typeName) {
+            final boolean unsigned = typeName != null && typeName.toUpperCase().contains("UNSIGNED");
+            switch (jdbcType) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                    return new LongColumn();
+                case Types.BIGINT:
+                    // BIGINT UNSIGNED does not fit into a long
+                    return unsigned ? new StringColumn() : new LongColumn();
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    return new DecimalColumn();
+                case Types.DATE:
+                    return new DateColumn();
+                default:
+                    return new StringColumn();
+            }
+        }
+
+        abstract void resize(int capacity);
+
+        abstract void read(ResultSet rs, int columnIndex, int rowIndex) throws SQLException;
+
+        abstract Object get(int rowIndex);
+
+        abstract String getString(int rowIndex);
+
+        abstract boolean isNull(int rowIndex);
+    }
+
+    private static final class LongColumn extends Column {
+
+        private long[] values = new long[0];
+        private final BitSet nulls = new BitSet();
+
+        @Override
+        void resize(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex, final int rowIndex) throws SQLException {
+            this.values[rowIndex] = rs.getLong(columnIndex);
+            if (rs.wasNull()) {
+                this.nulls.set(rowIndex);
+            }
+        }
+
+        @Override
+        Object get(final int rowIndex) {
+            return this.nulls.get(rowIndex) ? null : this.values[rowIndex];
+        }
+
+        @Override
+        String getString(final int rowIndex) {
+            return this.nulls.get(rowIndex) ? null : Long.toString(this.values[rowIndex]);
+        }
+
+        @Override
+        boolean isNull(final int rowIndex) {
+            return this.nulls.get(rowIndex);
+        }
+    }
+
+    private static final class DateColumn extends Column {
+
+        private long[] epochDays = new long[0];
+        private final BitSet nulls = new BitSet();
+
+        @Override
+        void resize(final int capacity) {
+            this.epochDays = Arrays.copyOf(this.epochDays, capacity);
+        }
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex, final int rowIndex) throws SQLException {
+            final LocalDate value = rs.getObject(columnIndex, LocalDate.class);
+            if (value == null) {
+                this.nulls.set(rowIndex);
+            } else {
+                this.epochDays[rowIndex] = value.toEpochDay();
+            }
+        }
+
+        @Override
+        Object get(final int rowIndex) {
+            return this.nulls.get(rowIndex) ? null : LocalDate.ofEpochDay(this.epochDays[rowIndex]);
+        }
+
+        @Override
+        String getString(final int rowIndex) {
+            return this.nulls.get(rowIndex) ? null : LocalDate.ofEpochDay(this.epochDays[rowIndex]).toString();
+        }
+
+        @Override
+        boolean isNull(final int rowIndex) {
+            return this.nulls.get(rowIndex);
+        }
+    }
+
+    private static final class DecimalColumn extends Column {
+
+        private BigDecimal[] values = new BigDecimal[0];
+
+        @Override
+        void resize(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex, final int rowIndex) throws SQLException {
+            this.values[rowIndex] = rs.getBigDecimal(columnIndex);
+        }
+
+        @Override
+        Object get(final int rowIndex) {
+            return this.values[rowIndex];
+        }
+
+        @Override
+        String getString(final int rowIndex) {
+            final BigDecimal value = this.values[rowIndex];
+            return value == null ? null : value.toPlainString();
+        }
+
+        @Override
+        boolean isNull(final int rowIndex) {
+            return this.values[rowIndex] == null;
+        }
+    }
+
+    private static final class StringColumn extends Column {
+
+        private String[] values = new String[0];
+
+        @Override
+        void resize(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex, final int rowIndex) throws SQLException {
+            this.values[rowIndex] = rs.getString(columnIndex);
+        }
+
+        @Override
+        Object get(final int rowIndex) {
+            return this.values[rowIndex];
+        }
+
+        @Override
+        String getString(final int rowIndex) {
+            return this.values[rowIndex];
+        }
+
+        @Override
+        boolean isNull(final int rowIndex) {
+            return this.values[rowIndex] == null;
+        }
     }
 }
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * GSON Serializer and Deserializer for {@link GenericResultsetData} in the shape the API always returned,
+ * {@code {"columnHeaders": [...], "data": [{"row": ["..", ..]}, ..]}}. Writing goes through the columns without
+ * materialising the rows, read back data keeps every cell as a string.
+ */
+public class GenericResultsetDataJsonAdapter implements JsonSerializer<GenericResultsetData>, JsonDeserializer<GenericResultsetData> {
+
+    private static final Type COLUMN_HEADERS_TYPE = new TypeToken<List<ResultsetColumnHeaderData>>() {}.getType();
+
+    @Override
+    public JsonElement serialize(final GenericResultsetData src, final Type typeOfSrc, final JsonSerializationContext context) {
+        final JsonArray data = new JsonArray();
+        final Iterator<GenericResultsetData.Row> rows = src.rows();
+        while (rows.hasNext()) {
+            final GenericResultsetData.Row row = rows.next();
+            final JsonArray cells = new JsonArray(row.size());
+            for (int i = 0; i < row.size(); i++) {
+                cells.add(row.getString(i));
+            }
+            final JsonObject rowObject = new JsonObject();
+            rowObject.add("row", cells);
+            data.add(rowObject);
+        }
+        final JsonObject result = new JsonObject();
+        result.add("columnHeaders", context.serialize(src.getColumnHeaders(), COLUMN_HEADERS_TYPE));
+        result.add("data", data);
+        return result;
+    }
+
+    @Override
+    public GenericResultsetData deserialize(final JsonElement json, final Type typeOfT, final JsonDeserializationContext context) {
+        if (json == null || json.isJsonNull()) {
+            return null;
+        }
+        if (!json.isJsonObject()) {
+            throw new JsonParseException("Expected a resultset object but was " + json);
+        }
+        final JsonObject object = json.getAsJsonObject();
+
+        final List<ResultsetColumnHeaderData> columnHeaders = object.has("columnHeaders")
+                ? context.deserialize(object.get("columnHeaders"), COLUMN_HEADERS_TYPE)
+                : new ArrayList<>();
+
+        final List<List<String>> rows = new ArrayList<>();
+        if (object.has("data") && object.get("data").isJsonArray()) {
+            for (final JsonElement rowElement : object.getAsJsonArray("data")) {
+                final JsonArray cells = rowElement.getAsJsonObject().getAsJsonArray("row");
+                final List<String> row = new ArrayList<>(cells == null ? 0 : cells.size());
+                if (cells != null) {
+                    for (final JsonElement cell : cells) {
+                        row.add(cell.isJsonNull() ? null : cell.getAsString());
+                    }
+                }
+                rows.add(row);
+            }
+        }
+        return GenericResultsetData.fromStringRows(columnHeaders == null ? new ArrayList<>() : columnHeaders, rows);
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.fineract.infrastructure.cache.service.TenantVersionedCache;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnValueData;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per tenant cache of the column headers of datatables and of the code values offered for their code columns, which
+ * otherwise cost an {@code information_schema} query per datatable and a code value query per code column on every
+ * datatable read and write.
+ *
+ * The cache is kept in a {@link TenantVersionedCache}; datatable definition changes and code or code value writes call
+ * {@link #invalidate()}. Cached lists are unmodifiable.
+ */
+@Component
+public class DatatableMetadataCache {
+
+    private static final String CACHE_NAME = "datatable_metadata";
+
+    private final TenantVersionedCache<Entries> cache;
+
+    public DatatableMetadataCache(final JdbcTemplate jdbcTemplate, final FineractProperties fineractProperties) {
+        final FineractProperties.FineractDatatablesProperties datatables = fineractProperties.getDatatables();
+        this.cache = new TenantVersionedCache<>(jdbcTemplate, CACHE_NAME,
+                datatables == null ? null : datatables.getMetadataCacheCheckIntervalSeconds(), Entries::new);
+    }
+
+    public List<ResultsetColumnHeaderData> getColumnHeaders(final String datatable,
+            final Function<String, List<ResultsetColumnHeaderData>> loader) {
+        return this.cache.get().columnHeaders.computeIfAbsent(datatable, name -> Collections.unmodifiableList(loader.apply(name)));
+    }
+
+    public List<ResultsetColumnValueData> getColumnValues(final String codeName,
+            final Function<String, List<ResultsetColumnValueData>> loader) {
+        return this.cache.get().columnValues.computeIfAbsent(codeName, name -> Collections.unmodifiableList(loader.apply(name)));
+    }
+
+    public void invalidate() {
+        this.cache.invalidate();
+    }
+
+    private static final class Entries {
+
+        private final Map<String, List<ResultsetColumnHeaderData>> columnHeaders = new ConcurrentHashMap<>();
+        private final Map<String, List<ResultsetColumnValueData>> columnValues = new ConcurrentHashMap<>();
+    }
+}
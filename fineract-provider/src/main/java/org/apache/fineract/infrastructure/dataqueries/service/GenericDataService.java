@@ -21,11 +21,18 @@ package org.apache.fineract.infrastructure.dataqueries.service;
 import java.util.List;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.springframework.jdbc.core.ResultSetExtractor;
 
 public interface GenericDataService {
 
     GenericResultsetData fillGenericResultSet(String sql);
 
+    /**
+     * Runs the query on a forward-only, read-only cursor and hands the open {@link java.sql.ResultSet} to the extractor,
+     * so rows can be consumed one at a time without materializing the whole result.
+     */
+    <T> T streamGenericResultSet(String sql, int fetchSize, ResultSetExtractor<T> extractor);
+
     String generateJsonFromGenericResultsetData(GenericResultsetData grs);
 
     String replace(String str, String pattern, String replace);
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoField;
@@ -29,66 +31,72 @@ import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityEx
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnValueData;
-import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
 import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
-import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
 public class GenericDataServiceImpl implements GenericDataService {
 
+    // rows fetched per round trip while filling a GenericResultsetData from a forward only cursor
+    private static final int RESULTSET_FETCH_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
     private final DataSource dataSource;
     private final DatabaseIndependentQueryService databaseIndependentQueryService;
+    private final DatabaseTypeResolver databaseTypeResolver;
+    private final DatatableMetadataCache datatableMetadataCache;
 
     @Autowired
     public GenericDataServiceImpl(final RoutingDataSource dataSource, final JdbcTemplate jdbcTemplate,
-            DatabaseIndependentQueryService databaseIndependentQueryService) {
+            DatabaseIndependentQueryService databaseIndependentQueryService, final DatabaseTypeResolver databaseTypeResolver,
+            final DatatableMetadataCache datatableMetadataCache) {
         this.dataSource = dataSource;
         this.databaseIndependentQueryService = databaseIndependentQueryService;
+        this.databaseTypeResolver = databaseTypeResolver;
+        this.datatableMetadataCache = datatableMetadataCache;
         this.jdbcTemplate = new JdbcTemplate(this.dataSource);
     }
 
     @Override
     public GenericResultsetData fillGenericResultSet(final String sql) {
-        try {
-            final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql); // NOSONAR
-
-            final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>();
-            final List<ResultsetRowData> resultsetDataRows = new ArrayList<>();
-
-            final SqlRowSetMetaData rsmd = rs.getMetaData();
-
-            for (int i = 0; i < rsmd.getColumnCount(); i++) {
-
-                final String columnName = rsmd.getColumnLabel(i + 1);
-                final String columnType = rsmd.getColumnTypeName(i + 1);
-
-                final ResultsetColumnHeaderData columnHeader = ResultsetColumnHeaderData.basic(columnName, columnType);
-                columnHeaders.add(columnHeader);
-            }
+        return streamGenericResultSet(sql, RESULTSET_FETCH_SIZE, GenericResultsetData::fromResultSet);
+    }
 
-            while (rs.next()) {
-                final List<String> columnValues = new ArrayList<>();
-                for (int i = 0; i < rsmd.getColumnCount(); i++) {
-                    final String columnName = rsmd.getColumnLabel(i + 1);
-                    final String columnValue = rs.getString(columnName);
-                    columnValues.add(columnValue);
+    @Override
+    public <T> T streamGenericResultSet(final String sql, final int fetchSize, final ResultSetExtractor<T> extractor) {
+        try {
+            return this.jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+                // MySQL/MariaDB drivers only stream row by row with Integer.MIN_VALUE, PostgreSQL only honours the
+                // fetch size outside of auto-commit mode; everything else would buffer the full result in the driver
+                final boolean mysql = this.databaseTypeResolver.isMySQL();
+                final boolean autoCommit = connection.getAutoCommit();
+                if (!mysql && autoCommit) {
+                    connection.setAutoCommit(false);
                 }
-
-                final ResultsetRowData resultsetDataRow = ResultsetRowData.create(columnValues);
-                resultsetDataRows.add(resultsetDataRow);
-            }
-
-            return new GenericResultsetData(columnHeaders, resultsetDataRows);
+                try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, // NOSONAR
+                        ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return extractor.extractData(rs);
+                    }
+                } finally {
+                    if (!mysql && autoCommit) {
+                        connection.rollback();
+                        connection.setAutoCommit(true);
+                    }
+                }
+            });
         } catch (DataAccessException e) {
             log.error("Reporting error: {}", e.getMessage());
             throw new PlatformDataIntegrityException("error.msg.report.unknown.data.integrity.issue", e.getClass().getName(), e);
@@ -133,19 +141,16 @@ public class GenericDataServiceImpl implements GenericDataService {
 
         final List<ResultsetColumnHeaderData> columnHeaders = grs.getColumnHeaders();
 
-        final List<ResultsetRowData> data = grs.getData();
-        List<String> row;
-        Integer rSize;
+        final int rowCount = grs.getRowCount();
+        final int rSize = grs.getColumnCount();
         final String doubleQuote = "\"";
         final String slashDoubleQuote = "\\\"";
         String currColType;
         String currVal;
 
-        for (int i = 0; i < data.size(); i++) {
+        for (int i = 0; i < rowCount; i++) {
             writer.append("\n{");
 
-            row = data.get(i).getRow();
-            rSize = row.size();
             // TODO: Hanlde better. While working on Cl18-255 i discovered statement columnHeaders.get(j) throws an
             // index out of bounds exception because in method
             // fillResultsetColumnHeaders(final String datatable, boolean fieldsSkip)
@@ -165,22 +170,23 @@ public class GenericDataServiceImpl implements GenericDataService {
                 if (currColType == null && colType.equalsIgnoreCase("DATE")) {
                     currColType = "DATE";
                 }
-                currVal = row.get(j);
-                if (currVal != null && currColType != null) {
+                if (!grs.isNull(i, j) && currColType != null) {
                     if (currColType.equals("DECIMAL") || currColType.equals("INTEGER")) {
-                        writer.append(currVal);
+                        writer.append(grs.getString(i, j));
                     } else {
                         if (currColType.equals("DATE")) {
-                            final LocalDate localDate = LocalDate.parse(currVal);
-                            writer.append(
-                                    "[" + localDate.getYear() + ", " + localDate.getMonthValue() + ", " + localDate.getDayOfMonth() + "]");
+                            final Object value = grs.getObject(i, j);
+                            final LocalDate localDate = value instanceof LocalDate ? (LocalDate) value : LocalDate.parse((String) value);
+                            writer.append('[').append(localDate.getYear()).append(", ").append(localDate.getMonthValue()).append(", ")
+                                    .append(localDate.getDayOfMonth()).append(']');
                         } else if (currColType.equals("DATETIME")) {
-                            final LocalDateTime localDateTime = LocalDateTime.parse(formatDateTimeValue(currVal),
+                            final LocalDateTime localDateTime = LocalDateTime.parse(formatDateTimeValue(grs.getString(i, j)),
                                     DateUtils.DEFAULT_DATETIME_FORMATTER);
                             writer.append("[" + localDateTime.getYear() + ", " + localDateTime.getMonthValue() + ", "
                                     + localDateTime.getDayOfMonth() + ", " + localDateTime.getHour() + ", " + localDateTime.getMinute()
                                     + ", " + localDateTime.getSecond() + ", " + localDateTime.get(ChronoField.MILLI_OF_SECOND) + "]");
                         } else {
+                            currVal = grs.getString(i, j);
                             writer.append(doubleQuote + replace(currVal, doubleQuote, slashDoubleQuote) + doubleQuote);
                         }
                     }
@@ -192,7 +198,7 @@ public class GenericDataServiceImpl implements GenericDataService {
                 }
             }
 
-            if (i < (data.size() - 1)) {
+            if (i < (rowCount - 1)) {
                 writer.append("},");
             } else {
                 writer.append("}");
@@ -206,6 +212,10 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     @Override
     public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String datatable) {
+        return this.datatableMetadataCache.getColumnHeaders(datatable, this::retrieveColumnHeaders);
+    }
+
+    private List<ResultsetColumnHeaderData> retrieveColumnHeaders(final String datatable) {
         final SqlRowSet columnDefinitions = getDatatableMetaData(datatable);
 
         final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>();
@@ -227,7 +237,7 @@ public class GenericDataServiceImpl implements GenericDataService {
             if ("varchar".equalsIgnoreCase(columnType) || "int".equalsIgnoreCase(columnType) || "integer".equalsIgnoreCase(columnType)) {
                 if (codePosition > 0) {
                     codeName = columnName.substring(0, codePosition);
-                    columnValues = retreiveColumnValues(codeName);
+                    columnValues = this.datatableMetadataCache.getColumnValues(codeName, this::retreiveColumnValues);
                 }
             }
             columnHeaders.add(ResultsetColumnHeaderData.detailed(columnName, columnType, columnLength, columnNullable, columnIsPrimaryKey,
@@ -238,7 +248,7 @@ public class GenericDataServiceImpl implements GenericDataService {
     }
 
     /*
-     * Candidate for using caching there to get allowed 'column values' from code/codevalue tables
+     * Allowed 'column values' from code/codevalue tables, cached through DatatableMetadataCache
      */
     private List<ResultsetColumnValueData> retreiveColumnValues(final String codeName) {
 
@@ -22,6 +22,7 @@ import java.io.ByteArrayOutputStream;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportData;
@@ -51,6 +52,13 @@ public interface ReadReportingService {
     // needed for smsCampaign and emailCampaign jobs where securityContext is null
     GenericResultsetData retrieveGenericResultSetForSmsEmailCampaign(String name, String type, Map<String, String> extractedQueryParams);
 
+    /**
+     * Runs a campaign report streaming its result ordered by its {@code id} column, starting after {@code afterId} when
+     * given, and hands it to the consumer in pages of at most {@code pageSize} rows; returns the number of rows read.
+     */
+    long streamGenericResultSetForSmsEmailCampaign(String name, String type, Map<String, String> extractedQueryParams, Long afterId,
+            int pageSize, Consumer<GenericResultsetData> pageConsumer);
+
     // TODO kill this when tackling https://issues.apache.org/jira/browse/FINERACT-1264
     ByteArrayOutputStream generatePentahoReportAsOutputStream(String reportName, String outputTypeParam, Map<String, String> queryParams,
             Locale locale, AppUser runReportAsUser, StringBuilder errorLog);
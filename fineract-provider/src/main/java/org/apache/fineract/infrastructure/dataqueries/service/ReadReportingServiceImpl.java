@@ -22,20 +22,26 @@ import com.lowagie.text.Document;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.ws.rs.core.StreamingOutput;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -49,7 +55,6 @@ import org.apache.fineract.infrastructure.dataqueries.data.ReportData;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportParameterData;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportParameterJoinData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
-import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
 import org.apache.fineract.infrastructure.dataqueries.exception.ReportNotFoundException;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.security.service.SqlInjectionPreventerService;
@@ -67,6 +72,9 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ReadReportingServiceImpl implements ReadReportingService {
 
+    private static final int DEFAULT_EXPORT_FETCH_SIZE = 1000;
+    private static final int CSV_WRITE_BUFFER_SIZE = 64 * 1024;
+
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
     private final GenericDataService genericDataService;
@@ -77,77 +85,79 @@ public class ReadReportingServiceImpl implements ReadReportingService {
     @Override
     public StreamingOutput retrieveReportCSV(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
+        // resolved up front so that unknown reports and bad parameters fail before the response is committed
+        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+        final int fetchSize = getExportFetchSize();
+
         return out -> {
             try {
-
-                final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams, isSelfServiceUserReport);
-                final StringBuilder sb = generateCsvFileBuffer(result);
-
-                final InputStream in = new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8));
-
-                final byte[] outputByte = new byte[4096];
-                Integer readLen = in.read(outputByte, 0, 4096);
-
-                while (readLen != -1) {
-                    out.write(outputByte, 0, readLen);
-                    readLen = in.read(outputByte, 0, 4096);
-                }
-                // in.close();
-                // out.flush();
-                // out.close();
+                final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSV_WRITE_BUFFER_SIZE);
+                final long rows = this.genericDataService.streamGenericResultSet(sql, fetchSize, rs -> writeCsv(rs, writer));
+                writer.flush();
+                log.info("NO. of Rows: {}", rows);
             } catch (final Exception e) {
                 throw new PlatformDataIntegrityException("error.msg.exception.error", e.getMessage(), e);
             }
         };
     }
 
-    private StringBuilder generateCsvFileBuffer(final GenericResultsetData result) {
-        final StringBuilder writer = new StringBuilder();
-
-        final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-        log.info("NO. of Columns: {}", columnHeaders.size());
-        final Integer chSize = columnHeaders.size();
-        for (int i = 0; i < chSize; i++) {
-            writer.append('"' + columnHeaders.get(i).getColumnName() + '"');
-            if (i < (chSize - 1)) {
-                writer.append(",");
+    private long writeCsv(final ResultSet rs, final Writer writer) throws SQLException {
+        try {
+            final ResultSetMetaData rsmd = rs.getMetaData();
+            final int columnCount = rsmd.getColumnCount();
+            log.info("NO. of Columns: {}", columnCount);
+
+            final boolean[] numericColumns = new boolean[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                writer.write('"');
+                writer.write(rsmd.getColumnLabel(i + 1));
+                writer.write('"');
+                if (i < (columnCount - 1)) {
+                    writer.write(',');
+                }
+                numericColumns[i] = isCsvNumericColumnType(rsmd.getColumnTypeName(i + 1));
             }
-        }
-        writer.append('\n');
-
-        final List<ResultsetRowData> data = result.getData();
-        List<String> row;
-        Integer rSize;
-        // String currCol;
-        String currColType;
-        String currVal;
-        final String doubleQuote = "\"";
-        final String twoDoubleQuotes = doubleQuote + doubleQuote;
-        log.info("NO. of Rows: {}", data.size());
-        for (ResultsetRowData element : data) {
-            row = element.getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
-                // currCol = columnHeaders.get(j).getColumnName();
-                currColType = columnHeaders.get(j).getColumnType();
-                currVal = row.get(j);
-                if (currVal != null) {
-                    if (currColType.equals("DECIMAL") || currColType.equals("DOUBLE") || currColType.equals("BIGINT")
-                            || currColType.equals("SMALLINT") || currColType.equals("INT")) {
-                        writer.append(currVal);
-                    } else {
-                        writer.append('"' + this.genericDataService.replace(currVal, doubleQuote, twoDoubleQuotes) + '"');
+            writer.write('\n');
+
+            final String doubleQuote = "\"";
+            final String twoDoubleQuotes = doubleQuote + doubleQuote;
+            long rows = 0;
+            while (rs.next()) {
+                for (int j = 0; j < columnCount; j++) {
+                    final String currVal = rs.getString(j + 1);
+                    if (currVal != null) {
+                        if (numericColumns[j]) {
+                            writer.write(currVal);
+                        } else {
+                            writer.write('"');
+                            writer.write(this.genericDataService.replace(currVal, doubleQuote, twoDoubleQuotes));
+                            writer.write('"');
+                        }
+                    }
+                    if (j < (columnCount - 1)) {
+                        writer.write(',');
                     }
-
-                }
-                if (j < (rSize - 1)) {
-                    writer.append(",");
                 }
+                writer.write('\n');
+                rows++;
             }
-            writer.append('\n');
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        return writer;
+    private static boolean isCsvNumericColumnType(final String columnType) {
+        return "DECIMAL".equals(columnType) || "DOUBLE".equals(columnType) || "BIGINT".equals(columnType) || "SMALLINT".equals(columnType)
+                || "INT".equals(columnType);
+    }
+
+    private int getExportFetchSize() {
+        final FineractProperties.FineractReportProperties reportProperties = this.fineractProperties.getReport();
+        if (reportProperties == null || reportProperties.getExportFetchSize() <= 0) {
+            return DEFAULT_EXPORT_FETCH_SIZE;
+        }
+        return reportProperties.getExportFetchSize();
     }
 
     @Override
@@ -256,8 +266,6 @@ public class ReadReportingServiceImpl implements ReadReportingService {
             final GenericResultsetData result = retrieveGenericResultset(reportName, type, queryParams, isSelfServiceUserReport);
 
             final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-            final List<ResultsetRowData> data = result.getData();
-            List<String> row;
 
             log.info("NO. of Columns: {}", columnHeaders.size());
             final Integer chSize = columnHeaders.size();
@@ -278,24 +286,14 @@ public class ReadReportingServiceImpl implements ReadReportingService {
             }
             table.completeRow();
 
-            Integer rSize;
-            String currColType;
-            String currVal;
-            log.info("NO. of Rows: {}", data.size());
-            for (ResultsetRowData element : data) {
-                row = element.getRow();
-                rSize = row.size();
-                for (int j = 0; j < rSize; j++) {
-                    currColType = columnHeaders.get(j).getColumnType();
-                    currVal = row.get(j);
+            log.info("NO. of Rows: {}", result.getRowCount());
+            final Iterator<GenericResultsetData.Row> rows = result.rows();
+            while (rows.hasNext()) {
+                final GenericResultsetData.Row row = rows.next();
+                for (int j = 0; j < row.size(); j++) {
+                    final String currVal = row.getString(j);
                     if (currVal != null) {
-                        if (currColType.equals("DECIMAL") || currColType.equals("DOUBLE") || currColType.equals("BIGINT")
-                                || currColType.equals("SMALLINT") || currColType.equals("INT")) {
-
-                            table.addCell(currVal.toString());
-                        } else {
-                            table.addCell(currVal.toString());
-                        }
+                        table.addCell(currVal);
                     }
                 }
             }
@@ -500,6 +498,31 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         return result;
     }
 
+    @Override
+    public long streamGenericResultSetForSmsEmailCampaign(final String name, final String type, final Map<String, String> queryParams,
+            final Long afterId, final int pageSize, final Consumer<GenericResultsetData> pageConsumer) {
+        final long startTime = System.currentTimeMillis();
+        log.info("STARTING REPORT: {}   Type: {}", name, type);
+
+        final String sql = sqlToRunForSmsEmailCampaign(name, type, queryParams)
+                + (afterId == null ? "" : " where x.id > " + afterId.longValue()) + " order by x.id";
+        final long rows = this.genericDataService.streamGenericResultSet(sql, pageSize, rs -> {
+            final List<ResultsetColumnHeaderData> columnHeaders = GenericResultsetData.columnHeaders(rs);
+            long count = 0;
+            GenericResultsetData page = GenericResultsetData.fromResultSet(columnHeaders, rs, pageSize);
+            while (page.getRowCount() > 0) {
+                pageConsumer.accept(page);
+                count += page.getRowCount();
+                page = GenericResultsetData.fromResultSet(columnHeaders, rs, pageSize);
+            }
+            return count;
+        });
+
+        final long elapsed = System.currentTimeMillis() - startTime;
+        log.info("FINISHING Report/Request Name: {} - {}     Elapsed Time: {}   Rows: {}", name, type, elapsed, rows);
+        return rows;
+    }
+
     private String sqlToRunForSmsEmailCampaign(final String name, final String type, final Map<String, String> queryParams) {
         String sql = getSql(name, type);
 
@@ -66,7 +66,6 @@ import org.apache.fineract.infrastructure.dataqueries.data.DataTableValidator;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
-import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
 import org.apache.fineract.infrastructure.dataqueries.exception.DatatableEntryRequiredException;
 import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoundException;
 import org.apache.fineract.infrastructure.dataqueries.exception.DatatableSystemErrorException;
@@ -81,11 +80,11 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
-import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -125,6 +124,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     private final ColumnValidator columnValidator;
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private final SqlInjectionPreventerService preventSqlInjectionService;
+    private final DatatableMetadataCache datatableMetadataCache;
 
     @Override
     public List<DatatableData> retrieveDatatableNames(final String appTable) {
@@ -247,6 +247,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         try {
             this.namedParameterJdbcTemplate.update(registerDatatableSql, paramMap);
             this.jdbcTemplate.update(permissionsSql);
+            this.datatableMetadataCache.invalidate();
 
             // add the registered table to the config if it is a ppi
             if (this.isSurveyCategory(category)) {
@@ -365,6 +366,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         sqlArray[3] = deleteFromConfigurationSql;
 
         this.jdbcTemplate.batchUpdate(sqlArray); // NOSONAR
+        this.datatableMetadataCache.invalidate();
     }
 
     @Transactional
@@ -589,6 +591,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         try {
             this.context.authenticatedUser();
             this.fromApiJsonDeserializer.validateForCreate(command.json());
+            this.datatableMetadataCache.invalidate();
 
             final JsonElement element = this.fromJsonHelper.parse(command.json());
             final JsonArray columns = this.fromJsonHelper.extractJsonArrayNamed("columns", element);
@@ -961,6 +964,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         try {
             this.context.authenticatedUser();
             this.fromApiJsonDeserializer.validateForUpdate(command.json());
+            this.datatableMetadataCache.invalidate();
 
             final JsonElement element = this.fromJsonHelper.parse(command.json());
             final JsonArray changeColumns = this.fromJsonHelper.extractJsonArrayNamed("changeColumns", element);
@@ -1336,9 +1340,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             sql = sql + " order by " + order;
         }
 
-        final List<ResultsetRowData> result = fillDatatableResultSetDataRows(sql);
-
-        return new GenericResultsetData(columnHeaders, result);
+        return fillDatatableResultSetData(columnHeaders, sql);
     }
 
     private String buildColumnFilterWhereClause(String whereClause, String columnFilter, String valueFilter,
@@ -1401,9 +1403,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             sql = sql + " and id = " + id;
         }
 
-        final List<ResultsetRowData> result = fillDatatableResultSetDataRows(sql);
-
-        return new GenericResultsetData(columnHeaders, result);
+        return fillDatatableResultSetData(columnHeaders, sql);
     }
 
     private CommandProcessingResult checkMainResourceExistsWithinScope(final String appTable, final Long appTableId) {
@@ -1541,25 +1541,9 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return appTable;
     }
 
-    private List<ResultsetRowData> fillDatatableResultSetDataRows(final String sql) {
-        final List<ResultsetRowData> resultsetDataRows = new ArrayList<>();
-
-        final SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql); // NOSONAR
-        final SqlRowSetMetaData rsmd = rowSet.getMetaData();
-
-        while (rowSet.next()) {
-            final List<String> columnValues = new ArrayList<>();
-            for (int i = 0; i < rsmd.getColumnCount(); i++) {
-                final String columnName = rsmd.getColumnName(i + 1);
-                final String columnValue = rowSet.getString(columnName);
-                columnValues.add(columnValue);
-            }
-
-            final ResultsetRowData resultsetDataRow = ResultsetRowData.create(columnValues);
-            resultsetDataRows.add(resultsetDataRow);
-        }
-
-        return resultsetDataRows;
+    private GenericResultsetData fillDatatableResultSetData(final List<ResultsetColumnHeaderData> columnHeaders, final String sql) {
+        final ResultSetExtractor<GenericResultsetData> extractor = rs -> GenericResultsetData.fromResultSet(columnHeaders, rs);
+        return this.jdbcTemplate.query(sql, extractor); // NOSONAR
     }
 
     private String queryForApplicationTableName(final String datatable) {
@@ -1766,13 +1750,11 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     private boolean columnChanged(final String key, final String keyValue, final String colType, final GenericResultsetData grs) {
 
-        final List<String> columnValues = grs.getData().get(0).getRow();
-
         String columnValue = null;
         for (int i = 0; i < grs.getColumnHeaders().size(); i++) {
 
             if (key.equals(grs.getColumnHeaders().get(i).getColumnName())) {
-                columnValue = columnValues.get(i);
+                columnValue = grs.getString(0, i);
 
                 if (notTheSame(columnValue, keyValue, colType)) {
                     return true;
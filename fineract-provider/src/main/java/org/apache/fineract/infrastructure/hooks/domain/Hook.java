@@ -115,6 +115,10 @@ public class Hook extends AbstractAuditableCustom {
         return events;
     }
 
+    public boolean isActive() {
+        return Boolean.TRUE.equals(this.isActive);
+    }
+
     public HookTemplate getHookTemplate() {
         return this.template;
     }
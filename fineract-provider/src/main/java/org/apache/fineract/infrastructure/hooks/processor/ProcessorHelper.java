@@ -18,21 +18,27 @@
  */
 package org.apache.fineract.infrastructure.hooks.processor;
 
+import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import retrofit2.Call;
-import retrofit2.Callback;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -44,6 +50,9 @@ public final class ProcessorHelper {
 
     private static final Logger LOG = LoggerFactory.getLogger(ProcessorHelper.class);
 
+    private static final int MAX_CACHED_SERVICES = 256;
+    private static final int MAX_IDLE_CONNECTIONS = 20;
+
     @SuppressWarnings("unused")
     private static final X509TrustManager insecureX509TrustManager = new X509TrustManager() {
 
@@ -67,16 +76,30 @@ public final class ProcessorHelper {
     private final boolean insecureHttpClient = Boolean.getBoolean("fineract.insecureHttpClient");
     private final SSLContext insecureSSLContext;
 
+    private final OkHttpClient client;
+    private final Map<String, WebHookService> services = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, WebHookService> eldest) {
+            return size() > MAX_CACHED_SERVICES;
+        }
+    });
+
     public ProcessorHelper() throws KeyManagementException, NoSuchAlgorithmException {
         if (insecureHttpClient) {
             insecureSSLContext = createInsecureSSLContext();
         } else {
             insecureSSLContext = null;
         }
+        this.client = createClient();
     }
 
     private OkHttpClient createClient() {
         var okBuilder = new OkHttpClient.Builder();
+        okBuilder.connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, 5, TimeUnit.MINUTES));
+        okBuilder.connectTimeout(10, TimeUnit.SECONDS);
+        okBuilder.readTimeout(30, TimeUnit.SECONDS);
+        okBuilder.writeTimeout(30, TimeUnit.SECONDS);
         if (insecureHttpClient) {
             configureInsecureClient(okBuilder);
         }
@@ -96,46 +119,31 @@ public final class ProcessorHelper {
         return insecureSSLContext;
     }
 
-    @SuppressWarnings("rawtypes")
-    public Callback createCallback(final String url) {
-        return new Callback() {
-
-            @Override
-            public void onResponse(@SuppressWarnings("unused") Call call, retrofit2.Response response) {
-                LOG.info("URL: {} - Status: {}", url, response.code());
-            }
-
-            @Override
-            public void onFailure(@SuppressWarnings("unused") Call call, Throwable t) {
-                LOG.error("URL: {} - Retrofit failure occured", url, t);
-            }
-        };
-    }
-
+    /**
+     * Retrofit service for the url. Services share one HTTP client, so deliveries to the same host reuse pooled
+     * connections.
+     */
     public WebHookService createWebHookService(final String url) {
-        final OkHttpClient client = createClient();
-        final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
-        retrofitBuilder.baseUrl(url);
-        retrofitBuilder.client(client);
-        retrofitBuilder.addConverterFactory(GsonConverterFactory.create());
-        final Retrofit retrofit = retrofitBuilder.build();
-        return retrofit.create(WebHookService.class);
+        return this.services.computeIfAbsent(url, baseUrl -> {
+            final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
+            retrofitBuilder.baseUrl(baseUrl);
+            retrofitBuilder.client(this.client);
+            retrofitBuilder.addConverterFactory(GsonConverterFactory.create());
+            final Retrofit retrofit = retrofitBuilder.build();
+            return retrofit.create(WebHookService.class);
+        });
     }
 
-    @SuppressWarnings("rawtypes")
-    public Callback createCallback(final String url, String payload) {
-
-        return new Callback() {
-
-            @Override
-            public void onResponse(@SuppressWarnings("unused") Call call, retrofit2.Response response) {
-                LOG.info("URL: {} - Status: {}", url, response.code());
-            }
-
-            @Override
-            public void onFailure(@SuppressWarnings("unused") Call call, Throwable t) {
-                LOG.error("URL: {} - Retrofit failure occured", url, t);
-            }
-        };
+    /**
+     * Sends the request on the calling thread and fails unless the endpoint answers with a 2xx status, so the outbox
+     * can retry the delivery.
+     */
+    public <T> T execute(final Call<T> call, final String url) throws IOException {
+        final Response<T> response = call.execute();
+        LOG.info("URL: {} - Status: {}", url, response.code());
+        if (!response.isSuccessful()) {
+            throw new IOException("URL: " + url + " - Status: " + response.code());
+        }
+        return response.body();
     }
 }
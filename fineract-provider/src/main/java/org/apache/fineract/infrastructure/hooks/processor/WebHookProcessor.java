@@ -52,7 +52,7 @@ import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
 import org.apache.fineract.template.domain.Template;
 import org.springframework.stereotype.Service;
-import retrofit2.Callback;
+import retrofit2.Call;
 
 @Service
 @RequiredArgsConstructor
@@ -225,33 +225,33 @@ public class WebHookProcessor implements HookProcessor {
 
     @SuppressWarnings("unchecked")
     private void sendRequest(final String url, final String contentType, final String payload, final String entityName,
-            final String actionName, final FineractContext context, String basicAuthCreds, String apiKey, String apiKeyValue) {
+            final String actionName, final FineractContext context, String basicAuthCreds, String apiKey, String apiKeyValue)
+            throws IOException {
 
         final String fineractEndpointUrl = System.getProperty("baseUrl");
         final WebHookService service = processorHelper.createWebHookService(url);
 
-        @SuppressWarnings("rawtypes")
-        final Callback callback = processorHelper.createCallback(url);
         final String validPayload = payload.replace("&nbsp;", " ").replace("&quot;", "\"").replaceAll("\\\\&quot;", "\"");
+        final String tenantIdentifier = context.getTenantContext().getTenantIdentifier();
+        final Call<Void> call;
         if (contentType.equalsIgnoreCase("json") || contentType.contains("json")) {
 
             final JsonObject json = JsonParser.parseString(validPayload).getAsJsonObject();
 
             if (!StringUtils.isBlank(basicAuthCreds)) {
-                service.sendJsonRequestBasicAuth(entityName, actionName, context.getTenantContext().getTenantIdentifier(),
-                        fineractEndpointUrl, basicAuthCreds, json).enqueue(callback);
+                call = service.sendJsonRequestBasicAuth(entityName, actionName, tenantIdentifier, fineractEndpointUrl, basicAuthCreds,
+                        json);
             } else if (!StringUtils.isBlank(apiKey)) {
-                service.sendJsonRequestApiKey(entityName, actionName, context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl,
-                        apiKeyValue, json).enqueue(callback);
-            } else
-                service.sendJsonRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, json)
-                        .enqueue(callback);
+                call = service.sendJsonRequestApiKey(entityName, actionName, tenantIdentifier, fineractEndpointUrl, apiKeyValue, json);
+            } else {
+                call = service.sendJsonRequest(entityName, actionName, tenantIdentifier, fineractEndpointUrl, json);
+            }
         } else {
             Map<String, String> map = new HashMap<>();
             map = new Gson().fromJson(validPayload, map.getClass());
-            service.sendFormRequest(entityName, actionName, context.getTenantContext().getTenantIdentifier(), fineractEndpointUrl, map)
-                    .enqueue(callback);
+            call = service.sendFormRequest(entityName, actionName, tenantIdentifier, fineractEndpointUrl, map);
         }
+        processorHelper.execute(call, url);
     }
 
     private String compilePayLoad(final Template template, final Map<String, Object> payLoadObj) throws IOException {
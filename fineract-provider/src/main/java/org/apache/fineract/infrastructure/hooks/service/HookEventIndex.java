@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.cache.service.TenantVersionedCache;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per tenant index of the active hooks listening to each entity/action event, so that commands without hooks do not
+ * query the hook tables at all. The index is kept in a {@link TenantVersionedCache}; hook writes call
+ * {@link #invalidate()}.
+ */
+@Component
+public class HookEventIndex {
+
+    private static final String CACHE_NAME = "hook_index";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantVersionedCache<Map<String, List<Long>>> index;
+
+    public HookEventIndex(final JdbcTemplate jdbcTemplate, final FineractProperties fineractProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        final FineractProperties.FineractHooksProperties hooks = fineractProperties.getHooks();
+        this.index = new TenantVersionedCache<>(jdbcTemplate, CACHE_NAME, hooks == null ? null : hooks.getIndexCheckIntervalSeconds(),
+                this::loadHookIds);
+    }
+
+    /**
+     * Ids of the active hooks registered for the event, in ascending order; empty if there are none.
+     */
+    public List<Long> getHookIds(final String entityName, final String actionName) {
+        return this.index.get().getOrDefault(key(entityName, actionName), Collections.emptyList());
+    }
+
+    public void invalidate() {
+        this.index.invalidate();
+    }
+
+    private Map<String, List<Long>> loadHookIds() {
+        final Map<String, List<Long>> hookIds = new HashMap<>();
+        this.jdbcTemplate.query("SELECT e.entity_name, e.action_name, e.hook_id FROM m_hook_registered_events e "
+                + "JOIN m_hook h ON h.id = e.hook_id WHERE h.is_active = true ORDER BY e.hook_id", rs -> {
+                    final List<Long> ids = hookIds.computeIfAbsent(key(rs.getString("entity_name"), rs.getString("action_name")),
+                            k -> new ArrayList<>());
+                    final Long hookId = rs.getLong("hook_id");
+                    if (!ids.contains(hookId)) {
+                        ids.add(hookId);
+                    }
+                });
+        hookIds.replaceAll((k, ids) -> Collections.unmodifiableList(ids));
+        return hookIds;
+    }
+
+    private static String key(final String entityName, final String actionName) {
+        return entityName + ":" + actionName;
+    }
+}
@@ -0,0 +1,390 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.apache.fineract.useradministration.domain.AppUserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Delivers the hook events queued in {@code m_hook_outbox}.
+ *
+ * A dispatch claims a batch of due rows with a lease, groups them by hook and hands every group to a bounded delivery
+ * pool; the rows of one hook are sent one after the other over the pooled connections of the shared HTTP client, and
+ * only deleted once their endpoint accepted them, so delivery is at least once. A failed row is retried with
+ * exponential backoff and parked as failed after the maximum number of attempts. A row is only claimed once every
+ * earlier pending row of its hook has been delivered, so the rows after a failed one wait for its retry; a parked row
+ * gives up its place, so one event its endpoint keeps rejecting does not stop the hook. Rows whose lease ran out, e.g.
+ * because the node died, are claimed again by the next dispatch.
+ *
+ * Every row carries the tenant and the user of the command that queued it, and is delivered as that user rather than
+ * the one of the dispatching thread. Credentials are not stored, so the delivery context has no auth token.
+ *
+ * A dispatch of the tenant is started after every commit that queued rows, and by the Dispatch Hook Outbox job, which
+ * picks up retries.
+ */
+@Slf4j
+@Component
+public class HookOutboxDispatcher {
+
+    static final int STATUS_PENDING = 0;
+    static final int STATUS_FAILED = 1;
+
+    private static final int DEFAULT_THREAD_POOL_SIZE = 4;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_MAX_ATTEMPTS = 10;
+    private static final int DEFAULT_RETRY_BACKOFF_SECONDS = 30;
+    private static final long MAX_RETRY_BACKOFF_SECONDS = TimeUnit.HOURS.toSeconds(6);
+    private static final long CLAIM_LEASE_SECONDS = TimeUnit.MINUTES.toSeconds(5);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final HookRepository hookRepository;
+    private final HookProcessorProvider hookProcessorProvider;
+    private final AppUserRepository appUserRepository;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int retryBackoffSeconds;
+
+    private final ThreadPoolExecutor dispatchExecutor;
+    private final ThreadPoolExecutor deliveryExecutor;
+    private final Set<String> scheduledTenants = ConcurrentHashMap.newKeySet();
+
+    public HookOutboxDispatcher(final JdbcTemplate jdbcTemplate, final DatabaseSpecificSQLGenerator sqlGenerator,
+            final HookRepository hookRepository, final HookProcessorProvider hookProcessorProvider,
+            final AppUserRepository appUserRepository, final FineractProperties fineractProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlGenerator = sqlGenerator;
+        this.hookRepository = hookRepository;
+        this.hookProcessorProvider = hookProcessorProvider;
+        this.appUserRepository = appUserRepository;
+
+        final FineractProperties.FineractHooksProperties hooks = fineractProperties.getHooks();
+        final int threadPoolSize = hooks == null || hooks.getDispatcherThreadPoolSize() <= 0 ? DEFAULT_THREAD_POOL_SIZE
+                : hooks.getDispatcherThreadPoolSize();
+        this.batchSize = hooks == null || hooks.getDispatcherBatchSize() <= 0 ? DEFAULT_BATCH_SIZE : hooks.getDispatcherBatchSize();
+        this.maxAttempts = hooks == null || hooks.getMaxAttempts() <= 0 ? DEFAULT_MAX_ATTEMPTS : hooks.getMaxAttempts();
+        this.retryBackoffSeconds = hooks == null || hooks.getRetryBackoffSeconds() <= 0 ? DEFAULT_RETRY_BACKOFF_SECONDS
+                : hooks.getRetryBackoffSeconds();
+
+        // dispatches only wait for their deliveries; at most one is queued per tenant
+        this.dispatchExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("hook-dispatch-"));
+        // at most one batch of hooks is queued per running dispatch
+        this.deliveryExecutor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("hook-delivery-"));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        this.dispatchExecutor.shutdownNow();
+        this.deliveryExecutor.shutdown();
+        if (!this.deliveryExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            // the rows stay claimed until their lease runs out and are delivered again after the restart
+            log.warn("Hook delivery executor did not drain within 30 seconds, {} deliveries interrupted",
+                    this.deliveryExecutor.shutdownNow().size());
+        }
+    }
+
+    /**
+     * Starts a dispatch of the current tenant once the current transaction commits, or right away without one. Requests
+     * made while a dispatch of the tenant is already queued are folded into it.
+     */
+    public void dispatchAfterCommit() {
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    schedule(context);
+                }
+            });
+        } else {
+            schedule(context);
+        }
+    }
+
+    /**
+     * Delivers the due rows of the current tenant on the calling thread until none are left.
+     */
+    public void dispatch() {
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        List<OutboxEntry> entries = claim();
+        while (!entries.isEmpty()) {
+            deliver(entries, context);
+            entries = claim();
+        }
+    }
+
+    private void schedule(final FineractContext context) {
+        final String tenantIdentifier = context.getTenantContext().getTenantIdentifier();
+        if (!this.scheduledTenants.add(tenantIdentifier)) {
+            return;
+        }
+        this.dispatchExecutor.execute(() -> {
+            // unmark first, so rows committed while this dispatch runs schedule the next one
+            this.scheduledTenants.remove(tenantIdentifier);
+            ThreadLocalContextUtil.init(context);
+            try {
+                dispatch();
+            } catch (RuntimeException e) {
+                log.error("Hook outbox dispatch failed for tenant {}", tenantIdentifier, e);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        });
+    }
+
+    private List<OutboxEntry> claim() {
+        final LocalDateTime now = DateUtils.getLocalDateTimeOfSystem();
+        // a row is due only when no earlier pending row of its hook is waiting for a retry or claimed; parked rows are
+        // skipped
+        final List<OutboxEntry> due = this.jdbcTemplate.query(
+                "SELECT o.id, o.hook_id, o.entity_name, o.action_name, o.payload, o.attempts, o.tenant_identifier, o.app_user_id "
+                        + "FROM m_hook_outbox o WHERE o.status = ? AND o.next_attempt_at <= ? "
+                        + "AND (o.claimed_until IS NULL OR o.claimed_until < ?) AND NOT EXISTS (SELECT 1 FROM m_hook_outbox e "
+                        + "WHERE e.hook_id = o.hook_id AND e.id < o.id AND e.status = ? "
+                        + "AND (e.next_attempt_at > ? OR e.claimed_until >= ?)) "
+                        + "ORDER BY o.id " + this.sqlGenerator.limit(this.batchSize),
+                (rs, rowNum) -> new OutboxEntry(rs.getLong("id"), rs.getLong("hook_id"), rs.getString("entity_name"),
+                        rs.getString("action_name"), rs.getString("payload"), rs.getInt("attempts"), rs.getString("tenant_identifier"),
+                        JdbcSupport.getLong(rs, "app_user_id")),
+                STATUS_PENDING, now, now, STATUS_PENDING, now, now);
+        if (due.isEmpty()) {
+            return due;
+        }
+
+        final LocalDateTime claimedUntil = now.plusSeconds(CLAIM_LEASE_SECONDS);
+        final List<Object[]> args = new ArrayList<>(due.size());
+        for (final OutboxEntry entry : due) {
+            args.add(new Object[] { claimedUntil, entry.id, now });
+        }
+        final int[] counts = this.jdbcTemplate.batchUpdate(
+                "UPDATE m_hook_outbox SET claimed_until = ? WHERE id = ? AND (claimed_until IS NULL OR claimed_until < ?)", args);
+        // rows claimed by another node in between are left to that node, and so are the later rows of their hook
+        final Set<Long> blockedHooks = new HashSet<>();
+        final List<OutboxEntry> claimed = new ArrayList<>(due.size());
+        final List<OutboxEntry> released = new ArrayList<>();
+        for (int i = 0; i < due.size(); i++) {
+            final OutboxEntry entry = due.get(i);
+            if (counts[i] == 0) {
+                blockedHooks.add(entry.hookId);
+            } else if (blockedHooks.contains(entry.hookId)) {
+                released.add(entry);
+            } else {
+                claimed.add(entry);
+            }
+        }
+        release(released);
+        return claimed;
+    }
+
+    private void deliver(final List<OutboxEntry> entries, final FineractContext context) {
+        final Map<Long, List<OutboxEntry>> entriesByHook = new LinkedHashMap<>();
+        for (final OutboxEntry entry : entries) {
+            entriesByHook.computeIfAbsent(entry.hookId, id -> new ArrayList<>()).add(entry);
+        }
+
+        final List<Callable<Void>> deliveries = new ArrayList<>(entriesByHook.size());
+        final List<OutboxEntry> undeliverable = new ArrayList<>();
+        final Map<Long, Hook> hooks = new LinkedHashMap<>();
+        for (final Hook hook : this.hookRepository.findAllById(entriesByHook.keySet())) {
+            hooks.put(hook.getId(), hook);
+        }
+        for (final Map.Entry<Long, List<OutboxEntry>> hookEntries : entriesByHook.entrySet()) {
+            final Hook hook = hooks.get(hookEntries.getKey());
+            final HookProcessor processor = hook == null || !hook.isActive() ? null : this.hookProcessorProvider.getProcessor(hook);
+            if (processor == null) {
+                // the hook was deleted or deactivated after the event was queued
+                undeliverable.addAll(hookEntries.getValue());
+            } else {
+                deliveries.add(() -> {
+                    deliver(hook, processor, hookEntries.getValue(), context);
+                    return null;
+                });
+            }
+        }
+        delete(undeliverable);
+
+        try {
+            for (final Future<Void> delivery : this.deliveryExecutor.invokeAll(deliveries)) {
+                try {
+                    delivery.get();
+                } catch (ExecutionException e) {
+                    log.error("Hook delivery failed", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(final Hook hook, final HookProcessor processor, final List<OutboxEntry> entries,
+            final FineractContext dispatchContext) {
+        final List<OutboxEntry> delivered = new ArrayList<>(entries.size());
+        final Map<Long, Authentication> authentications = new HashMap<>();
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                final OutboxEntry entry = entries.get(i);
+                final FineractContext context = contextOf(dispatchContext);
+                ThreadLocalContextUtil.init(context);
+                try {
+                    SecurityContextHolder.getContext().setAuthentication(authenticationOf(entry.appUserId, authentications));
+                    if (entry.tenantIdentifier != null
+                            && !entry.tenantIdentifier.equals(dispatchContext.getTenantContext().getTenantIdentifier())) {
+                        throw new IllegalStateException("Queued by tenant " + entry.tenantIdentifier);
+                    }
+                    processor.process(hook, entry.payload, entry.entityName, entry.actionName, context);
+                    delivered.add(entry);
+                } catch (Exception e) {
+                    log.warn("Hook {} failed in HookProcessor {} for tenantIdentifier {}, user {}, entityName: {}, actionName: {}, "
+                            + "attempt {}", hook.getId(), processor.getClass().getSimpleName(), entry.tenantIdentifier, entry.appUserId,
+                            entry.entityName, entry.actionName, entry.attempts + 1, e);
+                    // the later rows of the hook are not claimed again before the failed one is delivered
+                    fail(entry, entries.subList(i + 1, entries.size()), e);
+                    return;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    ThreadLocalContextUtil.reset();
+                }
+            }
+        } finally {
+            delete(delivered);
+        }
+    }
+
+    /**
+     * The tenant's data source and business dates, without the auth token of the dispatching thread.
+     */
+    private static FineractContext contextOf(final FineractContext dispatchContext) {
+        return new FineractContext(dispatchContext.getContextHolder(), dispatchContext.getTenantContext(), null,
+                dispatchContext.getBusinessDateContext(), dispatchContext.getActionContext());
+    }
+
+    /**
+     * The user who queued the entry, loaded once per delivery; {@code null} when the row was queued without a user or
+     * the user was deleted since.
+     */
+    private Authentication authenticationOf(final Long appUserId, final Map<Long, Authentication> authentications) {
+        if (appUserId == null) {
+            return null;
+        }
+        return authentications.computeIfAbsent(appUserId, id -> this.appUserRepository.findById(id)
+                .map(user -> new UsernamePasswordAuthenticationToken(user, user.getPassword(), user.getAuthorities())).orElse(null));
+    }
+
+    private void fail(final OutboxEntry entry, final List<OutboxEntry> deferred, final Exception error) {
+        final int attempts = entry.attempts + 1;
+        final long backoffSeconds = Math.min(MAX_RETRY_BACKOFF_SECONDS, this.retryBackoffSeconds * (1L << Math.min(attempts - 1, 20)));
+        final LocalDateTime nextAttemptAt = DateUtils.getLocalDateTimeOfSystem().plusSeconds(backoffSeconds);
+        final String lastError = StringUtils.abbreviate(String.valueOf(error.getMessage()), MAX_ERROR_LENGTH);
+        if (attempts >= this.maxAttempts) {
+            // parked rows are not retried and no longer hold back the later rows of their hook
+            this.jdbcTemplate.update("UPDATE m_hook_outbox SET status = ?, attempts = ?, next_attempt_at = ?, claimed_until = NULL, "
+                    + "last_error = ? WHERE id = ?", STATUS_FAILED, attempts, nextAttemptAt, lastError, entry.id);
+        } else {
+            this.jdbcTemplate.update(
+                    "UPDATE m_hook_outbox SET attempts = ?, next_attempt_at = ?, claimed_until = NULL, last_error = ? WHERE id = ?",
+                    attempts, nextAttemptAt, lastError, entry.id);
+        }
+        release(deferred);
+    }
+
+    private void release(final List<OutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        final List<Object[]> args = new ArrayList<>(entries.size());
+        for (final OutboxEntry entry : entries) {
+            args.add(new Object[] { entry.id });
+        }
+        this.jdbcTemplate.batchUpdate("UPDATE m_hook_outbox SET claimed_until = NULL WHERE id = ?", args);
+    }
+
+    private void delete(final List<OutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        final List<Object[]> args = new ArrayList<>(entries.size());
+        for (final OutboxEntry entry : entries) {
+            args.add(new Object[] { entry.id });
+        }
+        this.jdbcTemplate.batchUpdate("DELETE FROM m_hook_outbox WHERE id = ?", args);
+    }
+
+    private static final class OutboxEntry {
+
+        private final long id;
+        private final long hookId;
+        private final String entityName;
+        private final String actionName;
+        private final String payload;
+        private final int attempts;
+        private final String tenantIdentifier;
+        private final Long appUserId;
+
+        OutboxEntry(final long id, final long hookId, final String entityName, final String actionName, final String payload,
+                final int attempts, final String tenantIdentifier, final Long appUserId) {
+            this.id = id;
+            this.hookId = hookId;
+            this.entityName = entityName;
+            this.actionName = actionName;
+            this.payload = payload;
+            this.attempts = attempts;
+            this.tenantIdentifier = tenantIdentifier;
+            this.appUserId = appUserId;
+        }
+    }
+}
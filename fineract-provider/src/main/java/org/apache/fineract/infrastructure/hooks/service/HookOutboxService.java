@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+public interface HookOutboxService {
+
+    /**
+     * Whether any active hook listens to the event; callers can skip building the payload otherwise.
+     */
+    boolean hasHooks(String entityName, String actionName);
+
+    /**
+     * Queues the event for every hook listening to it, in the current transaction. Delivery starts once it commits.
+     */
+    void enqueue(String entityName, String actionName, String payload);
+
+    /**
+     * Queues the event in a transaction of its own, for events of commands whose transaction is rolled back.
+     */
+    void enqueueInNewTransaction(String entityName, String actionName, String payload);
+
+    void dispatchHookOutbox();
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class HookOutboxServiceImpl implements HookOutboxService {
+
+    private final HookEventIndex hookEventIndex;
+    private final HookOutboxDispatcher hookOutboxDispatcher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final PlatformSecurityContext context;
+
+    public HookOutboxServiceImpl(final HookEventIndex hookEventIndex, final HookOutboxDispatcher hookOutboxDispatcher,
+            final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager, final PlatformSecurityContext context) {
+        this.hookEventIndex = hookEventIndex;
+        this.context = context;
+        this.hookOutboxDispatcher = hookOutboxDispatcher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public boolean hasHooks(final String entityName, final String actionName) {
+        return !this.hookEventIndex.getHookIds(entityName, actionName).isEmpty();
+    }
+
+    @Override
+    public void enqueue(final String entityName, final String actionName, final String payload) {
+        final List<Long> hookIds = this.hookEventIndex.getHookIds(entityName, actionName);
+        if (hookIds.isEmpty()) {
+            return;
+        }
+
+        final LocalDateTime now = DateUtils.getLocalDateTimeOfSystem();
+        // the rows are delivered later on another thread, as the tenant and user of the command that queued them; the
+        // caller's credentials are not stored
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final String tenantIdentifier = tenant == null ? null : tenant.getTenantIdentifier();
+        final AppUser user = this.context.getAuthenticatedUserIfPresent();
+        final Long appUserId = user == null ? null : user.getId();
+        final List<Object[]> args = new ArrayList<>(hookIds.size());
+        for (final Long hookId : hookIds) {
+            args.add(new Object[] { hookId, entityName, actionName, payload, HookOutboxDispatcher.STATUS_PENDING, now, now,
+                    tenantIdentifier, appUserId });
+        }
+        this.jdbcTemplate.batchUpdate("INSERT INTO m_hook_outbox (hook_id, entity_name, action_name, payload, status, attempts, "
+                + "next_attempt_at, created_date, tenant_identifier, app_user_id) VALUES (?, ?, ?, ?, ?, 0, ?, ?, ?, ?)",
+                args);
+        this.hookOutboxDispatcher.dispatchAfterCommit();
+    }
+
+    @Override
+    public void enqueueInNewTransaction(final String entityName, final String actionName, final String payload) {
+        this.newTransactionTemplate.executeWithoutResult(status -> enqueue(entityName, actionName, payload));
+    }
+
+    @Override
+    @CronTarget(jobName = JobName.DISPATCH_HOOK_OUTBOX)
+    public void dispatchHookOutbox() {
+        this.hookOutboxDispatcher.dispatch();
+    }
+}
@@ -35,7 +35,6 @@ import org.apache.fineract.infrastructure.hooks.domain.Hook;
 import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
 import org.apache.fineract.infrastructure.hooks.exception.HookNotFoundException;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -47,6 +46,7 @@ public class HookReadPlatformServiceImpl implements HookReadPlatformService {
 
     private final JdbcTemplate jdbcTemplate;
     private final HookRepository hookRepository;
+    private final HookEventIndex hookEventIndex;
     private final PlatformSecurityContext context;
 
     @Override
@@ -73,9 +73,9 @@ public class HookReadPlatformServiceImpl implements HookReadPlatformService {
     }
 
     @Override
-    @Cacheable(value = "hooks", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('HK')")
     public List<Hook> retrieveHooksByEvent(final String entityName, final String actionName) {
-        return hookRepository.findAllHooksListeningToEvent(entityName, actionName);
+        final List<Long> hookIds = hookEventIndex.getHookIds(entityName, actionName);
+        return hookIds.isEmpty() ? List.of() : hookRepository.findAllById(hookIds);
     }
 
     @Override
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.jobs.data;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Date;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -49,8 +50,23 @@ public class JobDetailHistoryData {
     @SuppressWarnings("unused")
     private final String jobRunErrorLog;
 
+    @SuppressWarnings("unused")
+    private final Long itemsProcessed;
+
+    @SuppressWarnings("unused")
+    private final Long itemsFailed;
+
+    @SuppressWarnings("unused")
+    private final BigDecimal throughput;
+
     public JobDetailHistoryData(final Long version, final Date jobRunStartTime, final Date jobRunEndTime, final String status,
             final String jobRunErrorMessage, final String triggerType, final String jobRunErrorLog) {
+        this(version, jobRunStartTime, jobRunEndTime, status, jobRunErrorMessage, triggerType, jobRunErrorLog, null, null, null);
+    }
+
+    public JobDetailHistoryData(final Long version, final Date jobRunStartTime, final Date jobRunEndTime, final String status,
+            final String jobRunErrorMessage, final String triggerType, final String jobRunErrorLog, final Long itemsProcessed,
+            final Long itemsFailed, final BigDecimal throughput) {
         this.version = version;
         this.jobRunStartTime = jobRunStartTime;
         this.jobRunEndTime = jobRunEndTime;
@@ -58,6 +74,9 @@ public class JobDetailHistoryData {
         this.jobRunErrorMessage = jobRunErrorMessage;
         this.triggerType = triggerType;
         this.jobRunErrorLog = jobRunErrorLog;
+        this.itemsProcessed = itemsProcessed;
+        this.itemsFailed = itemsFailed;
+        this.throughput = throughput;
         LocalDateTime jobRunStartTimeLocalDateTime = DateUtils.convertToLocalDateTime(jobRunStartTime);
         this.jobRunStartTimeTZ = jobRunStartTimeLocalDateTime.format(DateUtils.DEFAULT_DATETIME_FORMATTER);
         LocalDateTime jobRunEndTimeLocalDateTime = DateUtils.convertToLocalDateTime(jobRunEndTime);
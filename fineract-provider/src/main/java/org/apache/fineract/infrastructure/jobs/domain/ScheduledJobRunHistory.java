@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.jobs.domain;
 
+import java.math.BigDecimal;
 import java.util.Date;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -59,6 +60,15 @@ public class ScheduledJobRunHistory extends AbstractPersistableCustom {
     @Column(name = "error_log")
     private String errorLog;
 
+    @Column(name = "items_processed")
+    private Long itemsProcessed;
+
+    @Column(name = "items_failed")
+    private Long itemsFailed;
+
+    @Column(name = "throughput", scale = 2, precision = 19)
+    private BigDecimal throughput;
+
     public ScheduledJobRunHistory() {
 
     }
@@ -75,4 +85,10 @@ public class ScheduledJobRunHistory extends AbstractPersistableCustom {
         this.errorLog = errorLog;
     }
 
+    public void updateProgress(final Long itemsProcessed, final Long itemsFailed, final BigDecimal throughput) {
+        this.itemsProcessed = itemsProcessed;
+        this.itemsFailed = itemsFailed;
+        this.throughput = throughput;
+    }
+
 }
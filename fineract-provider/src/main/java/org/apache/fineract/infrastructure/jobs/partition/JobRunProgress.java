@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.partition;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import lombok.Getter;
+
+/**
+ * Item counts and elapsed time of a job run, stored with its {@code job_run_history} entry.
+ */
+@Getter
+public final class JobRunProgress {
+
+    private final long itemsProcessed;
+    private final long itemsFailed;
+    private final long elapsedMillis;
+
+    public JobRunProgress(final long itemsProcessed, final long itemsFailed, final long elapsedMillis) {
+        this.itemsProcessed = itemsProcessed;
+        this.itemsFailed = itemsFailed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public JobRunProgress add(final JobRunProgress other) {
+        return new JobRunProgress(this.itemsProcessed + other.itemsProcessed, this.itemsFailed + other.itemsFailed,
+                this.elapsedMillis + other.elapsedMillis);
+    }
+
+    /**
+     * Successfully processed items per second, or zero when nothing was timed.
+     */
+    public BigDecimal getThroughput() {
+        if (this.elapsedMillis <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(this.itemsProcessed * 1000L).divide(BigDecimal.valueOf(this.elapsedMillis), 2, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public String toString() {
+        return this.itemsProcessed + " processed, " + this.itemsFailed + " failed in " + this.elapsedMillis + " ms (" + getThroughput()
+                + " items/s)";
+    }
+}
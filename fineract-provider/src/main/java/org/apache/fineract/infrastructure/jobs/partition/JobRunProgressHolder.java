@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.partition;
+
+/**
+ * Collects the {@link JobRunProgress} of the job running on the current scheduler thread, so that
+ * {@link org.apache.fineract.infrastructure.jobs.service.SchedulerJobListener} can store it with the run history.
+ */
+public final class JobRunProgressHolder {
+
+    private static final ThreadLocal<JobRunProgress> PROGRESS = new ThreadLocal<>();
+
+    private JobRunProgressHolder() {}
+
+    public static void record(final JobRunProgress progress) {
+        final JobRunProgress current = PROGRESS.get();
+        PROGRESS.set(current == null ? progress : current.add(progress));
+    }
+
+    public static JobRunProgress get() {
+        return PROGRESS.get();
+    }
+
+    public static void clear() {
+        PROGRESS.remove();
+    }
+}
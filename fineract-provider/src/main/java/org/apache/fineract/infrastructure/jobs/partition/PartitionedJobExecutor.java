@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.partition;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a job over a set of ids in parallel. The calling (scheduler) thread pages through the ids with a
+ * {@link KeysetIdProducer} and hands them as chunks to a bounded queue, so fetching stays at most
+ * {@code queue-capacity} chunks ahead of the workers. Workers run with the tenant context of the calling thread and
+ * process each chunk in one transaction, unless the processor opts out through
+ * {@link PartitionedJobItemProcessor#isChunkTransactional()}; when a chunk fails it is rolled back and its ids are processed again one per
+ * transaction, retrying on deadlocks and optimistic locking failures, so that one broken item does not fail its
+ * neighbours.
+ *
+ * The worker pool is always shut down before {@link #execute} returns. Failures of individual items are collected and
+ * thrown as one {@link JobExecutionException}, and the run's {@link JobRunProgress} is recorded in
+ * {@link JobRunProgressHolder}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionedJobExecutor {
+
+    private static final long POLL_INTERVAL_MILLIS = 200L;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final TransactionTemplate transactionTemplate;
+
+    public <C> JobRunProgress execute(final String jobDescription, final PartitionedJobParameters parameters,
+            final KeysetIdProducer idProducer, final PartitionedJobItemProcessor<C> processor) throws JobExecutionException {
+        final long start = System.currentTimeMillis();
+        final Run<C> run = new Run<>(jobDescription, ThreadLocalContextUtil.getContext(), parameters, processor);
+
+        log.info("{}: starting with {}", jobDescription, parameters);
+        final ExecutorService executorService = Executors.newFixedThreadPool(parameters.getThreadPoolSize());
+        try {
+            final List<Future<?>> workers = new ArrayList<>(parameters.getThreadPoolSize());
+            for (int i = 0; i < parameters.getThreadPoolSize(); i++) {
+                workers.add(executorService.submit(() -> consume(run)));
+            }
+            try {
+                produce(run, idProducer, workers);
+            } catch (RuntimeException e) {
+                log.error("{}: fetching ids failed, stopping after the chunks already queued", jobDescription, e);
+                run.errors.add(e);
+            } finally {
+                run.exhausted.set(true);
+            }
+            for (final Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    log.error("{}: worker terminated", jobDescription, e.getCause());
+                    run.errors.add(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.errors.add(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        final JobRunProgress progress = new JobRunProgress(run.processed.get(), run.failed.get(), System.currentTimeMillis() - start);
+        JobRunProgressHolder.record(progress);
+        log.info("{}: finished, {}", jobDescription, progress);
+        if (!run.errors.isEmpty()) {
+            throw new JobExecutionException(new ArrayList<>(run.errors));
+        }
+        return progress;
+    }
+
+    private void produce(final Run<?> run, final KeysetIdProducer idProducer, final List<Future<?>> workers) throws InterruptedException {
+        Long lastId = 0L;
+        while (true) {
+            final List<Long> ids = idProducer.nextPage(lastId, run.parameters.getChunkSize());
+            if (ids == null || ids.isEmpty()) {
+                return;
+            }
+            while (!run.queue.offer(ids, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (workers.stream().allMatch(Future::isDone)) {
+                    throw new IllegalStateException("All workers terminated before the ids were consumed");
+                }
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private <C> Void consume(final Run<C> run) throws InterruptedException {
+        ThreadLocalContextUtil.init(run.context);
+        try {
+            while (true) {
+                final List<Long> ids = run.queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (ids == null) {
+                    if (run.exhausted.get() && run.queue.isEmpty()) {
+                        return null;
+                    }
+                    continue;
+                }
+                processChunk(run, ids);
+            }
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    private <C> void processChunk(final Run<C> run, final List<Long> ids) throws InterruptedException {
+        if (!run.processor.isChunkTransactional()) {
+            try {
+                run.processor.processChunk(ids, run.processor.prepareChunk(ids));
+                run.processed.addAndGet(ids.size());
+            } catch (RuntimeException e) {
+                log.error("{}: chunk of {} ids starting at {} failed", run.jobDescription, ids.size(), ids.get(0), e);
+                run.failed.addAndGet(ids.size());
+                run.errors.add(e);
+            }
+            return;
+        }
+        try {
+            final C chunkData = run.processor.prepareChunk(ids);
+            this.transactionTemplate.executeWithoutResult(status -> run.processor.processChunk(ids, chunkData));
+            run.processed.addAndGet(ids.size());
+            log.debug("{}: chunk of {} ids from {} to {} done", run.jobDescription, ids.size(), ids.get(0), ids.get(ids.size() - 1));
+            return;
+        } catch (RuntimeException chunkFailure) {
+            log.warn("{}: chunk of {} ids starting at {} failed, retrying one by one", run.jobDescription, ids.size(), ids.get(0),
+                    chunkFailure);
+        }
+
+        final C chunkData;
+        try {
+            chunkData = run.processor.prepareChunk(ids);
+        } catch (RuntimeException e) {
+            log.error("{}: preparing chunk of {} ids starting at {} failed", run.jobDescription, ids.size(), ids.get(0), e);
+            run.failed.addAndGet(ids.size());
+            run.errors.add(e);
+            return;
+        }
+        for (final Long id : ids) {
+            try {
+                processWithRetry(run, () -> run.processor.process(id, chunkData));
+                run.processed.incrementAndGet();
+            } catch (RuntimeException e) {
+                log.error("{}: failed for id {}", run.jobDescription, id, e);
+                run.failed.incrementAndGet();
+                run.errors.add(e);
+            }
+        }
+    }
+
+    @SuppressFBWarnings(value = {
+            "DMI_RANDOM_USED_ONLY_ONCE" }, justification = "False positive for random object created and used only once")
+    private void processWithRetry(final Run<?> run, final Runnable work) throws InterruptedException {
+        final FineractPlatformTenantConnection connection = run.context.getTenantContext().getConnection();
+        final int maxNumberOfRetries = connection.getMaxRetriesOnDeadlock();
+        final int maxIntervalBetweenRetries = connection.getMaxIntervalBetweenRetries();
+        int numberOfRetries = 0;
+        while (true) {
+            try {
+                this.transactionTemplate.executeWithoutResult(status -> work.run());
+                return;
+            } catch (CannotAcquireLockException | ObjectOptimisticLockingFailureException exception) {
+                if (numberOfRetries >= maxNumberOfRetries) {
+                    log.error("{}: retried for the max allowed attempts of {} and will be rolled back", run.jobDescription, numberOfRetries);
+                    throw exception;
+                }
+                numberOfRetries++;
+                log.info("{}: has been retried {} time(s)", run.jobDescription, numberOfRetries);
+                // sleep for a random time (between 1 and maxIntervalBetweenRetries + 1 seconds) before retrying
+                Thread.sleep(1000L + RANDOM.nextInt(maxIntervalBetweenRetries + 1) * 1000L);
+            }
+        }
+    }
+
+    private static final class Run<C> {
+
+        private final String jobDescription;
+        private final FineractContext context;
+        private final PartitionedJobParameters parameters;
+        private final PartitionedJobItemProcessor<C> processor;
+        private final BlockingQueue<List<Long>> queue;
+        private final AtomicBoolean exhausted = new AtomicBoolean(false);
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+        Run(final String jobDescription, final FineractContext context, final PartitionedJobParameters parameters,
+                final PartitionedJobItemProcessor<C> processor) {
+            this.jobDescription = jobDescription;
+            this.context = context;
+            this.parameters = parameters;
+            this.processor = processor;
+            this.queue = new ArrayBlockingQueue<>(parameters.getQueueCapacity());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.partition;
+
+import java.util.List;
+
+/**
+ * Work done by a partitioned job for a single id. {@link #prepareChunk(List)} is called once per chunk before any of
+ * its ids are processed and lets a job bulk-load data shared by the whole chunk.
+ *
+ * @param <C>
+ *            type of the per chunk data, {@link Void} when the job does not need any
+ */
+@FunctionalInterface
+public interface PartitionedJobItemProcessor<C> {
+
+    default C prepareChunk(@SuppressWarnings("unused") List<Long> ids) {
+        return null;
+    }
+
+    void process(Long id, C chunkData);
+
+    /**
+     * Processes all ids of a chunk inside the chunk's transaction, one id after the other unless a job writes set based.
+     * {@link #process(Long, Object)} is still used when a failed chunk is retried one id at a time.
+     */
+    default void processChunk(List<Long> ids, C chunkData) {
+        ids.forEach(id -> process(id, chunkData));
+    }
+
+    /**
+     * Whether a chunk is processed in one transaction. Jobs whose items must not be rolled back together, like money
+     * transfers, return {@code false}: {@link #processChunk(List, Object)} then runs outside of a transaction, manages
+     * its own transactions and reports item failures itself, and a failed chunk is not retried one id at a time.
+     */
+    default boolean isChunkTransactional() {
+        return true;
+    }
+}
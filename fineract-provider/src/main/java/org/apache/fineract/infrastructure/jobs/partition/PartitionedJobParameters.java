@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.partition;
+
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Tuning of a {@link PartitionedJobExecutor} run, read from the job parameters of the scheduled job:
+ * <ul>
+ * <li>{@code thread-pool-size}: number of worker threads</li>
+ * <li>{@code batch-size}: number of ids per chunk, each chunk is committed in one transaction</li>
+ * <li>{@code queue-capacity}: number of chunks fetched ahead of the workers, defaults to twice the pool size</li>
+ * </ul>
+ */
+@Getter
+public final class PartitionedJobParameters {
+
+    public static final String THREAD_POOL_SIZE_PARAMETER = "thread-pool-size";
+    public static final String BATCH_SIZE_PARAMETER = "batch-size";
+    public static final String QUEUE_CAPACITY_PARAMETER = "queue-capacity";
+
+    private static final int DEFAULT_THREAD_POOL_SIZE = 4;
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final int threadPoolSize;
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    public PartitionedJobParameters(final int threadPoolSize, final int chunkSize, final int queueCapacity) {
+        this.threadPoolSize = Math.max(1, threadPoolSize);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    public static PartitionedJobParameters fromJobParameters(final Map<String, String> jobParameters) {
+        final int threadPoolSize = intParameter(jobParameters, THREAD_POOL_SIZE_PARAMETER, DEFAULT_THREAD_POOL_SIZE);
+        final int chunkSize = intParameter(jobParameters, BATCH_SIZE_PARAMETER, DEFAULT_BATCH_SIZE);
+        final int queueCapacity = intParameter(jobParameters, QUEUE_CAPACITY_PARAMETER, threadPoolSize * 2);
+        return new PartitionedJobParameters(threadPoolSize, chunkSize, queueCapacity);
+    }
+
+    private static int intParameter(final Map<String, String> jobParameters, final String name, final int defaultValue) {
+        final String value = jobParameters == null ? null : jobParameters.get(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    @Override
+    public String toString() {
+        return "threads=" + this.threadPoolSize + ", chunk size=" + this.chunkSize + ", queue capacity=" + this.queueCapacity;
+    }
+}
@@ -61,6 +61,8 @@ public enum JobName {
     POST_LOAN_OVERDUE_REMINDER("Post Loan Overdue Reminder"), //
     PROCESS_LOAN_OVERDUE_REMINDER("Process Loan Overdue Reminder"), //
     UPDATE_NEXT_WITHDRAWAL_DATE_ON_SAVINGS_ACCOUNT("Update next withdrawal date for savings account"), //
+    LOAN_COB("Loan COB"), //
+    DISPATCH_HOOK_OUTBOX("Dispatch Hook Outbox"), //
 
     REPROCESS_LOAN_TRANSACTIONS("Reprocess Loan Transactions"); //
 
@@ -28,6 +28,8 @@ import org.apache.fineract.infrastructure.businessdate.service.BusinessDateReadP
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobRunHistory;
+import org.apache.fineract.infrastructure.jobs.partition.JobRunProgress;
+import org.apache.fineract.infrastructure.jobs.partition.JobRunProgressHolder;
 import org.apache.fineract.portfolio.account.api.StandingInstructionApiConstants;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
@@ -70,6 +72,7 @@ public class SchedulerJobListener implements JobListener {
         SecurityContextHolder.getContext().setAuthentication(auth);
         HashMap<BusinessDateType, LocalDate> businessDates = businessDateReadPlatformService.getBusinessDates();
         ThreadLocalContextUtil.setBusinessDates(businessDates);
+        JobRunProgressHolder.clear();
     }
 
     @Override
@@ -123,6 +126,11 @@ public class SchedulerJobListener implements JobListener {
 
         final ScheduledJobRunHistory runHistory = new ScheduledJobRunHistory(scheduledJobDetails, version, context.getFireTime(),
                 new Date(), status, errorMessage, triggerType, errorLog);
+        final JobRunProgress progress = JobRunProgressHolder.get();
+        if (progress != null) {
+            runHistory.updateProgress(progress.getItemsProcessed(), progress.getItemsFailed(), progress.getThroughput());
+            JobRunProgressHolder.clear();
+        }
         // scheduledJobDetails.addRunHistory(runHistory);
 
         this.schedularService.saveOrUpdate(scheduledJobDetails, runHistory);
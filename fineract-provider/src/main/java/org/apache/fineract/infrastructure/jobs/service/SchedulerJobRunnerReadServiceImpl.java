@@ -18,10 +18,12 @@
  */
 package org.apache.fineract.infrastructure.jobs.service;
 
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -191,6 +193,7 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
                     .append(" runHistory.version,runHistory.start_time as runStartTime,runHistory.end_time as runEndTime,runHistory."
                             + sqlGenerator.escape("status")
                             + ",runHistory.error_message as jobRunErrorMessage,runHistory.trigger_type as triggerType,runHistory.error_log as jobRunErrorLog ")
+                    .append(",runHistory.items_processed as itemsProcessed,runHistory.items_failed as itemsFailed,runHistory.throughput ")
                     .append(" from job job join job_run_history runHistory ON job.id=runHistory.job_id");
         }
 
@@ -207,8 +210,11 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
             final String jobRunErrorMessage = rs.getString("jobRunErrorMessage");
             final String triggerType = rs.getString("triggerType");
             final String jobRunErrorLog = rs.getString("jobRunErrorLog");
+            final Long itemsProcessed = JdbcSupport.getLong(rs, "itemsProcessed");
+            final Long itemsFailed = JdbcSupport.getLong(rs, "itemsFailed");
+            final BigDecimal throughput = rs.getBigDecimal("throughput");
             final JobDetailHistoryData jobDetailHistory = new JobDetailHistoryData(version, jobRunStartTime, jobRunEndTime, status,
-                    jobRunErrorMessage, triggerType, jobRunErrorLog);
+                    jobRunErrorMessage, triggerType, jobRunErrorLog, itemsProcessed, itemsFailed, throughput);
             return jobDetailHistory;
         }
 
@@ -18,14 +18,11 @@
  */
 package org.apache.fineract.notification.eventandlistener;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.HashSet;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.notification.data.NotificationData;
 import org.apache.fineract.notification.service.NotificationWritePlatformService;
-import org.apache.fineract.useradministration.domain.AppUser;
 import org.apache.fineract.useradministration.domain.AppUserRepository;
 import org.springframework.stereotype.Service;
 
@@ -39,21 +36,16 @@ public class NotificationEventListener {
     public void receive(NotificationData notificationData) {
         Long appUserId = notificationData.getActorId();
 
-        Set<Long> userIds = notificationData.getUserIds();
+        Set<Long> userIds = new HashSet<>(notificationData.getUserIds());
 
-        if (notificationData.getOfficeId() != null) {
-            List<Long> tempUserIds = new ArrayList<>(userIds);
-            for (Long userId : tempUserIds) {
-                AppUser appUser = appUserRepository.findById(userId).orElseThrow();
-                if (!Objects.equals(appUser.getOffice().getId(), notificationData.getOfficeId())) {
-                    userIds.remove(userId);
-                }
-            }
+        if (notificationData.getOfficeId() != null && !userIds.isEmpty()) {
+            userIds = new HashSet<>(appUserRepository.findIdsByOfficeIdAndIdIn(notificationData.getOfficeId(), userIds));
         }
 
         // Don't notify the same user who triggered the event
-        if (userIds.contains(appUserId)) {
-            userIds.remove(appUserId);
+        userIds.remove(appUserId);
+        if (userIds.isEmpty()) {
+            return;
         }
 
         notificationWritePlatformService.notify(userIds, notificationData.getObjectType(), notificationData.getObjectId(),
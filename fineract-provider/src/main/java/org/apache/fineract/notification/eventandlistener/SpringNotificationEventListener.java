@@ -18,25 +18,99 @@
  */
 package org.apache.fineract.notification.eventandlistener;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.notification.data.NotificationData;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Fans notification events out to their recipients. By default this happens on the publishing thread, within the
+ * transaction of the command that raised the event. With {@code fineract.notification.async-dispatch-enabled} the fan
+ * out is handed to a small worker pool once that transaction has committed, so the command does not wait for it.
+ */
 @Component
 @Profile("!activeMqEnabled")
 @RequiredArgsConstructor
 @Slf4j
 public class SpringNotificationEventListener implements ApplicationListener<NotificationEvent> {
 
+    private static final int DEFAULT_DISPATCHER_THREAD_POOL_SIZE = 2;
+    private static final int QUEUE_CAPACITY = 10000;
+
     private final NotificationEventListener notificationEventListener;
+    private final FineractProperties fineractProperties;
+
+    private ThreadPoolExecutor dispatcher;
+
+    @PostConstruct
+    public void initDispatcher() {
+        final FineractProperties.FineractNotificationProperties notification = this.fineractProperties.getNotification();
+        if (notification == null || !notification.isAsyncDispatchEnabled()) {
+            return;
+        }
+        final int threadPoolSize = notification.getDispatcherThreadPoolSize() <= 0 ? DEFAULT_DISPATCHER_THREAD_POOL_SIZE
+                : notification.getDispatcherThreadPoolSize();
+        this.dispatcher = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), new CustomizableThreadFactory("notification-dispatcher-"));
+    }
+
+    @PreDestroy
+    public void shutdownDispatcher() {
+        if (this.dispatcher != null) {
+            this.dispatcher.shutdown();
+        }
+    }
 
     @Override
     public void onApplicationEvent(NotificationEvent event) {
         log.debug("Processing Spring notification event {}", event);
+        if (this.dispatcher == null) {
+            process(event);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    private void dispatch(NotificationEvent event) {
+        try {
+            this.dispatcher.execute(() -> {
+                try {
+                    process(event);
+                } catch (RuntimeException e) {
+                    log.error("Error while processing notification event {}", event, e);
+                } finally {
+                    // pool threads are reused, the context of this event must not leak into the next one
+                    ThreadLocalContextUtil.reset();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // like a failed broadcast, a dropped notification must not fail the command that raised it
+            log.error("Notification dispatcher is saturated, dropping notification event {}", event, e);
+        }
+    }
+
+    private void process(NotificationEvent event) {
         ThreadLocalContextUtil.init(event.getContext());
         NotificationData notificationData = event.getNotificationData();
         notificationEventListener.receive(notificationData);
@@ -18,9 +18,16 @@
  */
 package org.apache.fineract.notification.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import org.apache.fineract.notification.domain.NotificationMapper;
 
 public interface NotificationMapperWritePlatformService {
 
     Long create(NotificationMapper notificationMapper);
+
+    /**
+     * Maps one notification to all of its recipients with a single batch of inserts.
+     */
+    void createAll(Long notificationId, Collection<Long> userIds, LocalDateTime createdAt);
 }
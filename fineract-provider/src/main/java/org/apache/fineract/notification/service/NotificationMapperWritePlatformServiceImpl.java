@@ -18,19 +18,27 @@
  */
 package org.apache.fineract.notification.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import org.apache.fineract.notification.domain.NotificationMapper;
 import org.apache.fineract.notification.domain.NotificationMapperRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 public class NotificationMapperWritePlatformServiceImpl implements NotificationMapperWritePlatformService {
 
     private final NotificationMapperRepository notificationMapperRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public NotificationMapperWritePlatformServiceImpl(NotificationMapperRepository notificationMapperRepository) {
+    public NotificationMapperWritePlatformServiceImpl(NotificationMapperRepository notificationMapperRepository,
+            JdbcTemplate jdbcTemplate) {
         this.notificationMapperRepository = notificationMapperRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -38,4 +46,14 @@ public class NotificationMapperWritePlatformServiceImpl implements NotificationM
         this.notificationMapperRepository.saveAndFlush(notificationMapper);
         return notificationMapper.getId();
     }
+
+    @Override
+    public void createAll(Long notificationId, Collection<Long> userIds, LocalDateTime createdAt) {
+        final List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            rows.add(new Object[] { notificationId, userId, false, createdAt });
+        }
+        this.jdbcTemplate.batchUpdate("INSERT INTO notification_mapper (notification_id, user_id, is_read, created_at) VALUES (?, ?, ?, ?)",
+                rows);
+    }
 }
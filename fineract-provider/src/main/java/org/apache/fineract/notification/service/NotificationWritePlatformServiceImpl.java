@@ -18,9 +18,7 @@
  */
 package org.apache.fineract.notification.service;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.notification.domain.Notification;
@@ -76,20 +74,8 @@ public class NotificationWritePlatformServiceImpl implements NotificationWritePl
         Long generatedNotificationId = insertIntoNotificationGenerator(objectType, objectId, action, actorId, notificationContent,
                 isSystemGenerated);
 
-        insertIntoNotificationMapper(userIds, generatedNotificationId);
+        this.notificationMapperWritePlatformService.createAll(generatedNotificationId, userIds, DateUtils.getLocalDateTimeOfSystem());
         return generatedNotificationId;
     }
 
-    private List<Long> insertIntoNotificationMapper(Collection<Long> userIds, Long generatedNotificationId) {
-        List<Long> mappedIds = new ArrayList<>();
-        for (Long userId : userIds) {
-            AppUser appUser = this.appUserRepository.findById(userId).orElseThrow();
-            NotificationMapper notificationMapper = new NotificationMapper(
-                    this.notificationGeneratorReadRepositoryWrapper.findById(generatedNotificationId), appUser, false,
-                    DateUtils.getLocalDateTimeOfSystem());
-            this.notificationMapperWritePlatformService.create(notificationMapper);
-            mappedIds.add(notificationMapper.getId());
-        }
-        return mappedIds;
-    }
 }
@@ -28,6 +28,8 @@ import org.apache.fineract.organisation.monetary.data.CurrencyData;
 @Embeddable
 public class Money implements Comparable<Money> {
 
+    private static final BigDecimal MAX_EXACT_DOUBLE = BigDecimal.valueOf(1L << 53);
+
     @Column(name = "currency_code", length = 3)
     private String currencyCode;
 
@@ -92,16 +94,46 @@ public class Money implements Comparable<Money> {
         this.currencyDigitsAfterDecimal = digitsAfterDecimal;
         this.inMultiplesOf = inMultiplesOf;
 
-        final BigDecimal amountZeroed = defaultToZeroIfNull(amount);
-        final BigDecimal amountStripped = amountZeroed.stripTrailingZeros();
-        BigDecimal amountScaled = amountStripped;
+        this.amount = normalize(amount, digitsAfterDecimal, inMultiplesOf, MoneyHelper.getRoundingMode());
+    }
+
+    /**
+     * Scales an amount to the currency's digits after decimal, rounding amounts of currencies without decimals into
+     * their multiples of (say 20/50). Shared with {@link MoneyAccumulator} so both produce exactly the same amounts.
+     */
+    static BigDecimal normalize(final BigDecimal amount, final int digitsAfterDecimal, final Integer inMultiplesOf,
+            final RoundingMode roundingMode) {
+        BigDecimal amountScaled = defaultToZeroIfNull(amount);
 
         // round monetary amounts into multiplesof say 20/50.
-        if (inMultiplesOf != null && this.currencyDigitsAfterDecimal == 0 && inMultiplesOf > 0 && amountScaled.doubleValue() > 0) {
+        if (inMultiplesOf != null && digitsAfterDecimal == 0 && inMultiplesOf > 0 && amountScaled.doubleValue() > 0
+                && !isExactMultipleOf(amountScaled, inMultiplesOf)) {
             final double existingVal = amountScaled.doubleValue();
             amountScaled = BigDecimal.valueOf(roundToMultiplesOf(existingVal, inMultiplesOf));
         }
-        this.amount = amountScaled.setScale(this.currencyDigitsAfterDecimal, MoneyHelper.getRoundingMode());
+        return amountScaled.setScale(digitsAfterDecimal, roundingMode);
+    }
+
+    /**
+     * Amounts that already are a multiple of {@code inMultiplesOf} (and are small enough to be exact as a double) come
+     * out of {@link #roundToMultiplesOf(double, Integer)} unchanged, so the round trip through double can be skipped.
+     */
+    private static boolean isExactMultipleOf(final BigDecimal amount, final int inMultiplesOf) {
+        return amount.abs().compareTo(MAX_EXACT_DOUBLE) < 0 && amount.remainder(BigDecimal.valueOf(inMultiplesOf)).signum() == 0;
+    }
+
+    /**
+     * Wraps an amount already scaled by {@link #normalize(BigDecimal, int, Integer, RoundingMode)}, without scaling it
+     * again.
+     */
+    static Money ofNormalized(final String currencyCode, final int digitsAfterDecimal, final Integer inMultiplesOf,
+            final BigDecimal normalizedAmount) {
+        final Money money = new Money();
+        money.currencyCode = currencyCode;
+        money.currencyDigitsAfterDecimal = digitsAfterDecimal;
+        money.inMultiplesOf = inMultiplesOf;
+        money.amount = normalizedAmount;
+        return money;
     }
 
     public static double roundToMultiplesOf(final double existingVal, final Integer inMultiplesOf) {
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Mutable running total of {@link Money} in a single currency.
+ *
+ * Loops in the schedule generators and repayment processors that sum up installment or charge amounts would otherwise
+ * allocate a new {@link Money} and {@link MonetaryCurrency} for every addition. Each operation here scales and rounds
+ * exactly like the matching {@link Money} operation, so {@link #toMoney()} is identical to chaining
+ * {@code plus}/{@code minus} on {@link Money}.
+ */
+public final class MoneyAccumulator {
+
+    private final String currencyCode;
+    private final int digitsAfterDecimal;
+    private final Integer inMultiplesOf;
+    private final RoundingMode roundingMode;
+    private BigDecimal amount;
+    private Money money;
+
+    private MoneyAccumulator(final Money start) {
+        this.currencyCode = start.getCurrencyCode();
+        this.digitsAfterDecimal = start.getCurrencyDigitsAfterDecimal();
+        this.inMultiplesOf = start.getCurrencyInMultiplesOf();
+        this.roundingMode = MoneyHelper.getRoundingMode();
+        this.amount = start.getAmount();
+        this.money = start;
+    }
+
+    public static MoneyAccumulator of(final Money start) {
+        return new MoneyAccumulator(start);
+    }
+
+    public static MoneyAccumulator zero(final MonetaryCurrency currency) {
+        return new MoneyAccumulator(Money.zero(currency));
+    }
+
+    public MoneyAccumulator plus(final Money moneyToAdd) {
+        return plus(checkCurrencyEqual(moneyToAdd).getAmount());
+    }
+
+    public MoneyAccumulator plus(final BigDecimal amountToAdd) {
+        if (amountToAdd == null || amountToAdd.compareTo(BigDecimal.ZERO) == 0) {
+            return this;
+        }
+        update(this.amount.add(amountToAdd));
+        return this;
+    }
+
+    public MoneyAccumulator minus(final Money moneyToSubtract) {
+        return minus(checkCurrencyEqual(moneyToSubtract).getAmount());
+    }
+
+    public MoneyAccumulator minus(final BigDecimal amountToSubtract) {
+        if (amountToSubtract == null || amountToSubtract.compareTo(BigDecimal.ZERO) == 0) {
+            return this;
+        }
+        update(this.amount.subtract(amountToSubtract));
+        return this;
+    }
+
+    public BigDecimal getAmount() {
+        return this.amount;
+    }
+
+    public boolean isGreaterThanZero() {
+        return this.amount.compareTo(BigDecimal.ZERO) > 0;
+    }
+
+    public boolean isZero() {
+        return this.amount.compareTo(BigDecimal.ZERO) == 0;
+    }
+
+    /**
+     * The current total; the same instance is returned until the total changes again.
+     */
+    public Money toMoney() {
+        if (this.money == null) {
+            this.money = Money.ofNormalized(this.currencyCode, this.digitsAfterDecimal, this.inMultiplesOf, this.amount);
+        }
+        return this.money;
+    }
+
+    private void update(final BigDecimal newAmount) {
+        this.amount = Money.normalize(newAmount, this.digitsAfterDecimal, this.inMultiplesOf, this.roundingMode);
+        this.money = null;
+    }
+
+    private Money checkCurrencyEqual(final Money money) {
+        if (!this.currencyCode.equals(money.getCurrencyCode())) {
+            throw new UnsupportedOperationException("currencies are different.");
+        }
+        return money;
+    }
+
+    @Override
+    public String toString() {
+        return this.currencyCode + ' ' + this.amount.toPlainString();
+    }
+}
@@ -53,6 +53,15 @@ public class MoneyHelper {
         return roundingMode;
     }
 
+    /**
+     * Sets the rounding mode without going through the global configuration, for code running outside the Spring
+     * context such as benchmarks.
+     */
+    public static void initializeRoundingMode(final RoundingMode mode) {
+        roundingMode = mode;
+        mathContext = null;
+    }
+
     public static MathContext getMathContext() {
         if (mathContext == null) {
             mathContext = new MathContext(PRECISION, getRoundingMode());
@@ -33,7 +33,10 @@ import java.time.MonthDay;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -63,6 +66,7 @@ import org.apache.fineract.portfolio.common.service.DropdownReadPlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -330,17 +334,43 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
     @Override
     public Collection<StandingInstructionData> retrieveAll(final Integer status) {
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        String businessDate = sqlGenerator.currentBusinessDate();
         sqlBuilder.append("select ");
         sqlBuilder.append(this.standingInstructionMapper.schema());
-        sqlBuilder
-                .append(" where atsi.status=? and " + businessDate + " >= atsi.valid_from and (atsi.valid_till IS NULL or " + businessDate
-                        + " < atsi.valid_till) ")
-                .append(" and  (atsi.last_run_date <> " + businessDate + " or atsi.last_run_date IS NULL)")
-                .append(" ORDER BY atsi.priority DESC");
+        sqlBuilder.append(" where ").append(dueInstructionsCondition()).append(" ORDER BY atsi.priority DESC");
         return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status);
     }
 
+    @Override
+    public List<Long> retrieveFromClientIdsWithDueInstructions(final Integer status, final Long lastClientId, final int pageSize) {
+        final String sql = "select distinct atd.from_client_id from m_account_transfer_standing_instructions atsi "
+                + "join m_account_transfer_details atd on atd.id = atsi.account_transfer_details_id where " + dueInstructionsCondition()
+                + " and atd.from_client_id > ? order by atd.from_client_id " + sqlGenerator.limit(pageSize);
+        return this.jdbcTemplate.queryForList(sql, Long.class, status, lastClientId);
+    }
+
+    @Override
+    public List<StandingInstructionData> retrieveAllForFromClients(final Integer status, final Collection<Long> fromClientIds) {
+        if (fromClientIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final String sql = "select " + this.standingInstructionMapper.schema() + " where " + dueInstructionsCondition()
+                + " and atd.from_client_id in (" + placeholders(fromClientIds.size()) + ") ORDER BY atsi.priority DESC, atsi.id";
+        final List<Object> params = new ArrayList<>(fromClientIds.size() + 1);
+        params.add(status);
+        params.addAll(fromClientIds);
+        return this.jdbcTemplate.query(sql, this.standingInstructionMapper, params.toArray()); // NOSONAR
+    }
+
+    /**
+     * Active instructions that are valid on the business date and did not run on it yet, the first parameter is the
+     * status.
+     */
+    private String dueInstructionsCondition() {
+        final String businessDate = sqlGenerator.currentBusinessDate();
+        return "atsi.status=? and " + businessDate + " >= atsi.valid_from and (atsi.valid_till IS NULL or " + businessDate
+                + " < atsi.valid_till) and (atsi.last_run_date <> " + businessDate + " or atsi.last_run_date IS NULL)";
+    }
+
     @Override
     public StandingInstructionData retrieveOne(final Long instructionId) {
 
@@ -361,6 +391,28 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
         return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { loanId }); // NOSONAR
     }
 
+    @Override
+    public Map<Long, StandingInstructionDuesData> retrieveLoanDuesData(final Collection<Long> loanIds) {
+        final Map<Long, StandingInstructionDuesData> duesByLoanId = new HashMap<>();
+        if (loanIds.isEmpty()) {
+            return duesByLoanId;
+        }
+        final StandingInstructionLoanDuesMapper rm = new StandingInstructionLoanDuesMapper();
+        final String sql = "select ml.id as loanId, " + rm.schema() + " where ml.id in (" + placeholders(loanIds.size())
+                + ") and ls.duedate <= " + sqlGenerator.currentBusinessDate() + " and ls.completed_derived <> true group by ml.id";
+        this.jdbcTemplate.query(sql, (RowCallbackHandler) rs -> duesByLoanId.put(rs.getLong("loanId"), rm.mapRow(rs, 0)),
+                loanIds.toArray());
+        // loans without unpaid installments have no row, like the aggregate of the single loan query they owe nothing
+        for (final Long loanId : loanIds) {
+            duesByLoanId.computeIfAbsent(loanId, id -> new StandingInstructionDuesData(null, BigDecimal.ZERO));
+        }
+        return duesByLoanId;
+    }
+
+    private static String placeholders(final int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
     private static final class StandingInstructionMapper implements RowMapper<StandingInstructionData> {
 
         private final String schemaSql;
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.account.service;
 
+import java.util.Map;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
@@ -28,7 +29,7 @@ public interface StandingInstructionWritePlatformService {
 
     CommandProcessingResult update(Long id, JsonCommand command);
 
-    void executeStandingInstructions() throws JobExecutionException;
+    void executeStandingInstructions(Map<String, String> jobParameters) throws JobExecutionException;
 
     CommandProcessingResult delete(Long id);
 
@@ -23,13 +23,19 @@ import static org.apache.fineract.portfolio.account.AccountDetailConstants.fromC
 import static org.apache.fineract.portfolio.account.AccountDetailConstants.toAccountTypeParamName;
 import static org.apache.fineract.portfolio.account.api.StandingInstructionApiConstants.statusParamName;
 
+import com.google.common.util.concurrent.Striped;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -42,6 +48,9 @@ import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobItemProcessor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobParameters;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.notification.data.NotificationData;
@@ -56,12 +65,10 @@ import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
 import org.apache.fineract.portfolio.account.data.StandingInstructionHistoryData;
 import org.apache.fineract.portfolio.account.domain.AccountTransferDetailRepository;
 import org.apache.fineract.portfolio.account.domain.AccountTransferDetails;
-import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceType;
 import org.apache.fineract.portfolio.account.domain.AccountTransferStandingInstruction;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionAssembler;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionRepository;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
-import org.apache.fineract.portfolio.account.domain.StandingInstructionType;
 import org.apache.fineract.portfolio.account.exception.StandingInstructionNotFoundException;
 import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
@@ -78,11 +85,14 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class StandingInstructionWritePlatformServiceImpl implements StandingInstructionWritePlatformService {
 
     private static final Logger LOG = LoggerFactory.getLogger(StandingInstructionWritePlatformServiceImpl.class);
+    private static final ScheduledDateGenerator SCHEDULED_DATE_GENERATOR = new DefaultScheduledDateGenerator();
+    private static final int ACCOUNT_LOCK_STRIPES = 256;
 
     private final StandingInstructionDataValidator standingInstructionDataValidator;
     private final StandingInstructionAssembler standingInstructionAssembler;
@@ -96,6 +106,8 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
     private final PlatformSecurityContext context;
     private final NotificationEventPublisher notificationEventPublisher;
     private final Environment env;
+    private final PartitionedJobExecutor partitionedJobExecutor;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public StandingInstructionWritePlatformServiceImpl(PlatformSecurityContext context,
@@ -107,7 +119,8 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
             final AccountTransfersWritePlatformService accountTransfersWritePlatformService, final JdbcTemplate jdbcTemplate,
             DatabaseSpecificSQLGenerator sqlGenerator,
             final StandingInstructionHistoryReadPlatformService standingInstructionHistoryReadPlatformService,
-            final NotificationEventPublisher notificationEventPublisher, final Environment env) {
+            final NotificationEventPublisher notificationEventPublisher, final Environment env,
+            final PartitionedJobExecutor partitionedJobExecutor, final TransactionTemplate transactionTemplate) {
         this.standingInstructionDataValidator = standingInstructionDataValidator;
         this.standingInstructionAssembler = standingInstructionAssembler;
         this.accountTransferDetailRepository = accountTransferDetailRepository;
@@ -120,6 +133,8 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
         this.context = context;
         this.notificationEventPublisher = notificationEventPublisher;
         this.env = env;
+        this.partitionedJobExecutor = partitionedJobExecutor;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Transactional
@@ -254,46 +269,87 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
         }
     }
 
+    /**
+     * Executes the due standing instructions of the business date. The instructions are partitioned by the client they
+     * debit, so all transfers out of one account run on one worker in priority order. Transfers of different workers
+     * that credit a shared account are serialised through striped account locks. The due dates and loan dues of a chunk
+     * are evaluated up front. Every transfer commits together with the {@code last_run_date} of its instruction, so a
+     * rerun never repeats it; only the history of the chunk's transfers is written as one batch.
+     */
     @Override
     @CronTarget(jobName = JobName.EXECUTE_STANDING_INSTRUCTIONS)
-    public void executeStandingInstructions() throws JobExecutionException {
-        Collection<StandingInstructionData> instructionDatas = this.standingInstructionReadPlatformService
-                .retrieveAll(StandingInstructionStatus.ACTIVE.getValue());
-        List<Throwable> errors = new ArrayList<>();
-        LocalDate transactionDate = DateUtils.getBusinessLocalDate();
-        for (StandingInstructionData data : instructionDatas) {
-            boolean isDueForTransfer = false;
-            AccountTransferRecurrenceType recurrenceType = data.recurrenceType();
-            StandingInstructionType instructionType = data.instructionType();
-            if (recurrenceType.isPeriodicRecurrence()) {
-                final ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
-                PeriodFrequencyType frequencyType = data.recurrenceFrequency();
-                LocalDate startDate = data.validFrom();
-                if (frequencyType.isMonthly()) {
-                    startDate = startDate.withDayOfMonth(data.recurrenceOnDay());
-                    if (startDate.isBefore(data.validFrom())) {
-                        startDate = startDate.plusMonths(1);
-                    }
-                } else if (frequencyType.isYearly()) {
-                    startDate = startDate.withDayOfMonth(data.recurrenceOnDay()).withMonth(data.recurrenceOnMonth());
-                    if (startDate.isBefore(data.validFrom())) {
-                        startDate = startDate.plusYears(1);
-                    }
-                }
-                isDueForTransfer = scheduledDateGenerator.isDateFallsInSchedule(frequencyType, data.recurrenceInterval(), startDate,
-                        transactionDate);
+    public void executeStandingInstructions(final Map<String, String> jobParameters) throws JobExecutionException {
+        final Integer status = StandingInstructionStatus.ACTIVE.getValue();
+        final LocalDate transactionDate = DateUtils.getBusinessLocalDate();
+        final Striped<Lock> accountLocks = Striped.lock(ACCOUNT_LOCK_STRIPES);
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        try {
+            this.partitionedJobExecutor.execute("Execute Standing Instructions", PartitionedJobParameters.fromJobParameters(jobParameters),
+                    (lastClientId, pageSize) -> this.standingInstructionReadPlatformService
+                            .retrieveFromClientIdsWithDueInstructions(status, lastClientId, pageSize),
+                    new PartitionedJobItemProcessor<Map<Long, List<DueTransfer>>>() {
+
+                        @Override
+                        public Map<Long, List<DueTransfer>> prepareChunk(final List<Long> fromClientIds) {
+                            return retrieveDueTransfers(status, fromClientIds, transactionDate);
+                        }
+
+                        @Override
+                        public void processChunk(final List<Long> fromClientIds, final Map<Long, List<DueTransfer>> dueTransfers) {
+                            final List<DueTransfer> transfers = new ArrayList<>();
+                            dueTransfers.values().forEach(transfers::addAll);
+                            executeTransfers(transfers, transactionDate, accountLocks, errors);
+                        }
+
+                        @Override
+                        public void process(final Long fromClientId, final Map<Long, List<DueTransfer>> dueTransfers) {
+                            executeTransfers(dueTransfers.getOrDefault(fromClientId, List.of()), transactionDate, accountLocks, errors);
+                        }
+
+                        @Override
+                        public boolean isChunkTransactional() {
+                            // every transfer commits on its own, a failed transfer must not roll back the others
+                            return false;
+                        }
+                    });
+        } catch (JobExecutionException e) {
+            errors.addAll(e.getCauses());
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
 
+    /**
+     * Evaluates which instructions of the given clients are due and the amount they transfer, loading the dues of all
+     * loans they pay into with one query. The transfers of a client are kept in priority order.
+     */
+    private Map<Long, List<DueTransfer>> retrieveDueTransfers(final Integer status, final List<Long> fromClientIds,
+            final LocalDate transactionDate) {
+        final List<StandingInstructionData> instructions = this.standingInstructionReadPlatformService.retrieveAllForFromClients(status,
+                fromClientIds);
+        final Map<Long, Boolean> dueOnSchedule = new HashMap<>();
+        final Set<Long> loanIds = new HashSet<>();
+        for (final StandingInstructionData data : instructions) {
+            final boolean isDueForTransfer = data.recurrenceType().isPeriodicRecurrence() && isDueOnSchedule(data, transactionDate);
+            dueOnSchedule.put(data.getId(), isDueForTransfer);
+            if (requiresLoanDues(data, isDueForTransfer)) {
+                loanIds.add(data.toAccount().accountId());
             }
+        }
+        final Map<Long, StandingInstructionDuesData> loanDues = this.standingInstructionReadPlatformService.retrieveLoanDuesData(loanIds);
+
+        final Map<Long, List<DueTransfer>> dueTransfers = new LinkedHashMap<>();
+        for (final StandingInstructionData data : instructions) {
+            boolean isDueForTransfer = dueOnSchedule.get(data.getId());
             BigDecimal transactionAmount = data.amount();
-            if (data.toAccountType().isLoanAccount()
-                    && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
-                StandingInstructionDuesData standingInstructionDuesData = this.standingInstructionReadPlatformService
-                        .retriveLoanDuesData(data.toAccount().accountId());
+            if (requiresLoanDues(data, isDueForTransfer)) {
+                final StandingInstructionDuesData standingInstructionDuesData = loanDues.get(data.toAccount().accountId());
                 if (data.instructionType().isDuesAmoutTransfer()) {
                     transactionAmount = standingInstructionDuesData.totalDueAmount();
                 }
-                if (recurrenceType.isDuesRecurrence()) {
-                    isDueForTransfer = DateUtils.getBusinessLocalDate().equals(standingInstructionDuesData.dueDate());
+                if (data.recurrenceType().isDuesRecurrence()) {
+                    isDueForTransfer = transactionDate.equals(standingInstructionDuesData.dueDate());
                 }
             }
 
@@ -306,28 +362,80 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
                         data.name() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(), null, null,
                         data.transferType().getValue(), null, null, null, null, null, fromSavingsAccount, isRegularTransaction,
                         isExceptionForBalanceCheck);
-                final boolean transferCompleted = transferAmount(errors, accountTransferDTO, data.getId());
-
-                if (transferCompleted) {
-                    final String updateQuery = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ? where id = ?";
-                    this.jdbcTemplate.update(updateQuery, transactionDate, data.getId());
-                }
+                dueTransfers.computeIfAbsent(data.fromClient().getId(), clientId -> new ArrayList<>())
+                        .add(new DueTransfer(data.getId(), accountTransferDTO));
+            }
+        }
+        return dueTransfers;
+    }
 
+    private static boolean isDueOnSchedule(final StandingInstructionData data, final LocalDate transactionDate) {
+        PeriodFrequencyType frequencyType = data.recurrenceFrequency();
+        LocalDate startDate = data.validFrom();
+        if (frequencyType.isMonthly()) {
+            startDate = startDate.withDayOfMonth(data.recurrenceOnDay());
+            if (startDate.isBefore(data.validFrom())) {
+                startDate = startDate.plusMonths(1);
+            }
+        } else if (frequencyType.isYearly()) {
+            startDate = startDate.withDayOfMonth(data.recurrenceOnDay()).withMonth(data.recurrenceOnMonth());
+            if (startDate.isBefore(data.validFrom())) {
+                startDate = startDate.plusYears(1);
             }
         }
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
+        return SCHEDULED_DATE_GENERATOR.isDateFallsInSchedule(frequencyType, data.recurrenceInterval(), startDate, transactionDate);
+    }
+
+    private static boolean requiresLoanDues(final StandingInstructionData data, final boolean isDueForTransfer) {
+        return data.toAccountType().isLoanAccount() && (data.recurrenceType().isDuesRecurrence()
+                || (isDueForTransfer && data.instructionType().isDuesAmoutTransfer()));
+    }
+
+    private void executeTransfers(final List<DueTransfer> transfers, final LocalDate transactionDate, final Striped<Lock> accountLocks,
+            final List<Throwable> errors) {
+        if (transfers.isEmpty()) {
+            return;
+        }
+        final List<Object[]> history = new ArrayList<>(transfers.size());
+        for (final DueTransfer transfer : transfers) {
+            final AccountTransferDTO accountTransferDTO = transfer.accountTransferDTO;
+            final List<Lock> locks = new ArrayList<>(2);
+            accountLocks.bulkGet(List.of(accountKey(accountTransferDTO.getFromAccountType(), accountTransferDTO.getFromAccountId()),
+                    accountKey(accountTransferDTO.getToAccountType(), accountTransferDTO.getToAccountId()))).forEach(locks::add);
+            final String errorLog;
+            locks.forEach(Lock::lock);
+            try {
+                errorLog = transferAmount(errors, accountTransferDTO, transfer.instructionId, transactionDate);
+            } finally {
+                locks.forEach(Lock::unlock);
+            }
+            history.add(new Object[] { transfer.instructionId, errorLog.isEmpty() ? "success" : "failed",
+                    accountTransferDTO.getTransactionAmount(), errorLog });
         }
+
+        final String historySql = "INSERT INTO m_account_transfer_standing_instructions_history (standing_instruction_id, "
+                + sqlGenerator.escape("status") + ", amount, execution_time, error_log) VALUES (?, ?, ?, "
+                + sqlGenerator.currentTenantDateTime() + ", ?)";
+        this.transactionTemplate.executeWithoutResult(txStatus -> this.jdbcTemplate.batchUpdate(historySql, history));
+    }
+
+    private static String accountKey(final PortfolioAccountType accountType, final Long accountId) {
+        return accountType.name() + ":" + accountId;
     }
 
-    private boolean transferAmount(final List<Throwable> errors, final AccountTransferDTO accountTransferDTO, final Long instructionId) {
-        boolean transferCompleted = true;
+    /**
+     * Transfers the amount of an instruction and records its {@code last_run_date} in the same transaction, returning the
+     * error log of the transfer, empty when it succeeded.
+     */
+    private String transferAmount(final List<Throwable> errors, final AccountTransferDTO accountTransferDTO, final Long instructionId,
+            final LocalDate transactionDate) {
         StringBuilder errorLog = new StringBuilder();
-        StringBuilder updateQuery = new StringBuilder(
-                "INSERT INTO m_account_transfer_standing_instructions_history (standing_instruction_id, " + sqlGenerator.escape("status")
-                        + ", amount, execution_time, error_log) VALUES (");
         try {
-            this.accountTransfersWritePlatformService.transferFunds(accountTransferDTO);
+            this.transactionTemplate.executeWithoutResult(txStatus -> {
+                this.accountTransfersWritePlatformService.transferFunds(accountTransferDTO);
+                this.jdbcTemplate.update("UPDATE m_account_transfer_standing_instructions SET last_run_date = ? where id = ?",
+                        transactionDate, instructionId);
+            });
         } catch (final PlatformApiDataValidationException e) {
             errors.add(new Exception("Validation exception while transfering funds for standing Instruction id" + instructionId + " from "
                     + accountTransferDTO.getFromAccountId() + " to " + accountTransferDTO.getToAccountId(), e));
@@ -347,17 +455,17 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
             errorLog.append("Exception while trasfering funds " + e.getMessage());
 
         }
-        updateQuery.append(instructionId).append(",");
-        if (errorLog.length() > 0) {
-            transferCompleted = false;
-            updateQuery.append("'failed'").append(",");
-        } else {
-            updateQuery.append("'success'").append(",");
+        return errorLog.toString();
+    }
+
+    private static final class DueTransfer {
+
+        private final Long instructionId;
+        private final AccountTransferDTO accountTransferDTO;
+
+        DueTransfer(final Long instructionId, final AccountTransferDTO accountTransferDTO) {
+            this.instructionId = instructionId;
+            this.accountTransferDTO = accountTransferDTO;
         }
-        updateQuery.append(accountTransferDTO.getTransactionAmount().doubleValue());
-        updateQuery.append(", ").append(sqlGenerator.currentTenantDateTime()).append(" ");
-        updateQuery.append(", '").append(errorLog).append("')");
-        this.jdbcTemplate.update(updateQuery.toString());
-        return transferCompleted;
     }
 }
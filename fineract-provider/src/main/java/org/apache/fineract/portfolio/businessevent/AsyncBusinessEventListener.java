@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.businessevent;
+
+import org.apache.fineract.portfolio.businessevent.domain.BusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.BusinessEventIds;
+
+/**
+ * The interface to be implemented by classes that want to be informed of a Business Event after the transaction that
+ * raised it has committed. The event's entities are detached by then, so the listener only keeps their ids and reloads
+ * what it needs.
+ */
+public interface AsyncBusinessEventListener<T extends BusinessEvent<?>> {
+
+    /**
+     * Called on the raising thread, inside the raising transaction, to capture the ids of the event's entities. Returning
+     * null skips the event.
+     */
+    BusinessEventIds idsOf(T event);
+
+    /**
+     * Implement this method for notifications after the raising transaction committed; runs in a transaction of its own
+     */
+    void onBusinessEvent(BusinessEventIds ids);
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.businessevent.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The part of a business event an asynchronous listener keeps: the id of the event's entity and of the aggregate it
+ * belongs to, e.g. a loan transaction and its loan. Events for the same aggregate are handled one at a time, in the order
+ * their transactions committed.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class BusinessEventIds {
+
+    private final String aggregate;
+    private final Long aggregateId;
+    private final Long entityId;
+
+    private BusinessEventIds(final String aggregate, final Long aggregateId, final Long entityId) {
+        this.aggregate = aggregate;
+        this.aggregateId = aggregateId;
+        this.entityId = entityId;
+    }
+
+    public static BusinessEventIds loan(final Long loanId) {
+        return new BusinessEventIds("loan", loanId, loanId);
+    }
+
+    public static BusinessEventIds loanTransaction(final Long loanId, final Long transactionId) {
+        return new BusinessEventIds("loan", loanId, transactionId);
+    }
+
+    public static BusinessEventIds client(final Long clientId) {
+        return new BusinessEventIds("client", clientId, clientId);
+    }
+
+    public static BusinessEventIds savingsAccount(final Long savingsAccountId) {
+        return new BusinessEventIds("savings", savingsAccountId, savingsAccountId);
+    }
+
+    public static BusinessEventIds savingsTransaction(final Long savingsAccountId, final Long transactionId) {
+        return new BusinessEventIds("savings", savingsAccountId, transactionId);
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.fineract.portfolio.businessevent.service;
 
 import java.util.Map;
+import org.apache.fineract.portfolio.businessevent.AsyncBusinessEventListener;
 import org.apache.fineract.portfolio.businessevent.BusinessEventListener;
 import org.apache.fineract.portfolio.businessevent.domain.BusinessEvent;
 import org.apache.fineract.portfolio.common.domain.BusinessEventNotificationConstants.BusinessEntity;
@@ -27,6 +28,8 @@ import org.apache.fineract.portfolio.common.domain.BusinessEventNotificationCons
 /**
  * Implemented class is responsible for notifying the business event to registered listeners.
  *
+ * Listeners of the same event type are invoked by ascending Spring {@link org.springframework.core.Ordered} /
+ * {@code @Order} value, and in registration order when those are equal.
  */
 public interface BusinessEventNotifierService {
 
@@ -50,6 +53,15 @@ public interface BusinessEventNotifierService {
      */
     <T extends BusinessEvent<?>> void addPostBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener);
 
+    /**
+     * Method is to register a class as listener for post-processing of any Business event outside of the caller's
+     * request. The listener captures the ids it needs while the raising transaction is open, and is invoked with them on
+     * the business event executor, in its own transaction, after that transaction has committed, and not at all if it
+     * rolls back. Events of the same aggregate are handled one at a time in commit order. Failures are logged and do not
+     * reach the caller, so this is only suitable for work the business operation does not depend on.
+     */
+    <T extends BusinessEvent<?>> void addAsyncPostBusinessEventListener(Class<T> eventType, AsyncBusinessEventListener<T> listener);
+
     /**
      * Method should be called to notify listeners after Business event execution for any post-processing of event
      */
@@ -18,60 +18,148 @@
  */
 package org.apache.fineract.portfolio.businessevent.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.businessevent.AsyncBusinessEventListener;
 import org.apache.fineract.portfolio.businessevent.BusinessEventListener;
 import org.apache.fineract.portfolio.businessevent.domain.BusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.BusinessEventIds;
 import org.apache.fineract.portfolio.common.domain.BusinessEventNotificationConstants;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Dispatches business events to the registered listeners.
+ *
+ * The registry is copy-on-write: registration replaces the listener list of an event type with a new, sorted, immutable
+ * list, so dispatch never locks. Listeners of an event type are invoked by ascending {@link Ordered} / {@code @Order}
+ * value, ties broken by registration order.
+ *
+ * Listeners registered through {@link #addAsyncPostBusinessEventListener(Class, AsyncBusinessEventListener)} are taken
+ * off the caller's thread. While the raising transaction is still open they only capture the ids of the event's
+ * entities; once it commits, each listener is run with those ids in a transaction of its own. The executor is striped by
+ * tenant and aggregate (e.g. the loan), and each stripe is a single thread, so events of one loan are handled one at a
+ * time in commit order and a listener always reloads state at least as new as the event it handles.
+ *
+ * Every stripe queues at most {@code fineract.events.async-queue-capacity} events. An event that finds its stripe full
+ * is dropped for that listener, logged and counted in {@code fineract.business-events.async.dropped}, so a slow listener
+ * holds back neither the heap nor the committing thread; running it on the caller instead would overtake the events of
+ * the same loan still queued on the stripe.
+ */
+@Slf4j
 @Service
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierService {
 
-    private final Map<Class, List<BusinessEventListener>> preListeners = new HashMap<>();
-    private final Map<Class, List<BusinessEventListener>> postListeners = new HashMap<>();
+    private static final int DEFAULT_ASYNC_THREAD_POOL_SIZE = 4;
+    private static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1000;
+
+    private static final String LISTENER_TIMER_NAME = "fineract.business-events.listener";
+    private static final String LISTENER_FAILURE_COUNTER_NAME = "fineract.business-events.listener.failures";
+    private static final String ASYNC_DROPPED_COUNTER_NAME = "fineract.business-events.async.dropped";
+
+    private static final Comparator<RegisteredListener> LISTENER_ORDER = Comparator.comparingInt(RegisteredListener::getOrder);
+
+    private final Map<Class<?>, List<RegisteredListener>> preListeners = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<RegisteredListener>> postListeners = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<RegisteredListener>> asyncPostListeners = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor[] asyncExecutors;
+
+    public BusinessEventNotifierServiceImpl(final FineractProperties fineractProperties, final MeterRegistry meterRegistry,
+            final PlatformTransactionManager transactionManager) {
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        final FineractProperties.FineractEventsProperties events = fineractProperties.getEvents();
+        final int threadPoolSize = events == null || events.getAsyncThreadPoolSize() <= 0 ? DEFAULT_ASYNC_THREAD_POOL_SIZE
+                : events.getAsyncThreadPoolSize();
+        final int queueCapacity = events == null || events.getAsyncQueueCapacity() <= 0 ? DEFAULT_ASYNC_QUEUE_CAPACITY
+                : events.getAsyncQueueCapacity();
+        this.asyncExecutors = new ThreadPoolExecutor[threadPoolSize];
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("business-event-");
+        for (int i = 0; i < threadPoolSize; i++) {
+            // the default abort policy rejects into submitAsync, which drops and counts the event
+            this.asyncExecutors[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                    threadFactory);
+        }
+        Gauge.builder("fineract.business-events.async.queue.size", this.asyncExecutors, BusinessEventNotifierServiceImpl::queueSize)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor executor : this.asyncExecutors) {
+            executor.shutdown();
+        }
+        for (ThreadPoolExecutor executor : this.asyncExecutors) {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Business event executor did not drain within 30 seconds, {} tasks dropped", executor.shutdownNow().size());
+            }
+        }
+    }
 
     @Override
     public void notifyPreBusinessEvent(BusinessEvent<?> businessEvent) {
-        List<BusinessEventListener> businessEventListeners = preListeners.get(businessEvent.getClass());
-        if (businessEventListeners != null) {
-            for (BusinessEventListener eventListener : businessEventListeners) {
-                eventListener.onBusinessEvent(businessEvent);
-            }
+        for (RegisteredListener registeredListener : preListeners.getOrDefault(businessEvent.getClass(), Collections.emptyList())) {
+            registeredListener.invoke(businessEvent);
         }
     }
 
     @Override
     public <T extends BusinessEvent<?>> void addPreBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = preListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            preListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+        register(preListeners, eventType, listener, false);
     }
 
     @Override
     public void notifyPostBusinessEvent(BusinessEvent<?> businessEvent) {
-        List<BusinessEventListener> businessEventListeners = postListeners.get(businessEvent.getClass());
-        if (businessEventListeners != null) {
-            for (BusinessEventListener eventListener : businessEventListeners) {
-                eventListener.onBusinessEvent(businessEvent);
-            }
+        for (RegisteredListener registeredListener : postListeners.getOrDefault(businessEvent.getClass(), Collections.emptyList())) {
+            registeredListener.invoke(businessEvent);
+        }
+        final List<RegisteredListener> asyncListeners = asyncPostListeners.getOrDefault(businessEvent.getClass(),
+                Collections.emptyList());
+        if (!asyncListeners.isEmpty()) {
+            dispatchAfterCommit(businessEvent, asyncListeners);
         }
     }
 
     @Override
     public <T extends BusinessEvent<?>> void addPostBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = postListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            postListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+        register(postListeners, eventType, listener, false);
+    }
+
+    @Override
+    public <T extends BusinessEvent<?>> void addAsyncPostBusinessEventListener(Class<T> eventType,
+            AsyncBusinessEventListener<T> listener) {
+        register(asyncPostListeners, eventType, listener, true);
     }
 
     @Override
@@ -80,4 +168,148 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
 
     }
 
+    private void register(final Map<Class<?>, List<RegisteredListener>> registry, final Class<?> eventType, final Object listener,
+            final boolean async) {
+        final RegisteredListener registeredListener = new RegisteredListener(eventType, listener, async);
+        registry.compute(eventType, (type, current) -> {
+            final List<RegisteredListener> listeners = current == null ? new ArrayList<>() : new ArrayList<>(current);
+            listeners.add(registeredListener);
+            // List.sort is stable, so listeners with the same order keep their registration order
+            listeners.sort(LISTENER_ORDER);
+            return Collections.unmodifiableList(listeners);
+        });
+    }
+
+    private void dispatchAfterCommit(final BusinessEvent<?> businessEvent, final List<RegisteredListener> listeners) {
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final String tenantIdentifier = context == null || context.getTenantContext() == null ? null
+                : context.getTenantContext().getTenantIdentifier();
+        final String eventName = businessEvent.getClass().getSimpleName();
+        // the ids are read now, while the event's entities are still attached to the raising transaction
+        final List<RegisteredListener> dispatched = new ArrayList<>(listeners.size());
+        final List<BusinessEventIds> dispatchedIds = new ArrayList<>(listeners.size());
+        for (RegisteredListener registeredListener : listeners) {
+            final BusinessEventIds ids = registeredListener.idsOf(businessEvent);
+            if (ids != null) {
+                dispatched.add(registeredListener);
+                dispatchedIds.add(ids);
+            }
+        }
+        if (dispatched.isEmpty()) {
+            return;
+        }
+        final Runnable submit = () -> {
+            for (int i = 0; i < dispatched.size(); i++) {
+                submitAsync(context, tenantIdentifier, dispatched.get(i), dispatchedIds.get(i), eventName);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    private void submitAsync(final FineractContext context, final String tenantIdentifier, final RegisteredListener registeredListener,
+            final BusinessEventIds ids, final String eventName) {
+        try {
+            executorFor(tenantIdentifier, ids).execute(() -> runAsync(context, registeredListener, ids, eventName));
+        } catch (RejectedExecutionException e) {
+            registeredListener.dropped.increment();
+            log.warn("Asynchronous listener {} dropped {} {} of tenant {}, its queue is full",
+                    registeredListener.getListener().getClass().getName(), eventName, ids, tenantIdentifier);
+        }
+    }
+
+    private void runAsync(final FineractContext context, final RegisteredListener registeredListener, final BusinessEventIds ids,
+            final String eventName) {
+        ThreadLocalContextUtil.init(context);
+        try {
+            transactionTemplate.executeWithoutResult(status -> registeredListener.invokeAsync(ids));
+        } catch (RuntimeException e) {
+            log.error("Asynchronous listener {} failed for {} {}", registeredListener.getListener().getClass().getName(), eventName, ids,
+                    e);
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    ThreadPoolExecutor executorFor(final String tenantIdentifier, final BusinessEventIds ids) {
+        final int hash = Objects.hash(tenantIdentifier, ids.getAggregate(), ids.getAggregateId());
+        return this.asyncExecutors[Math.floorMod(hash, this.asyncExecutors.length)];
+    }
+
+    private static int queueSize(final ThreadPoolExecutor[] executors) {
+        int size = 0;
+        for (ThreadPoolExecutor executor : executors) {
+            size += executor.getQueue().size();
+        }
+        return size;
+    }
+
+    private static int orderOf(final Object listener) {
+        if (listener instanceof Ordered) {
+            return ((Ordered) listener).getOrder();
+        }
+        return OrderUtils.getOrder(listener.getClass(), Ordered.LOWEST_PRECEDENCE);
+    }
+
+    private final class RegisteredListener {
+
+        private final Object listener;
+        private final int order;
+        private final Timer timer;
+        private final Counter failures;
+        private final Counter dropped;
+
+        RegisteredListener(final Class<?> eventType, final Object listener, final boolean async) {
+            this.listener = listener;
+            this.order = orderOf(listener);
+            final String mode = async ? "async" : "sync";
+            this.timer = Timer.builder(LISTENER_TIMER_NAME).tag("event", eventType.getSimpleName())
+                    .tag("listener", listener.getClass().getName()).tag("mode", mode).register(meterRegistry);
+            this.failures = Counter.builder(LISTENER_FAILURE_COUNTER_NAME).tag("event", eventType.getSimpleName())
+                    .tag("listener", listener.getClass().getName()).tag("mode", mode).register(meterRegistry);
+            this.dropped = async ? Counter.builder(ASYNC_DROPPED_COUNTER_NAME).tag("event", eventType.getSimpleName())
+                    .tag("listener", listener.getClass().getName()).register(meterRegistry) : null;
+        }
+
+        void invoke(final BusinessEvent<?> businessEvent) {
+            record(() -> ((BusinessEventListener) listener).onBusinessEvent(businessEvent));
+        }
+
+        BusinessEventIds idsOf(final BusinessEvent<?> businessEvent) {
+            return ((AsyncBusinessEventListener) listener).idsOf(businessEvent);
+        }
+
+        void invokeAsync(final BusinessEventIds ids) {
+            record(() -> ((AsyncBusinessEventListener) listener).onBusinessEvent(ids));
+        }
+
+        private void record(final Runnable invocation) {
+            final Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                invocation.run();
+            } catch (RuntimeException e) {
+                failures.increment();
+                throw e;
+            } finally {
+                sample.stop(timer);
+            }
+        }
+
+        Object getListener() {
+            return listener;
+        }
+
+        int getOrder() {
+            return order;
+        }
+    }
 }
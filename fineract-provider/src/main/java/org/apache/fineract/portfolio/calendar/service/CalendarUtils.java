@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.portfolio.calendar.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.JsonElement;
 import java.text.ParseException;
 import java.time.LocalDate;
@@ -29,8 +31,11 @@ import java.time.temporal.ChronoField;
 import java.time.temporal.Temporal;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.StringTokenizer;
 import net.fortuna.ical4j.model.Date;
 import net.fortuna.ical4j.model.DateList;
@@ -64,6 +69,17 @@ public final class CalendarUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(CalendarUtils.class);
 
+    /*
+     * Schedule generation asks for the same few meeting calendars once per installment and loan, so parsed rules and
+     * expanded date windows are kept in bounded caches. Cached Recur instances are shared and must not be modified, use
+     * getRecurBuilder for variations; expanded windows are copied before they are handed out.
+     */
+    private static final Cache<String, Optional<Recur>> RECURS = CacheBuilder.newBuilder().maximumSize(1_000).build();
+    private static final Cache<RecurrenceWindow, List<LocalDate>> RECURRING_DATES = CacheBuilder.newBuilder().maximumSize(10_000)
+            .build();
+    private static final Cache<RecurrenceWindow, Optional<LocalDate>> NEXT_RECURRING_DATES = CacheBuilder.newBuilder()
+            .maximumSize(10_000).build();
+
     static {
         System.setProperty("net.fortuna.ical4j.timezone.date.floating", "true");
     }
@@ -130,6 +146,16 @@ public final class CalendarUtils {
     }
 
     private static LocalDate getNextRecurringDate(final Recur recur, final LocalDate seedDate, final LocalDate startDate) {
+        final RecurrenceWindow window = new RecurrenceWindow(recur, seedDate, startDate, null, 1, null);
+        Optional<LocalDate> nextDate = NEXT_RECURRING_DATES.getIfPresent(window);
+        if (nextDate == null) {
+            nextDate = Optional.ofNullable(expandNextRecurringDate(recur, seedDate, startDate));
+            NEXT_RECURRING_DATES.put(window, nextDate);
+        }
+        return nextDate.orElse(null);
+    }
+
+    private static LocalDate expandNextRecurringDate(final Recur recur, final LocalDate seedDate, final LocalDate startDate) {
         final DateTime periodStart = new DateTime(java.util.Date.from(startDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
         final Date seed = convertToiCal4JCompatibleDate(seedDate.atStartOfDay());
         final Date nextRecDate = recur.getNextDate(seed, periodStart);
@@ -184,20 +210,36 @@ public final class CalendarUtils {
         if (recur == null) {
             return null;
         }
+        // the tenant's time zone is part of the key, it decides which local date an expanded date falls on
+        final RecurrenceWindow window = new RecurrenceWindow(recur, seedDate, periodStartDate, periodEndDate, maxCount,
+                DateUtils.getDateTimeZoneOfTenant());
+        List<LocalDate> recurringDates = RECURRING_DATES.getIfPresent(window);
+        if (recurringDates == null) {
+            recurringDates = expandRecurringDates(recur, seedDate, periodStartDate, periodEndDate, maxCount);
+            RECURRING_DATES.put(window, recurringDates);
+        }
+
+        if (isSkippMeetingOnFirstDay) {
+            return skipMeetingOnFirstdayOfMonth(recurringDates, numberOfDays);
+        }
+        return new ArrayList<>(recurringDates);
+    }
+
+    private static List<LocalDate> expandRecurringDates(final Recur recur, final LocalDate seedDate, final LocalDate periodStartDate,
+            final LocalDate periodEndDate, final int maxCount) {
         final Date seed = convertToiCal4JCompatibleDate(seedDate.atStartOfDay());
         final DateTime periodStart = new DateTime(java.util.Date.from(periodStartDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
         final DateTime periodEnd = new DateTime(java.util.Date.from(periodEndDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
 
         final Value value = new Value(Value.DATE.getValue());
         final DateList recurringDates = recur.getDates(seed, periodStart, periodEnd, value, maxCount);
-        return convertToLocalDateList(recurringDates, seedDate, getMeetingPeriodFrequencyType(recur), isSkippMeetingOnFirstDay,
-                numberOfDays);
+        return convertToLocalDateList(recurringDates, seedDate, getMeetingPeriodFrequencyType(recur));
     }
 
-    private static Collection<LocalDate> convertToLocalDateList(final DateList dates, final LocalDate seedDate,
-            final PeriodFrequencyType frequencyType, boolean isSkippMeetingOnFirstDay, final Integer numberOfDays) {
+    private static List<LocalDate> convertToLocalDateList(final DateList dates, final LocalDate seedDate,
+            final PeriodFrequencyType frequencyType) {
 
-        final Collection<LocalDate> recurringDates = new ArrayList<>();
+        final List<LocalDate> recurringDates = new ArrayList<>();
 
         for (@SuppressWarnings("rawtypes")
         final Iterator iterator = dates.iterator(); iterator.hasNext();) {
@@ -206,11 +248,7 @@ public final class CalendarUtils {
                     frequencyType));
         }
 
-        if (isSkippMeetingOnFirstDay) {
-            return skipMeetingOnFirstdayOfMonth(recurringDates, numberOfDays);
-        }
-
-        return recurringDates;
+        return Collections.unmodifiableList(recurringDates);
     }
 
     private static Collection<LocalDate> skipMeetingOnFirstdayOfMonth(final Collection<LocalDate> recurringDates,
@@ -233,7 +271,24 @@ public final class CalendarUtils {
         return recuringDate;
     }
 
+    /**
+     * Parses the given recurrence rule, returns {@code null} if it is invalid. Parsed rules are cached, the returned
+     * instance is shared and must not be modified.
+     */
     public static Recur getICalRecur(final String recurringRule) {
+        if (recurringRule == null) {
+            // not cacheable, fails the same way as before
+            return parseICalRecur(recurringRule);
+        }
+        Optional<Recur> recur = RECURS.getIfPresent(recurringRule);
+        if (recur == null) {
+            recur = Optional.ofNullable(parseICalRecur(recurringRule));
+            RECURS.put(recurringRule, recur);
+        }
+        return recur.orElse(null);
+    }
+
+    private static Recur parseICalRecur(final String recurringRule) {
 
         // Construct RRule
         try {
@@ -909,4 +964,43 @@ public final class CalendarUtils {
                 .setPosList(recur.getSetPosList()).weekStartDay(recur.getWeekStartDay());
         return recurBuilder;
     }
+
+    private static final class RecurrenceWindow {
+
+        private final Recur recur;
+        private final LocalDate seedDate;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final int maxCount;
+        private final ZoneId zoneId;
+
+        private RecurrenceWindow(final Recur recur, final LocalDate seedDate, final LocalDate startDate, final LocalDate endDate,
+                final int maxCount, final ZoneId zoneId) {
+            this.recur = recur;
+            this.seedDate = seedDate;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.maxCount = maxCount;
+            this.zoneId = zoneId;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RecurrenceWindow)) {
+                return false;
+            }
+            final RecurrenceWindow that = (RecurrenceWindow) o;
+            return this.maxCount == that.maxCount && this.recur.equals(that.recur) && Objects.equals(this.seedDate, that.seedDate)
+                    && Objects.equals(this.startDate, that.startDate) && Objects.equals(this.endDate, that.endDate)
+                    && Objects.equals(this.zoneId, that.zoneId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.recur, this.seedDate, this.startDate, this.endDate, this.maxCount, this.zoneId);
+        }
+    }
 }
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import javax.persistence.PersistenceException;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.fineract.accounting.common.AccountingMappingCache;
 import org.apache.fineract.accounting.glaccount.domain.GLAccount;
 import org.apache.fineract.accounting.glaccount.domain.GLAccountRepositoryWrapper;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
@@ -72,6 +73,7 @@ public class ChargeWritePlatformServiceJpaRepositoryImpl implements ChargeWriteP
     private final TaxGroupRepositoryWrapper taxGroupRepository;
     private final PaymentTypeRepositoryWrapper paymentTyperepositoryWrapper;
     private final ChargeSlabRepository chargeSlabRepository;
+    private final AccountingMappingCache accountingMappingCache;
 
     @Autowired
     public ChargeWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context,
@@ -79,7 +81,7 @@ public class ChargeWritePlatformServiceJpaRepositoryImpl implements ChargeWriteP
             final LoanProductRepository loanProductRepository, final JdbcTemplate jdbcTemplate,
             final FineractEntityAccessUtil fineractEntityAccessUtil, final GLAccountRepositoryWrapper glAccountRepository,
             final TaxGroupRepositoryWrapper taxGroupRepository, final PaymentTypeRepositoryWrapper paymentTyperepositoryWrapper,
-            ChargeSlabRepository chargeSlabRepository) {
+            ChargeSlabRepository chargeSlabRepository, final AccountingMappingCache accountingMappingCache) {
         this.context = context;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
         this.jdbcTemplate = jdbcTemplate;
@@ -90,6 +92,7 @@ public class ChargeWritePlatformServiceJpaRepositoryImpl implements ChargeWriteP
         this.taxGroupRepository = taxGroupRepository;
         this.paymentTyperepositoryWrapper = paymentTyperepositoryWrapper;
         this.chargeSlabRepository = chargeSlabRepository;
+        this.accountingMappingCache = accountingMappingCache;
     }
 
     @Transactional
@@ -154,6 +157,7 @@ public class ChargeWritePlatformServiceJpaRepositoryImpl implements ChargeWriteP
     @Override
     @CacheEvict(value = "charges", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('ch')")
     public CommandProcessingResult updateCharge(final Long chargeId, final JsonCommand command) {
+        this.accountingMappingCache.invalidate();
 
         try {
             this.fromApiJsonDeserializer.validateForUpdate(command.json());
@@ -246,6 +250,7 @@ public class ChargeWritePlatformServiceJpaRepositoryImpl implements ChargeWriteP
     @Override
     @CacheEvict(value = "charges", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('ch')")
     public CommandProcessingResult deleteCharge(final Long chargeId) {
+        this.accountingMappingCache.invalidate();
 
         final Charge chargeForDelete = this.chargeRepository.findById(chargeId).orElseThrow(() -> new ChargeNotFoundException(chargeId));
         if (chargeForDelete.isDeleted()) {
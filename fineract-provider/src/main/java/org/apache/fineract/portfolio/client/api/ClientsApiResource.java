@@ -56,6 +56,7 @@ import org.apache.fineract.infrastructure.configuration.data.GlobalConfiguration
 import org.apache.fineract.infrastructure.configuration.service.ConfigurationReadPlatformService;
 import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.data.UploadRequest;
 import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
@@ -136,7 +137,10 @@ public class ClientsApiResource {
     @Produces({ MediaType.APPLICATION_JSON })
     @Operation(summary = "List Clients", description = "The list capability of clients can support pagination and sorting.\n\n"
             + "Example Requests:\n" + "\n" + "clients\n" + "\n" + "clients?fields=displayName,officeName,timeline\n" + "\n"
-            + "clients?offset=10&limit=50\n" + "\n" + "clients?orderBy=displayName&sortOrder=DESC")
+            + "clients?offset=10&limit=50\n" + "\n" + "clients?orderBy=displayName&sortOrder=DESC\n" + "\n"
+            + "Keyset pagination, in client id order: pass an empty after for the first page and the returned nextCursor for the "
+            + "following ones; count=exact|estimated|none (default none) selects how totalFilteredRecords is computed.\n" + "\n"
+            + "clients?after=&limit=100&count=estimated")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = ClientsApiResourceSwagger.GetClientsResponse.class))) })
     public String retrieveAll(@Context final UriInfo uriInfo,
@@ -155,7 +159,21 @@ public class ClientsApiResource {
             @QueryParam("sortOrder") @Parameter(description = "sortOrder") final String sortOrder,
             @QueryParam("orphansOnly") @Parameter(description = "orphansOnly") final Boolean orphansOnly,
             @QueryParam("accountNo") @Parameter(description = "accountNo") final String accountNo,
-            @QueryParam("mobileNo") @Parameter(description = "mobileNo") final String mobileNo) {
+            @QueryParam("mobileNo") @Parameter(description = "mobileNo") final String mobileNo,
+            @QueryParam(KeysetPageRequest.AFTER_PARAMETER) @Parameter(description = "after") final String after,
+            @QueryParam(KeysetPageRequest.COUNT_PARAMETER) @Parameter(description = "count") final String count) {
+
+        if (KeysetPageRequest.isRequested(after)) {
+            this.context.authenticatedUser().validateHasReadPermission(ClientApiConstants.CLIENT_RESOURCE_NAME);
+
+            final SearchParameters searchParameters = SearchParameters.forClients(sqlSearch, officeId, externalId, displayName,
+                    firstname, lastname, status, hierarchy, null, null, null, null, orphansOnly, false, clientType, accountNo, mobileNo);
+            final Page<ClientData> clientData = this.clientReadPlatformService.retrieveAll(searchParameters,
+                    KeysetPageRequest.instance(after, limit, count));
+
+            final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+            return this.toApiJsonSerializer.serialize(settings, clientData, ClientApiConstants.CLIENT_RESPONSE_DATA_PARAMETERS);
+        }
 
         return this.retrieveAll(uriInfo, sqlSearch, officeId, externalId, displayName, firstname, lastname, status, hierarchy, offset,
                 limit, orderBy, sortOrder, orphansOnly, false, clientType, accountNo, mobileNo);
@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.client.service;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.portfolio.client.data.ClientData;
@@ -30,6 +31,8 @@ public interface ClientReadPlatformService {
 
     Page<ClientData> retrieveAll(SearchParameters searchParameters);
 
+    Page<ClientData> retrieveAll(SearchParameters searchParameters, KeysetPageRequest pageRequest);
+
     ClientData retrieveOne(Long clientId);
 
     ClientData retrieveOneLite(Long clientId);
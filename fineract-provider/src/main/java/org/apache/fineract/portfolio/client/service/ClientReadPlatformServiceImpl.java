@@ -41,6 +41,7 @@ import org.apache.fineract.infrastructure.configuration.data.GlobalConfiguration
 import org.apache.fineract.infrastructure.configuration.service.ConfigurationReadPlatformService;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.filters.FilterConstraint;
@@ -216,6 +217,50 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     // @Transactional(readOnly=true)
     public Page<ClientData> retrieveAll(final SearchParameters searchParameters) {
 
+        List<Object> paramList = new ArrayList<>();
+        final StringBuilder sqlBuilder = new StringBuilder(200);
+        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        appendClientSearchSql(sqlBuilder, paramList, searchParameters);
+
+        if (searchParameters != null) {
+            if (searchParameters.isOrderByRequested()) {
+                sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
+                this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
+                if (searchParameters.isSortOrderProvided()) {
+                    sqlBuilder.append(' ').append(searchParameters.getSortOrder());
+                    this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getSortOrder());
+                }
+            }
+
+            if (searchParameters.isLimited()) {
+                sqlBuilder.append(" ");
+                if (searchParameters.isOffset()) {
+                    sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit(), searchParameters.getOffset()));
+                } else {
+                    sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit()));
+                }
+                if (this.paginationHelper.getDatabaseTypeResolver().isPostgreSQL()) {
+                    // If this is limited and database is postgres, counting records won't be effective
+                    return this.paginationHelper.fetchPageNoRecordCount(this.jdbcTemplate, sqlBuilder.toString(), paramList.toArray(),
+                            this.clientMapper);
+                }
+            }
+        }
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), paramList.toArray(), this.clientMapper);
+    }
+
+    @Override
+    public Page<ClientData> retrieveAll(final SearchParameters searchParameters, final KeysetPageRequest pageRequest) {
+        List<Object> paramList = new ArrayList<>();
+        final StringBuilder sqlBuilder = new StringBuilder(200);
+        sqlBuilder.append("select ");
+        appendClientSearchSql(sqlBuilder, paramList, searchParameters);
+        return this.paginationHelper.fetchKeysetPage(this.jdbcTemplate, sqlBuilder.toString(), paramList.toArray(), "c.id", false,
+                pageRequest, this.clientMapper, ClientData::getId);
+    }
+
+    private void appendClientSearchSql(final StringBuilder sqlBuilder, final List<Object> paramList,
+            final SearchParameters searchParameters) {
         if (searchParameters != null && searchParameters.getStatus() != null
                 && ClientStatus.fromString(searchParameters.getStatus()) == ClientStatus.INVALID) {
             final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
@@ -234,9 +279,7 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         // this.context.validateAccessRights(searchParameters.getHierarchy());
         // underHierarchySearchString = searchParameters.getHierarchy() + "%";
         // }
-        List<Object> paramList = new ArrayList<>(Arrays.asList(underHierarchySearchString, underHierarchySearchString));
-        final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        paramList.addAll(Arrays.asList(underHierarchySearchString, underHierarchySearchString));
         sqlBuilder.append(this.clientMapper.schema());
         sqlBuilder.append(" where (o.hierarchy like ? or transferToOffice.hierarchy like ?) ");
 
@@ -252,31 +295,7 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
             if (StringUtils.isNotBlank(extraCriteria)) {
                 sqlBuilder.append(" and (").append(extraCriteria).append(")");
             }
-
-            if (searchParameters.isOrderByRequested()) {
-                sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
-                this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
-                if (searchParameters.isSortOrderProvided()) {
-                    sqlBuilder.append(' ').append(searchParameters.getSortOrder());
-                    this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getSortOrder());
-                }
-            }
-
-            if (searchParameters.isLimited()) {
-                sqlBuilder.append(" ");
-                if (searchParameters.isOffset()) {
-                    sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit(), searchParameters.getOffset()));
-                } else {
-                    sqlBuilder.append(sqlGenerator.limit(searchParameters.getLimit()));
-                }
-                if (this.paginationHelper.getDatabaseTypeResolver().isPostgreSQL()) {
-                    // If this is limited and database is postgres, counting records won't be effective
-                    return this.paginationHelper.fetchPageNoRecordCount(this.jdbcTemplate, sqlBuilder.toString(), paramList.toArray(),
-                            this.clientMapper);
-                }
-            }
         }
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), paramList.toArray(), this.clientMapper);
     }
 
     private String buildSqlStringFromClientCriteria(String schemaSql, final SearchParameters searchParameters, List<Object> paramList) {
@@ -20,11 +20,8 @@ package org.apache.fineract.portfolio.collateral.serialization;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.exception.InvalidJsonException;
@@ -54,14 +51,18 @@ public final class CollateralCommandFromApiJsonDeserializer extends AbstractFrom
         if (StringUtils.isBlank(json)) {
             throw new InvalidJsonException();
         }
+        return commandFromApiJson(this.fromApiJsonHelper.parse(json));
+    }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
+    /**
+     * Reads the command from the request already parsed by {@code JsonCommand.parsedJson()}.
+     */
+    public CollateralCommand commandFromApiJson(final JsonElement element) {
         final Set<String> supportedParameters = CollateralJSONinputParams.getAllValues();
         supportedParameters.add("locale");
         supportedParameters.add("dateFormat");
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, supportedParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element, supportedParameters);
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
         final JsonObject topLevelJsonElement = element.getAsJsonObject();
         final Locale locale = this.fromApiJsonHelper.extractLocaleParameter(topLevelJsonElement);
 
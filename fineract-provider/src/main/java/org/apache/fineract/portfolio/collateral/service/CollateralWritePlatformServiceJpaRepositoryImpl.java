@@ -78,7 +78,7 @@ public class CollateralWritePlatformServiceJpaRepositoryImpl implements Collater
     public CommandProcessingResult addCollateral(final Long loanId, final JsonCommand command) {
 
         this.context.authenticatedUser();
-        final CollateralCommand collateralCommand = this.collateralCommandFromApiJsonDeserializer.commandFromApiJson(command.json());
+        final CollateralCommand collateralCommand = this.collateralCommandFromApiJsonDeserializer.commandFromApiJson(command.parsedJson());
         collateralCommand.validateForCreate();
 
         try {
@@ -113,7 +113,7 @@ public class CollateralWritePlatformServiceJpaRepositoryImpl implements Collater
     public CommandProcessingResult updateCollateral(final Long loanId, final Long collateralId, final JsonCommand command) {
 
         this.context.authenticatedUser();
-        final CollateralCommand collateralCommand = this.collateralCommandFromApiJsonDeserializer.commandFromApiJson(command.json());
+        final CollateralCommand collateralCommand = this.collateralCommandFromApiJsonDeserializer.commandFromApiJson(command.parsedJson());
         collateralCommand.validateForUpdate();
 
         final Long collateralTypeId = collateralCommand.getCollateralTypeId();
@@ -51,10 +51,12 @@ import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.portfolio.loanaccount.data.LoanRepaymentScheduleInstallmentData;
 import org.apache.fineract.portfolio.loanaccount.data.LoanTransactionData;
@@ -197,6 +199,27 @@ public class LoanTransactionsApiResource {
         return this.toApiJsonSerializer.serialize(settings, transactionData, this.responseDataParameters);
     }
 
+    @GET
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "List Loan Transactions", description = "Lists the transactions of a loan newest first, one keyset page at a time. "
+            + "Pass the returned nextCursor as after to read the next page; count=exact|estimated|none (default none) selects how "
+            + "totalFilteredRecords is computed.\n\n" + "Example Requests:\n" + "\n" + "loans/1/transactions\n" + "\n"
+            + "loans/1/transactions?limit=50&count=exact\n")
+    public String retrieveTransactions(@PathParam("loanId") @Parameter(description = "loanId") final Long loanId,
+            @QueryParam(KeysetPageRequest.AFTER_PARAMETER) @Parameter(description = "after") final String after,
+            @QueryParam("limit") @Parameter(description = "limit") final Integer limit,
+            @QueryParam(KeysetPageRequest.COUNT_PARAMETER) @Parameter(description = "count") final String count,
+            @Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
+
+        final Page<LoanTransactionData> transactions = this.loanReadPlatformService.retrieveLoanTransactions(loanId,
+                KeysetPageRequest.instance(after, limit, count));
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, transactions, this.responseDataParameters);
+    }
+
     @GET
     @Path("{transactionId}")
     @Consumes({ MediaType.APPLICATION_JSON })
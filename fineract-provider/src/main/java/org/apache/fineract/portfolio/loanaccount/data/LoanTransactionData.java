@@ -190,6 +190,10 @@ public class LoanTransactionData {
         this.loanRepaymentScheduleInstallments = loanRepaymentScheduleInstallments;
     }
 
+    public Long getId() {
+        return this.id;
+    }
+
     public Long getAccountId() {
         return accountId;
     }
@@ -3339,6 +3339,8 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
             reprocess = false;
         }
 
+        // the installments already carry the result of every earlier transaction, so a transaction dated after all of
+        // them is applied on top of them; backdated transactions and regenerated schedules are replayed from disbursement
         if (isTransactionChronologicallyLatest && adjustedTransaction == null
                 && (!reprocess || !this.repaymentScheduleDetail().isInterestRecalculationEnabled()) && !isForeclosure()) {
             loanRepaymentScheduleTransactionProcessor.handleTransaction(loanTransaction, getCurrency(), getRepaymentScheduleInstallments(),
@@ -140,7 +140,7 @@ public class LoanScheduleCalculationPlatformServiceImpl implements LoanScheduleC
 
         if (validateParams) {
             boolean isMeetingMandatoryForJLGLoans = configurationDomainService.isMeetingMandatoryForJLGLoans();
-            this.loanApiJsonDeserializer.validateForCreate(query.json(), isMeetingMandatoryForJLGLoans, loanProduct);
+            this.loanApiJsonDeserializer.validateForCreate(query.parsedJson(), isMeetingMandatoryForJLGLoans, loanProduct);
         }
 
         Long numberOfRepaymentsToCarryForward = this.fromJsonHelper.extractLongNamed("numberOfRepaymentsToCarryForward",
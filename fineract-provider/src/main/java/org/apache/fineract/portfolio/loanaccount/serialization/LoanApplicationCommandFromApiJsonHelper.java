@@ -21,8 +21,6 @@ package org.apache.fineract.portfolio.loanaccount.serialization;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -30,12 +28,10 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.data.DataValidatorBuilder;
-import org.apache.fineract.infrastructure.core.exception.InvalidJsonException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
@@ -113,19 +109,12 @@ public final class LoanApplicationCommandFromApiJsonHelper {
         this.clientCollateralManagementRepositoryWrapper = clientCollateralManagementRepositoryWrapper;
     }
 
-    public void validateForCreate(final String json, final boolean isMeetingMandatoryForJLGLoans, final LoanProduct loanProduct) {
-        if (StringUtils.isBlank(json)) {
-            throw new InvalidJsonException();
-        }
-
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, this.supportedParameters);
+    public void validateForCreate(final JsonElement element, final boolean isMeetingMandatoryForJLGLoans, final LoanProduct loanProduct) {
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element, this.supportedParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loan");
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
-
         final String loanTypeParameterName = "loanType";
         final String loanTypeStr = this.fromApiJsonHelper.extractStringNamed(loanTypeParameterName, element);
         baseDataValidator.reset().parameter(loanTypeParameterName).value(loanTypeStr).notNull();
@@ -424,7 +413,6 @@ public final class LoanApplicationCommandFromApiJsonHelper {
             final Locale locale = this.fromApiJsonHelper.extractLocaleParameter(topLevelJsonElement);
 
             if (topLevelJsonElement.get(chargesParameterName).isJsonArray()) {
-                final Type arrayObjectParameterTypeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
                 final Set<String> supportedParameters = new HashSet<>(
                         Arrays.asList("id", "chargeId", "amount", "chargeTimeType", "chargeCalculationType", "dueDate"));
 
@@ -432,9 +420,7 @@ public final class LoanApplicationCommandFromApiJsonHelper {
                 for (int i = 1; i <= array.size(); i++) {
 
                     final JsonObject loanChargeElement = array.get(i - 1).getAsJsonObject();
-                    final String arrayObjectJson = this.fromApiJsonHelper.toJson(loanChargeElement);
-                    this.fromApiJsonHelper.checkForUnsupportedParameters(arrayObjectParameterTypeOfMap, arrayObjectJson,
-                            supportedParameters);
+                    this.fromApiJsonHelper.checkForUnsupportedParameters(loanChargeElement, supportedParameters);
 
                     final Long chargeId = this.fromApiJsonHelper.extractLongNamed("chargeId", loanChargeElement);
                     baseDataValidator.reset().parameter("charges").parameterAtIndexArray("chargeId", i).value(chargeId).notNull()
@@ -465,15 +451,12 @@ public final class LoanApplicationCommandFromApiJsonHelper {
                     final Locale locale = this.fromApiJsonHelper.extractLocaleParameter(topLevelJsonElement);
                     if (topLevelJsonElement.get("collateral").isJsonArray()) {
 
-                        final Type collateralParameterTypeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
                         final Set<String> supportedParameters = new HashSet<>(Arrays.asList("clientCollateralId", "quantity"));
                         final JsonArray array = topLevelJsonElement.get("collateral").getAsJsonArray();
                         for (int i = 1; i <= array.size(); i++) {
                             final JsonObject collateralItemElement = array.get(i - 1).getAsJsonObject();
 
-                            final String collateralJson = this.fromApiJsonHelper.toJson(collateralItemElement);
-                            this.fromApiJsonHelper.checkForUnsupportedParameters(collateralParameterTypeOfMap, collateralJson,
-                                    supportedParameters);
+                            this.fromApiJsonHelper.checkForUnsupportedParameters(collateralItemElement, supportedParameters);
 
                             final Long clientCollateralId = this.fromApiJsonHelper.extractLongNamed("clientCollateralId",
                                     collateralItemElement);
@@ -606,17 +589,11 @@ public final class LoanApplicationCommandFromApiJsonHelper {
         }
     }
 
-    public void validateForModify(final String json, final LoanProduct loanProduct, final Loan existingLoanApplication) {
-        if (StringUtils.isBlank(json)) {
-            throw new InvalidJsonException();
-        }
-
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, this.supportedParameters);
+    public void validateForModify(final JsonElement element, final LoanProduct loanProduct, final Loan existingLoanApplication) {
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element, this.supportedParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loan");
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
         boolean atLeastOneParameterPassedForUpdate = false;
 
         final String clientIdParameterName = "clientId";
@@ -949,7 +926,6 @@ public final class LoanApplicationCommandFromApiJsonHelper {
             final Locale locale = this.fromApiJsonHelper.extractLocaleParameter(topLevelJsonElement);
 
             if (topLevelJsonElement.get(chargesParameterName).isJsonArray()) {
-                final Type arrayObjectParameterTypeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
                 final Set<String> supportedParameters = new HashSet<>(
                         Arrays.asList("id", "chargeId", "amount", "chargeTimeType", "chargeCalculationType", "dueDate"));
 
@@ -957,9 +933,7 @@ public final class LoanApplicationCommandFromApiJsonHelper {
                 for (int i = 1; i <= array.size(); i++) {
 
                     final JsonObject loanChargeElement = array.get(i - 1).getAsJsonObject();
-                    final String arrayObjectJson = this.fromApiJsonHelper.toJson(loanChargeElement);
-                    this.fromApiJsonHelper.checkForUnsupportedParameters(arrayObjectParameterTypeOfMap, arrayObjectJson,
-                            supportedParameters);
+                    this.fromApiJsonHelper.checkForUnsupportedParameters(loanChargeElement, supportedParameters);
 
                     final Long chargeId = this.fromApiJsonHelper.extractLongNamed("chargeId", loanChargeElement);
                     baseDataValidator.reset().parameter("charges").parameterAtIndexArray("chargeId", i).value(chargeId).notNull()
@@ -993,7 +967,6 @@ public final class LoanApplicationCommandFromApiJsonHelper {
                     final Locale locale = this.fromApiJsonHelper.extractLocaleParameter(topLevelJsonElement);
                     if (topLevelJsonElement.get("collateral").isJsonArray()) {
 
-                        final Type collateralParameterTypeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
                         final Set<String> supportedParameters = new HashSet<>(Arrays.asList("id", "clientCollateralId", "quantity"));
                         final JsonArray array = topLevelJsonElement.get("collateral").getAsJsonArray();
                         if (array.size() > 0) {
@@ -1001,9 +974,7 @@ public final class LoanApplicationCommandFromApiJsonHelper {
                             for (int i = 1; i <= array.size(); i++) {
                                 final JsonObject collateralItemElement = array.get(i - 1).getAsJsonObject();
 
-                                final String collateralJson = this.fromApiJsonHelper.toJson(collateralItemElement);
-                                this.fromApiJsonHelper.checkForUnsupportedParameters(collateralParameterTypeOfMap, collateralJson,
-                                        supportedParameters);
+                                this.fromApiJsonHelper.checkForUnsupportedParameters(collateralItemElement, supportedParameters);
 
                                 final Long id = this.fromApiJsonHelper.extractLongNamed("id", collateralItemElement);
                                 baseDataValidator.reset().parameter("collateral").parameterAtIndexArray("id", i).value(id).ignoreIfNull();
@@ -1145,18 +1116,12 @@ public final class LoanApplicationCommandFromApiJsonHelper {
         }
     }
 
-    public void validateForUndo(final String json) {
-        if (StringUtils.isBlank(json)) {
-            throw new InvalidJsonException();
-        }
-
+    public void validateForUndo(final JsonElement element) {
         final Set<String> undoSupportedParameters = new HashSet<>(Arrays.asList("note"));
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, undoSupportedParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element, undoSupportedParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loanapplication.undo");
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
 
         final String note = "note";
         if (this.fromApiJsonHelper.parameterExists(note, element)) {
@@ -19,8 +19,6 @@
 package org.apache.fineract.portfolio.loanaccount.serialization;
 
 import com.google.gson.JsonElement;
-import com.google.gson.reflect.TypeToken;
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -28,12 +26,9 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.data.DataValidatorBuilder;
-import org.apache.fineract.infrastructure.core.exception.InvalidJsonException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.portfolio.loanaccount.api.LoanApiConstants;
@@ -57,26 +52,18 @@ public final class LoanApplicationTransitionApiJsonValidator {
         }
     }
 
-    public void validateApproval(final String json) {
-
-        if (StringUtils.isBlank(json)) {
-            throw new InvalidJsonException();
-        }
-
+    public void validateApproval(final JsonElement element) {
         final Set<String> disbursementParameters = new HashSet<>(
                 Arrays.asList(LoanApiConstants.loanIdTobeApproved, LoanApiConstants.approvedLoanAmountParameterName,
                         LoanApiConstants.approvedOnDateParameterName, LoanApiConstants.disbursementNetDisbursalAmountParameterName,
                         LoanApiConstants.noteParameterName, LoanApiConstants.localeParameterName, LoanApiConstants.dateFormatParameterName,
                         LoanApiConstants.disbursementDataParameterName, LoanApiConstants.disbursementDateParameterName));
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, disbursementParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element, disbursementParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loanapplication");
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
-
         final BigDecimal principal = this.fromApiJsonHelper
                 .extractBigDecimalWithLocaleNamed(LoanApiConstants.approvedLoanAmountParameterName, element);
         baseDataValidator.reset().parameter(LoanApiConstants.approvedLoanAmountParameterName).value(principal).ignoreIfNull()
@@ -101,22 +88,15 @@ public final class LoanApplicationTransitionApiJsonValidator {
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
 
-    public void validateRejection(final String json) {
-
-        if (StringUtils.isBlank(json)) {
-            throw new InvalidJsonException();
-        }
-
+    public void validateRejection(final JsonElement element) {
         final Set<String> disbursementParameters = new HashSet<>(Arrays.asList(LoanApiConstants.rejectedOnDateParameterName,
                 LoanApiConstants.noteParameterName, LoanApiConstants.localeParameterName, LoanApiConstants.dateFormatParameterName));
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, disbursementParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element, disbursementParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loanapplication");
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
         final LocalDate rejectedOnDate = this.fromApiJsonHelper.extractLocalDateNamed(LoanApiConstants.rejectedOnDateParameterName,
                 element);
         baseDataValidator.reset().parameter(LoanApiConstants.rejectedOnDateParameterName).value(rejectedOnDate).notNull();
@@ -127,22 +107,15 @@ public final class LoanApplicationTransitionApiJsonValidator {
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
 
-    public void validateApplicantWithdrawal(final String json) {
-
-        if (StringUtils.isBlank(json)) {
-            throw new InvalidJsonException();
-        }
-
+    public void validateApplicantWithdrawal(final JsonElement element) {
         final Set<String> disbursementParameters = new HashSet<>(Arrays.asList(LoanApiConstants.withdrawnOnDateParameterName,
                 LoanApiConstants.noteParameterName, LoanApiConstants.localeParameterName, LoanApiConstants.dateFormatParameterName));
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, disbursementParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element, disbursementParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loanapplication");
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
         final LocalDate withdrawnOnDate = this.fromApiJsonHelper.extractLocalDateNamed(LoanApiConstants.withdrawnOnDateParameterName,
                 element);
         baseDataValidator.reset().parameter(LoanApiConstants.withdrawnOnDateParameterName).value(withdrawnOnDate).notNull();
@@ -153,23 +126,16 @@ public final class LoanApplicationTransitionApiJsonValidator {
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
 
-    public void validateWithdrawalFromRedraw(final String json) {
-
-        if (StringUtils.isBlank(json)) {
-            throw new InvalidJsonException();
-        }
-
+    public void validateWithdrawalFromRedraw(final JsonElement element) {
         final Set<String> disbursementParameters = new HashSet<>(Arrays.asList(LoanApiConstants.transactionDateParamName,
                 LoanApiConstants.noteParameterName, LoanApiConstants.principalDisbursedParameterName, LoanApiConstants.localeParameterName,
                 LoanApiConstants.dateFormatParameterName));
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, disbursementParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element, disbursementParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(LoanApiConstants.withdrawFromRedraw);
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
 
         final LocalDate transactionDate = this.fromApiJsonHelper.extractLocalDateNamed(LoanApiConstants.transactionDateParamName, element);
         baseDataValidator.reset().parameter(LoanApiConstants.withdrawnOnDateParameterName).value(transactionDate).notNull();
@@ -184,23 +150,16 @@ public final class LoanApplicationTransitionApiJsonValidator {
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
 
-    public void validateApplyRedrawPayment(final String json) {
-
-        if (StringUtils.isBlank(json)) {
-            throw new InvalidJsonException();
-        }
-
+    public void validateApplyRedrawPayment(final JsonElement element) {
         final Set<String> disbursementParameters = new HashSet<>(
                 Arrays.asList(LoanApiConstants.transactionDateParamName, LoanApiConstants.principalDisbursedParameterName,
                         LoanApiConstants.localeParameterName, LoanApiConstants.dateFormatParameterName, "notes"));
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, disbursementParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element, disbursementParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(LoanApiConstants.withdrawFromRedraw);
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
 
         final LocalDate transactionDate = this.fromApiJsonHelper.extractLocalDateNamed(LoanApiConstants.transactionDateParamName, element);
         baseDataValidator.reset().parameter(LoanApiConstants.withdrawnOnDateParameterName).value(transactionDate).notNull();
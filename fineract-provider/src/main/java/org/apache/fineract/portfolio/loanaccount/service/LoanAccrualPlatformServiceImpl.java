@@ -21,13 +21,18 @@ package org.apache.fineract.portfolio.loanaccount.service;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.fineract.infrastructure.core.exception.MultiException;
+import java.util.function.Function;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.KeysetIdProducer;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobItemProcessor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobParameters;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
 import org.slf4j.Logger;
@@ -42,51 +47,94 @@ public class LoanAccrualPlatformServiceImpl implements LoanAccrualPlatformServic
 
     private final LoanReadPlatformService loanReadPlatformService;
     private final LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+    private final PartitionedJobExecutor partitionedJobExecutor;
 
     @Autowired
     public LoanAccrualPlatformServiceImpl(final LoanReadPlatformService loanReadPlatformService,
-            final LoanAccrualWritePlatformService loanAccrualWritePlatformService) {
+            final LoanAccrualWritePlatformService loanAccrualWritePlatformService, final PartitionedJobExecutor partitionedJobExecutor) {
         this.loanReadPlatformService = loanReadPlatformService;
         this.loanAccrualWritePlatformService = loanAccrualWritePlatformService;
+        this.partitionedJobExecutor = partitionedJobExecutor;
     }
 
     @Override
     @CronTarget(jobName = JobName.ADD_ACCRUAL_ENTRIES)
-    public void addAccrualAccounting() throws JobExecutionException {
-        Collection<LoanScheduleAccrualData> loanScheduleAccrualDatas = this.loanReadPlatformService.retriveScheduleAccrualData();
-        Map<Long, Collection<LoanScheduleAccrualData>> loanDataMap = new HashMap<>();
-        for (final LoanScheduleAccrualData accrualData : loanScheduleAccrualDatas) {
-            if (loanDataMap.containsKey(accrualData.getLoanId())) {
-                loanDataMap.get(accrualData.getLoanId()).add(accrualData);
-            } else {
-                Collection<LoanScheduleAccrualData> accrualDatas = new ArrayList<>();
-                accrualDatas.add(accrualData);
-                loanDataMap.put(accrualData.getLoanId(), accrualDatas);
-            }
-        }
+    public void addAccrualAccounting(final Map<String, String> jobParameters) throws JobExecutionException {
+        executeAccruals("Add Accrual Transactions", jobParameters, this.loanReadPlatformService::retrieveLoanIdsWithScheduleAccruals,
+                this.loanReadPlatformService::retriveScheduleAccrualData,
+                (loanId, datas) -> this.loanAccrualWritePlatformService.addAccrualAccounting(loanId, datas));
+    }
 
-        List<Throwable> errors = new ArrayList<>();
-        for (Map.Entry<Long, Collection<LoanScheduleAccrualData>> mapEntry : loanDataMap.entrySet()) {
-            try {
-                this.loanAccrualWritePlatformService.addAccrualAccounting(mapEntry.getKey(), mapEntry.getValue());
-            } catch (Exception e) {
-                LOG.error("Failed to add accural transaction for loan {}", mapEntry.getKey(), e);
-                errors.add(e);
-            }
+    @Override
+    @CronTarget(jobName = JobName.ADD_PERIODIC_ACCRUAL_ENTRIES)
+    public void addPeriodicAccruals(final Map<String, String> jobParameters) throws JobExecutionException {
+        final LocalDate tilldate = DateUtils.getBusinessLocalDate();
+        executeAccruals("Add Periodic Accrual Transactions", jobParameters,
+                (lastLoanId, pageSize) -> this.loanReadPlatformService.retrieveLoanIdsWithPeriodicAccruals(tilldate, lastLoanId, pageSize),
+                loanIds -> this.loanReadPlatformService.retrivePeriodicAccrualData(tilldate, loanIds),
+                (loanId, datas) -> this.loanAccrualWritePlatformService.addPeriodicAccruals(tilldate, loanId, datas));
+    }
+
+    /**
+     * Walks the loans with pending accruals in loan id order on the partitioned job executor. The accrual rows of a chunk
+     * are loaded with one query and every loan is posted in its own transaction, so a failing loan is logged and reported
+     * at the end of the run without rolling back or stopping the others.
+     */
+    private void executeAccruals(final String description, final Map<String, String> jobParameters, final KeysetIdProducer idProducer,
+            final Function<List<Long>, Collection<LoanScheduleAccrualData>> accrualDataLoader, final LoanAccrualPoster poster)
+            throws JobExecutionException {
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        try {
+            this.partitionedJobExecutor.execute(description, PartitionedJobParameters.fromJobParameters(jobParameters), idProducer,
+                    new PartitionedJobItemProcessor<Map<Long, Collection<LoanScheduleAccrualData>>>() {
+
+                        @Override
+                        public Map<Long, Collection<LoanScheduleAccrualData>> prepareChunk(final List<Long> loanIds) {
+                            return groupByLoan(accrualDataLoader.apply(loanIds));
+                        }
+
+                        @Override
+                        public void process(final Long loanId, final Map<Long, Collection<LoanScheduleAccrualData>> accrualDatas) {
+                            final Collection<LoanScheduleAccrualData> datas = accrualDatas.get(loanId);
+                            if (datas == null) {
+                                return;
+                            }
+                            try {
+                                poster.post(loanId, datas);
+                            } catch (Exception e) {
+                                LOG.error("Failed to add accural transaction for loan {}", loanId, e);
+                                errors.add(e);
+                            }
+                        }
+
+                        @Override
+                        public boolean isChunkTransactional() {
+                            // every loan commits on its own, a failed loan must not roll back the rest of its chunk
+                            return false;
+                        }
+                    });
+        } catch (JobExecutionException e) {
+            errors.addAll(e.getCauses());
         }
         if (!errors.isEmpty()) {
             throw new JobExecutionException(errors);
         }
     }
 
-    @Override
-    @CronTarget(jobName = JobName.ADD_PERIODIC_ACCRUAL_ENTRIES)
-    public void addPeriodicAccruals() throws JobExecutionException {
-        try {
-            addPeriodicAccruals(DateUtils.getBusinessLocalDate());
-        } catch (MultiException e) {
-            throw new JobExecutionException(e);
+    private static Map<Long, Collection<LoanScheduleAccrualData>> groupByLoan(
+            final Collection<LoanScheduleAccrualData> loanScheduleAccrualDatas) {
+        // rows arrive ordered by loan and due date, the linked map keeps that order for each loan
+        final Map<Long, Collection<LoanScheduleAccrualData>> loanDataMap = new LinkedHashMap<>();
+        for (final LoanScheduleAccrualData accrualData : loanScheduleAccrualDatas) {
+            loanDataMap.computeIfAbsent(accrualData.getLoanId(), loanId -> new ArrayList<>()).add(accrualData);
         }
+        return loanDataMap;
+    }
+
+    @FunctionalInterface
+    private interface LoanAccrualPoster {
+
+        void post(Long loanId, Collection<LoanScheduleAccrualData> loanScheduleAccrualDatas) throws Exception;
     }
 
     @Override
@@ -98,16 +146,7 @@ public class LoanAccrualPlatformServiceImpl implements LoanAccrualPlatformServic
     @Override
     public void addPeriodicAccruals(final LocalDate tilldate, Collection<LoanScheduleAccrualData> loanScheduleAccrualDatas)
             throws JobExecutionException {
-        Map<Long, Collection<LoanScheduleAccrualData>> loanDataMap = new HashMap<>();
-        for (final LoanScheduleAccrualData accrualData : loanScheduleAccrualDatas) {
-            if (loanDataMap.containsKey(accrualData.getLoanId())) {
-                loanDataMap.get(accrualData.getLoanId()).add(accrualData);
-            } else {
-                Collection<LoanScheduleAccrualData> accrualDatas = new ArrayList<>();
-                accrualDatas.add(accrualData);
-                loanDataMap.put(accrualData.getLoanId(), accrualDatas);
-            }
-        }
+        Map<Long, Collection<LoanScheduleAccrualData>> loanDataMap = groupByLoan(loanScheduleAccrualDatas);
 
         List<Throwable> errors = new ArrayList<>();
         for (Map.Entry<Long, Collection<LoanScheduleAccrualData>> mapEntry : loanDataMap.entrySet()) {
@@ -88,6 +88,7 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
         Collection<LoanChargeData> chargeData = this.loanChargeReadPlatformService.retrieveLoanChargesForAccural(loanId);
         Collection<LoanSchedulePeriodData> loanWaiverScheduleData = new ArrayList<>(1);
         Collection<LoanTransactionData> loanWaiverTansactionData = new ArrayList<>(1);
+        final AccrualPostings postings = new AccrualPostings();
 
         for (final LoanScheduleAccrualData accrualData : loanScheduleAccrualDatas) {
             if (accrualData.getWaivedInterestIncome() != null && loanWaiverScheduleData.isEmpty()) {
@@ -96,8 +97,9 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
             }
             updateCharges(chargeData, accrualData, accrualData.getFromDateAsLocaldate(), accrualData.getDueDateAsLocaldate());
             updateInterestIncome(accrualData, loanWaiverTansactionData, loanWaiverScheduleData, accrualData.getDueDateAsLocaldate());
-            addAccrualAccounting(accrualData);
+            addAccrualAccounting(accrualData, postings);
         }
+        postAccruals(postings);
     }
 
     @Override
@@ -109,6 +111,7 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
         Collection<LoanChargeData> chargeData = this.loanChargeReadPlatformService.retrieveLoanChargesForAccural(loanId);
         Collection<LoanSchedulePeriodData> loanWaiverScheduleData = new ArrayList<>(1);
         Collection<LoanTransactionData> loanWaiverTansactionData = new ArrayList<>(1);
+        final AccrualPostings postings = new AccrualPostings();
         for (final LoanScheduleAccrualData accrualData : loanScheduleAccrualDatas) {
             if (accrualData.getWaivedInterestIncome() != null && loanWaiverScheduleData.isEmpty()) {
                 loanWaiverScheduleData = this.loanReadPlatformService.fetchWaiverInterestRepaymentData(accrualData.getLoanId());
@@ -123,18 +126,20 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
                 if (accruredTill == null || accruredTill.isBefore(tilldate)) {
                     updateCharges(chargeData, accrualData, accrualData.getFromDateAsLocaldate(), tilldate);
                     updateInterestIncome(accrualData, loanWaiverTansactionData, loanWaiverScheduleData, tilldate);
-                    addAccrualTillSpecificDate(tilldate, accrualData);
+                    addAccrualTillSpecificDate(tilldate, accrualData, postings);
                 }
             } else {
                 updateCharges(chargeData, accrualData, accrualData.getFromDateAsLocaldate(), accrualData.getDueDateAsLocaldate());
                 updateInterestIncome(accrualData, loanWaiverTansactionData, loanWaiverScheduleData, tilldate);
-                addAccrualAccounting(accrualData);
+                addAccrualAccounting(accrualData, postings);
                 accruredTill = accrualData.getDueDateAsLocaldate();
             }
         }
+        postAccruals(postings);
     }
 
-    private void addAccrualTillSpecificDate(final LocalDate tilldate, final LoanScheduleAccrualData accrualData) throws Exception {
+    private void addAccrualTillSpecificDate(final LocalDate tilldate, final LoanScheduleAccrualData accrualData,
+            final AccrualPostings postings) throws Exception {
         LocalDate interestStartDate = accrualData.getFromDateAsLocaldate();
         if (accrualData.getInterestCalculatedFrom() != null
                 && accrualData.getFromDateAsLocaldate().isBefore(accrualData.getInterestCalculatedFrom())) {
@@ -208,12 +213,11 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
         }
         if (amount.compareTo(BigDecimal.ZERO) > 0) {
             addAccrualAccounting(accrualData, amount, interestportion, totalAccInterest, feeportion, totalAccFee, penaltyportion,
-                    totalAccPenalty, tilldate);
+                    totalAccPenalty, tilldate, postings);
         }
     }
 
-    @Transactional
-    public void addAccrualAccounting(LoanScheduleAccrualData scheduleAccrualData) throws Exception {
+    private void addAccrualAccounting(LoanScheduleAccrualData scheduleAccrualData, final AccrualPostings postings) throws Exception {
 
         BigDecimal amount = BigDecimal.ZERO;
         BigDecimal interestportion = null;
@@ -259,13 +263,13 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
         }
         if (amount.compareTo(BigDecimal.ZERO) > 0) {
             addAccrualAccounting(scheduleAccrualData, amount, interestportion, totalAccInterest, feeportion, totalAccFee, penaltyportion,
-                    totalAccPenalty, scheduleAccrualData.getDueDateAsLocaldate());
+                    totalAccPenalty, scheduleAccrualData.getDueDateAsLocaldate(), postings);
         }
     }
 
     private void addAccrualAccounting(LoanScheduleAccrualData scheduleAccrualData, BigDecimal amount, BigDecimal interestportion,
             BigDecimal totalAccInterest, BigDecimal feeportion, BigDecimal totalAccFee, BigDecimal penaltyportion,
-            BigDecimal totalAccPenalty, final LocalDate accruedTill) throws DataAccessException {
+            BigDecimal totalAccPenalty, final LocalDate accruedTill, final AccrualPostings postings) throws DataAccessException {
         String transactionSql = "INSERT INTO m_loan_transaction  (loan_id,office_id,is_reversed,transaction_type_enum,transaction_date,amount,interest_portion_derived,"
                 + "fee_charges_portion_derived,penalty_charges_portion_derived, submitted_on_date) VALUES (?, ?, false, ?, ?, ?, ?, ?, ?, ?)";
         this.jdbcTemplate.update(transactionSql, scheduleAccrualData.getLoanId(), scheduleAccrualData.getOfficeId(),
@@ -275,29 +279,44 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
         final Long transactonId = this.jdbcTemplate.queryForObject("SELECT " + sqlGenerator.lastInsertId(), Long.class); // NOSONAR
 
         Map<LoanChargeData, BigDecimal> applicableCharges = scheduleAccrualData.getApplicableCharges();
-        String chargespaidSql = "INSERT INTO m_loan_charge_paid_by (loan_transaction_id, loan_charge_id, amount,installment_number) VALUES (?,?,?,?)";
-        for (Map.Entry<LoanChargeData, BigDecimal> entry : applicableCharges.entrySet()) {
-            LoanChargeData chargeData = entry.getKey();
-            this.jdbcTemplate.update(chargespaidSql, transactonId, chargeData.getId(), entry.getValue(),
-                    scheduleAccrualData.getInstallmentNumber());
+        if (!applicableCharges.isEmpty()) {
+            String chargespaidSql = "INSERT INTO m_loan_charge_paid_by (loan_transaction_id, loan_charge_id, amount,installment_number) "
+                    + "VALUES (?,?,?,?)";
+            final List<Object[]> chargesPaid = new ArrayList<>(applicableCharges.size());
+            for (Map.Entry<LoanChargeData, BigDecimal> entry : applicableCharges.entrySet()) {
+                chargesPaid.add(new Object[] { transactonId, entry.getKey().getId(), entry.getValue(),
+                        scheduleAccrualData.getInstallmentNumber() });
+            }
+            this.jdbcTemplate.batchUpdate(chargespaidSql, chargesPaid);
         }
 
         Map<String, Object> transactionMap = toMapData(transactonId, amount, interestportion, feeportion, penaltyportion,
                 scheduleAccrualData, accruedTill);
 
+        postings.add(scheduleAccrualData, transactionMap,
+                new Object[] { totalAccInterest, totalAccFee, totalAccPenalty, scheduleAccrualData.getRepaymentScheduleId() }, accruedTill);
+    }
+
+    /**
+     * Writes the schedule, loan and journal updates collected for one loan: the installment updates go out as a single
+     * batch, accrued_till is set once and all accrual transactions are posted through one journal entry call.
+     */
+    private void postAccruals(final AccrualPostings postings) {
+        if (postings.transactions.isEmpty()) {
+            return;
+        }
         String repaymetUpdatesql = "UPDATE m_loan_repayment_schedule SET accrual_interest_derived=?, accrual_fee_charges_derived=?, "
                 + "accrual_penalty_charges_derived=? WHERE  id=?";
-        this.jdbcTemplate.update(repaymetUpdatesql, totalAccInterest, totalAccFee, totalAccPenalty,
-                scheduleAccrualData.getRepaymentScheduleId());
+        this.jdbcTemplate.batchUpdate(repaymetUpdatesql, postings.scheduleUpdates);
 
         String updateLoan = "UPDATE m_loan  SET accrued_till=?  WHERE  id=?";
-        this.jdbcTemplate.update(updateLoan, accruedTill, scheduleAccrualData.getLoanId());
-        final Map<String, Object> accountingBridgeData = deriveAccountingBridgeData(scheduleAccrualData, transactionMap);
+        this.jdbcTemplate.update(updateLoan, postings.accruedTill, postings.accrualData.getLoanId());
+        final Map<String, Object> accountingBridgeData = deriveAccountingBridgeData(postings.accrualData, postings.transactions);
         this.journalEntryWritePlatformService.createJournalEntriesForLoan(accountingBridgeData);
     }
 
     public Map<String, Object> deriveAccountingBridgeData(final LoanScheduleAccrualData loanScheduleAccrualData,
-            final Map<String, Object> transactionMap) {
+            final List<Map<String, Object>> newLoanTransactions) {
 
         final Map<String, Object> accountingBridgeData = new LinkedHashMap<>();
         accountingBridgeData.put("loanId", loanScheduleAccrualData.getLoanId());
@@ -309,9 +328,6 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
         accountingBridgeData.put("periodicAccrualBasedAccountingEnabled", true);
         accountingBridgeData.put("isAccountTransfer", false);
 
-        final List<Map<String, Object>> newLoanTransactions = new ArrayList<>();
-        newLoanTransactions.add(transactionMap);
-
         accountingBridgeData.put("newLoanTransactions", newLoanTransactions);
         return accountingBridgeData;
     }
@@ -509,4 +525,20 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
                 existingTransactionIds, existingReversedTransactionIds, isAccountTransfer);
         this.journalEntryWritePlatformService.createJournalEntriesForLoan(accountingBridgeData);
     }
+
+    private static final class AccrualPostings {
+
+        private final List<Map<String, Object>> transactions = new ArrayList<>();
+        private final List<Object[]> scheduleUpdates = new ArrayList<>();
+        private LoanScheduleAccrualData accrualData;
+        private LocalDate accruedTill;
+
+        private void add(final LoanScheduleAccrualData accrualData, final Map<String, Object> transactionMap,
+                final Object[] scheduleUpdate, final LocalDate accruedTill) {
+            this.accrualData = accrualData;
+            this.transactions.add(transactionMap);
+            this.scheduleUpdates.add(scheduleUpdate);
+            this.accruedTill = accruedTill;
+        }
+    }
 }
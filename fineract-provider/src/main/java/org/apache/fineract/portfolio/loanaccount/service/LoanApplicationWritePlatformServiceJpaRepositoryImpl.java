@@ -248,7 +248,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                 officeSpecificLoanProductValidation(productId, group.getOffice().getId());
             }
 
-            this.fromApiJsonDeserializer.validateForCreate(command.json(), isMeetingMandatoryForJLGLoans, loanProduct);
+            this.fromApiJsonDeserializer.validateForCreate(command.parsedJson(), isMeetingMandatoryForJLGLoans, loanProduct);
 
             // Validate If the externalId is already registered
             final String externalId = this.fromJsonHelper.extractStringNamed("externalId", command.parsedJson());
@@ -761,7 +761,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
 
             LoanProduct loanProductForValidations = newLoanProduct == null ? existingLoanApplication.loanProduct() : newLoanProduct;
 
-            this.fromApiJsonDeserializer.validateForModify(command.json(), loanProductForValidations, existingLoanApplication);
+            this.fromApiJsonDeserializer.validateForModify(command.parsedJson(), loanProductForValidations, existingLoanApplication);
 
             checkClientOrGroupActive(existingLoanApplication);
 
@@ -1028,8 +1028,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
             if (changes.containsKey("recalculateLoanSchedule")) {
                 changes.remove("recalculateLoanSchedule");
 
-                final JsonElement parsedQuery = this.fromJsonHelper.parse(command.json());
-                final JsonQuery query = JsonQuery.from(command.json(), parsedQuery, this.fromJsonHelper);
+                final JsonQuery query = JsonQuery.from(command.json(), command.parsedJson(), this.fromJsonHelper);
 
                 final LoanScheduleModel loanSchedule = this.calculationPlatformService.calculateLoanSchedule(query, false);
                 existingLoanApplication.updateLoanSchedule(loanSchedule);
@@ -1360,8 +1359,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
     }
 
     public void validateMultiDisbursementData(final JsonCommand command, LocalDate expectedDisbursementDate) {
-        final String json = command.json();
-        final JsonElement element = this.fromJsonHelper.parse(json);
+        final JsonElement element = command.parsedJson();
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loan");
@@ -1447,7 +1445,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
         final AppUser currentUser = getAppUserIfPresent();
         LocalDate expectedDisbursementDate = null;
 
-        this.loanApplicationTransitionApiJsonValidator.validateApproval(command.json());
+        this.loanApplicationTransitionApiJsonValidator.validateApproval(command.parsedJson());
 
         final Loan loan = retrieveLoanBy(loanId);
 
@@ -1648,7 +1646,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
 
         AppUser currentUser = getAppUserIfPresent();
 
-        this.fromApiJsonDeserializer.validateForUndo(command.json());
+        this.fromApiJsonDeserializer.validateForUndo(command.parsedJson());
 
         final Loan loan = retrieveLoanBy(loanId);
         checkClientOrGroupActive(loan);
@@ -1726,7 +1724,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
 
         final AppUser currentUser = getAppUserIfPresent();
 
-        this.loanApplicationTransitionApiJsonValidator.validateRejection(command.json());
+        this.loanApplicationTransitionApiJsonValidator.validateRejection(command.parsedJson());
         Boolean isExtendLoanLifeCycleConfig = loanDecisionStateUtilService.isExtendLoanLifeCycleConfig();
         final Loan loan = retrieveLoanBy(loanId);
 
@@ -2037,7 +2035,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
 
         final AppUser currentUser = getAppUserIfPresent();
 
-        this.loanApplicationTransitionApiJsonValidator.validateApplicantWithdrawal(command.json());
+        this.loanApplicationTransitionApiJsonValidator.validateApplicantWithdrawal(command.parsedJson());
 
         final Loan loan = retrieveLoanBy(loanId);
         checkClientOrGroupActive(loan);
@@ -2236,7 +2234,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
 
     @Override
     public CommandProcessingResult withdrawalFromRedraw(Long loanId, JsonCommand command) {
-        this.loanApplicationTransitionApiJsonValidator.validateWithdrawalFromRedraw(command.json());
+        this.loanApplicationTransitionApiJsonValidator.validateWithdrawalFromRedraw(command.parsedJson());
         final var transactionDate = command.localDateValueOfParameterNamed(LoanApiConstants.transactionDateParamName);
         final var transactionAmount = command.bigDecimalValueOfParameterNamed(LoanApiConstants.principalDisbursedParameterName);
         final var notes = command.stringValueOfParameterNamed(LoanApiConstants.noteParameterName);
@@ -2249,7 +2247,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
     @Override
     public CommandProcessingResult applyRedrawPayment(Long loanId, JsonCommand command) {
         var user = this.context.authenticatedUser();
-        this.loanApplicationTransitionApiJsonValidator.validateApplyRedrawPayment(command.json());
+        this.loanApplicationTransitionApiJsonValidator.validateApplyRedrawPayment(command.parsedJson());
         final var transactionAmount = command.bigDecimalValueOfParameterNamed(LoanApiConstants.principalDisbursedParameterName);
         final var loan = this.loanRepositoryWrapper.findOneWithNotFoundDetection(loanId);
         final var transactionDate = command.localDateValueOfParameterNamed(LoanApiConstants.transactionDateParamName);
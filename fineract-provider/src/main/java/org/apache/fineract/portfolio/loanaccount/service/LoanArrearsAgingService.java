@@ -18,11 +18,13 @@
  */
 package org.apache.fineract.portfolio.loanaccount.service;
 
+import java.util.Map;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 
 public interface LoanArrearsAgingService {
 
-    void updateLoanArrearsAgeingDetails();
+    void updateLoanArrearsAgeingDetails(Map<String, String> jobParameters) throws JobExecutionException;
 
     void updateLoanArrearsAgeingDetailsWithOriginalSchedule(Loan loan);
 
@@ -22,8 +22,12 @@ import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,8 +39,15 @@ import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.KeysetIdProducer;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobItemProcessor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobParameters;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
-import org.apache.fineract.portfolio.businessevent.BusinessEventListener;
+import org.apache.fineract.portfolio.businessevent.AsyncBusinessEventListener;
+import org.apache.fineract.portfolio.businessevent.domain.BusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.BusinessEventIds;
 import org.apache.fineract.portfolio.businessevent.domain.loan.LoanAdjustTransactionBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.domain.loan.LoanApplyOverdueChargeBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.domain.loan.LoanDisbursalBusinessEvent;
@@ -50,8 +61,8 @@ import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanU
 import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanWaiveInterestBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.service.BusinessEventNotifierService;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
-import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanSummary;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanSchedulePeriodData;
@@ -59,47 +70,131 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
 
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    public static final String FULL_REFRESH_PARAMETER = "full-refresh";
+
+    // loans modified shortly before the previous run started may have committed only after it read its candidates
+    private static final long INCREMENTAL_OVERLAP_MINUTES = 10L;
+
+    private static final List<String> ARREARS_COLUMNS = List.of("principal_overdue_derived", "interest_overdue_derived",
+            "fee_charges_overdue_derived", "penalty_charges_overdue_derived", "total_overdue_derived", "overdue_since_date_derived");
+    private static final String DELETE_SQL = "DELETE FROM m_loan_arrears_aging WHERE loan_id = ?";
 
     private final JdbcTemplate jdbcTemplate;
     private final BusinessEventNotifierService businessEventNotifierService;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final PartitionedJobExecutor partitionedJobExecutor;
+    private final LoanRepositoryWrapper loanRepositoryWrapper;
 
     @PostConstruct
     public void registerForNotification() {
-        businessEventNotifierService.addPostBusinessEventListener(LoanRefundPostBusinessEvent.class, new RefundEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanAdjustTransactionBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanRefundPostBusinessEvent.class, new RefundEventListener());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanAdjustTransactionBusinessEvent.class,
                 new AdjustTransactionBusinessEventEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanTransactionMakeRepaymentPostBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanTransactionMakeRepaymentPostBusinessEvent.class,
                 new MakeRepaymentEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanUndoWrittenOffBusinessEvent.class, new UndoWrittenOffEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanWaiveInterestBusinessEvent.class, new WaiveInterestEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanAddChargeBusinessEvent.class, new AddChargeEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanWaiveChargeBusinessEvent.class, new WaiveChargeEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanChargePaymentPostBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanUndoWrittenOffBusinessEvent.class,
+                new UndoWrittenOffEventListener());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanWaiveInterestBusinessEvent.class,
+                new WaiveInterestEventListener());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanAddChargeBusinessEvent.class, new AddChargeEventListener());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanWaiveChargeBusinessEvent.class, new WaiveChargeEventListener());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanChargePaymentPostBusinessEvent.class,
                 new LoanChargePaymentEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanApplyOverdueChargeBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanApplyOverdueChargeBusinessEvent.class,
                 new ApplyOverdueChargeEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanDisbursalBusinessEvent.class, new DisbursementEventListener());
-        businessEventNotifierService.addPostBusinessEventListener(LoanForeClosurePostBusinessEvent.class,
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanDisbursalBusinessEvent.class, new DisbursementEventListener());
+        businessEventNotifierService.addAsyncPostBusinessEventListener(LoanForeClosurePostBusinessEvent.class,
                 new LoanForeClosureEventListener());
     }
 
-    @Transactional
+    /**
+     * Recomputes the arrears ageing of loans range by range in parallel, see {@link PartitionedJobExecutor}. A full
+     * refresh walks all active loans and the loans still holding an ageing row; the incremental mode (default once a run
+     * completed) only visits loans that were modified or whose schedule changed since the previous run, or that have an
+     * installment which became overdue since the previous run's business date. Changes that touch no loan, like switching
+     * a product to arrears based on the original schedule, need a run with the {@code full-refresh} job parameter.
+     */
     @Override
     @CronTarget(jobName = JobName.UPDATE_LOAN_ARREARS_AGEING)
-    public void updateLoanArrearsAgeingDetails() {
+    public void updateLoanArrearsAgeingDetails(final Map<String, String> jobParameters) throws JobExecutionException {
+        final LocalDate businessDate = DateUtils.getBusinessLocalDate();
+        final LocalDateTime startedOn = DateUtils.getLocalDateTimeOfSystem();
+        final LastRun lastRun = this.jdbcTemplate.queryForObject(
+                "select last_business_date as lastBusinessDate, started_on as startedOn from m_loan_arrears_aging_run where id = 1",
+                (rs, rowNum) -> new LastRun(JdbcSupport.getLocalDate(rs, "lastBusinessDate"),
+                        JdbcSupport.getLocalDateTime(rs, "startedOn")));
+        final LocalDate lastBusinessDate = lastRun.businessDate;
+        final LocalDateTime lastStartedOn = lastRun.startedOn;
+
+        final boolean fullRefresh = (jobParameters != null && Boolean.parseBoolean(jobParameters.get(FULL_REFRESH_PARAMETER)))
+                || lastBusinessDate == null || lastStartedOn == null || lastBusinessDate.isAfter(businessDate);
+        final KeysetIdProducer idProducer;
+        if (fullRefresh) {
+            idProducer = this::retrieveLoanIdsForFullRefresh;
+        } else {
+            idProducer = new SortedIdProducer(
+                    retrieveLoanIdsChangedSince(lastBusinessDate, lastStartedOn.minusMinutes(INCREMENTAL_OVERLAP_MINUTES)));
+        }
+
+        this.partitionedJobExecutor.execute(fullRefresh ? "Update Loan Arrears Ageing (full)" : "Update Loan Arrears Ageing (incremental)",
+                PartitionedJobParameters.fromJobParameters(jobParameters), idProducer,
+                new PartitionedJobItemProcessor<Map<Long, ArrearsAgeing>>() {
 
-        this.jdbcTemplate.execute("truncate table m_loan_arrears_aging");
+                    @Override
+                    public Map<Long, ArrearsAgeing> prepareChunk(final List<Long> loanIds) {
+                        return calculateArrearsAgeing(loanIds);
+                    }
+
+                    @Override
+                    public void processChunk(final List<Long> loanIds, final Map<Long, ArrearsAgeing> arrears) {
+                        saveArrearsAgeing(loanIds, arrears);
+                    }
+
+                    @Override
+                    public void process(final Long loanId, final Map<Long, ArrearsAgeing> arrears) {
+                        saveArrearsAgeing(List.of(loanId), arrears);
+                    }
+                });
 
-        final StringBuilder updateSqlBuilder = new StringBuilder(900);
+        // only reached when every range succeeded, otherwise the next run picks the failed loans up again
+        this.jdbcTemplate.update("UPDATE m_loan_arrears_aging_run SET last_business_date = ?, started_on = ? WHERE id = 1", businessDate,
+                startedOn);
+    }
+
+    private List<Long> retrieveLoanIdsForFullRefresh(final Long lastId, final int pageSize) {
+        final String sql = "select ml.id from m_loan ml where ml.id > ? and (ml.loan_status_id = 300 "
+                + "or exists (select 1 from m_loan_arrears_aging mla where mla.loan_id = ml.id)) order by ml.id "
+                + sqlGenerator.limit(pageSize);
+        return this.jdbcTemplate.queryForList(sql, Long.class, lastId);
+    }
+
+    private List<Long> retrieveLoanIdsChangedSince(final LocalDate lastBusinessDate, final LocalDateTime changedSince) {
+        final String graceDays = "COALESCE(ml.grace_on_arrears_ageing, 0)";
+        final String sql = "select ml.id from m_loan ml where ml.last_modified_on_utc >= ? "
+                + "union select mr.loan_id from m_loan_repayment_schedule mr where mr.lastmodified_date >= ? "
+                + "union select ml.id from m_loan ml inner join m_loan_repayment_schedule mr on mr.loan_id = ml.id "
+                + "where ml.loan_status_id = 300 and mr.duedate < " + sqlGenerator.currentBusinessDate() + " and mr.duedate < "
+                + sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), graceDays, "day") + " and mr.duedate >= "
+                + sqlGenerator.subDate("?", graceDays, "day")
+                + " union select ml.id from m_loan ml inner join m_loan_repayment_schedule_history mr on mr.loan_id = ml.id "
+                + "where ml.loan_status_id = 300 and mr.duedate < " + sqlGenerator.currentBusinessDate() + " and mr.duedate < "
+                + sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), graceDays, "day") + " and mr.duedate >= "
+                + sqlGenerator.subDate("?", graceDays, "day");
+        final OffsetDateTime changedSinceUtc = changedSince.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        final List<Long> loanIds = this.jdbcTemplate.queryForList(sql, Long.class, changedSinceUtc, changedSince, lastBusinessDate,
+                lastBusinessDate);
+        log.info("{}: {} loans changed or became overdue since {}", ThreadLocalContextUtil.getTenant().getName(), loanIds.size(),
+                lastBusinessDate);
+        return loanIds;
+    }
+
+    private Map<Long, ArrearsAgeing> calculateArrearsAgeing(final List<Long> loanIds) {
         final String principalOverdueCalculationSql = "SUM(COALESCE(mr.principal_amount, 0) - coalesce(mr.principal_completed_derived, 0) - coalesce(mr.principal_writtenoff_derived, 0))";
         final String interestOverdueCalculationSql = "SUM(COALESCE(mr.interest_amount, 0) - coalesce(mr.interest_writtenoff_derived, 0) - coalesce(mr.interest_waived_derived, 0) - "
                 + "coalesce(mr.interest_completed_derived, 0))";
@@ -107,75 +202,85 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
                 + "coalesce(mr.fee_charges_waived_derived, 0) - coalesce(mr.fee_charges_completed_derived, 0))";
         final String penaltyChargesOverdueCalculationSql = "SUM(COALESCE(mr.penalty_charges_amount, 0) - coalesce(mr.penalty_charges_writtenoff_derived, 0) - "
                 + "coalesce(mr.penalty_charges_waived_derived, 0) - coalesce(mr.penalty_charges_completed_derived, 0))";
-
-        updateSqlBuilder.append(
-                "INSERT INTO m_loan_arrears_aging(loan_id,principal_overdue_derived,interest_overdue_derived,fee_charges_overdue_derived,penalty_charges_overdue_derived,total_overdue_derived,overdue_since_date_derived)");
-        updateSqlBuilder.append("select ml.id as loanId,");
-        updateSqlBuilder.append(principalOverdueCalculationSql + " as principal_overdue_derived,");
-        updateSqlBuilder.append(interestOverdueCalculationSql + " as interest_overdue_derived,");
-        updateSqlBuilder.append(feeChargesOverdueCalculationSql + " as fee_charges_overdue_derived,");
-        updateSqlBuilder.append(penaltyChargesOverdueCalculationSql + " as penalty_charges_overdue_derived,");
-        updateSqlBuilder.append(principalOverdueCalculationSql + "+" + interestOverdueCalculationSql + "+");
-        updateSqlBuilder.append(feeChargesOverdueCalculationSql + "+" + penaltyChargesOverdueCalculationSql + " as total_overdue_derived,");
-        updateSqlBuilder.append("MIN(mr.duedate) as overdue_since_date_derived ");
-        updateSqlBuilder.append(" FROM m_loan ml ");
-        updateSqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
-        updateSqlBuilder.append(" left join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id ");
-        updateSqlBuilder.append(" WHERE ml.loan_status_id = 300 "); // active
-        updateSqlBuilder.append(" and mr.completed_derived is false ");
-        updateSqlBuilder.append(" and mr.duedate < ")
+        final String loanIdPlaceholders = placeholders(loanIds.size());
+
+        final StringBuilder sqlBuilder = new StringBuilder(900);
+        sqlBuilder.append("select ml.id as loanId,");
+        sqlBuilder.append(principalOverdueCalculationSql + " as principalOverdue,");
+        sqlBuilder.append(interestOverdueCalculationSql + " as interestOverdue,");
+        sqlBuilder.append(feeChargesOverdueCalculationSql + " as feeChargesOverdue,");
+        sqlBuilder.append(penaltyChargesOverdueCalculationSql + " as penaltyChargesOverdue,");
+        sqlBuilder.append("MIN(mr.duedate) as overdueSince ");
+        sqlBuilder.append(" FROM m_loan ml ");
+        sqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
+        sqlBuilder.append(" left join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id ");
+        sqlBuilder.append(" WHERE ml.id IN (").append(loanIdPlaceholders).append(") ");
+        sqlBuilder.append(" and ml.loan_status_id = 300 "); // active
+        sqlBuilder.append(" and mr.completed_derived is false ");
+        sqlBuilder.append(" and mr.duedate < ")
                 .append(sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(ml.grace_on_arrears_ageing, 0)", "day"))
                 .append(" ");
-        updateSqlBuilder.append(" and (prd.arrears_based_on_original_schedule = false or prd.arrears_based_on_original_schedule is null) ");
-        updateSqlBuilder.append(" GROUP BY ml.id");
+        sqlBuilder.append(" and (prd.arrears_based_on_original_schedule = false or prd.arrears_based_on_original_schedule is null) ");
+        sqlBuilder.append(" GROUP BY ml.id");
+
+        final Map<Long, ArrearsAgeing> arrears = new HashMap<>();
+        this.jdbcTemplate.query(sqlBuilder.toString(), rs -> {
+            final Long loanId = rs.getLong("loanId");
+            arrears.put(loanId,
+                    new ArrearsAgeing(loanId, JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "principalOverdue"),
+                            JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "interestOverdue"),
+                            JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "feeChargesOverdue"),
+                            JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "penaltyChargesOverdue"),
+                            JdbcSupport.getLocalDate(rs, "overdueSince")));
+        }, loanIds.toArray());
+
+        arrears.putAll(calculateArrearsAgeingWithOriginalSchedule(loanIds));
+        return arrears;
+    }
 
-        List<String> insertStatements = updateLoanArrearsAgeingDetailsWithOriginalSchedule();
-        insertStatements.add(0, updateSqlBuilder.toString());
-        final int[] results = this.jdbcTemplate.batchUpdate(insertStatements.toArray(new String[0]));
-        int result = 0;
-        for (int i : results) {
-            result += i;
+    /**
+     * Writes the calculated arrears of the given loans with parameterized batches: rows of loans that are no longer
+     * overdue are deleted, the others are upserted on the {@code loan_id} primary key, so concurrent writers for the same
+     * loan (the job and an arrears event listener) cannot both insert it.
+     */
+    private void saveArrearsAgeing(final List<Long> loanIds, final Map<Long, ArrearsAgeing> arrears) {
+        final List<Object[]> upserts = new ArrayList<>();
+        final List<Object[]> deletes = new ArrayList<>();
+        for (final Long loanId : loanIds) {
+            final ArrearsAgeing loanArrears = arrears.get(loanId);
+            if (loanArrears == null) {
+                deletes.add(new Object[] { loanId });
+            } else {
+                upserts.add(loanArrears.toParameters());
+            }
+        }
+        if (!deletes.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+        }
+        if (!upserts.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(this.sqlGenerator.upsert("m_loan_arrears_aging", "loan_id", ARREARS_COLUMNS), upserts);
         }
-
-        log.info("{}: Records affected by updateLoanArrearsAgeingDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
     }
 
     @Override
     public void updateLoanArrearsAgeingDetailsWithOriginalSchedule(final Loan loan) {
-        int count = this.jdbcTemplate.queryForObject("select count(mla.loan_id) from m_loan_arrears_aging mla where mla.loan_id =?",
-                Integer.class, loan.getId());
-        List<String> updateStatement = new ArrayList<>();
         OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor(loan.getId().toString(), sqlGenerator);
         Map<Long, List<LoanSchedulePeriodData>> scheduleDate = this.jdbcTemplate.query(originalScheduleExtractor.schema,
                 originalScheduleExtractor);
         if (scheduleDate.size() > 0) {
             List<Map<String, Object>> transactions = getLoanSummary(loan.getId(), loan.getLoanSummary());
             updateSchheduleWithPaidDetail(scheduleDate, transactions);
-            createInsertStatements(updateStatement, scheduleDate, count == 0);
-            if (updateStatement.size() == 1) {
-                this.jdbcTemplate.update(updateStatement.get(0));
-            } else {
-                String deletestatement = "DELETE FROM m_loan_arrears_aging WHERE  loan_id=?";
-                this.jdbcTemplate.update(deletestatement, loan.getId()); // NOSONAR
-            }
+            saveArrearsAgeing(List.of(loan.getId()), calculateArrearsAgeing(scheduleDate));
         }
     }
 
     @Override
     public void updateLoanArrearsAgeingDetails(final Loan loan) {
-        int count = this.jdbcTemplate.queryForObject("select count(mla.loan_id) from m_loan_arrears_aging mla where mla.loan_id =?",
-                Integer.class, loan.getId());
-        String updateStatement = constructUpdateStatement(loan, count == 0);
-        if (updateStatement == null) {
-            String deletestatement = "DELETE FROM m_loan_arrears_aging WHERE  loan_id=?";
-            this.jdbcTemplate.update(deletestatement, loan.getId()); // NOSONAR
-        } else {
-            this.jdbcTemplate.update(updateStatement);
-        }
+        final ArrearsAgeing arrears = calculateArrearsAgeing(loan);
+        saveArrearsAgeing(List.of(loan.getId()), arrears == null ? Map.of() : Map.of(loan.getId(), arrears));
     }
 
-    private String constructUpdateStatement(final Loan loan, boolean isInsertStatement) {
-        String updateSql = null;
+    private ArrearsAgeing calculateArrearsAgeing(final Loan loan) {
         List<LoanRepaymentScheduleInstallment> installments = loan.getRepaymentScheduleInstallments();
         BigDecimal principalOverdue = BigDecimal.ZERO;
         BigDecimal interestOverdue = BigDecimal.ZERO;
@@ -197,43 +302,34 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
 
         BigDecimal totalOverDue = principalOverdue.add(interestOverdue).add(feeOverdue).add(penaltyOverdue);
         if (totalOverDue.compareTo(BigDecimal.ZERO) > 0) {
-            if (isInsertStatement) {
-                updateSql = constructInsertStatement(loan.getId(), principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                        overDueSince);
-            } else {
-                updateSql = constructUpdateStatement(loan.getId(), principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                        overDueSince);
-            }
+            return new ArrearsAgeing(loan.getId(), principalOverdue, interestOverdue, feeOverdue, penaltyOverdue, overDueSince);
         }
-        return updateSql;
+        return null;
     }
 
-    private List<String> updateLoanArrearsAgeingDetailsWithOriginalSchedule() {
-        List<String> insertStatement = new ArrayList<>();
-
+    private Map<Long, ArrearsAgeing> calculateArrearsAgeingWithOriginalSchedule(final List<Long> loanIds) {
         final StringBuilder loanIdentifier = new StringBuilder();
         loanIdentifier.append("select ml.id as loanId FROM m_loan ml  ");
         loanIdentifier.append("INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
         loanIdentifier.append(
                 "inner join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id and prd.arrears_based_on_original_schedule = true  ");
-        loanIdentifier.append("WHERE ml.loan_status_id = 300  and mr.completed_derived is false  and mr.duedate < ")
+        loanIdentifier.append("WHERE ml.id IN (").append(placeholders(loanIds.size())).append(") ");
+        loanIdentifier.append("and ml.loan_status_id = 300  and mr.completed_derived is false  and mr.duedate < ")
                 .append(sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(ml.grace_on_arrears_ageing, 0)", "day"))
                 .append(" group by ml.id");
-        List<Long> loanIds = this.jdbcTemplate.queryForList(loanIdentifier.toString(), Long.class);
-        if (!loanIds.isEmpty()) {
-            String loanIdsAsString = loanIds.toString();
-            loanIdsAsString = loanIdsAsString.substring(1, loanIdsAsString.length() - 1);
-            OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor(loanIdsAsString, sqlGenerator);
-            Map<Long, List<LoanSchedulePeriodData>> scheduleDate = this.jdbcTemplate.query(originalScheduleExtractor.schema,
-                    originalScheduleExtractor);
-
-            List<Map<String, Object>> loanSummary = getLoanSummary(loanIdsAsString);
-            updateSchheduleWithPaidDetail(scheduleDate, loanSummary);
-            createInsertStatements(insertStatement, scheduleDate, true);
+        List<Long> originalScheduleLoanIds = this.jdbcTemplate.queryForList(loanIdentifier.toString(), Long.class, loanIds.toArray());
+        if (originalScheduleLoanIds.isEmpty()) {
+            return Map.of();
         }
+        String loanIdsAsString = originalScheduleLoanIds.toString();
+        loanIdsAsString = loanIdsAsString.substring(1, loanIdsAsString.length() - 1);
+        OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor(loanIdsAsString, sqlGenerator);
+        Map<Long, List<LoanSchedulePeriodData>> scheduleDate = this.jdbcTemplate.query(originalScheduleExtractor.schema,
+                originalScheduleExtractor);
 
-        return insertStatement;
-
+        List<Map<String, Object>> loanSummary = getLoanSummary(loanIdsAsString);
+        updateSchheduleWithPaidDetail(scheduleDate, loanSummary);
+        return calculateArrearsAgeing(scheduleDate);
     }
 
     private List<Map<String, Object>> getLoanSummary(final String loanIdsAsString) {
@@ -270,8 +366,8 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
 
     }
 
-    private void createInsertStatements(List<String> insertStatement, Map<Long, List<LoanSchedulePeriodData>> scheduleDate,
-            boolean isInsertStatement) {
+    private Map<Long, ArrearsAgeing> calculateArrearsAgeing(final Map<Long, List<LoanSchedulePeriodData>> scheduleDate) {
+        final Map<Long, ArrearsAgeing> arrears = new HashMap<>();
         for (Map.Entry<Long, List<LoanSchedulePeriodData>> entry : scheduleDate.entrySet()) {
             final Long loanId = entry.getKey();
             BigDecimal principalOverdue = BigDecimal.ZERO;
@@ -296,49 +392,10 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
                 }
             }
             if (principalOverdue.compareTo(BigDecimal.ZERO) > 0) {
-                String sqlStatement = null;
-                if (isInsertStatement) {
-                    sqlStatement = constructInsertStatement(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                            overDueSince);
-                } else {
-                    sqlStatement = constructUpdateStatement(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                            overDueSince);
-                }
-                insertStatement.add(sqlStatement);
+                arrears.put(loanId, new ArrearsAgeing(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue, overDueSince));
             }
-
         }
-    }
-
-    private String constructInsertStatement(final Long loanId, BigDecimal principalOverdue, BigDecimal interestOverdue,
-            BigDecimal feeOverdue, BigDecimal penaltyOverdue, LocalDate overDueSince) {
-        final StringBuilder insertStatementBuilder = new StringBuilder(900);
-        insertStatementBuilder.append("INSERT INTO m_loan_arrears_aging(loan_id,principal_overdue_derived,interest_overdue_derived,")
-                .append("fee_charges_overdue_derived,penalty_charges_overdue_derived,total_overdue_derived,overdue_since_date_derived) VALUES(");
-        insertStatementBuilder.append(loanId).append(",");
-        insertStatementBuilder.append(principalOverdue).append(",");
-        insertStatementBuilder.append(interestOverdue).append(",");
-        insertStatementBuilder.append(feeOverdue).append(",");
-        insertStatementBuilder.append(penaltyOverdue).append(",");
-        BigDecimal totalOverDue = principalOverdue.add(interestOverdue).add(feeOverdue).add(penaltyOverdue);
-        insertStatementBuilder.append(totalOverDue).append(",'");
-        insertStatementBuilder.append(this.formatter.format(overDueSince)).append("')");
-        return insertStatementBuilder.toString();
-    }
-
-    private String constructUpdateStatement(final Long loanId, BigDecimal principalOverdue, BigDecimal interestOverdue,
-            BigDecimal feeOverdue, BigDecimal penaltyOverdue, LocalDate overDueSince) {
-        final StringBuilder insertStatementBuilder = new StringBuilder(900);
-        insertStatementBuilder.append("UPDATE m_loan_arrears_aging SET principal_overdue_derived=");
-        insertStatementBuilder.append(principalOverdue).append(", interest_overdue_derived=");
-        insertStatementBuilder.append(interestOverdue).append(", fee_charges_overdue_derived=");
-        insertStatementBuilder.append(feeOverdue).append(", penalty_charges_overdue_derived=");
-        insertStatementBuilder.append(penaltyOverdue).append(", total_overdue_derived=");
-        BigDecimal totalOverDue = principalOverdue.add(interestOverdue).add(feeOverdue).add(penaltyOverdue);
-        insertStatementBuilder.append(totalOverDue).append(",overdue_since_date_derived= '");
-        insertStatementBuilder.append(this.formatter.format(overDueSince)).append("' ");
-        insertStatementBuilder.append("WHERE  loan_id=").append(loanId);
-        return insertStatementBuilder.toString();
+        return arrears;
     }
 
     private void updateSchheduleWithPaidDetail(Map<Long, List<LoanSchedulePeriodData>> scheduleDate,
@@ -479,6 +536,73 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
         }
     }
 
+    private static String placeholders(final int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static final class LastRun {
+
+        private final LocalDate businessDate;
+        private final LocalDateTime startedOn;
+
+        LastRun(final LocalDate businessDate, final LocalDateTime startedOn) {
+            this.businessDate = businessDate;
+            this.startedOn = startedOn;
+        }
+    }
+
+    private static final class ArrearsAgeing {
+
+        private final Long loanId;
+        private final BigDecimal principalOverdue;
+        private final BigDecimal interestOverdue;
+        private final BigDecimal feeOverdue;
+        private final BigDecimal penaltyOverdue;
+        private final LocalDate overdueSince;
+
+        ArrearsAgeing(final Long loanId, final BigDecimal principalOverdue, final BigDecimal interestOverdue, final BigDecimal feeOverdue,
+                final BigDecimal penaltyOverdue, final LocalDate overdueSince) {
+            this.loanId = loanId;
+            this.principalOverdue = principalOverdue;
+            this.interestOverdue = interestOverdue;
+            this.feeOverdue = feeOverdue;
+            this.penaltyOverdue = penaltyOverdue;
+            this.overdueSince = overdueSince;
+        }
+
+        // parameter order shared by INSERT_SQL and UPDATE_SQL
+        Object[] toParameters() {
+            final BigDecimal totalOverdue = this.principalOverdue.add(this.interestOverdue).add(this.feeOverdue).add(this.penaltyOverdue);
+            return new Object[] { this.principalOverdue, this.interestOverdue, this.feeOverdue, this.penaltyOverdue, totalOverdue,
+                    this.overdueSince, this.loanId };
+        }
+    }
+
+    /**
+     * Pages through an id list collected up front, used by the incremental run whose candidates come from a union that
+     * cannot be keyset paged cheaply.
+     */
+    private static final class SortedIdProducer implements KeysetIdProducer {
+
+        private final long[] ids;
+
+        SortedIdProducer(final List<Long> ids) {
+            this.ids = ids.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        }
+
+        @Override
+        public List<Long> nextPage(final Long lastId, final int pageSize) {
+            int from = Arrays.binarySearch(this.ids, lastId);
+            from = from < 0 ? -from - 1 : from + 1;
+            final int to = Math.min(this.ids.length, from + pageSize);
+            final List<Long> page = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                page.add(this.ids[i]);
+            }
+            return page;
+        }
+    }
+
     private void handleArrearsForLoan(Loan loan) {
         if (loan != null && loan.isOpen() && loan.repaymentScheduleDetail().isInterestRecalculationEnabled()
                 && loan.loanProduct().isArrearsBasedOnOriginalSchedule()) {
@@ -488,116 +612,120 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
         }
     }
 
-    private class RefundEventListener implements BusinessEventListener<LoanRefundPostBusinessEvent> {
+    /**
+     * Keys the event by its loan and recomputes the ageing from the loan as committed when the listener runs, so the last
+     * event handled for a loan always reflects its latest state.
+     */
+    private abstract class LoanArrearsEventListener<T extends BusinessEvent<?>> implements AsyncBusinessEventListener<T> {
+
+        protected abstract Loan loanOf(T event);
+
+        @Override
+        public BusinessEventIds idsOf(T event) {
+            final Loan loan = loanOf(event);
+            return loan == null ? null : BusinessEventIds.loan(loan.getId());
+        }
+
+        @Override
+        public void onBusinessEvent(BusinessEventIds ids) {
+            handleArrearsForLoan(loanRepositoryWrapper.findOneWithNotFoundDetection(ids.getAggregateId()));
+        }
+    }
+
+    private class RefundEventListener extends LoanArrearsEventListener<LoanRefundPostBusinessEvent> {
 
-        @SuppressWarnings("unused")
         @Override
-        public void onBusinessEvent(LoanRefundPostBusinessEvent event) {
-            LoanTransaction loanTransaction = event.get();
-            Loan loan = loanTransaction.getLoan();
-            handleArrearsForLoan(loan);
+        protected Loan loanOf(LoanRefundPostBusinessEvent event) {
+            return event.get().getLoan();
         }
     }
 
-    private class AdjustTransactionBusinessEventEventListener implements BusinessEventListener<LoanAdjustTransactionBusinessEvent> {
+    private class AdjustTransactionBusinessEventEventListener extends LoanArrearsEventListener<LoanAdjustTransactionBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanAdjustTransactionBusinessEvent event) {
+        protected Loan loanOf(LoanAdjustTransactionBusinessEvent event) {
             LoanTransaction loanTransaction = event.get().getTransactionToAdjust();
             if (loanTransaction == null) {
                 loanTransaction = event.get().getNewTransactionDetail();
             }
-            Loan loan = loanTransaction.getLoan();
-            handleArrearsForLoan(loan);
+            return loanTransaction.getLoan();
         }
     }
 
-    private class MakeRepaymentEventListener implements BusinessEventListener<LoanTransactionMakeRepaymentPostBusinessEvent> {
+    private class MakeRepaymentEventListener extends LoanArrearsEventListener<LoanTransactionMakeRepaymentPostBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanTransactionMakeRepaymentPostBusinessEvent event) {
-            LoanTransaction loanTransaction = event.get();
-            Loan loan = loanTransaction.getLoan();
-            handleArrearsForLoan(loan);
+        protected Loan loanOf(LoanTransactionMakeRepaymentPostBusinessEvent event) {
+            return event.get().getLoan();
         }
     }
 
-    private class UndoWrittenOffEventListener implements BusinessEventListener<LoanUndoWrittenOffBusinessEvent> {
+    private class UndoWrittenOffEventListener extends LoanArrearsEventListener<LoanUndoWrittenOffBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanUndoWrittenOffBusinessEvent event) {
-            LoanTransaction loanTransaction = event.get();
-            Loan loan = loanTransaction.getLoan();
-            handleArrearsForLoan(loan);
+        protected Loan loanOf(LoanUndoWrittenOffBusinessEvent event) {
+            return event.get().getLoan();
         }
     }
 
-    private class WaiveInterestEventListener implements BusinessEventListener<LoanWaiveInterestBusinessEvent> {
+    private class WaiveInterestEventListener extends LoanArrearsEventListener<LoanWaiveInterestBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanWaiveInterestBusinessEvent event) {
-            LoanTransaction loanTransaction = event.get();
-            Loan loan = loanTransaction.getLoan();
-            handleArrearsForLoan(loan);
+        protected Loan loanOf(LoanWaiveInterestBusinessEvent event) {
+            return event.get().getLoan();
         }
     }
 
-    private class LoanForeClosureEventListener implements BusinessEventListener<LoanForeClosurePostBusinessEvent> {
+    private class LoanForeClosureEventListener extends LoanArrearsEventListener<LoanForeClosurePostBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanForeClosurePostBusinessEvent event) {
-            LoanTransaction loanTransaction = event.get();
-            Loan loan = loanTransaction.getLoan();
-            handleArrearsForLoan(loan);
+        protected Loan loanOf(LoanForeClosurePostBusinessEvent event) {
+            return event.get().getLoan();
         }
     }
 
-    private class LoanChargePaymentEventListener implements BusinessEventListener<LoanChargePaymentPostBusinessEvent> {
+    private class LoanChargePaymentEventListener extends LoanArrearsEventListener<LoanChargePaymentPostBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanChargePaymentPostBusinessEvent event) {
-            LoanTransaction loanTransaction = event.get();
-            Loan loan = loanTransaction.getLoan();
-            handleArrearsForLoan(loan);
+        protected Loan loanOf(LoanChargePaymentPostBusinessEvent event) {
+            return event.get().getLoan();
         }
     }
 
-    private class AddChargeEventListener implements BusinessEventListener<LoanAddChargeBusinessEvent> {
+    private class AddChargeEventListener extends LoanArrearsEventListener<LoanAddChargeBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanAddChargeBusinessEvent event) {
-            LoanCharge loanCharge = event.get();
-            Loan loan = loanCharge.getLoan();
-            handleArrearsForLoan(loan);
+        protected Loan loanOf(LoanAddChargeBusinessEvent event) {
+            return event.get().getLoan();
         }
     }
 
-    private class WaiveChargeEventListener implements BusinessEventListener<LoanWaiveChargeBusinessEvent> {
+    private class WaiveChargeEventListener extends LoanArrearsEventListener<LoanWaiveChargeBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanWaiveChargeBusinessEvent event) {
-            LoanCharge loanCharge = event.get();
-            Loan loan = loanCharge.getLoan();
-            handleArrearsForLoan(loan);
+        protected Loan loanOf(LoanWaiveChargeBusinessEvent event) {
+            return event.get().getLoan();
         }
     }
 
-    private class ApplyOverdueChargeEventListener implements BusinessEventListener<LoanApplyOverdueChargeBusinessEvent> {
+    private class ApplyOverdueChargeEventListener extends LoanArrearsEventListener<LoanApplyOverdueChargeBusinessEvent> {
 
         @Override
-        public void onBusinessEvent(LoanApplyOverdueChargeBusinessEvent event) {
-            Loan loan = event.get();
-            handleArrearsForLoan(loan);
+        protected Loan loanOf(LoanApplyOverdueChargeBusinessEvent event) {
+            return event.get();
         }
     }
 
-    private class DisbursementEventListener implements BusinessEventListener<LoanDisbursalBusinessEvent> {
+    private class DisbursementEventListener extends LoanArrearsEventListener<LoanDisbursalBusinessEvent> {
 
-        @SuppressWarnings("unused")
         @Override
-        public void onBusinessEvent(LoanDisbursalBusinessEvent event) {
-            Loan loan = event.get();
-            updateLoanArrearsAgeingDetails(loan);
+        protected Loan loanOf(LoanDisbursalBusinessEvent event) {
+            return event.get();
+        }
+
+        @Override
+        public void onBusinessEvent(BusinessEventIds ids) {
+            updateLoanArrearsAgeingDetails(loanRepositoryWrapper.findOneWithNotFoundDetection(ids.getAggregateId()));
         }
     }
 }
@@ -23,6 +23,7 @@ import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.organisation.staff.data.StaffData;
@@ -58,6 +59,8 @@ public interface LoanReadPlatformService {
 
     Collection<LoanTransactionData> retrieveLoanTransactions(Long loanId);
 
+    Page<LoanTransactionData> retrieveLoanTransactions(Long loanId, KeysetPageRequest pageRequest);
+
     LoanAccountData retrieveTemplateWithClientAndProductDetails(Long clientId, Long productId);
 
     LoanAccountData retrieveTemplateWithGroupAndProductDetails(Long groupId, Long productId);
@@ -103,6 +106,9 @@ public interface LoanReadPlatformService {
     List<Long> retrieveAllLoanIdsWithOverdueInstallments(final Long penaltyWaitPeriod, final Boolean backdatePenalties,
             Long maxLoanIdInList, int pageSize);
 
+    List<Long> retrieveLoanIdsWithInstallmentsDueBetween(Collection<Long> officeIds, Collection<Integer> loanStatuses, LocalDate fromDate,
+            LocalDate toDate, Long maxLoanIdInList, int pageSize);
+
     Collection<OverdueLoanScheduleData> retrieveLoanAccountWithOverdueInstallments(Long penaltyWaitPeriod, Boolean backdatePenalties,
             Long loanId);
 
@@ -118,12 +124,20 @@ public interface LoanReadPlatformService {
 
     Collection<LoanScheduleAccrualData> retriveScheduleAccrualData();
 
+    List<Long> retrieveLoanIdsWithScheduleAccruals(Long maxLoanIdInList, int pageSize);
+
+    Collection<LoanScheduleAccrualData> retriveScheduleAccrualData(Collection<Long> loanIds);
+
     LoanTransactionData retrieveRecoveryPaymentTemplate(Long loanId);
 
     LoanTransactionData retrieveLoanWriteoffTemplate(Long loanId);
 
     Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(LocalDate tillDate);
 
+    List<Long> retrieveLoanIdsWithPeriodicAccruals(LocalDate tillDate, Long maxLoanIdInList, int pageSize);
+
+    Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(LocalDate tillDate, Collection<Long> loanIds);
+
     Collection<Long> fetchLoansForInterestRecalculation();
 
     List<Long> fetchLoansForInterestRecalculation(Integer pageSize, Long maxLoanIdInList, String officeHierarchy);
@@ -43,6 +43,7 @@ import org.apache.fineract.infrastructure.codes.service.CodeValueReadPlatformSer
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.configuration.service.ConfigurationReadPlatformService;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.filters.FilterConstraint;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -331,6 +332,17 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         }
     }
 
+    @Override
+    public Page<LoanTransactionData> retrieveLoanTransactions(final Long loanId, final KeysetPageRequest pageRequest) {
+        this.context.authenticatedUser();
+
+        final LoanTransactionsMapper rm = new LoanTransactionsMapper(sqlGenerator);
+        final String sql = "select " + rm.loanPaymentsSchema()
+                + " where tr.loan_id = ? and tr.transaction_type_enum not in (0, 3) and  (tr.is_reversed=false or tr.manually_adjusted_or_reversed = true)";
+        return this.paginationHelper.fetchKeysetPage(this.jdbcTemplate, sql, new Object[] { loanId }, "tr.id", true, pageRequest, rm,
+                LoanTransactionData::getId);
+    }
+
     @Override
     public Page<LoanAccountData> retrieveAll(final SearchParameters searchParameters) {
 
@@ -1679,6 +1691,27 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         return this.jdbcTemplate.query(sqlBuilder.toString(), rm, penaltyWaitPeriod, penaltyWaitPeriod, startLoanId, endLoanId);
     }
 
+    @Override
+    public List<Long> retrieveLoanIdsWithInstallmentsDueBetween(final Collection<Long> officeIds, final Collection<Integer> loanStatuses,
+            final LocalDate fromDate, final LocalDate toDate, final Long maxLoanIdInList, final int pageSize) {
+        if (officeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // loans whose client or group belongs to one of the offices, each loan once even when both do
+        final String sql = "select ml.id from m_loan ml left join m_client mc on mc.id = ml.client_id "
+                + "left join m_group mg on mg.id = ml.group_id where ml.id > :maxLoanId and ml.loan_status_id in (:loanStatuses) "
+                + "and (mc.office_id in (:officeIds) or mg.office_id in (:officeIds)) "
+                + "and exists (select 1 from m_loan_repayment_schedule ls where ls.loan_id = ml.id "
+                + "and ls.duedate >= :fromDate and ls.duedate <= :toDate) order by ml.id " + sqlGenerator.limit(pageSize);
+        final Map<String, Object> params = new HashMap<>();
+        params.put("maxLoanId", maxLoanIdInList);
+        params.put("loanStatuses", loanStatuses);
+        params.put("officeIds", officeIds);
+        params.put("fromDate", fromDate);
+        params.put("toDate", toDate);
+        return this.namedParameterJdbcTemplate.queryForList(sql, params, Long.class);
+    }
+
     @Override
     public List<Long> retrieveAllLoanIdsWithOverdueInstallments(final Long penaltyWaitPeriod, final Boolean backdatePenalties,
             Long maxLoanIdInList, int pageSize) {
@@ -1826,11 +1859,37 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
 
     @Override
     public Collection<LoanScheduleAccrualData> retriveScheduleAccrualData() {
+        return retriveScheduleAccrualData(null);
+    }
 
+    @Override
+    public List<Long> retrieveLoanIdsWithScheduleAccruals(final Long maxLoanIdInList, final int pageSize) {
+        final Map<String, Object> paramMap = new HashMap<>(5);
+        final StringBuilder sqlBuilder = new StringBuilder(600);
+        sqlBuilder.append("select distinct loan.id from ").append(ACCRUAL_SCHEDULE_JOINS).append(scheduleAccrualCondition(paramMap))
+                .append(" and loan.id > :maxLoanId order by loan.id ").append(sqlGenerator.limit(pageSize));
+        paramMap.put("maxLoanId", maxLoanIdInList);
+        return this.namedParameterJdbcTemplate.queryForList(sqlBuilder.toString(), paramMap, Long.class);
+    }
+
+    @Override
+    public Collection<LoanScheduleAccrualData> retriveScheduleAccrualData(final Collection<Long> loanIds) {
         LoanScheduleAccrualMapper mapper = new LoanScheduleAccrualMapper();
+        final Map<String, Object> paramMap = new HashMap<>(5);
+        final StringBuilder sqlBuilder = new StringBuilder(1000);
+        sqlBuilder.append("select ").append(mapper.schema()).append(scheduleAccrualCondition(paramMap));
+        if (loanIds != null) {
+            sqlBuilder.append(" and loan.id in (:loanIds) ");
+            paramMap.put("loanIds", loanIds);
+        }
+        sqlBuilder.append(" order by loan.id,ls.duedate ");
+        return this.namedParameterJdbcTemplate.query(sqlBuilder.toString(), paramMap, mapper);
+    }
+
+    private String scheduleAccrualCondition(final Map<String, Object> paramMap) {
         LocalDate organisationStartDate = this.configurationDomainService.retrieveOrganisationStartDate();
         final StringBuilder sqlBuilder = new StringBuilder(400);
-        sqlBuilder.append("select ").append(mapper.schema()).append(
+        sqlBuilder.append(
                 " where (recaldet.is_compounding_to_be_posted_as_transaction is null or recaldet.is_compounding_to_be_posted_as_transaction = false) ")
                 .append(" and (((ls.fee_charges_amount <> COALESCE(ls.accrual_fee_charges_derived, 0))")
                 .append(" or ( ls.penalty_charges_amount <> COALESCE(ls.accrual_penalty_charges_derived, 0))")
@@ -1839,42 +1898,70 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         if (organisationStartDate != null) {
             sqlBuilder.append(" and ls.duedate > :organisationStartDate ");
         }
-        sqlBuilder.append(" order by loan.id,ls.duedate ");
-        Map<String, Object> paramMap = new HashMap<>(3);
         paramMap.put("active", LoanStatus.ACTIVE.getValue());
         paramMap.put("type", AccountingRuleType.ACCRUAL_PERIODIC.getValue());
         paramMap.put("organisationStartDate", (organisationStartDate == null) ? DateUtils.getBusinessLocalDate() : organisationStartDate);
         paramMap.put("currentDate", DateUtils.getBusinessLocalDate());
-
-        return this.namedParameterJdbcTemplate.query(sqlBuilder.toString(), paramMap, mapper);
+        return sqlBuilder.toString();
     }
 
     @Override
     public Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(final LocalDate tillDate) {
+        return retrivePeriodicAccrualData(tillDate, null);
+    }
 
+    @Override
+    public List<Long> retrieveLoanIdsWithPeriodicAccruals(final LocalDate tillDate, final Long maxLoanIdInList, final int pageSize) {
+        final Map<String, Object> paramMap = new HashMap<>(5);
+        final StringBuilder sqlBuilder = new StringBuilder(600);
+        sqlBuilder.append("select distinct loan.id from ").append(ACCRUAL_SCHEDULE_JOINS)
+                .append(periodicAccrualCondition(tillDate, paramMap)).append(" and loan.id > :maxLoanId order by loan.id ")
+                .append(sqlGenerator.limit(pageSize));
+        paramMap.put("maxLoanId", maxLoanIdInList);
+        return this.namedParameterJdbcTemplate.queryForList(sqlBuilder.toString(), paramMap, Long.class);
+    }
+
+    @Override
+    public Collection<LoanScheduleAccrualData> retrivePeriodicAccrualData(final LocalDate tillDate, final Collection<Long> loanIds) {
         LoanSchedulePeriodicAccrualMapper mapper = new LoanSchedulePeriodicAccrualMapper();
+        final Map<String, Object> paramMap = new HashMap<>(5);
+        final StringBuilder sqlBuilder = new StringBuilder(1000);
+        sqlBuilder.append("select ").append(mapper.schema()).append(periodicAccrualCondition(tillDate, paramMap));
+        if (loanIds != null) {
+            sqlBuilder.append(" and loan.id in (:loanIds) ");
+            paramMap.put("loanIds", loanIds);
+        }
+        sqlBuilder.append(" order by loan.id,ls.duedate ");
+        return this.namedParameterJdbcTemplate.query(sqlBuilder.toString(), paramMap, mapper);
+    }
+
+    private String periodicAccrualCondition(final LocalDate tillDate, final Map<String, Object> paramMap) {
         LocalDate organisationStartDate = this.configurationDomainService.retrieveOrganisationStartDate();
         final StringBuilder sqlBuilder = new StringBuilder(400);
-        sqlBuilder.append("select ").append(mapper.schema()).append(
+        sqlBuilder.append(
                 " where  (recaldet.is_compounding_to_be_posted_as_transaction is null or recaldet.is_compounding_to_be_posted_as_transaction = false) ")
                 .append(" and (((ls.fee_charges_amount <> COALESCE(ls.accrual_fee_charges_derived, 0))")
                 .append(" or (ls.penalty_charges_amount <> COALESCE(ls.accrual_penalty_charges_derived, 0))")
                 .append(" or (ls.interest_amount <> COALESCE(ls.accrual_interest_derived, 0)))")
                 .append(" and loan.loan_status_id=:active and mpl.accounting_type=:type and (loan.closedon_date <= :tillDate or loan.closedon_date is null)")
                 .append(" and loan.is_npa=false and (ls.duedate <= :tillDate or (ls.duedate > :tillDate and ls.fromdate < :tillDate))) ");
-        Map<String, Object> paramMap = new HashMap<>(4);
         if (organisationStartDate != null) {
             sqlBuilder.append(" and ls.duedate > :organisationStartDate ");
             paramMap.put("organisationStartDate", organisationStartDate);
         }
-        sqlBuilder.append(" order by loan.id,ls.duedate ");
         paramMap.put("active", LoanStatus.ACTIVE.getValue());
         paramMap.put("type", AccountingRuleType.ACCRUAL_PERIODIC.getValue());
         paramMap.put("tillDate", tillDate);
-
-        return this.namedParameterJdbcTemplate.query(sqlBuilder.toString(), paramMap, mapper);
+        return sqlBuilder.toString();
     }
 
+    // shared by both accrual mappers and by the loan id producers of the accrual jobs
+    private static final String ACCRUAL_SCHEDULE_JOINS = " m_loan_repayment_schedule ls left join m_loan loan on loan.id=ls.loan_id "
+            + " left join m_product_loan mpl on mpl.id = loan.product_id"
+            + " left join m_client mc on mc.id = loan.client_id left join m_group mg on mg.id = loan.group_id"
+            + " left join m_currency curr on curr.code = loan.currency_code"
+            + " left join m_loan_recalculation_details as recaldet on loan.id = recaldet.loan_id ";
+
     private static final class LoanSchedulePeriodicAccrualMapper implements RowMapper<LoanScheduleAccrualData> {
 
         public String schema() {
@@ -1889,11 +1976,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
                     .append("ls.accrual_interest_derived as accinterest,ls.accrual_fee_charges_derived as accfeecharege,ls.accrual_penalty_charges_derived as accpenalty,")
                     .append(" loan.currency_code as currencyCode,loan.currency_digits as currencyDigits,loan.currency_multiplesof as inMultiplesOf,")
                     .append("curr.display_symbol as currencyDisplaySymbol,curr.name as currencyName,curr.internationalized_name_code as currencyNameCode")
-                    .append(" from m_loan_repayment_schedule ls ").append(" left join m_loan loan on loan.id=ls.loan_id ")
-                    .append(" left join m_product_loan mpl on mpl.id = loan.product_id")
-                    .append(" left join m_client mc on mc.id = loan.client_id ").append(" left join m_group mg on mg.id = loan.group_id")
-                    .append(" left join m_currency curr on curr.code = loan.currency_code")
-                    .append(" left join m_loan_recalculation_details as recaldet on loan.id = recaldet.loan_id ");
+                    .append(" from").append(ACCRUAL_SCHEDULE_JOINS);
             return sqlBuilder.toString();
         }
 
@@ -1949,11 +2032,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
                     .append("ls.accrual_interest_derived as accinterest,ls.accrual_fee_charges_derived as accfeecharege,ls.accrual_penalty_charges_derived as accpenalty,")
                     .append(" loan.currency_code as currencyCode,loan.currency_digits as currencyDigits,loan.currency_multiplesof as inMultiplesOf,")
                     .append("curr.display_symbol as currencyDisplaySymbol,curr.name as currencyName,curr.internationalized_name_code as currencyNameCode")
-                    .append(" from m_loan_repayment_schedule ls ").append(" left join m_loan loan on loan.id=ls.loan_id ")
-                    .append(" left join m_product_loan mpl on mpl.id = loan.product_id")
-                    .append(" left join m_client mc on mc.id = loan.client_id ").append(" left join m_group mg on mg.id = loan.group_id")
-                    .append(" left join m_currency curr on curr.code = loan.currency_code")
-                    .append(" left join m_loan_recalculation_details as recaldet on loan.id = recaldet.loan_id ");
+                    .append(" from").append(ACCRUAL_SCHEDULE_JOINS);
             return sqlBuilder.toString();
         }
 
@@ -60,6 +60,8 @@ import org.apache.fineract.infrastructure.dataqueries.data.StatusEnum;
 import org.apache.fineract.infrastructure.dataqueries.service.EntityDatatableChecksWritePlatformService;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobParameters;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.notification.service.ActiveMqNotificationDomainServiceImpl;
@@ -284,6 +286,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
     private final PostDatedChecksRepository postDatedChecksRepository;
     private final LoanRepaymentReminderRepository loanRepaymentReminderRepository;
     private final LoanDecisionStateUtilService loanDecisionStateUtilService;
+    private final PartitionedJobExecutor partitionedJobExecutor;
 
     @Autowired
     private ActiveMqNotificationDomainServiceImpl activeMqNotificationDomainService;
@@ -346,11 +349,11 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
 
         final AppUser currentUser = getAppUserIfPresent();
 
-        this.loanEventApiJsonValidator.validateDisbursement(command.json(), isAccountTransfer);
+        this.loanEventApiJsonValidator.validateDisbursement(command.parsedJson(), isAccountTransfer);
 
         if (command.parameterExists("postDatedChecks")) {
             // validate with post dated checks for the disbursement
-            this.loanEventApiJsonValidator.validateDisbursementWithPostDatedChecks(command.json(), loanId);
+            this.loanEventApiJsonValidator.validateDisbursementWithPostDatedChecks(command.parsedJson(), loanId);
         }
 
         final Loan loan = this.loanAssembler.assembleFrom(loanId);
@@ -1004,7 +1007,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
             final JsonCommand command, final boolean isRecoveryRepayment, final boolean isPayOff) {
         final AppUser currentUser = getAppUserIfPresent();
         this.loanUtilService.validateRepaymentTransactionType(repaymentTransactionType, isPayOff);
-        this.loanEventApiJsonValidator.validateNewRepaymentTransaction(command.json());
+        this.loanEventApiJsonValidator.validateNewRepaymentTransaction(command.parsedJson());
 
         final LocalDate transactionDate = command.localDateValueOfParameterNamed("transactionDate");
         final BigDecimal transactionAmount = command.bigDecimalValueOfParameterNamed("transactionAmount");
@@ -1143,7 +1146,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
 
         AppUser currentUser = getAppUserIfPresent();
 
-        this.loanEventApiJsonValidator.validateTransaction(command.json());
+        this.loanEventApiJsonValidator.validateTransaction(command.parsedJson());
 
         final Loan loan = this.loanAssembler.assembleFrom(loanId);
         if (loan.status().isClosed() && loan.getLoanSubStatus() != null
@@ -1276,7 +1279,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
 
         AppUser currentUser = getAppUserIfPresent();
 
-        this.loanEventApiJsonValidator.validateTransaction(command.json());
+        this.loanEventApiJsonValidator.validateTransaction(command.parsedJson());
 
         final Map<String, Object> changes = new LinkedHashMap<>();
         changes.put("transactionDate", command.stringValueOfParameterNamed("transactionDate"));
@@ -1573,7 +1576,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
     @Override
     public CommandProcessingResult addLoanCharge(final Long loanId, final JsonCommand command) {
 
-        this.loanEventApiJsonValidator.validateAddLoanCharge(command.json());
+        this.loanEventApiJsonValidator.validateAddLoanCharge(command.parsedJson());
 
         final Loan loan = this.loanAssembler.assembleFrom(loanId);
         checkClientOrGroupActive(loan);
@@ -1754,7 +1757,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
     @Override
     public CommandProcessingResult updateLoanCharge(final Long loanId, final Long loanChargeId, final JsonCommand command) {
 
-        this.loanEventApiJsonValidator.validateUpdateOfLoanCharge(command.json());
+        this.loanEventApiJsonValidator.validateUpdateOfLoanCharge(command.parsedJson());
 
         final Loan loan = this.loanAssembler.assembleFrom(loanId);
         checkClientOrGroupActive(loan);
@@ -1937,7 +1940,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
 
         final Loan loan = this.loanAssembler.assembleFrom(loanId);
         checkClientOrGroupActive(loan);
-        this.loanEventApiJsonValidator.validateInstallmentChargeTransaction(command.json());
+        this.loanEventApiJsonValidator.validateInstallmentChargeTransaction(command.parsedJson());
         final LoanCharge loanCharge = retrieveLoanChargeBy(loanId, loanChargeId);
 
         // Charges may be waived only when the loan associated with them are
@@ -2049,7 +2052,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
     public CommandProcessingResult payLoanCharge(final Long loanId, Long loanChargeId, final JsonCommand command,
             final boolean isChargeIdIncludedInJson) {
 
-        this.loanEventApiJsonValidator.validateChargePaymentTransaction(command.json(), isChargeIdIncludedInJson);
+        this.loanEventApiJsonValidator.validateChargePaymentTransaction(command.parsedJson(), isChargeIdIncludedInJson);
         if (isChargeIdIncludedInJson) {
             loanChargeId = command.longValueOfParameterNamed("chargeId");
         }
@@ -2707,10 +2710,15 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         this.loanRepositoryWrapper.save(loansToUpdate);
     }
 
-    @Transactional
+    /**
+     * Applies unprocessed holidays to the loans of their offices that have an installment due within the holiday. The
+     * loans are rescheduled in chunks on parallel workers, every chunk in its own transaction. A holiday is marked
+     * processed only once all of its loans were rescheduled; rescheduled loans no longer have installments inside the
+     * holiday, so a later run only picks up the loans that failed.
+     */
     @Override
     @CronTarget(jobName = JobName.APPLY_HOLIDAYS_TO_LOANS)
-    public void applyHolidaysToLoans() {
+    public void applyHolidaysToLoans(final Map<String, String> jobParameters) throws JobExecutionException {
 
         final boolean isHolidayEnabled = this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled();
 
@@ -2720,35 +2728,38 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
 
         final Collection<Integer> loanStatuses = new ArrayList<>(Arrays.asList(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(),
                 LoanStatus.APPROVED.getValue(), LoanStatus.ACTIVE.getValue()));
+        final PartitionedJobParameters parameters = PartitionedJobParameters.fromJobParameters(jobParameters);
+        final List<Throwable> errors = new ArrayList<>();
         // Get all Holidays which are active and not processed
         final List<Holiday> holidays = this.holidayRepository.findUnprocessed();
 
         // Loop through all holidays
         for (final Holiday holiday : holidays) {
             // All offices to which holiday is applied
-            final Set<Office> offices = holiday.getOffices();
-            final Collection<Long> officeIds = new ArrayList<>(offices.size());
-            for (final Office office : offices) {
-                officeIds.add(office.getId());
-            }
-
-            // get all loans
-            final List<Loan> loans = new ArrayList<>();
-            // get all individual and jlg loans
-            loans.addAll(this.loanRepositoryWrapper.findByClientOfficeIdsAndLoanStatus(officeIds, loanStatuses));
-            // FIXME: AA optimize to get all client and group loans belongs to a
-            // office id
-            // get all group loans
-            loans.addAll(this.loanRepositoryWrapper.findByGroupOfficeIdsAndLoanStatus(officeIds, loanStatuses));
-
-            for (final Loan loan : loans) {
-                // apply holiday
-                loan.applyHolidayToRepaymentScheduleDates(holiday, this.loanUtilService);
-            }
-            this.loanRepositoryWrapper.save(loans);
+            final Collection<Long> officeIds = holiday.getOffices().stream().map(Office::getId).toList();
+            final LocalDate fromDate = holiday.getFromDateLocalDate();
+            final LocalDate toDate = holiday.getToDateLocalDate();
+            try {
+                this.partitionedJobExecutor.execute("Apply holiday " + holiday.getId() + " to loans", parameters,
+                        (maxLoanId, pageSize) -> this.loanReadPlatformService.retrieveLoanIdsWithInstallmentsDueBetween(officeIds,
+                                loanStatuses, fromDate, toDate, maxLoanId, pageSize),
+                        (loanId, chunkData) -> applyHolidayToLoan(loanId, holiday));
+            } catch (JobExecutionException e) {
+                errors.addAll(e.getCauses());
+                continue;
+            }
             holiday.processed();
+            this.holidayRepository.save(holiday);
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
         }
-        this.holidayRepository.save(holidays);
+    }
+
+    private void applyHolidayToLoan(final Long loanId, final Holiday holiday) {
+        final Loan loan = this.loanRepositoryWrapper.findOneWithNotFoundDetection(loanId, true);
+        loan.applyHolidayToRepaymentScheduleDates(holiday, this.loanUtilService);
+        this.loanRepositoryWrapper.save(loan);
     }
 
     private void checkClientOrGroupActive(final Loan loan) {
@@ -3195,7 +3206,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
 
         LoanTransaction transaction = null;
 
-        this.loanEventApiJsonValidator.validateChargePaymentTransaction(command.json(), isChargeIdIncludedInJson);
+        this.loanEventApiJsonValidator.validateChargePaymentTransaction(command.parsedJson(), isChargeIdIncludedInJson);
         if (isChargeIdIncludedInJson) {
             loanChargeId = command.longValueOfParameterNamed("chargeId");
         }
@@ -43,10 +43,12 @@ import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.portfolio.paymenttype.data.PaymentTypeData;
 import org.apache.fineract.portfolio.paymenttype.service.PaymentTypeReadPlatformService;
@@ -238,13 +240,23 @@ public class SavingsAccountTransactionsApiResource {
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
     @Operation(summary = "List Savings Account Transactions", description = "Example Requests:\n" + "\n"
-            + "savingsaccounts/1/transactions\n" + "\n" + "savingsaccounts/1/transactions?offset=10&limit=50\n")
+            + "savingsaccounts/1/transactions\n" + "\n" + "savingsaccounts/1/transactions?offset=10&limit=50\n" + "\n"
+            + "Keyset pagination, newest transaction first: pass an empty after for the first page and the returned nextCursor for "
+            + "the following ones; count=exact|estimated|none (default none) selects how totalFilteredRecords is computed.\n" + "\n"
+            + "savingsaccounts/1/transactions?after=&limit=50\n")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = SavingsAccountTransactionsApiResourceSwagger.GetSavingsAccountTransactionsResponse.class)))) })
     public String retrieveAll(@PathParam("savingsId") final Long savingsId, @Context final UriInfo uriInfo,
-            @QueryParam("offset") Integer offset, @QueryParam("limit") Integer limit) {
+            @QueryParam("offset") Integer offset, @QueryParam("limit") Integer limit,
+            @QueryParam(KeysetPageRequest.AFTER_PARAMETER) final String after,
+            @QueryParam(KeysetPageRequest.COUNT_PARAMETER) final String count) {
 
         this.context.authenticatedUser().validateHasReadPermission(SavingsApiConstants.SAVINGS_ACCOUNT_RESOURCE_NAME);
+        if (KeysetPageRequest.isRequested(after)) {
+            final Page<SavingsAccountTransactionData> transactions = this.savingsAccountReadPlatformService
+                    .retrieveAllTransactions(savingsId, KeysetPageRequest.instance(after, limit, count));
+            return this.toApiJsonSerializer.serialize(transactions);
+        }
         Collection<SavingsAccountTransactionData> transactions = this.savingsAccountReadPlatformService.retrieveAllTransactions(savingsId,
                 offset, limit);
         return this.toApiJsonSerializer.serialize(transactions);
@@ -21,6 +21,7 @@ package org.apache.fineract.portfolio.savings.service;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.portfolio.savings.DepositAccountType;
@@ -47,6 +48,8 @@ public interface SavingsAccountReadPlatformService {
 
     Collection<SavingsAccountTransactionData> retrieveAllTransactions(Long savingsId, Integer offset, Integer limit);
 
+    Page<SavingsAccountTransactionData> retrieveAllTransactions(Long savingsId, KeysetPageRequest pageRequest);
+
     Collection<SavingsAccountTransactionData> retrieveAccrualTransactions(Long savingsId, DepositAccountType depositAccountType,
             Integer offset, Integer limit);
 
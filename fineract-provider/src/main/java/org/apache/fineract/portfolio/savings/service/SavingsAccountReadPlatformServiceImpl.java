@@ -39,6 +39,7 @@ import org.apache.fineract.accounting.glaccount.data.GLAccountData;
 import org.apache.fineract.infrastructure.codes.data.CodeValueData;
 import org.apache.fineract.infrastructure.codes.service.CodeValueReadPlatformService;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.filters.FilterConstraint;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -505,6 +506,13 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         return this.jdbcTemplate.query(sql, this.transactionsMapper, new Object[] { savingsId, limit, offset }); // NOSONAR
     }
 
+    @Override
+    public Page<SavingsAccountTransactionData> retrieveAllTransactions(final Long savingsId, final KeysetPageRequest pageRequest) {
+        final String sql = "select " + this.transactionsMapper.schema() + " where sa.id = ? AND transaction_type_enum not in (22,25)";
+        return this.paginationHelper.fetchKeysetPage(this.jdbcTemplate, sql, new Object[] { savingsId }, "tr.id", true, pageRequest,
+                this.transactionsMapper, SavingsAccountTransactionData::getId);
+    }
+
     @Override
     public Collection<SavingsAccountTransactionData> retrieveAccrualTransactions(final Long savingsId,
             DepositAccountType depositAccountType, Integer offset, Integer limit) {
@@ -22,23 +22,14 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import org.apache.fineract.accounting.glaccount.domain.TrialBalance;
 import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
-import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -50,6 +41,8 @@ import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetailRepository;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobParameters;
 import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.jobs.service.JobRegisterService;
@@ -69,7 +62,6 @@ import org.apache.fineract.portfolio.shareaccounts.service.ShareAccountSchedular
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -80,8 +72,6 @@ import org.springframework.util.CollectionUtils;
 public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService {
 
     private static final Logger LOG = LoggerFactory.getLogger(ScheduledJobRunnerServiceImpl.class);
-    private final int queueSize = 1;
-
     private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
     private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
     private final SavingsAccountChargeReadPlatformService savingsAccountChargeReadPlatformService;
@@ -98,7 +88,7 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
     private final SavingsAccountReadPlatformService savingsAccountReadPlatformService;
     private final JobExecuter jobExecuter;
     private final SavingsAccountRepositoryWrapper savingAccountRepositoryWrapper;
-    private final ApplicationContext applicationContext;
+    private final PartitionedJobExecutor partitionedJobExecutor;
     private final JdbcTemplate jdbcTemplate;
 
     @Autowired
@@ -113,7 +103,7 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
             final ScheduledJobDetailRepository scheduledJobDetailsRepository, final FineractProperties fineractProperties,
             DatabaseSpecificSQLGenerator sqlGenerator, DatabaseTypeResolver databaseTypeResolver,
             final SavingsAccountReadPlatformService savingsAccountReadPlatformService, final JobExecuter jobExecuter,
-            SavingsAccountRepositoryWrapper savingAccountRepositoryWrapper, final ApplicationContext applicationContext,
+            SavingsAccountRepositoryWrapper savingAccountRepositoryWrapper, final PartitionedJobExecutor partitionedJobExecutor,
             final RoutingDataSource dataSource) {
         this.dataSourceServiceFactory = dataSourceServiceFactory;
         this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
@@ -131,7 +121,7 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
         this.savingsAccountReadPlatformService = savingsAccountReadPlatformService;
         this.jobExecuter = jobExecuter;
         this.savingAccountRepositoryWrapper = savingAccountRepositoryWrapper;
-        this.applicationContext = applicationContext;
+        this.partitionedJobExecutor = partitionedJobExecutor;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
     }
 
@@ -444,118 +434,11 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
     @Override
     @CronTarget(jobName = JobName.POST_ACCRUAL_INTEREST_FOR_SAVINGS)
     public void postAccrualInterestForSavings(Map<String, String> jobParameters) throws JobExecutionException {
-
-        final Queue<List<Long>> queue = new ArrayDeque<>();
-        final ApplicationContext applicationContext;
-        final int threadPoolSize = Integer.parseInt(jobParameters.get("thread-pool-size"));
-        final int batchSize = Integer.parseInt(jobParameters.get("batch-size"));
-        final int pageSize = batchSize * threadPoolSize;
-        Long maxSavingsAccountIdInList = 0L;
-
-        final List<Long> activeSavingsAccounts = this.savingsAccountReadPlatformService
-                .retrieveActiveSavingsAccrualAccounts(maxSavingsAccountIdInList, pageSize);
-
-        final ExecutorService executorService = Executors.newFixedThreadPool(threadPoolSize);
-
-        if (activeSavingsAccounts != null && !activeSavingsAccounts.isEmpty()) {
-            queue.add(activeSavingsAccounts.stream().toList());
-            if (!CollectionUtils.isEmpty(queue)) {
-                LOG.info("Starting Post Accrual Interest for Savings");
-                do {
-                    List<Long> queueElement = queue.element();
-                    LOG.info("Post Accrual Interest for Savings- total records in batch - {}", queueElement.size());
-                    maxSavingsAccountIdInList = queueElement.get(queueElement.size() - 1);
-                    postAccrualInterestForSavings(queue.remove(), queue, threadPoolSize, executorService, pageSize,
-                            maxSavingsAccountIdInList);
-                } while (!CollectionUtils.isEmpty(queue));
-            }
-            // shutdown the executor when done
-            executorService.shutdownNow();
-        }
-    }
-
-    private void postAccrualInterestForSavings(List<Long> activeSavingsAccounts, Queue<List<Long>> queue, int threadPoolSize,
-            ExecutorService executorService, int pageSize, Long maxSavingsAccountIdInList) {
-        List<Callable<Void>> posters = new ArrayList<>();
-        int fromIndex = 0;
-        int size = activeSavingsAccounts.size();
-        int batchSize = (int) Math.ceil((double) size / threadPoolSize);
-        if (batchSize == 0) {
-            return;
-        }
-        int toIndex = (batchSize > size - 1) ? size : batchSize;
-        while (toIndex < size && activeSavingsAccounts.get(toIndex - 1).equals(activeSavingsAccounts.get(toIndex))) {
-            toIndex++;
-        }
-        boolean lastBatch = false;
-        int loopCount = size / batchSize + 1;
-
-        FineractContext context = ThreadLocalContextUtil.getContext();
-
-        Callable<Void> fetchData = () -> {
-            ThreadLocalContextUtil.init(context);
-            Long maxId = maxSavingsAccountIdInList;
-            if (!queue.isEmpty()) {
-                maxId = Math.max(maxSavingsAccountIdInList, queue.element().get(queue.element().size() - 1));
-            }
-            while (queue.size() <= queueSize) {
-                LOG.info("Fetching while threads are running!");
-                final List<Long> activeSavingsAccountsNextBatch = this.savingsAccountReadPlatformService
-                        .retrieveActiveSavingsAccrualAccounts(maxId, pageSize);
-
-                if (activeSavingsAccountsNextBatch == null || activeSavingsAccountsNextBatch.isEmpty()) {
-                    break;
-                }
-                maxId = activeSavingsAccountsNextBatch.get(activeSavingsAccountsNextBatch.size() - 1);
-                queue.add(activeSavingsAccountsNextBatch);
-            }
-            return null;
-        };
-        posters.add(fetchData);
-
-        for (long i = 0; i < loopCount; i++) {
-            List<Long> subList = safeSubList(activeSavingsAccounts, fromIndex, toIndex);
-            AccrualInterestForSavingsPoster poster = (AccrualInterestForSavingsPoster) applicationContext
-                    .getBean("accrualInterestForSavingsPoster");
-            poster.setSavingsAccountIds(subList);
-            poster.setSavingsAccountWritePlatformService(this.savingsAccountWritePlatformService);
-            poster.setContext(ThreadLocalContextUtil.getContext());
-
-            posters.add(poster);
-            if (lastBatch) {
-                break;
-            }
-            if (toIndex + batchSize > size - 1) {
-                lastBatch = true;
-            }
-            fromIndex = fromIndex + (toIndex - fromIndex);
-            toIndex = (toIndex + batchSize > size - 1) ? size : toIndex + batchSize;
-            while (toIndex < size && activeSavingsAccounts.get(toIndex - 1).equals(activeSavingsAccounts.get(toIndex))) {
-                toIndex++;
-            }
-        }
-        try {
-            List<Future<Void>> responses = executorService.invokeAll(posters);
-            Long maxId = maxSavingsAccountIdInList;
-            if (!queue.isEmpty()) {
-                maxId = Math.max(maxSavingsAccountIdInList, queue.element().get(queue.element().size() - 1));
-            }
-            while (queue.size() <= queueSize) {
-                LOG.info("Fetching while threads are running!..:: this is not supposed to run........");
-                activeSavingsAccounts = this.savingsAccountReadPlatformService.retrieveActiveSavingsAccrualAccounts(maxId, pageSize);
-
-                if (activeSavingsAccounts == null || activeSavingsAccounts.isEmpty()) {
-                    break;
-                }
-                maxId = activeSavingsAccounts.get(activeSavingsAccounts.size() - 1);
-                LOG.info("Add to the Queue");
-                queue.add(activeSavingsAccounts);
-            }
-            checkTaskCompletion(responses);
-            LOG.info("Queue size {}", queue.size());
-        } catch (InterruptedException e1) {
-            LOG.error("Interrupted while AddPenalty", e1);
-        }
+        final LocalDate jobRunDate = DateUtils.getLocalDateOfTenant();
+        this.partitionedJobExecutor.execute("Post Accrual Interest for Savings", PartitionedJobParameters.fromJobParameters(jobParameters),
+                this.savingsAccountReadPlatformService::retrieveActiveSavingsAccrualAccounts,
+                (savingsAccountId, chunkData) -> this.savingsAccountWritePlatformService.postAccrualInterest(savingsAccountId, jobRunDate,
+                        false));
     }
 
     @Override
@@ -592,39 +475,4 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
             throw new JobExecutionException(exceptions);
         }
     }
-
-    private <T> List<T> safeSubList(List<T> list, int fromIndex, int toIndex) {
-        int size = list.size();
-        if (fromIndex >= size || toIndex <= 0 || fromIndex >= toIndex) {
-            return Collections.emptyList();
-        }
-
-        fromIndex = Math.max(0, fromIndex);
-        toIndex = Math.min(size, toIndex);
-
-        return list.subList(fromIndex, toIndex);
-    }
-
-    private void checkTaskCompletion(List<Future<Void>> responses) {
-        try {
-            for (Future<Void> f : responses) {
-                f.get();
-            }
-            boolean allThreadsExecuted;
-            int noOfThreadsExecuted = 0;
-            for (Future<Void> future : responses) {
-                if (future.isDone()) {
-                    noOfThreadsExecuted++;
-                }
-            }
-            allThreadsExecuted = noOfThreadsExecuted == responses.size();
-            if (!allThreadsExecuted) {
-                LOG.error("All threads could not execute.");
-            }
-        } catch (InterruptedException e1) {
-            LOG.error("Interrupted while interest posting entries", e1);
-        } catch (ExecutionException e2) {
-            LOG.error("Execution exception while interest posting entries", e2);
-        }
-    }
 }
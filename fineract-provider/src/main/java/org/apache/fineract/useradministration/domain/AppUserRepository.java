@@ -19,6 +19,7 @@
 package org.apache.fineract.useradministration.domain;
 
 import java.util.Collection;
+import java.util.Set;
 import org.apache.fineract.infrastructure.security.domain.PlatformUserRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -31,4 +32,12 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long>, JpaSpec
     AppUser findAppUserByName(@Param("username") String username);
 
     Collection<AppUser> findByOfficeId(Long officeId);
+
+    @Query("select distinct appUser.id from AppUser appUser join appUser.roles role join role.permissions permission "
+            + "where appUser.office.id = :officeId and upper(permission.code) in :permissionCodes")
+    Set<Long> findIdsByOfficeIdAndPermissionCodes(@Param("officeId") Long officeId,
+            @Param("permissionCodes") Collection<String> permissionCodes);
+
+    @Query("select appUser.id from AppUser appUser where appUser.office.id = :officeId and appUser.id in :ids")
+    Set<Long> findIdsByOfficeIdAndIdIn(@Param("officeId") Long officeId, @Param("ids") Collection<Long> ids);
 }
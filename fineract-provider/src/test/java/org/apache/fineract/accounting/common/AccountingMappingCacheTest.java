@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.accounting.closure.domain.GLClosure;
+import org.apache.fineract.accounting.closure.domain.GLClosureRepository;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMapping;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGLAccountMappingRepository;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.charge.domain.ChargeRepositoryWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AccountingMappingCacheTest {
+
+    private static final Long OFFICE_ID = 1L;
+    private static final Long OTHER_OFFICE_ID = 2L;
+    private static final Long PRODUCT_ID = 10L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ProductToGLAccountMappingRepository accountMappingRepository;
+    @Mock
+    private ChargeRepositoryWrapper chargeRepositoryWrapper;
+    @Mock
+    private GLClosureRepository closureRepository;
+
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    private AccountingMappingCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        given(this.jdbcTemplate.queryForList(anyString(), eq(Long.class), (Object[]) any()))
+                .willAnswer(invocation -> List.of(this.versions.getOrDefault(invocation.<String>getArgument(2), 0L)));
+        given(this.jdbcTemplate.update(anyString(), (Object[]) any())).willAnswer(invocation -> {
+            this.versions.merge(invocation.getArgument(1), 1L, Long::sum);
+            return 1;
+        });
+        final FineractProperties properties = new FineractProperties();
+        final FineractProperties.FineractAccountingProperties accounting = new FineractProperties.FineractAccountingProperties();
+        // compare the versions on every read so that invalidation is visible at once
+        accounting.setMappingCacheCheckIntervalSeconds(0);
+        properties.setAccounting(accounting);
+        this.underTest = new AccountingMappingCache(this.jdbcTemplate, this.accountMappingRepository, this.chargeRepositoryWrapper,
+                this.closureRepository, properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testLatestClosingDateIsReadOncePerOfficeIncludingOfficesNeverClosed() {
+        final GLClosure closure = closure(LocalDate.of(2022, 3, 31));
+        given(this.closureRepository.getLatestGLClosureByBranch(OFFICE_ID)).willReturn(closure);
+
+        assertEquals(LocalDate.of(2022, 3, 31), this.underTest.getLatestClosingDate(OFFICE_ID));
+        assertEquals(LocalDate.of(2022, 3, 31), this.underTest.getLatestClosingDate(OFFICE_ID));
+        assertNull(this.underTest.getLatestClosingDate(OTHER_OFFICE_ID));
+        assertNull(this.underTest.getLatestClosingDate(OTHER_OFFICE_ID));
+
+        verify(this.closureRepository, times(1)).getLatestGLClosureByBranch(OFFICE_ID);
+        verify(this.closureRepository, times(1)).getLatestGLClosureByBranch(OTHER_OFFICE_ID);
+    }
+
+    @Test
+    public void testInvalidatingClosingDatesReloadsThemButKeepsTheMappings() {
+        final GLClosure march = closure(LocalDate.of(2022, 3, 31));
+        final GLClosure april = closure(LocalDate.of(2022, 4, 30));
+        given(this.closureRepository.getLatestGLClosureByBranch(OFFICE_ID)).willReturn(march, april);
+        givenProductAccount(100L);
+
+        assertEquals(LocalDate.of(2022, 3, 31), this.underTest.getLatestClosingDate(OFFICE_ID));
+        assertEquals(100L, this.underTest.getProductAccountId(PRODUCT_ID, 1, 2));
+
+        this.underTest.invalidateClosingDates();
+
+        assertEquals(LocalDate.of(2022, 4, 30), this.underTest.getLatestClosingDate(OFFICE_ID));
+        assertEquals(100L, this.underTest.getProductAccountId(PRODUCT_ID, 1, 2));
+        verify(this.closureRepository, times(2)).getLatestGLClosureByBranch(OFFICE_ID);
+        verify(this.accountMappingRepository, times(1)).findCoreProductToFinAccountMapping(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testClosureMadeOnAnotherNodeIsPickedUpFromTheVersion() {
+        final GLClosure march = closure(LocalDate.of(2022, 3, 31));
+        final GLClosure april = closure(LocalDate.of(2022, 4, 30));
+        given(this.closureRepository.getLatestGLClosureByBranch(OFFICE_ID)).willReturn(march, april);
+
+        assertEquals(LocalDate.of(2022, 3, 31), this.underTest.getLatestClosingDate(OFFICE_ID));
+        this.versions.merge("gl_closure", 1L, Long::sum);
+
+        assertEquals(LocalDate.of(2022, 4, 30), this.underTest.getLatestClosingDate(OFFICE_ID));
+    }
+
+    @Test
+    public void testInvalidatingMappingsKeepsTheClosingDates() {
+        final GLClosure closure = closure(LocalDate.of(2022, 3, 31));
+        given(this.closureRepository.getLatestGLClosureByBranch(OFFICE_ID)).willReturn(closure);
+
+        this.underTest.getLatestClosingDate(OFFICE_ID);
+        this.underTest.invalidate();
+        this.underTest.getLatestClosingDate(OFFICE_ID);
+
+        verify(this.closureRepository, times(1)).getLatestGLClosureByBranch(OFFICE_ID);
+    }
+
+    private static GLClosure closure(final LocalDate closingDate) {
+        final GLClosure closure = mock(GLClosure.class);
+        given(closure.getClosingDate()).willReturn(closingDate);
+        return closure;
+    }
+
+    private void givenProductAccount(final Long accountId) {
+        final GLAccount account = mock(GLAccount.class);
+        given(account.getId()).willReturn(accountId);
+        final ProductToGLAccountMapping mapping = mock(ProductToGLAccountMapping.class);
+        given(mapping.getGlAccount()).willReturn(account);
+        given(this.accountMappingRepository.findCoreProductToFinAccountMapping(anyLong(), anyInt(), anyInt())).willReturn(mapping);
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.accounting.common.AccountingConstants.CashAccountsForLoan;
+import org.apache.fineract.accounting.common.AccountingMappingCache;
+import org.apache.fineract.accounting.financialactivityaccount.domain.FinancialActivityAccountRepositoryWrapper;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountRepositoryWrapper;
+import org.apache.fineract.accounting.journalentry.data.ChargePaymentDTO;
+import org.apache.fineract.accounting.journalentry.data.LoanDTO;
+import org.apache.fineract.accounting.journalentry.data.LoanTransactionDTO;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
+import org.apache.fineract.portfolio.account.service.AccountTransfersReadPlatformService;
+import org.apache.fineract.portfolio.client.domain.ClientTransactionRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.data.LoanTransactionEnumData;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AccountingProcessorHelperTest {
+
+    private static final Long OFFICE_ID = 1L;
+    private static final Long LOAN_ID = 40L;
+    private static final Long LOAN_PRODUCT_ID = 10L;
+    private static final Long LOAN_TRANSACTION_ID = 30L;
+    private static final Long FEE_CHARGE_ID = 50L;
+    private static final Long OTHER_FEE_CHARGE_ID = 51L;
+    private static final Long PENALTY_CHARGE_ID = 52L;
+    private static final Long FEE_CHARGE_ACCOUNT_ID = 105L;
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2022, 3, 15);
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+    @Mock
+    private FinancialActivityAccountRepositoryWrapper financialActivityAccountRepository;
+    @Mock
+    private GLAccountRepositoryWrapper accountRepositoryWrapper;
+    @Mock
+    private OfficeRepositoryWrapper officeRepositoryWrapper;
+    @Mock
+    private LoanTransactionRepository loanTransactionRepository;
+    @Mock
+    private ClientTransactionRepositoryWrapper clientTransactionRepository;
+    @Mock
+    private SavingsAccountTransactionRepository savingsAccountTransactionRepository;
+    @Mock
+    private AccountTransfersReadPlatformService accountTransfersReadPlatformService;
+    @Mock
+    private AccountingMappingCache accountingMappingCache;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private AuditorAware<Long> auditorAware;
+
+    private final Map<Long, GLAccount> accounts = new HashMap<>();
+
+    private AccountingProcessorHelper underTest;
+    private CashBasedAccountingProcessorForLoan processor;
+
+    @BeforeEach
+    public void setUp() {
+        final Office office = entity(Office.class, OFFICE_ID);
+        given(this.officeRepositoryWrapper.findOneWithNotFoundDetection(OFFICE_ID)).willReturn(office);
+        final LoanTransaction loanTransaction = entity(LoanTransaction.class, LOAN_TRANSACTION_ID);
+        given(this.loanTransactionRepository.getReferenceById(LOAN_TRANSACTION_ID)).willReturn(loanTransaction);
+        given(this.accountRepositoryWrapper.getReference(anyLong())).willAnswer(invocation -> this.accounts.get(invocation.getArgument(0)));
+        mapAccount(CashAccountsForLoan.LOAN_PORTFOLIO, 100L);
+        mapAccount(CashAccountsForLoan.INTEREST_ON_LOANS, 101L);
+        mapAccount(CashAccountsForLoan.INCOME_FROM_FEES, 102L);
+        mapAccount(CashAccountsForLoan.INCOME_FROM_PENALTIES, 103L);
+        mapAccount(CashAccountsForLoan.FUND_SOURCE, 104L);
+        // mocked Long lookups answer 0 by default, while the cache answers null for a missing mapping
+        given(this.accountingMappingCache.getPaymentTypeAccountId(anyLong(), anyInt(), anyInt(), any())).willReturn(null);
+        given(this.accountingMappingCache.getChargeMappingAccountId(anyLong(), anyInt(), anyInt(), anyLong())).willReturn(null);
+        given(this.accountingMappingCache.getChargeMappingAccountId(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue(),
+                CashAccountsForLoan.INCOME_FROM_FEES.getValue(), FEE_CHARGE_ID)).willReturn(FEE_CHARGE_ACCOUNT_ID);
+        this.accounts.put(FEE_CHARGE_ACCOUNT_ID, entity(GLAccount.class, FEE_CHARGE_ACCOUNT_ID));
+        given(this.auditorAware.getCurrentAuditor()).willReturn(Optional.of(1L));
+
+        this.underTest = new AccountingProcessorHelper(this.journalEntryRepository, this.financialActivityAccountRepository,
+                this.accountRepositoryWrapper, this.officeRepositoryWrapper, this.loanTransactionRepository,
+                this.clientTransactionRepository, this.savingsAccountTransactionRepository, this.accountTransfersReadPlatformService,
+                new JournalEntryBatchWriter(this.jdbcTemplate, this.auditorAware), this.accountingMappingCache);
+        this.processor = new CashBasedAccountingProcessorForLoan(this.underTest);
+    }
+
+    @Test
+    public void repaymentWithFeesAndPenaltiesWritesTheRowsOfTheEntriesSavedOneByOne() {
+        this.processor.createJournalEntriesForLoan(repayment());
+        final ArgumentCaptor<JournalEntry> saved = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(this.journalEntryRepository, times(6)).saveAndFlush(saved.capture());
+        final List<List<Object>> savedColumns = saved.getAllValues().stream().map(AccountingProcessorHelperTest::columns).toList();
+
+        this.underTest.executeInUnitOfWork(() -> this.processor.createJournalEntriesForLoan(repayment()));
+
+        final List<List<Object>> writtenColumns = writtenRows().stream().map(row -> Arrays.asList(row).subList(0, 18)).toList();
+        assertEquals(savedColumns, writtenColumns);
+        verify(this.journalEntryRepository, times(6)).saveAndFlush(any());
+
+        // principal, interest, the two fee accounts, penalties and the single fund source debit
+        assertEquals(List.of(100L, 101L, FEE_CHARGE_ACCOUNT_ID, 102L, 103L, 104L),
+                writtenColumns.stream().map(row -> row.get(2)).distinct().toList());
+        assertEquals(List.of(new BigDecimal("100"), new BigDecimal("10"), new BigDecimal("5"), new BigDecimal("2"), new BigDecimal("3"),
+                new BigDecimal("120")), writtenColumns.stream().map(row -> row.get(13)).toList());
+        assertEquals(JournalEntryType.DEBIT.getValue(), writtenColumns.get(5).get(12));
+    }
+
+    @Test
+    public void nestedUnitsOfWorkJoinTheOuterOne() {
+        this.underTest.executeInUnitOfWork(() -> {
+            credit(CashAccountsForLoan.LOAN_PORTFOLIO, BigDecimal.TEN);
+            this.underTest.executeInUnitOfWork(() -> debit(CashAccountsForLoan.FUND_SOURCE, BigDecimal.TEN));
+            verify(this.jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        });
+
+        assertEquals(2, writtenRows().size());
+        verify(this.journalEntryRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void entriesAreDiscardedWhenTheWorkThrows() {
+        final IllegalStateException failure = new IllegalStateException("posting failed");
+
+        final IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> this.underTest.executeInUnitOfWork(() -> {
+            credit(CashAccountsForLoan.LOAN_PORTFOLIO, BigDecimal.TEN);
+            this.underTest.executeInUnitOfWork(() -> {
+                debit(CashAccountsForLoan.FUND_SOURCE, BigDecimal.TEN);
+                throw failure;
+            });
+        }));
+
+        assertEquals(failure, thrown);
+        verify(this.jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(this.journalEntryRepository, never()).saveAndFlush(any());
+
+        // the unit of work has ended, so the next entry is saved on its own
+        credit(CashAccountsForLoan.LOAN_PORTFOLIO, BigDecimal.ONE);
+        verify(this.journalEntryRepository).saveAndFlush(any());
+    }
+
+    @Test
+    public void unbalancedUnitOfWorkIsRejected() {
+        assertThrows(RuntimeException.class, () -> this.underTest.executeInUnitOfWork(() -> {
+            credit(CashAccountsForLoan.LOAN_PORTFOLIO, BigDecimal.TEN);
+            debit(CashAccountsForLoan.FUND_SOURCE, BigDecimal.ONE);
+        }));
+
+        verify(this.jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private void credit(final CashAccountsForLoan account, final BigDecimal amount) {
+        this.underTest.createCreditJournalEntryOrReversalForLoan(this.underTest.getOfficeById(OFFICE_ID), "USD", account, LOAN_PRODUCT_ID,
+                null, LOAN_ID, String.valueOf(LOAN_TRANSACTION_ID), TRANSACTION_DATE, amount, false);
+    }
+
+    private void debit(final CashAccountsForLoan account, final BigDecimal amount) {
+        this.underTest.createDebitJournalEntryOrReversalForLoan(this.underTest.getOfficeById(OFFICE_ID), "USD", account.getValue(),
+                LOAN_PRODUCT_ID, null, LOAN_ID, String.valueOf(LOAN_TRANSACTION_ID), TRANSACTION_DATE, amount, false);
+    }
+
+    private List<Object[]> writtenRows() {
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(this.jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        return rows.getValue();
+    }
+
+    private static LoanDTO repayment() {
+        final List<ChargePaymentDTO> feePayments = List.of(new ChargePaymentDTO(FEE_CHARGE_ID, new BigDecimal("5"), 60L),
+                new ChargePaymentDTO(OTHER_FEE_CHARGE_ID, new BigDecimal("2"), 61L));
+        final List<ChargePaymentDTO> penaltyPayments = List.of(new ChargePaymentDTO(PENALTY_CHARGE_ID, new BigDecimal("3"), 62L));
+        final LoanTransactionDTO transaction = new LoanTransactionDTO(OFFICE_ID, null, String.valueOf(LOAN_TRANSACTION_ID),
+                TRANSACTION_DATE, new LoanTransactionEnumData(2L, "loanTransactionType.repayment", "Repayment"), new BigDecimal("120"),
+                new BigDecimal("100"), new BigDecimal("10"), new BigDecimal("7"), new BigDecimal("3"), null, false, penaltyPayments,
+                feePayments, false);
+        final List<LoanTransactionDTO> transactions = new ArrayList<>();
+        transactions.add(transaction);
+        return new LoanDTO(LOAN_ID, LOAN_PRODUCT_ID, OFFICE_ID, "USD", true, false, false, transactions);
+    }
+
+    /**
+     * The columns Hibernate persists for a journal entry, in the order of the batch insert.
+     */
+    private static List<Object> columns(final JournalEntry journalEntry) {
+        return Arrays.asList(id(journalEntry.getOffice()), id(journalEntry.getPaymentDetails()), id(journalEntry.getGlAccount()),
+                journalEntry.getCurrencyCode(), journalEntry.getTransactionId(), id(journalEntry.getLoanTransaction()),
+                id(journalEntry.getSavingsTransaction()), id(journalEntry.getClientTransaction()), journalEntry.getShareTransactionId(),
+                journalEntry.isReversed(), journalEntry.isManualEntry(), journalEntry.getTransactionDate(), journalEntry.getType(),
+                journalEntry.getAmount(), journalEntry.getDescription(), journalEntry.getEntityType(), journalEntry.getEntityId(),
+                journalEntry.getReferenceNumber());
+    }
+
+    private static Long id(final AbstractPersistableCustom entity) {
+        return entity == null ? null : entity.getId();
+    }
+
+    private void mapAccount(final CashAccountsForLoan accountType, final Long accountId) {
+        this.accounts.put(accountId, entity(GLAccount.class, accountId));
+        given(this.accountingMappingCache.getProductAccountId(eq(LOAN_PRODUCT_ID), anyInt(), eq(accountType.getValue())))
+                .willReturn(accountId);
+    }
+
+    private static <T extends AbstractPersistableCustom> T entity(final Class<T> type, final Long id) {
+        final T entity = mock(type);
+        given(entity.getId()).willReturn(id);
+        return entity;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException.GlJournalEntryInvalidReason;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class JournalEntryBatchWriterTest {
+
+    private static final Long AUDITOR_ID = 7L;
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2022, 3, 15);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private AuditorAware<Long> auditorAware;
+
+    private JournalEntryBatchWriter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        given(this.auditorAware.getCurrentAuditor()).willReturn(Optional.of(AUDITOR_ID));
+        this.underTest = new JournalEntryBatchWriter(this.jdbcTemplate, this.auditorAware);
+    }
+
+    @Test
+    public void nothingIsWrittenForAnEmptyUnitOfWork() {
+        this.underTest.write(List.of());
+
+        verifyNoInteractions(this.jdbcTemplate);
+    }
+
+    @Test
+    public void balancedEntriesAreWrittenWithOneBatchInsert() {
+        final LoanTransaction loanTransaction = entity(LoanTransaction.class, 30L);
+        final JournalEntry debit = entry(JournalEntryType.DEBIT, 20L, "USD", new BigDecimal("100.00"), loanTransaction);
+        final JournalEntry credit = entry(JournalEntryType.CREDIT, 21L, "USD", new BigDecimal("100.00"), loanTransaction);
+
+        this.underTest.write(List.of(debit, credit));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(this.jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        final Object[] row = rows.getValue().get(0);
+        assertEquals(22, row.length);
+        assertArrayEquals(new Object[] { 1L, null, 20L, "USD", "L30", 30L, null, null, null, false, false, TRANSACTION_DATE,
+                JournalEntryType.DEBIT.getValue(), new BigDecimal("100.00"), null, PortfolioProductType.LOAN.getValue(), 40L, null,
+                AUDITOR_ID }, Arrays.copyOf(row, 19));
+        assertEquals(row[19], row[21]);
+        assertEquals(AUDITOR_ID, row[20]);
+        assertEquals(JournalEntryType.CREDIT.getValue(), rows.getValue().get(1)[12]);
+        assertEquals(21L, rows.getValue().get(1)[2]);
+    }
+
+    @Test
+    public void unbalancedEntriesAreRejectedWithoutWriting() {
+        final JournalEntry debit = entry(JournalEntryType.DEBIT, 20L, "USD", new BigDecimal("100.00"), null);
+        final JournalEntry credit = entry(JournalEntryType.CREDIT, 21L, "USD", new BigDecimal("99.99"), null);
+
+        final JournalEntryInvalidException exception = assertThrows(JournalEntryInvalidException.class,
+                () -> this.underTest.write(List.of(debit, credit)));
+
+        assertEquals(GlJournalEntryInvalidReason.DEBIT_CREDIT_SUM_MISMATCH.errorCode(), exception.getGlobalisationMessageCode());
+        verify(this.jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    public void entriesMustBalanceInEachCurrency() {
+        final List<JournalEntry> entries = List.of(entry(JournalEntryType.DEBIT, 20L, "USD", BigDecimal.TEN, null),
+                entry(JournalEntryType.CREDIT, 21L, "EUR", BigDecimal.TEN, null));
+
+        assertThrows(JournalEntryInvalidException.class, () -> this.underTest.write(entries));
+        verify(this.jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private static JournalEntry entry(final JournalEntryType type, final Long accountId, final String currencyCode, final BigDecimal amount,
+            final LoanTransaction loanTransaction) {
+        final String transactionId = loanTransaction == null ? "L1" : "L" + loanTransaction.getId();
+        return JournalEntry.createNew(entity(Office.class, 1L), null, entity(GLAccount.class, accountId), currencyCode, transactionId,
+                false, TRANSACTION_DATE, type, amount, null, PortfolioProductType.LOAN.getValue(), 40L, null, loanTransaction, null, null,
+                null);
+    }
+
+    private static <T extends AbstractPersistableCustom> T entity(final Class<T> type, final Long id) {
+        final T entity = mock(type);
+        given(entity.getId()).willReturn(id);
+        return entity;
+    }
+}
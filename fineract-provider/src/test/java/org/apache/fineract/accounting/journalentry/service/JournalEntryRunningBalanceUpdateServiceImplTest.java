@@ -0,0 +1,370 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the running balance update against an in-memory journal that interprets the statements of the service, so that
+ * interrupted and resumed runs can be compared with a run from scratch.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class JournalEntryRunningBalanceUpdateServiceImplTest {
+
+    private static final Long ASSET_ACCOUNT = 1L;
+    private static final Long INCOME_ACCOUNT = 2L;
+    private static final int PAGE_SIZE = 2;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private FineractPlatformTenantConnection connection;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", this.connection));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+        given(this.databaseTypeResolver.isPostgreSQL()).willReturn(true);
+        given(this.transactionManager.getTransaction(any())).willAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testRerunAfterAnInterruptedPageGivesTheBalancesOfAFullRun() throws JobExecutionException {
+        final InMemoryJournal full = journal();
+        service(full, 2).updateRunningBalance();
+
+        final InMemoryJournal interrupted = journal();
+        interrupted.failOnPage(ASSET_ACCOUNT, 2);
+        final JobExecutionException failure = assertThrows(JobExecutionException.class,
+                () -> service(interrupted, 1).updateRunningBalance());
+        assertEquals(1, failure.getCauses().size());
+        // the first page of the interrupted account stays committed, the other account is not held back
+        assertEquals(PAGE_SIZE, interrupted.calculated(ASSET_ACCOUNT));
+        assertEquals(interrupted.count(INCOME_ACCOUNT), interrupted.calculated(INCOME_ACCOUNT));
+
+        interrupted.failOnPage(null, 0);
+        service(interrupted, 1).updateRunningBalance();
+
+        assertEquals(full.balances(), interrupted.balances());
+        assertEquals(interrupted.count(ASSET_ACCOUNT), interrupted.calculated(ASSET_ACCOUNT));
+    }
+
+    @Test
+    public void testRerunResumesAtTheEntryDateOfTheFirstPageNotCommitted() throws JobExecutionException {
+        final InMemoryJournal interrupted = journal();
+        interrupted.failOnPage(ASSET_ACCOUNT, 3);
+        assertThrows(JobExecutionException.class, () -> service(interrupted, 1).updateRunningBalance());
+        interrupted.failOnPage(null, 0);
+        interrupted.updatedIds.clear();
+
+        service(interrupted, 1).updateRunningBalance();
+
+        // entries committed before the failure are rewritten only when they share the entry date of the first one that was not
+        final List<Entry> assetEntries = interrupted.entries.stream().filter(entry -> entry.accountId.equals(ASSET_ACCOUNT))
+                .sorted(InMemoryJournal.ENTRY_ORDER).collect(Collectors.toList());
+        final LocalDate resumeDate = assetEntries.get(2 * PAGE_SIZE).entryDate;
+        assertEquals(assetEntries.stream().filter(entry -> !entry.entryDate.isBefore(resumeDate)).map(entry -> entry.id)
+                .collect(Collectors.toList()), interrupted.updatedIds);
+    }
+
+    @Test
+    public void testBackdatedEntryRecalculatesTheLaterEntriesLikeAFullRun() throws JobExecutionException {
+        final InMemoryJournal incremental = journal();
+        service(incremental, 2).updateRunningBalance();
+        incremental.add(new Entry(100L, ASSET_ACCOUNT, 2L, LocalDate.of(2022, 1, 2), JournalEntryType.CREDIT, "7.25"));
+        service(incremental, 2).updateRunningBalance();
+
+        final InMemoryJournal full = journal();
+        full.add(new Entry(100L, ASSET_ACCOUNT, 2L, LocalDate.of(2022, 1, 2), JournalEntryType.CREDIT, "7.25"));
+        service(full, 2).updateRunningBalance();
+
+        assertEquals(full.balances(), incremental.balances());
+        assertTrue(incremental.entries.stream().allMatch(entry -> entry.calculated));
+    }
+
+    @Test
+    public void testNothingPendingDoesNothing() throws JobExecutionException {
+        final InMemoryJournal journal = journal();
+        service(journal, 2).updateRunningBalance();
+        journal.updatedIds.clear();
+
+        service(journal, 2).updateRunningBalance();
+
+        assertFalse(journal.entries.isEmpty());
+        assertEquals(List.of(), journal.updatedIds);
+    }
+
+    private JournalEntryRunningBalanceUpdateServiceImpl service(final InMemoryJournal journal, final int threadPoolSize) {
+        final FineractProperties properties = new FineractProperties();
+        final FineractProperties.FineractAccountingProperties accounting = new FineractProperties.FineractAccountingProperties();
+        accounting.setRunningBalanceThreadPoolSize(threadPoolSize);
+        accounting.setRunningBalancePageSize(PAGE_SIZE);
+        properties.setAccounting(accounting);
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        return new JournalEntryRunningBalanceUpdateServiceImpl(journal, null, null, null,
+                new DatabaseSpecificSQLGenerator(this.databaseTypeResolver), transactionTemplate, properties,
+                new PartitionedJobExecutor(transactionTemplate));
+    }
+
+    private static InMemoryJournal journal() {
+        final InMemoryJournal journal = new InMemoryJournal();
+        journal.accountTypes.put(ASSET_ACCOUNT, GLAccountType.ASSET);
+        journal.accountTypes.put(INCOME_ACCOUNT, GLAccountType.INCOME);
+        journal.add(new Entry(1L, ASSET_ACCOUNT, 1L, LocalDate.of(2022, 1, 1), JournalEntryType.DEBIT, "100.00"));
+        journal.add(new Entry(2L, INCOME_ACCOUNT, 1L, LocalDate.of(2022, 1, 1), JournalEntryType.CREDIT, "100.00"));
+        journal.add(new Entry(3L, ASSET_ACCOUNT, 2L, LocalDate.of(2022, 1, 1), JournalEntryType.DEBIT, "40.50"));
+        journal.add(new Entry(4L, ASSET_ACCOUNT, 1L, LocalDate.of(2022, 1, 3), JournalEntryType.CREDIT, "30.00"));
+        journal.add(new Entry(5L, INCOME_ACCOUNT, 2L, LocalDate.of(2022, 1, 3), JournalEntryType.CREDIT, "12.00"));
+        journal.add(new Entry(6L, ASSET_ACCOUNT, 2L, LocalDate.of(2022, 1, 3), JournalEntryType.DEBIT, "5.75"));
+        journal.add(new Entry(7L, INCOME_ACCOUNT, 1L, LocalDate.of(2022, 1, 4), JournalEntryType.DEBIT, "20.00"));
+        journal.add(new Entry(9L, ASSET_ACCOUNT, 1L, LocalDate.of(2022, 1, 4), JournalEntryType.DEBIT, "1.25"));
+        // entered later with an earlier entry date, so entry order differs from id order
+        journal.add(new Entry(8L, ASSET_ACCOUNT, 2L, LocalDate.of(2022, 1, 5), JournalEntryType.CREDIT, "10.00"));
+        journal.add(new Entry(11L, ASSET_ACCOUNT, 1L, LocalDate.of(2022, 1, 2), JournalEntryType.DEBIT, "3.00"));
+        journal.add(new Entry(12L, ASSET_ACCOUNT, 2L, LocalDate.of(2022, 1, 6), JournalEntryType.DEBIT, "8.00"));
+        return journal;
+    }
+
+    private static final class Entry {
+
+        private final Long id;
+        private final Long accountId;
+        private final Long officeId;
+        private final LocalDate entryDate;
+        private final JournalEntryType type;
+        private final BigDecimal amount;
+        private BigDecimal organizationRunningBalance;
+        private BigDecimal officeRunningBalance;
+        private boolean calculated;
+
+        Entry(final Long id, final Long accountId, final Long officeId, final LocalDate entryDate, final JournalEntryType type,
+                final String amount) {
+            this.id = id;
+            this.accountId = accountId;
+            this.officeId = officeId;
+            this.entryDate = entryDate;
+            this.type = type;
+            this.amount = new BigDecimal(amount);
+        }
+    }
+
+    /**
+     * Journal table answering exactly the statements issued by the service. A page whose write is made to fail is
+     * rejected before any of its rows change, as its transaction would be rolled back.
+     */
+    private static final class InMemoryJournal extends JdbcTemplate {
+
+        private static final Comparator<Entry> ENTRY_ORDER = Comparator.<Entry, LocalDate>comparing(entry -> entry.entryDate)
+                .thenComparing(entry -> entry.id);
+        private static final Pattern LIMIT = Pattern.compile("LIMIT (\\d+)");
+
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<Long, GLAccountType> accountTypes = new HashMap<>();
+        private final Map<Long, Integer> pagesWritten = new HashMap<>();
+        private final List<Long> updatedIds = new ArrayList<>();
+        private Long failingAccount;
+        private int failingPage;
+
+        synchronized void add(final Entry entry) {
+            this.entries.add(entry);
+        }
+
+        synchronized void failOnPage(final Long accountId, final int page) {
+            this.failingAccount = accountId;
+            this.failingPage = page;
+            this.pagesWritten.clear();
+        }
+
+        synchronized long count(final Long accountId) {
+            return this.entries.stream().filter(entry -> entry.accountId.equals(accountId)).count();
+        }
+
+        synchronized long calculated(final Long accountId) {
+            return this.entries.stream().filter(entry -> entry.accountId.equals(accountId) && entry.calculated).count();
+        }
+
+        synchronized Map<Long, List<BigDecimal>> balances() {
+            final Map<Long, List<BigDecimal>> balances = new HashMap<>();
+            this.entries.forEach(entry -> balances.put(entry.id,
+                    Arrays.asList(entry.organizationRunningBalance, entry.officeRunningBalance)));
+            return balances;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> List<T> queryForList(final String sql, final Class<T> elementType, final Object... args) {
+            if (sql.startsWith("select distinct je.account_id")) {
+                final Long officeId = args.length == 2 ? (Long) args[0] : null;
+                final Long lastAccountId = (Long) args[args.length - 1];
+                return (List<T>) this.entries.stream()
+                        .filter(entry -> !entry.calculated && (officeId == null || entry.officeId.equals(officeId))
+                                && entry.accountId > lastAccountId)
+                        .map(entry -> entry.accountId).distinct().sorted().limit(limit(sql)).collect(Collectors.toList());
+            }
+            // running balance of the latest entry before a date, by account or by account and office
+            final boolean byOffice = sql.contains("je.office_id=?");
+            final Long accountId = (Long) args[0];
+            final Long officeId = byOffice ? (Long) args[1] : null;
+            final LocalDate beforeDate = (LocalDate) args[args.length - 1];
+            return (List<T>) this.entries.stream()
+                    .filter(entry -> entry.accountId.equals(accountId) && (officeId == null || entry.officeId.equals(officeId))
+                            && entry.entryDate.isBefore(beforeDate))
+                    .sorted(ENTRY_ORDER.reversed()).limit(1)
+                    .map(entry -> sql.startsWith("select je.organization_running_balance") ? entry.organizationRunningBalance
+                            : entry.officeRunningBalance)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T queryForObject(final String sql, final Class<T> requiredType, final Object... args) {
+            if (sql.startsWith("select classification_enum")) {
+                return (T) this.accountTypes.get((Long) args[0]).getValue();
+            }
+            final Long officeId = args.length == 2 ? (Long) args[1] : null;
+            return (T) this.entries.stream()
+                    .filter(entry -> entry.accountId.equals(args[0]) && !entry.calculated
+                            && (officeId == null || entry.officeId.equals(officeId)))
+                    .map(entry -> entry.entryDate).min(Comparator.naturalOrder()).orElse(null);
+        }
+
+        @Override
+        public synchronized int update(final String sql, final Object... args) {
+            // clears the flags of the calculated entries of an account from a date on
+            final List<Entry> cleared = this.entries.stream()
+                    .filter(entry -> entry.accountId.equals(args[0]) && !entry.entryDate.isBefore((LocalDate) args[1]) && entry.calculated)
+                    .collect(Collectors.toList());
+            cleared.forEach(entry -> entry.calculated = false);
+            return cleared.size();
+        }
+
+        @Override
+        public synchronized <T> List<T> query(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+            final Long accountId = (Long) args[0];
+            final Long officeId = args.length == 5 ? (Long) args[1] : null;
+            final LocalDate fromDate = (LocalDate) args[args.length - 3];
+            final Long fromId = (Long) args[args.length - 1];
+            final List<Entry> page = this.entries.stream()
+                    .filter(entry -> entry.accountId.equals(accountId) && (officeId == null || entry.officeId.equals(officeId))
+                            && (entry.entryDate.isAfter(fromDate) || (entry.entryDate.equals(fromDate) && entry.id > fromId)))
+                    .sorted(ENTRY_ORDER).limit(limit(sql)).collect(Collectors.toList());
+            final List<T> rows = new ArrayList<>(page.size());
+            for (int i = 0; i < page.size(); i++) {
+                try {
+                    rows.add(rowMapper.mapRow(resultSet(page.get(i)), i));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        public synchronized int[] batchUpdate(final String sql, final List<Object[]> batchArgs) {
+            final Map<Long, Entry> byId = this.entries.stream().collect(Collectors.toMap(entry -> entry.id, entry -> entry));
+            final boolean organization = sql.contains("organization_running_balance");
+            final Long accountId = byId.get((Long) batchArgs.get(0)[organization ? 2 : 1]).accountId;
+            final int page = this.pagesWritten.merge(accountId, 1, Integer::sum);
+            if (accountId.equals(this.failingAccount) && page == this.failingPage) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            for (final Object[] args : batchArgs) {
+                final Entry entry = byId.get((Long) args[organization ? 2 : 1]);
+                if (organization) {
+                    entry.organizationRunningBalance = (BigDecimal) args[0];
+                    entry.officeRunningBalance = (BigDecimal) args[1];
+                    entry.calculated = true;
+                } else {
+                    entry.officeRunningBalance = (BigDecimal) args[0];
+                }
+                this.updatedIds.add(entry.id);
+            }
+            return new int[batchArgs.size()];
+        }
+
+        private static long limit(final String sql) {
+            final Matcher matcher = LIMIT.matcher(sql);
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : Long.MAX_VALUE;
+        }
+
+        private static ResultSet resultSet(final Entry entry) throws SQLException {
+            final ResultSet rs = mock(ResultSet.class);
+            given(rs.getLong("id")).willReturn(entry.id);
+            given(rs.getLong("officeId")).willReturn(entry.officeId);
+            given(rs.getDate("entryDate")).willReturn(Date.valueOf(entry.entryDate));
+            given(rs.findColumn("entryType")).willReturn(4);
+            given(rs.getInt(4)).willReturn(entry.type.getValue());
+            given(rs.getBigDecimal("amount")).willReturn(entry.amount);
+            return rs;
+        }
+    }
+}
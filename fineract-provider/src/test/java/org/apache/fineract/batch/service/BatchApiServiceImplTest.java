@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class BatchApiServiceImplTest {
+
+    @Mock
+    private CommandStrategyProvider strategyProvider;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Set<Long> failingRequestIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> failingCommitRequestIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, String> executedBodies = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> transactionOfRequest = new ConcurrentHashMap<>();
+    private final Map<TransactionStatus, Integer> transactionIds = new ConcurrentHashMap<>();
+    private final AtomicInteger transactionSequence = new AtomicInteger();
+    private final ThreadLocal<Integer> currentTransaction = new ThreadLocal<>();
+    private final List<Integer> committed = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> rolledBack = Collections.synchronizedList(new ArrayList<>());
+
+    private BatchApiServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+
+        final CommandStrategy strategy = (request, uriInfo) -> {
+            this.executedBodies.put(request.getRequestId(), request.getBody());
+            this.transactionOfRequest.put(request.getRequestId(), this.currentTransaction.get());
+            final BatchResponse response = new BatchResponse();
+            response.setRequestId(request.getRequestId());
+            if (this.failingRequestIds.contains(request.getRequestId())) {
+                response.setStatusCode(400);
+                response.setBody("{\"defaultUserMessage\": \"request " + request.getRequestId() + " failed\"}");
+            } else {
+                response.setStatusCode(200);
+                response.setBody("{\"resourceId\": " + request.getRequestId() * 10 + "}");
+            }
+            return response;
+        };
+        given(this.strategyProvider.getCommandStrategy(any())).willReturn(strategy);
+        given(this.transactionManager.getTransaction(any())).willAnswer(invocation -> {
+            final TransactionStatus status = new SimpleTransactionStatus();
+            final int id = this.transactionSequence.incrementAndGet();
+            this.transactionIds.put(status, id);
+            this.currentTransaction.set(id);
+            return status;
+        });
+        willAnswer(invocation -> {
+            // like AbstractPlatformTransactionManager, a commit of a transaction marked rollback-only rolls it back
+            final TransactionStatus status = invocation.getArgument(0);
+            final Integer transaction = this.transactionIds.get(status);
+            if (this.failingCommitRequestIds.stream().anyMatch(id -> transaction.equals(this.transactionOfRequest.get(id)))) {
+                this.currentTransaction.remove();
+                throw new TransactionSystemException("commit failed");
+            }
+            (status.isRollbackOnly() ? this.rolledBack : this.committed).add(this.transactionIds.get(status));
+            this.currentTransaction.remove();
+            return null;
+        }).given(this.transactionManager).commit(any());
+        willAnswer(invocation -> {
+            this.rolledBack.add(this.transactionIds.get(invocation.<TransactionStatus>getArgument(0)));
+            this.currentTransaction.remove();
+            return null;
+        }).given(this.transactionManager).rollback(any());
+
+        final FineractProperties fineractProperties = new FineractProperties();
+        final FineractProperties.FineractBatchProperties batch = new FineractProperties.FineractBatchProperties();
+        batch.setParallelThreadPoolSize(2);
+        fineractProperties.setBatch(batch);
+        this.underTest = new BatchApiServiceImpl(this.strategyProvider, new ResolutionHelper(new FromJsonHelper()),
+                new TransactionTemplate(this.transactionManager), fineractProperties);
+        this.underTest.initExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.underTest.shutdownExecutor();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testFailingRequestRollsBackOnlyItsOwnGroup() {
+        this.failingRequestIds.add(3L);
+
+        final List<BatchResponse> responses = this.underTest.handleBatchRequestsInParallel(
+                List.of(request(1L, null, "{}"), request(2L, null, "{}"), request(3L, 2L, "{}"), request(4L, null, "{}")), null);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), responses.stream().map(BatchResponse::getRequestId).collect(Collectors.toList()));
+        assertEquals(List.of(200, 409, 400, 200), responses.stream().map(BatchResponse::getStatusCode).collect(Collectors.toList()));
+        assertTrue(responses.get(1).getBody().contains("request with id 3 was erroneous"));
+        // one transaction per root, the failed group is rolled back and the others are committed
+        assertEquals(3, this.transactionSequence.get());
+        assertEquals(List.of(this.transactionOfRequest.get(2L)), this.rolledBack);
+        assertEquals(Set.of(this.transactionOfRequest.get(1L), this.transactionOfRequest.get(4L)), Set.copyOf(this.committed));
+    }
+
+    @Test
+    public void testFailingRootAnswersItsDependentsWithConflictWithoutExecutingThem() {
+        this.failingRequestIds.add(1L);
+
+        final List<BatchResponse> responses = this.underTest
+                .handleBatchRequestsInParallel(List.of(request(1L, null, "{}"), request(2L, 1L, "{}"), request(3L, null, "{}")), null);
+
+        assertEquals(List.of(400, 409, 200), responses.stream().map(BatchResponse::getStatusCode).collect(Collectors.toList()));
+        assertEquals(Set.of(1L, 3L), this.executedBodies.keySet());
+        assertEquals(List.of(this.transactionOfRequest.get(1L)), this.rolledBack);
+    }
+
+    @Test
+    public void testDependentRequestsResolveAgainstTheirParentInTheParentsTransaction() {
+        final List<BatchResponse> responses = this.underTest.handleBatchRequestsInParallel(List.of(request(1L, null, "{}"),
+                request(2L, 1L, "{\"parentId\": \"$.resourceId\"}"), request(3L, 2L, "{\"parentId\": \"$.resourceId\"}"),
+                request(4L, null, "{}")), null);
+
+        assertEquals(List.of(200, 200, 200, 200), responses.stream().map(BatchResponse::getStatusCode).collect(Collectors.toList()));
+        assertEquals("{\"parentId\":10}", this.executedBodies.get(2L));
+        assertEquals("{\"parentId\":20}", this.executedBodies.get(3L));
+        assertEquals(this.transactionOfRequest.get(1L), this.transactionOfRequest.get(2L));
+        assertEquals(this.transactionOfRequest.get(1L), this.transactionOfRequest.get(3L));
+        assertNotEquals(this.transactionOfRequest.get(1L), this.transactionOfRequest.get(4L));
+        assertEquals(2, this.committed.size());
+        assertTrue(this.rolledBack.isEmpty());
+    }
+
+    @Test
+    public void testFailingCommitAnswersEveryRequestOfTheGroup() {
+        this.failingCommitRequestIds.add(1L);
+
+        final List<BatchResponse> responses = this.underTest.handleBatchRequestsInParallel(
+                List.of(request(1L, null, "{}"), request(2L, 1L, "{}"), request(3L, 2L, "{}"), request(4L, null, "{}")), null);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), responses.stream().map(BatchResponse::getRequestId).collect(Collectors.toList()));
+        assertEquals(List.of(400, 400, 400, 200), responses.stream().map(BatchResponse::getStatusCode).collect(Collectors.toList()));
+        assertTrue(responses.subList(0, 3).stream().allMatch(response -> response.getBody().contains("commit failed")));
+        assertEquals(List.of(this.transactionOfRequest.get(4L)), this.committed);
+    }
+
+    private static BatchRequest request(final Long requestId, final Long reference, final String body) {
+        final BatchRequest request = new BatchRequest();
+        request.setRequestId(requestId);
+        request.setReference(reference);
+        request.setRelativeUrl("clients");
+        request.setMethod("POST");
+        request.setBody(body);
+        return request;
+    }
+}
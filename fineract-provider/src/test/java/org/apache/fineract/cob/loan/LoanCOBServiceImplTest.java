@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.cob.service.COBBusinessStepService;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.apache.fineract.portfolio.loanaccount.service.LoanAssembler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoanCOBServiceImplTest {
+
+    private static final Map<String, String> JOB_PARAMETERS = Map.of("thread-pool-size", "2", "batch-size", "2");
+
+    @Mock
+    private COBBusinessStepService cobBusinessStepService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private FineractPlatformTenantConnection connection;
+    @Mock
+    private LoanAssembler loanAssembler;
+    @Mock
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+    @Mock
+    private LoanCOBBusinessStep step;
+
+    private final List<Long> activeLoanIds = List.of(1L, 2L, 3L, 4L, 5L);
+    private final List<Long> savedLoanIds = Collections.synchronizedList(new ArrayList<>());
+    private final List<FineractPlatformTenant> tenantsSeenByLoans = Collections.synchronizedList(new ArrayList<>());
+
+    private LoanCOBServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", this.connection));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+        given(this.connection.getMaxRetriesOnDeadlock()).willReturn(0);
+        given(this.sqlGenerator.limit(anyInt())).willAnswer(invocation -> "LIMIT " + invocation.getArgument(0));
+        given(this.transactionManager.getTransaction(any())).willAnswer(invocation -> new SimpleTransactionStatus());
+        given(this.jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(LoanStatus.ACTIVE.getValue()), anyLong()))
+                .willAnswer(invocation -> {
+                    final Long lastId = invocation.getArgument(3);
+                    final int pageSize = Integer.parseInt(invocation.<String>getArgument(0).replaceAll(".*LIMIT ", ""));
+                    return this.activeLoanIds.stream().filter(id -> id > lastId).limit(pageSize).toList();
+                });
+        given(this.cobBusinessStepService.getOrderedSteps(JobName.LOAN_COB.name(), LoanCOBBusinessStep.class))
+                .willReturn(List.of(this.step));
+        given(this.cobBusinessStepService.run(any(), any())).willAnswer(invocation -> invocation.getArgument(1));
+        given(this.loanAssembler.assembleFrom(anyLong())).willAnswer(invocation -> {
+            this.tenantsSeenByLoans.add(ThreadLocalContextUtil.getTenant());
+            return loan(invocation.getArgument(0));
+        });
+        given(this.loanRepositoryWrapper.save(any(Loan.class))).willAnswer(invocation -> {
+            this.savedLoanIds.add(invocation.<Loan>getArgument(0).getId());
+            return invocation.getArgument(0);
+        });
+
+        this.underTest = new LoanCOBServiceImpl(this.cobBusinessStepService, this.jdbcTemplate, this.sqlGenerator,
+                new PartitionedJobExecutor(new TransactionTemplate(this.transactionManager)), this.loanAssembler,
+                this.loanRepositoryWrapper);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void runsTheStepsOnEveryActiveLoanOnceInTheCallersTenant() throws JobExecutionException {
+        this.underTest.executeLoanCOB(JOB_PARAMETERS);
+
+        assertEquals(this.activeLoanIds, this.savedLoanIds.stream().sorted().toList());
+        assertEquals(5, this.tenantsSeenByLoans.size());
+        this.tenantsSeenByLoans.forEach(seen -> assertEquals("default", seen.getTenantIdentifier()));
+    }
+
+    @Test
+    public void reportsABrokenLoanWithoutRollingBackItsNeighbours() {
+        given(this.loanAssembler.assembleFrom(3L)).willThrow(new IllegalStateException("broken loan"));
+
+        final JobExecutionException failure = assertThrows(JobExecutionException.class,
+                () -> this.underTest.executeLoanCOB(JOB_PARAMETERS));
+
+        assertEquals(1, failure.getCauses().size());
+        assertEquals(List.of(1L, 2L, 4L, 5L), this.savedLoanIds.stream().sorted().toList());
+    }
+
+    @Test
+    public void doesNothingWithoutConfiguredSteps() throws JobExecutionException {
+        given(this.cobBusinessStepService.getOrderedSteps(JobName.LOAN_COB.name(), LoanCOBBusinessStep.class)).willReturn(List.of());
+
+        this.underTest.executeLoanCOB(JOB_PARAMETERS);
+
+        verify(this.jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), (Object[]) any());
+    }
+
+    private static Loan loan(final Long id) {
+        final Loan loan = mock(Loan.class);
+        given(loan.getId()).willReturn(id);
+        return loan;
+    }
+}
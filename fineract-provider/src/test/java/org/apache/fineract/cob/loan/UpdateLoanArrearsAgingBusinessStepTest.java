@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.service.LoanArrearsAgingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class UpdateLoanArrearsAgingBusinessStepTest {
+
+    @Mock
+    private LoanArrearsAgingService loanArrearsAgingService;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private Loan loan;
+    @InjectMocks
+    private UpdateLoanArrearsAgingBusinessStep step;
+
+    @BeforeEach
+    public void setUp() {
+        given(this.loan.isOpen()).willReturn(true);
+        given(this.loan.repaymentScheduleDetail().isInterestRecalculationEnabled()).willReturn(true);
+        given(this.loan.loanProduct().isArrearsBasedOnOriginalSchedule()).willReturn(true);
+    }
+
+    @Test
+    public void usesTheOriginalScheduleWhenTheProductAgesArrearsOnIt() {
+        this.step.execute(this.loan);
+
+        verify(this.loanArrearsAgingService).updateLoanArrearsAgeingDetailsWithOriginalSchedule(this.loan);
+        verify(this.loanArrearsAgingService, never()).updateLoanArrearsAgeingDetails(this.loan);
+    }
+
+    @Test
+    public void usesTheCurrentScheduleWithoutInterestRecalculation() {
+        given(this.loan.repaymentScheduleDetail().isInterestRecalculationEnabled()).willReturn(false);
+
+        this.step.execute(this.loan);
+
+        verify(this.loanArrearsAgingService).updateLoanArrearsAgeingDetails(this.loan);
+        verify(this.loanArrearsAgingService, never()).updateLoanArrearsAgeingDetailsWithOriginalSchedule(this.loan);
+    }
+
+    @Test
+    public void usesTheCurrentScheduleWhenTheProductAgesArrearsOnTheCurrentSchedule() {
+        given(this.loan.loanProduct().isArrearsBasedOnOriginalSchedule()).willReturn(false);
+
+        this.step.execute(this.loan);
+
+        verify(this.loanArrearsAgingService).updateLoanArrearsAgeingDetails(this.loan);
+        verify(this.loanArrearsAgingService, never()).updateLoanArrearsAgeingDetailsWithOriginalSchedule(this.loan);
+    }
+}
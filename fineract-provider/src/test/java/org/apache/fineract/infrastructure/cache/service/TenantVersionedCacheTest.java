@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TenantVersionedCacheTest {
+
+    private static final String CACHE_NAME = "test_cache";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final AtomicLong version = new AtomicLong();
+    private final List<Object> loaded = new ArrayList<>();
+
+    private TenantVersionedCache<Object> underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        given(this.jdbcTemplate.queryForList(anyString(), eq(Long.class), (Object[]) any()))
+                .willAnswer(invocation -> List.of(this.version.get()));
+        this.underTest = new TenantVersionedCache<>(this.jdbcTemplate, CACHE_NAME, 5, () -> {
+            final Object value = new Object();
+            this.loaded.add(value);
+            return value;
+        }, this.clock::get);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testValueIsTrustedWithinTheCheckIntervalWithoutReadingTheVersion() {
+        final Object first = this.underTest.get();
+        this.version.incrementAndGet();
+        this.clock.addAndGet(4_999L);
+
+        assertSame(first, this.underTest.get());
+        assertEquals(1, this.loaded.size());
+        verify(this.jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), (Object[]) any());
+    }
+
+    @Test
+    public void testValueIsKeptAfterTheCheckIntervalWhileTheVersionIsUnchanged() {
+        final Object first = this.underTest.get();
+        this.clock.addAndGet(5_000L);
+        assertSame(first, this.underTest.get());
+
+        // the comparison restarts the interval
+        this.version.incrementAndGet();
+        this.clock.addAndGet(4_999L);
+        assertSame(first, this.underTest.get());
+        assertEquals(1, this.loaded.size());
+    }
+
+    @Test
+    public void testValueIsReloadedWhenAnotherNodeBumpedTheVersion() {
+        final Object first = this.underTest.get();
+        this.version.incrementAndGet();
+        this.clock.addAndGet(5_000L);
+
+        final Object second = this.underTest.get();
+
+        assertNotSame(first, second);
+        assertEquals(2, this.loaded.size());
+        this.clock.addAndGet(5_000L);
+        assertSame(second, this.underTest.get());
+    }
+
+    @Test
+    public void testInvalidateBumpsTheVersionOfTheCacheAndDropsTheLocalValue() {
+        final Object first = this.underTest.get();
+
+        this.underTest.invalidate();
+
+        verify(this.jdbcTemplate).update("UPDATE m_cache_version SET version = version + 1 WHERE cache_name = ?", CACHE_NAME);
+        assertNotSame(first, this.underTest.get());
+    }
+
+    @Test
+    public void testInvalidateInTransactionDropsTheValueReloadedBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.underTest.invalidate();
+        // read on this node before the bump is committed, so it may hold the old data
+        final Object beforeCommit = this.underTest.get();
+
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertNotSame(beforeCommit, this.underTest.get());
+    }
+
+    @Test
+    public void testValuesAreKeptPerTenant() {
+        final Object defaultTenantValue = this.underTest.get();
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+
+        final Object otherTenantValue = this.underTest.get();
+        this.underTest.invalidate();
+
+        assertNotSame(defaultTenantValue, otherTenantValue);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        assertSame(defaultTenantValue, this.underTest.get());
+    }
+
+    @Test
+    public void testMissingVersionRowCountsAsVersionZero() {
+        given(this.jdbcTemplate.queryForList(anyString(), eq(Long.class), (Object[]) any())).willReturn(List.of());
+        final Object first = this.underTest.get();
+        this.clock.addAndGet(5_000L);
+
+        assertSame(first, this.underTest.get());
+    }
+}
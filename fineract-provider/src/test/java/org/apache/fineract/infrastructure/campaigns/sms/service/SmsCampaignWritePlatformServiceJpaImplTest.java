@@ -0,0 +1,278 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.campaigns.sms.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.campaigns.helper.CampaignTemplateCache;
+import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignStatus;
+import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignTriggerType;
+import org.apache.fineract.infrastructure.campaigns.sms.domain.SmsCampaign;
+import org.apache.fineract.infrastructure.campaigns.sms.domain.SmsCampaignRepository;
+import org.apache.fineract.infrastructure.campaigns.sms.serialization.SmsCampaignValidator;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
+import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
+import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SmsCampaignWritePlatformServiceJpaImplTest {
+
+    private static final Long CAMPAIGN_ID = 7L;
+    private static final String PROGRESS_SQL = "UPDATE sms_campaign SET last_outbound_client_id = ? WHERE";
+    private static final String START_SQL = "UPDATE sms_campaign SET last_outbound_client_id = 0 WHERE";
+    private static final String INSERT_SQL = "INSERT INTO sms_messages_outbound";
+
+    @Mock
+    private SmsCampaignRepository smsCampaignRepository;
+
+    @Mock
+    private SmsCampaignValidator smsCampaignValidator;
+
+    @Mock
+    private ReadReportingService readReportingService;
+
+    @Mock
+    private GenericDataService genericDataService;
+
+    @Mock
+    private CampaignTemplateCache campaignTemplateCache;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SmsCampaign campaign;
+
+    private final Map<TransactionStatus, Integer> openTransactions = new LinkedHashMap<>();
+    private final List<String> events = new ArrayList<>();
+    private List<String> pages;
+    private String currentPage;
+    private Long progress;
+    private int failingBatch = -1;
+    private int batches;
+
+    private SmsCampaignWritePlatformServiceJpaImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 6, 1));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+
+        underTest = new SmsCampaignWritePlatformServiceJpaImpl(null, smsCampaignRepository, smsCampaignValidator, null, null, null,
+                readReportingService, genericDataService, null, null, null, null, campaignTemplateCache, jdbcTemplate, transactionManager);
+
+        given(campaign.getId()).willReturn(CAMPAIGN_ID);
+        given(campaign.getParamValue()).willReturn("{\"reportName\":\"Active Clients\"}");
+        given(campaign.getMessage()).willReturn("Hello {{firstName}}");
+        given(campaign.getCampaignName()).willReturn("campaign");
+        given(campaignTemplateCache.compile(anyString(), anyString(), any())).willReturn("Hello");
+        given(smsCampaignValidator.isValidNotificationOrSms(any(Long.class), eq(campaign), any())).willReturn(true);
+        given(smsCampaignRepository.findById(CAMPAIGN_ID)).willReturn(Optional.of(campaign));
+
+        given(transactionManager.getTransaction(any())).willAnswer(invocation -> {
+            TransactionDefinition definition = invocation.getArgument(0);
+            TransactionStatus status = new SimpleTransactionStatus();
+            openTransactions.put(status, definition.getPropagationBehavior());
+            return status;
+        });
+        willAnswer(invocation -> openTransactions.remove(invocation.getArgument(0))).given(transactionManager)
+                .commit(any());
+        willAnswer(invocation -> {
+            events.add("rollback");
+            return openTransactions.remove(invocation.getArgument(0));
+        }).given(transactionManager).rollback(any());
+
+        given(genericDataService.generateJsonFromGenericResultsetData(any())).willAnswer(invocation -> currentPage);
+        given(readReportingService.streamGenericResultSetForSmsEmailCampaign(eq("Active Clients"), eq("report"), any(), any(), eq(500),
+                any())).willAnswer(invocation -> {
+                    Long afterId = invocation.getArgument(3);
+                    events.add("stream after " + afterId + " in " + openTransactions.values());
+                    Consumer<GenericResultsetData> consumer = invocation.getArgument(5);
+                    for (String page : pages) {
+                        // the pages reach the service as the JSON the generic data service renders for them
+                        currentPage = page;
+                        consumer.accept(null);
+                    }
+                    return (long) pages.size();
+                });
+
+        given(jdbcTemplate.queryForObject(startsWith("SELECT last_outbound_client_id FROM sms_campaign"), eq(Long.class), eq(CAMPAIGN_ID)))
+                .willAnswer(invocation -> progress);
+        given(jdbcTemplate.queryForList(startsWith("SELECT id FROM m_client"), eq(Long.class), (Object[]) any())).willAnswer(invocation -> {
+            events.add("lookup in " + openTransactions.values());
+            List<Long> ids = new ArrayList<>();
+            for (Object id : Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length)) {
+                ids.add((Long) id);
+            }
+            return ids;
+        });
+        given(jdbcTemplate.batchUpdate(startsWith(INSERT_SQL), anyList())).willAnswer(invocation -> {
+            if (batches++ == failingBatch) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            List<Object[]> rows = invocation.getArgument(1);
+            events.add("insert " + rows.size() + " in " + openTransactions.values());
+            return new int[rows.size()];
+        });
+        given(jdbcTemplate.update(startsWith(PROGRESS_SQL), (Object[]) any())).willAnswer(invocation -> {
+            Long next = invocation.getArgument(1);
+            Long expected = invocation.getArgument(3);
+            if (!expected.equals(progress)) {
+                return 0;
+            }
+            progress = next;
+            events.add("progress " + next);
+            return 1;
+        });
+        given(jdbcTemplate.update(startsWith(START_SQL), (Object[]) any())).willAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            if (progress != null && sql.endsWith("IS NULL")) {
+                return 0;
+            }
+            progress = 0L;
+            return 1;
+        });
+        given(jdbcTemplate.queryForList(startsWith("SELECT id FROM sms_campaign"), eq(Long.class), (Object[]) any()))
+                .willReturn(Collections.singletonList(CAMPAIGN_ID));
+        given(smsCampaignRepository.findByTriggerTypeAndStatus(SmsCampaignTriggerType.SCHEDULE.getValue(),
+                SmsCampaignStatus.ACTIVE.getValue())).willReturn(Collections.emptyList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testResumedRunWritesEachPageWithItsProgressInItsOwnTransaction() throws Exception {
+        progress = 2L;
+        pages = Arrays.asList(page(3L, 4L), page(6L));
+
+        underTest.storeTemplateMessageIntoSmsOutBoundTable();
+
+        assertEquals(Arrays.asList("stream after 2 in [4]", //
+                "lookup in [4, 3]", "insert 2 in [4, 3]", "progress 4", //
+                "lookup in [4, 3]", "insert 1 in [4, 3]", "progress 6", //
+                "progress null"), events);
+        assertNull(progress);
+        assertEquals(0, openTransactions.size());
+    }
+
+    @Test
+    public void testFailedPageIsRolledBackAndKeepsTheProgressOfTheWrittenPages() throws Exception {
+        progress = 0L;
+        pages = Arrays.asList(page(1L, 2L), page(5L), page(8L));
+        failingBatch = 1;
+
+        underTest.storeTemplateMessageIntoSmsOutBoundTable();
+
+        assertEquals(Arrays.asList("stream after 0 in [4]", //
+                "lookup in [4, 3]", "insert 2 in [4, 3]", "progress 2", //
+                "lookup in [4, 3]", "rollback", "rollback"), events);
+        assertEquals(2L, progress);
+        assertEquals(0, openTransactions.size());
+    }
+
+    @Test
+    public void testRunStopsOnceAnotherRunHasTakenOver() throws Exception {
+        progress = 0L;
+        pages = Arrays.asList(page(1L), page(2L));
+        given(jdbcTemplate.batchUpdate(startsWith(INSERT_SQL), anyList())).willAnswer(invocation -> {
+            // another run writes the same page first
+            progress = 1L;
+            return new int[0];
+        });
+
+        underTest.storeTemplateMessageIntoSmsOutBoundTable();
+
+        verify(jdbcTemplate).batchUpdate(startsWith(INSERT_SQL), anyList());
+        assertEquals(1L, progress);
+    }
+
+    @Test
+    public void testFailedScheduledRunIsResumedBeforeItsTriggerDateMoves() throws Exception {
+        given(jdbcTemplate.queryForList(startsWith("SELECT id FROM sms_campaign"), eq(Long.class), (Object[]) any()))
+                .willReturn(Collections.emptyList());
+        given(smsCampaignRepository.findByTriggerTypeAndStatus(SmsCampaignTriggerType.SCHEDULE.getValue(),
+                SmsCampaignStatus.ACTIVE.getValue())).willReturn(Collections.singletonList(campaign));
+        given(campaign.getNextTriggerDate()).willReturn(LocalDateTime.of(2000, 1, 1, 0, 0));
+        progress = 3L;
+        pages = Collections.singletonList(page(5L));
+        failingBatch = 0;
+
+        underTest.storeTemplateMessageIntoSmsOutBoundTable();
+
+        assertEquals("stream after 3 in [4]", events.get(0));
+        assertEquals(3L, progress);
+        verify(smsCampaignRepository, never()).findById(CAMPAIGN_ID);
+    }
+
+    private static String page(Long... clientIds) {
+        StringBuilder json = new StringBuilder("[");
+        for (Long clientId : clientIds) {
+            json.append(json.length() > 1 ? "," : "").append("{\"id\":").append(clientId).append(",\"mobileNo\":\"555").append(clientId)
+                    .append("\"}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.verify;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
@@ -99,6 +100,9 @@ public class DataSourcePerTenantServiceFactoryTest {
     @Mock
     private HikariDataSourceFactory hikariDataSourceFactory;
 
+    @Mock
+    private MeterRegistry meterRegistry;
+
     @Captor
     private ArgumentCaptor<HikariConfig> hikariConfigCaptor;
 
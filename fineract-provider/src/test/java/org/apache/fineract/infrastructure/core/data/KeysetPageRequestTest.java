@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.junit.jupiter.api.Test;
+
+public class KeysetPageRequestTest {
+
+    @Test
+    public void testCursorRoundTripsTheKey() {
+        final KeysetPageRequest request = KeysetPageRequest.instance(KeysetPageRequest.encodeCursor(123456789L), 50, null);
+
+        assertTrue(request.hasCursor());
+        assertEquals(123456789L, request.getAfterKey());
+        assertEquals(50, request.getLimit());
+    }
+
+    @Test
+    public void testBlankCursorStartsAtTheFirstPageWithTheDefaults() {
+        final KeysetPageRequest request = KeysetPageRequest.instance("", null, null);
+
+        assertFalse(request.hasCursor());
+        assertNull(request.getAfterKey());
+        assertEquals(200, request.getLimit());
+        assertEquals(KeysetPageRequest.CountMode.NONE, request.getCountMode());
+    }
+
+    @Test
+    public void testCountModeIsParsedIgnoringCase() {
+        assertEquals(KeysetPageRequest.CountMode.EXACT, KeysetPageRequest.instance("", null, "Exact").getCountMode());
+        assertEquals(KeysetPageRequest.CountMode.ESTIMATED, KeysetPageRequest.instance("", null, " estimated ").getCountMode());
+    }
+
+    @Test
+    public void testMalformedCursorsAreRejected() {
+        assertRejected("not a cursor!");
+        assertRejected(encode("x:5"));
+        assertRejected(encode("k:"));
+        assertRejected(encode("k:abc"));
+        assertRejected(encode("5"));
+    }
+
+    @Test
+    public void testUnsupportedCountIsRejected() {
+        assertThrows(PlatformApiDataValidationException.class, () -> KeysetPageRequest.instance("", null, "approximate"));
+    }
+
+    private static void assertRejected(final String after) {
+        assertThrows(PlatformApiDataValidationException.class, () -> KeysetPageRequest.instance(after, null, null), after);
+    }
+
+    private static String encode(final String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
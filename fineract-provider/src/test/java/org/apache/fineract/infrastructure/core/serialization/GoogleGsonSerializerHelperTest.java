@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.fineract.infrastructure.core.api.ParameterListExclusionStrategy;
+import org.apache.fineract.infrastructure.core.api.ParameterListInclusionStrategy;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.junit.jupiter.api.Test;
+
+public class GoogleGsonSerializerHelperTest {
+
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("id", "name", "date", "amount", "tags", "detail");
+    private static final Object[] DATA = new Object[] {
+            new SampleData(1L, "Zoë <Ñandú> & 東京", LocalDate.of(2022, 2, 28), "12.50", List.of("a", "b"), new Detail("x", 3)),
+            new SampleData(2L, null, null, "0", List.of(), null) };
+
+    private final GoogleGsonSerializerHelper helper = new GoogleGsonSerializerHelper();
+
+    @Test
+    public void testPartialResponseSerializerWritesTheSameJsonAsAFreshlyBuiltOne() {
+        final Set<String> fields = Set.of("id", "date", "detail", "code");
+        for (final boolean prettyPrint : new boolean[] { false, true }) {
+            final Gson expected = freshSerializer(new ParameterListInclusionStrategy(fields), prettyPrint);
+
+            final Gson cached = this.helper.createGsonBuilderForPartialResponseFiltering(prettyPrint, new HashSet<>(fields));
+
+            assertEquals(expected.toJson(DATA), this.helper.serializedJsonFrom(cached, DATA));
+            assertEquals(expected.toJson(DATA[0]), this.helper.serializedJsonFrom(cached, DATA[0]));
+        }
+    }
+
+    @Test
+    public void testExclusionSerializerWritesTheSameJsonAsAFreshlyBuiltOne() {
+        final Set<String> requested = Set.of("name", "amount", "tags");
+        final Set<String> skipped = new HashSet<>(SUPPORTED_PARAMETERS);
+        skipped.removeAll(requested);
+        for (final boolean prettyPrint : new boolean[] { false, true }) {
+            final Gson expected = freshSerializer(new ParameterListExclusionStrategy(skipped), prettyPrint);
+
+            final Gson cached = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS,
+                    prettyPrint, requested);
+
+            assertEquals(expected.toJson(DATA), this.helper.serializedJsonFrom(cached, DATA));
+            assertEquals(expected.toJson(DATA[0]), this.helper.serializedJsonFrom(cached, DATA[0]));
+        }
+    }
+
+    @Test
+    public void testUnfilteredSerializerWritesTheSameJsonAsTheExcludeNothingSerializers() {
+        assertEquals(new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson().serialize(DATA),
+                this.helper.serializedJsonFrom(this.helper.createGsonBuilderWithNoFiltering(false), DATA));
+        assertEquals(new ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson().serialize(DATA),
+                this.helper.serializedJsonFrom(this.helper.createGsonBuilderWithNoFiltering(true), DATA));
+    }
+
+    @Test
+    public void testEqualFieldSelectionsShareOneSerializer() {
+        final Gson gson = this.helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("id", "name"));
+
+        assertSame(gson, this.helper.createGsonBuilderForPartialResponseFiltering(false, new LinkedHashSet<>(List.of("name", "id"))));
+        assertNotSame(gson, this.helper.createGsonBuilderForPartialResponseFiltering(true, Set.of("id", "name")));
+        assertNotSame(gson, this.helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("id")));
+        // the same names select the fields to write for an inclusion and the fields to skip for an exclusion
+        assertNotSame(gson, this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(Set.of("id", "name", "date"), false,
+                Set.of("date")));
+        assertSame(this.helper.createGsonBuilderWithNoFiltering(false), this.helper.createGsonBuilderWithNoFiltering(false));
+    }
+
+    @Test
+    public void testUnsupportedParameterIsRejectedOnEveryCall() {
+        this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false, Set.of("id"));
+
+        assertThrows(UnsupportedParameterException.class, () -> this.helper
+                .createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false, Set.of("id", "unknown")));
+        assertThrows(UnsupportedParameterException.class, () -> this.helper
+                .createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false, Set.of("id", "unknown")));
+    }
+
+    @Test
+    public void testStreamingWritesTheSameBytesAsTheString() throws IOException {
+        for (final boolean prettyPrint : new boolean[] { false, true }) {
+            for (final Gson serializer : List.of(this.helper.createGsonBuilderWithNoFiltering(prettyPrint),
+                    this.helper.createGsonBuilderForPartialResponseFiltering(prettyPrint, Set.of("name", "detail", "code")))) {
+                assertArrayEquals(this.helper.serializedJsonFrom(serializer, DATA).getBytes(StandardCharsets.UTF_8),
+                        write(this.helper.streamingJsonFrom(serializer, DATA)));
+                assertArrayEquals(this.helper.serializedJsonFrom(serializer, DATA[0]).getBytes(StandardCharsets.UTF_8),
+                        write(this.helper.streamingJsonFrom(serializer, DATA[0])));
+            }
+        }
+    }
+
+    private static byte[] write(final StreamingOutput streamingOutput) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamingOutput.write(output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Builds the serializer the way every partial response request did before serializers were cached.
+     */
+    private static Gson freshSerializer(final ExclusionStrategy strategy, final boolean prettyPrint) {
+        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
+        GoogleGsonSerializerHelper.registerTypeAdapters(builder);
+        if (prettyPrint) {
+            builder.setPrettyPrinting();
+        }
+        return builder.create();
+    }
+
+    private static final class SampleData {
+
+        private final Long id;
+        private final String name;
+        private final LocalDate date;
+        private final BigDecimal amount;
+        private final List<String> tags;
+        private final Detail detail;
+
+        private SampleData(final Long id, final String name, final LocalDate date, final String amount, final List<String> tags,
+                final Detail detail) {
+            this.id = id;
+            this.name = name;
+            this.date = date;
+            this.amount = new BigDecimal(amount);
+            this.tags = tags;
+            this.detail = detail;
+        }
+    }
+
+    private static final class Detail {
+
+        private final String code;
+        private final Integer count;
+
+        private Detail(final String code, final Integer count) {
+            this.code = code;
+            this.count = count;
+        }
+    }
+}
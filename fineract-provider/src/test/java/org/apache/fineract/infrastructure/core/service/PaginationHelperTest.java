@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.fineract.infrastructure.core.data.KeysetPageRequest;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class PaginationHelperTest {
+
+    private static final String SQL = "select m.id from m_loan m where m.loan_status_id = ?";
+    private static final Object[] ARGS = { 300 };
+    private static final RowMapper<Long> ROW_MAPPER = (rs, rowNum) -> rs.getLong("id");
+    private static final Function<Long, Long> KEY = Function.identity();
+
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PaginationHelper underTest;
+
+    /** sql and arguments of each page query, and the rows the database holds after the keyset condition */
+    private final List<String> pageQueries = new ArrayList<>();
+    private final List<Object[]> pageArgs = new ArrayList<>();
+    private List<Long> rows;
+
+    @BeforeEach
+    public void setUp() {
+        given(this.databaseTypeResolver.isPostgreSQL()).willReturn(true);
+        this.underTest = new PaginationHelper(new DatabaseSpecificSQLGenerator(this.databaseTypeResolver), this.databaseTypeResolver);
+        given(this.jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Long>>any(), (Object[]) any())).willAnswer(invocation -> {
+            this.pageQueries.add(invocation.getArgument(0));
+            this.pageArgs.add(Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length));
+            return this.rows;
+        });
+    }
+
+    @Test
+    public void testFirstPageAscendingHasNoKeysetConditionAndReadsOneRowMore() {
+        this.rows = ids(1, 4);
+
+        final Page<Long> page = fetch(null, 3, false, null);
+
+        assertEquals(SQL + " order by m.id asc LIMIT 4 OFFSET 0", this.pageQueries.get(0));
+        assertArrayEquals(ARGS, this.pageArgs.get(0));
+        assertEquals(ids(1, 3), page.getPageItems());
+        assertEquals(KeysetPageRequest.encodeCursor(3L), page.getNextCursor());
+    }
+
+    @Test
+    public void testNextPageAscendingStartsAfterTheCursorKey() {
+        this.rows = ids(4, 7);
+
+        final Page<Long> page = fetch(KeysetPageRequest.encodeCursor(3L), 3, false, null);
+
+        assertEquals(SQL + " and m.id > ? order by m.id asc LIMIT 4 OFFSET 0", this.pageQueries.get(0));
+        assertArrayEquals(new Object[] { 300, 3L }, this.pageArgs.get(0));
+        assertEquals(ids(4, 6), page.getPageItems());
+        assertEquals(KeysetPageRequest.encodeCursor(6L), page.getNextCursor());
+    }
+
+    @Test
+    public void testNextPageDescendingStartsBelowTheCursorKey() {
+        this.rows = List.of(9L, 8L, 7L);
+
+        final Page<Long> page = fetch(KeysetPageRequest.encodeCursor(10L), 2, true, null);
+
+        assertEquals(SQL + " and m.id < ? order by m.id desc LIMIT 3 OFFSET 0", this.pageQueries.get(0));
+        assertArrayEquals(new Object[] { 300, 10L }, this.pageArgs.get(0));
+        assertEquals(List.of(9L, 8L), page.getPageItems());
+        assertEquals(KeysetPageRequest.encodeCursor(8L), page.getNextCursor());
+    }
+
+    @Test
+    public void testPageFilledExactlyToTheLimitIsTheLastPage() {
+        this.rows = ids(7, 9);
+
+        final Page<Long> page = fetch(KeysetPageRequest.encodeCursor(6L), 3, false, null);
+
+        assertEquals(ids(7, 9), page.getPageItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testShortLastPageHasNoNextCursor() {
+        this.rows = List.of();
+
+        final Page<Long> page = fetch(KeysetPageRequest.encodeCursor(9L), 3, false, null);
+
+        assertEquals(List.of(), page.getPageItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testExactCountCountsTheFilteredRowsWithoutTheKeysetCondition() {
+        this.rows = ids(4, 7);
+        given(this.jdbcTemplate.queryForObject(eq("SELECT COUNT(*) FROM (" + SQL + ") AS temp"), eq(Integer.class), eq(300)))
+                .willReturn(42);
+
+        final Page<Long> page = fetch(KeysetPageRequest.encodeCursor(3L), 3, false, "exact");
+
+        assertEquals(42, page.getTotalFilteredRecords());
+    }
+
+    @Test
+    public void testEstimatedCountReadsThePostgresPlan() {
+        this.rows = ids(1, 4);
+        given(this.jdbcTemplate.queryForObject(eq("EXPLAIN (FORMAT JSON) " + SQL), eq(String.class), eq(300)))
+                .willReturn("[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 1234}}]");
+
+        final Page<Long> page = fetch(null, 3, false, "estimated");
+
+        assertEquals(1234, page.getTotalFilteredRecords());
+    }
+
+    @Test
+    public void testEstimatedCountAppliesTheFilteredPercentageOfTheMySqlPlan() throws Exception {
+        given(this.databaseTypeResolver.isPostgreSQL()).willReturn(false);
+        given(this.databaseTypeResolver.isMySQL()).willReturn(true);
+        this.rows = ids(1, 2);
+        final ResultSet plan = mock(ResultSet.class);
+        given(plan.next()).willReturn(true);
+        given(plan.getLong("rows")).willReturn(1000L);
+        given(plan.getDouble("filtered")).willReturn(25.0);
+        given(this.jdbcTemplate.query(eq("EXPLAIN " + SQL), ArgumentMatchers.<ResultSetExtractor<Long>>any(), eq(300)))
+                .willAnswer(invocation -> invocation.<ResultSetExtractor<Long>>getArgument(1).extractData(plan));
+
+        final Page<Long> page = fetch(null, 3, false, "estimated");
+
+        assertEquals(SQL + " order by m.id asc LIMIT 0,4", this.pageQueries.get(0));
+        assertEquals(250, page.getTotalFilteredRecords());
+    }
+
+    @Test
+    public void testNoCountRunsNoCountQuery() {
+        this.rows = ids(1, 4);
+
+        final Page<Long> page = fetch(null, 3, false, "none");
+
+        assertEquals(0, page.getTotalFilteredRecords());
+        verify(this.jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), (Object[]) any());
+        verify(this.jdbcTemplate, never()).queryForObject(anyString(), eq(String.class), (Object[]) any());
+    }
+
+    private Page<Long> fetch(final String after, final int limit, final boolean descending, final String count) {
+        return this.underTest.fetchKeysetPage(this.jdbcTemplate, SQL, ARGS, "m.id", descending,
+                KeysetPageRequest.instance(after, limit, count), ROW_MAPPER, KEY);
+    }
+
+    private static List<Long> ids(final long from, final long to) {
+        return LongStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+}
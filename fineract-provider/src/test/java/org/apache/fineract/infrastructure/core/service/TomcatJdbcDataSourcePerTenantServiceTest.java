@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TomcatJdbcDataSourcePerTenantServiceTest {
+
+    @Mock
+    private DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+
+    @Mock
+    private FineractProperties fineractProperties;
+
+    @Mock
+    private FineractPlatformTenant tenant;
+
+    @Mock
+    private FineractPlatformTenantConnection tenantConnection;
+
+    @Mock
+    private DataSource tenantDataSource;
+
+    private final List<DataSource> createdPools = new ArrayList<>();
+
+    private TomcatJdbcDataSourcePerTenantService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        // eviction is driven by the test, every pool not used in this millisecond counts as idle
+        FineractProperties.FineractTenantPoolsProperties tenantPools = new FineractProperties.FineractTenantPoolsProperties();
+        tenantPools.setIdleEvictionMinutes(0);
+        given(fineractProperties.getTenantPools()).willReturn(tenantPools);
+        given(tenant.getConnection()).willReturn(tenantConnection);
+        given(tenantConnection.getConnectionId()).willReturn(1L);
+        given(dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenantConnection)).willAnswer(invocation -> {
+            DataSource pool = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+            given(pool.getConnection()).willReturn(mock(Connection.class));
+            createdPools.add(pool);
+            return pool;
+        });
+        ThreadLocalContextUtil.setTenant(tenant);
+
+        underTest = new TomcatJdbcDataSourcePerTenantService(tenantDataSource, dataSourcePerTenantServiceFactory, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testPoolIsCreatedOnceAndReused() throws Exception {
+        DataSource first = underTest.retrieveDataSource();
+        DataSource second = underTest.retrieveDataSource();
+
+        assertSame(first, second);
+        first.getConnection();
+        verify(dataSourcePerTenantServiceFactory, times(1)).createNewDataSourceFor(tenantConnection);
+    }
+
+    @Test
+    public void testCallerHoldingAnEvictedPoolGetsConnectionsFromANewPool() throws Exception {
+        DataSource retrieved = underTest.retrieveDataSource();
+        Thread.sleep(5);
+
+        underTest.evictIdlePools();
+        retrieved.getConnection();
+
+        assertEquals(2, createdPools.size());
+        verify((Closeable) createdPools.get(0)).close();
+        verify(createdPools.get(0), never()).getConnection();
+        verify(createdPools.get(1)).getConnection();
+        assertNotSame(retrieved, underTest.retrieveDataSource());
+    }
+
+    @Test
+    public void testPoolIsNotClosedWhileAConnectionIsBeingBorrowed() throws Exception {
+        DataSource retrieved = underTest.retrieveDataSource();
+        DataSource target = createdPools.get(0);
+        CountDownLatch borrowing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(target.getConnection()).willAnswer(invocation -> {
+            borrowing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return mock(Connection.class);
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Connection> connection = executor.submit(() -> retrieved.getConnection());
+            assertTrue(borrowing.await(5, TimeUnit.SECONDS));
+            Thread.sleep(5);
+
+            underTest.evictIdlePools();
+            release.countDown();
+            connection.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify((Closeable) target, never()).close();
+        assertSame(retrieved, underTest.retrieveDataSource());
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DatabaseSpecificSQLGeneratorTest {
+
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+
+    @Test
+    public void testUpsertOnMySQLUpdatesOnDuplicateKey() {
+        given(databaseTypeResolver.isMySQL()).willReturn(true);
+
+        String sql = new DatabaseSpecificSQLGenerator(databaseTypeResolver).upsert("m_table", "loan_id", List.of("a", "b"));
+
+        assertEquals("INSERT INTO m_table (a, b, loan_id) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE a = VALUES(a), b = VALUES(b)", sql);
+    }
+
+    @Test
+    public void testUpsertOnPostgreSQLUpdatesOnConflict() {
+        given(databaseTypeResolver.isPostgreSQL()).willReturn(true);
+
+        String sql = new DatabaseSpecificSQLGenerator(databaseTypeResolver).upsert("m_table", "loan_id", List.of("a", "b"));
+
+        assertEquals("INSERT INTO m_table (a, b, loan_id) VALUES (?, ?, ?) ON CONFLICT (loan_id) DO UPDATE SET a = EXCLUDED.a, "
+                + "b = EXCLUDED.b", sql);
+    }
+
+    @Test
+    public void testUpsertOnUnsupportedDatabaseFails() {
+        assertThrows(IllegalStateException.class,
+                () -> new DatabaseSpecificSQLGenerator(databaseTypeResolver).upsert("m_table", "loan_id", List.of("a")));
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import org.junit.jupiter.api.Test;
+
+public class GenericResultsetDataJsonAdapterTest {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void serializesColumnHeadersAndRowsOfStrings() throws SQLException {
+        final GenericResultsetData data = GenericResultsetData.fromResultSet(twoRowResultSet());
+
+        final JsonObject json = this.gson.toJsonTree(data).getAsJsonObject();
+
+        assertEquals(2, json.getAsJsonArray("columnHeaders").size());
+        assertEquals("id", json.getAsJsonArray("columnHeaders").get(0).getAsJsonObject().get("columnName").getAsString());
+        assertEquals(2, json.getAsJsonArray("data").size());
+        assertEquals("[\"1\",\"first\"]", json.getAsJsonArray("data").get(0).getAsJsonObject().get("row").toString());
+        assertEquals("[\"2\",null]", json.getAsJsonArray("data").get(1).getAsJsonObject().get("row").toString());
+    }
+
+    @Test
+    public void readsBackWhatWasWritten() throws SQLException {
+        final String json = this.gson.toJson(GenericResultsetData.fromResultSet(twoRowResultSet()));
+
+        final GenericResultsetData data = this.gson.fromJson(json, GenericResultsetData.class);
+
+        assertEquals(2, data.getRowCount());
+        assertEquals(2, data.getColumnCount());
+        assertEquals("name", data.getColumnHeaders().get(1).getColumnName());
+        assertEquals("1", data.getString(0, 0));
+        assertEquals("first", data.getString(0, 1));
+        assertEquals("2", data.getString(1, 0));
+        assertNull(data.getString(1, 1));
+        assertEquals(json, this.gson.toJson(data));
+    }
+
+    @Test
+    public void readsEmptyResultset() {
+        final GenericResultsetData data = this.gson.fromJson("{\"columnHeaders\":[],\"data\":[]}", GenericResultsetData.class);
+
+        assertEquals(0, data.getRowCount());
+        assertTrue(data.hasNoEntries());
+    }
+
+    private static ResultSet twoRowResultSet() throws SQLException {
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        given(metaData.getColumnCount()).willReturn(2);
+        given(metaData.getColumnLabel(1)).willReturn("id");
+        given(metaData.getColumnLabel(2)).willReturn("name");
+        given(metaData.getColumnType(1)).willReturn(Types.BIGINT);
+        given(metaData.getColumnType(2)).willReturn(Types.VARCHAR);
+        given(metaData.getColumnTypeName(1)).willReturn("BIGINT");
+        given(metaData.getColumnTypeName(2)).willReturn("VARCHAR");
+
+        final ResultSet rs = mock(ResultSet.class);
+        given(rs.getMetaData()).willReturn(metaData);
+        given(rs.next()).willReturn(true, true, false);
+        given(rs.getLong(1)).willReturn(1L, 2L);
+        given(rs.wasNull()).willReturn(false);
+        given(rs.getString(2)).willReturn("first", (String) null);
+        return rs;
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GenericDataServiceImplTest {
+
+    private static final String SQL = "select x.* from (select * from m_client) x";
+
+    @Mock
+    private RoutingDataSource dataSource;
+    @Mock
+    private DatabaseIndependentQueryService databaseIndependentQueryService;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private DatatableMetadataCache datatableMetadataCache;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+
+    private GenericDataServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        given(this.dataSource.getConnection()).willReturn(this.connection);
+        given(this.connection.prepareStatement(anyString(), anyInt(), anyInt())).willReturn(this.statement);
+        given(this.statement.executeQuery()).willReturn(this.resultSet);
+        this.underTest = new GenericDataServiceImpl(this.dataSource, null, this.databaseIndependentQueryService, this.databaseTypeResolver,
+                this.datatableMetadataCache);
+    }
+
+    @Test
+    public void postgresStreamsInsideATransactionAndRestoresAutoCommit() throws SQLException {
+        given(this.connection.getAutoCommit()).willReturn(true);
+
+        final String result = this.underTest.streamGenericResultSet(SQL, 250, rs -> "extracted");
+
+        assertEquals("extracted", result);
+        verify(this.connection).prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        final InOrder inOrder = inOrder(this.connection, this.statement, this.resultSet);
+        inOrder.verify(this.connection).setAutoCommit(false);
+        inOrder.verify(this.statement).setFetchSize(250);
+        inOrder.verify(this.resultSet).close();
+        inOrder.verify(this.statement).close();
+        inOrder.verify(this.connection).rollback();
+        inOrder.verify(this.connection).setAutoCommit(true);
+    }
+
+    @Test
+    public void postgresAutoCommitIsRestoredWhenTheExtractorFails() throws SQLException {
+        given(this.connection.getAutoCommit()).willReturn(true);
+
+        assertThrows(PlatformDataIntegrityException.class, () -> this.underTest.streamGenericResultSet(SQL, 250, rs -> {
+            throw new SQLException("broken pipe");
+        }));
+
+        final InOrder inOrder = inOrder(this.connection);
+        inOrder.verify(this.connection).setAutoCommit(false);
+        inOrder.verify(this.connection).rollback();
+        inOrder.verify(this.connection).setAutoCommit(true);
+        verify(this.resultSet).close();
+        verify(this.statement).close();
+    }
+
+    @Test
+    public void postgresTransactionOfTheCallerIsLeftAlone() throws SQLException {
+        given(this.connection.getAutoCommit()).willReturn(false);
+
+        this.underTest.streamGenericResultSet(SQL, 250, rs -> null);
+
+        verify(this.statement).setFetchSize(250);
+        verify(this.connection, never()).setAutoCommit(anyBoolean());
+        verify(this.connection, never()).rollback();
+    }
+
+    @Test
+    public void mysqlStreamsRowByRowWithoutTouchingAutoCommit() throws SQLException {
+        given(this.databaseTypeResolver.isMySQL()).willReturn(true);
+        given(this.connection.getAutoCommit()).willReturn(true);
+
+        this.underTest.streamGenericResultSet(SQL, 250, rs -> null);
+
+        verify(this.statement).setFetchSize(Integer.MIN_VALUE);
+        verify(this.connection, never()).setAutoCommit(anyBoolean());
+        verify(this.connection, never()).rollback();
+        verify(this.resultSet).close();
+    }
+}
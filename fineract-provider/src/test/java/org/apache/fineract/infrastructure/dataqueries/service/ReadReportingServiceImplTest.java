@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.infrastructure.security.service.SqlInjectionPreventerService;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReadReportingServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private SqlInjectionPreventerService sqlInjectionPreventerService;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private RoutingDataSource dataSource;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private ReadReportingServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        given(this.sqlInjectionPreventerService.encodeSql(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+        final SqlRowSet reportSql = mock(SqlRowSet.class);
+        given(reportSql.next()).willReturn(true);
+        given(reportSql.getString("the_sql")).willReturn("select * from m_client where office_id = ${officeId}");
+        given(this.jdbcTemplate.queryForRowSet(anyString(), (Object[]) any())).willReturn(reportSql);
+        final Office office = mock(Office.class);
+        given(office.getHierarchy()).willReturn(".");
+        final AppUser user = mock(AppUser.class);
+        given(user.getOffice()).willReturn(office);
+        given(user.getId()).willReturn(1L);
+        given(this.context.authenticatedUser()).willReturn(user);
+        given(this.sqlGenerator.currentBusinessDate()).willReturn("'2022-03-15'");
+        given(this.sqlGenerator.currentTenantDateTime()).willReturn("'2022-03-15 10:00:00'");
+
+        given(this.dataSource.getConnection()).willReturn(this.connection);
+        given(this.connection.getAutoCommit()).willReturn(true);
+        given(this.connection.prepareStatement(anyString(), anyInt(), anyInt())).willReturn(this.statement);
+        given(this.statement.executeQuery()).willReturn(this.resultSet);
+        given(this.resultSet.getMetaData()).willReturn(this.metaData);
+        given(this.metaData.getColumnCount()).willReturn(4);
+        column(1, "id", "BIGINT");
+        column(2, "display name", "VARCHAR");
+        column(3, "balance", "DECIMAL");
+        column(4, "note", "TEXT");
+        given(this.resultSet.next()).willReturn(true, true, true, false);
+        given(this.resultSet.getString(1)).willReturn("1", "2", "3");
+        given(this.resultSet.getString(2)).willReturn("Smith, \"Jr\"", "", null);
+        given(this.resultSet.getString(3)).willReturn("10.50", "-0.25", null);
+        given(this.resultSet.getString(4)).willReturn("line one\nline two", "\"\"", null);
+
+        final FineractProperties fineractProperties = new FineractProperties();
+        final FineractProperties.FineractReportProperties report = new FineractProperties.FineractReportProperties();
+        report.setExportFetchSize(500);
+        fineractProperties.setReport(report);
+        final GenericDataServiceImpl genericDataService = new GenericDataServiceImpl(this.dataSource, null,
+                mock(DatabaseIndependentQueryService.class), this.databaseTypeResolver, mock(DatatableMetadataCache.class));
+        this.underTest = new ReadReportingServiceImpl(this.jdbcTemplate, this.context, genericDataService,
+                this.sqlInjectionPreventerService, this.sqlGenerator, fineractProperties);
+    }
+
+    @Test
+    public void csvQuotesHeadersAndTextValuesAndEscapesQuotes() throws IOException {
+        final String csv = write(this.underTest.retrieveReportCSV("Client Listing", "report", Map.of("${officeId}", "1"), false));
+
+        assertEquals("\"id\",\"display name\",\"balance\",\"note\"\n" //
+                + "1,\"Smith, \"\"Jr\"\"\",10.50,\"line one\nline two\"\n" //
+                + "2,\"\",-0.25,\"\"\"\"\"\"\n" //
+                + "3,,,\n", csv);
+    }
+
+    @Test
+    public void reportQueryRunsWithTheParametersAndTheConfiguredFetchSize() throws IOException, SQLException {
+        write(this.underTest.retrieveReportCSV("Client Listing", "report", Map.of("${officeId}", "1"), false));
+
+        verify(this.connection).prepareStatement("select x.* from (select x.* from (select * from m_client where office_id = 1) x) x",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(this.statement).setFetchSize(500);
+        verify(this.connection).setAutoCommit(true);
+    }
+
+    @Test
+    public void emptyResultWritesTheHeaderOnly() throws IOException, SQLException {
+        given(this.resultSet.next()).willReturn(false);
+
+        final String csv = write(this.underTest.retrieveReportCSV("Client Listing", "report", Map.of("${officeId}", "1"), false));
+
+        assertEquals("\"id\",\"display name\",\"balance\",\"note\"\n", csv);
+    }
+
+    private void column(final int index, final String label, final String typeName) throws SQLException {
+        given(this.metaData.getColumnLabel(index)).willReturn(label);
+        given(this.metaData.getColumnTypeName(index)).willReturn(typeName);
+    }
+
+    private static String write(final StreamingOutput output) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        output.write(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,285 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.apache.fineract.useradministration.domain.AppUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class HookOutboxDispatcherTest {
+
+    private static final String CLAIM_SQL = "UPDATE m_hook_outbox SET claimed_until = ? WHERE id = ? AND";
+    private static final String DELETE_SQL = "DELETE FROM m_hook_outbox WHERE id = ?";
+    private static final String RELEASE_SQL = "UPDATE m_hook_outbox SET claimed_until = NULL WHERE id = ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    @Mock
+    private HookRepository hookRepository;
+
+    @Mock
+    private HookProcessorProvider hookProcessorProvider;
+
+    @Mock
+    private HookProcessor processor;
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    private final List<String> deliveries = Collections.synchronizedList(new ArrayList<>());
+    private HookOutboxDispatcher underTest;
+
+    @BeforeEach
+    public void init() throws Exception {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+        ThreadLocalContextUtil.setAuthToken("job-token");
+        given(sqlGenerator.limit(anyInt())).willReturn("LIMIT 100");
+        final Hook hook10 = hook(10L);
+        final Hook hook20 = hook(20L);
+        given(hookRepository.findAllById(any())).willReturn(Arrays.asList(hook10, hook20));
+        given(hookProcessorProvider.getProcessor(any(Hook.class))).willReturn(processor);
+        given(appUserRepository.findById(any())).willAnswer(invocation -> Optional.of(user(invocation.getArgument(0))));
+        willAnswer(invocation -> {
+            final Hook hook = invocation.getArgument(0);
+            final String payload = invocation.getArgument(1);
+            final FineractContext context = invocation.getArgument(4);
+            final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            deliveries.add(hook.getId() + ":" + payload + ":" + (authentication == null ? null : authentication.getName()) + ":"
+                    + context.getAuthTokenContext() + ":" + ThreadLocalContextUtil.getAuthToken());
+            if (payload.startsWith("fail")) {
+                throw new IllegalStateException("endpoint down");
+            }
+            return null;
+        }).given(processor).process(any(Hook.class), anyString(), anyString(), anyString(), any(FineractContext.class));
+        underTest = dispatcher(10);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        underTest.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void deliversEveryRowAsTheUserWhoQueuedItWithoutAnAuthToken() {
+        givenDueRows(row(1L, 10L, "a", "default", 1L), row(2L, 10L, "b", "default", 2L), row(3L, 10L, "c", "default", null));
+        givenClaimCounts(1, 1, 1);
+
+        underTest.dispatch();
+
+        assertEquals(Arrays.asList("10:a:user1:null:null", "10:b:user2:null:null", "10:c:null:null:null"), deliveries);
+        assertEquals(Arrays.asList(1L, 2L, 3L), batchIds(DELETE_SQL));
+        assertEquals("job-token", ThreadLocalContextUtil.getAuthToken());
+    }
+
+    @Test
+    public void failedRowReleasesTheLaterRowsOfItsHook() {
+        givenDueRows(row(1L, 10L, "a", "default", 1L), row(2L, 10L, "fail", "default", 1L), row(3L, 10L, "c", "default", 1L),
+                row(4L, 20L, "d", "default", 1L));
+        givenClaimCounts(1, 1, 1, 1);
+
+        underTest.dispatch();
+
+        assertEquals(Arrays.asList("10:a", "10:fail", "20:d"),
+                deliveries.stream().map(delivery -> delivery.substring(0, delivery.indexOf(':', 3))).sorted().collect(Collectors.toList()));
+        verify(jdbcTemplate).update(startsWith("UPDATE m_hook_outbox SET attempts = ?"), eq(1), any(), eq("endpoint down"), eq(2L));
+        assertEquals(Collections.singletonList(3L), batchIds(RELEASE_SQL));
+        assertEquals(Arrays.asList(1L, 4L), batchIds(DELETE_SQL).stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void rowsClaimedByAnotherNodeHoldBackTheRestOfTheirHook() {
+        givenDueRows(row(1L, 10L, "a", "default", 1L), row(2L, 20L, "b", "default", 1L), row(3L, 10L, "c", "default", 1L));
+        givenClaimCounts(0, 1, 1);
+
+        underTest.dispatch();
+
+        assertEquals(Collections.singletonList("20:b:user1:null:null"), deliveries);
+        assertEquals(Collections.singletonList(3L), batchIds(RELEASE_SQL));
+    }
+
+    @Test
+    public void parkedRowDoesNotHoldBackTheLaterRowsOfItsHook() throws InterruptedException {
+        underTest.shutdown();
+        underTest = dispatcher(1);
+        givenDueRows(Arrays.asList(row(1L, 10L, "fail", "default", 1L), row(2L, 10L, "b", "default", 1L)),
+                // the next claim finds the rows after the parked one due again
+                Arrays.asList(row(2L, 10L, "b", "default", 1L), row(3L, 10L, "c", "default", 1L)));
+        givenClaimCounts(1, 1);
+
+        underTest.dispatch();
+
+        verify(jdbcTemplate).update(startsWith("UPDATE m_hook_outbox SET status = ?, attempts = ?"), eq(HookOutboxDispatcher.STATUS_FAILED),
+                eq(1), any(), eq("endpoint down"), eq(1L));
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE m_hook_outbox SET attempts = ?"), (Object[]) any());
+        assertEquals(Collections.singletonList(2L), batchIds(RELEASE_SQL));
+        assertEquals(Arrays.asList("10:fail", "10:b", "10:c"),
+                deliveries.stream().map(delivery -> delivery.substring(0, delivery.indexOf(':', 3))).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(2L, 3L), batchIds(DELETE_SQL));
+
+        // only pending rows waiting for a retry or claimed hold back the later rows of their hook, parked ones do not
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, atLeastOnce()).query(sql.capture(), any(RowMapper.class), args.capture(), args.capture(), args.capture(),
+                args.capture(), args.capture(), args.capture());
+        assertTrue(sql.getValue().contains("e.id < o.id AND e.status = ? AND (e.next_attempt_at > ? OR e.claimed_until >= ?)"));
+        assertEquals(HookOutboxDispatcher.STATUS_PENDING, args.getAllValues().get(3));
+    }
+
+    @Test
+    public void rowOfAnotherTenantIsNotDelivered() {
+        givenDueRows(row(1L, 10L, "a", "other", 1L));
+        givenClaimCounts(1);
+
+        underTest.dispatch();
+
+        assertEquals(Collections.emptyList(), deliveries);
+        verify(jdbcTemplate).update(startsWith("UPDATE m_hook_outbox SET attempts = ?"), eq(1), any(), eq("Queued by tenant other"),
+                eq(1L));
+    }
+
+    private HookOutboxDispatcher dispatcher(final int maxAttempts) {
+        final FineractProperties properties = new FineractProperties();
+        final FineractProperties.FineractHooksProperties hooks = new FineractProperties.FineractHooksProperties();
+        hooks.setMaxAttempts(maxAttempts);
+        properties.setHooks(hooks);
+        return new HookOutboxDispatcher(jdbcTemplate, sqlGenerator, hookRepository, hookProcessorProvider, appUserRepository, properties);
+    }
+
+    private void givenDueRows(final ResultSet... rows) {
+        givenDueRows(Arrays.asList(rows));
+    }
+
+    /**
+     * Every claim returns the next of the given batches, and nothing once they are used up.
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void givenDueRows(final List<ResultSet>... batches) {
+        final int[] claims = new int[1];
+        willAnswer(invocation -> {
+            if (claims[0] >= batches.length) {
+                return Collections.emptyList();
+            }
+            final List<ResultSet> rows = batches[claims[0]++];
+            final RowMapper<Object> mapper = invocation.getArgument(1);
+            final List<Object> entries = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                entries.add(mapper.mapRow(rows.get(i), i));
+            }
+            return entries;
+        }).given(jdbcTemplate).query(startsWith("SELECT o.id"), any(RowMapper.class), (Object[]) any());
+    }
+
+    private void givenClaimCounts(final int... counts) {
+        given(jdbcTemplate.batchUpdate(startsWith(CLAIM_SQL), any(List.class))).willReturn(counts);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> batchIds(final String sql) {
+        final ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(sql), captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).map(args -> (Long) args[0]).collect(Collectors.toList());
+    }
+
+    private static Hook hook(final Long id) {
+        final Hook hook = mock(Hook.class);
+        given(hook.getId()).willReturn(id);
+        given(hook.isActive()).willReturn(true);
+        return hook;
+    }
+
+    private static AppUser user(final Long id) {
+        final AppUser user = mock(AppUser.class);
+        given(user.getId()).willReturn(id);
+        given(user.getUsername()).willReturn("user" + id);
+        return user;
+    }
+
+    private static ResultSet row(final Long id, final Long hookId, final String payload, final String tenantIdentifier,
+            final Long appUserId) {
+        final ResultSet rs = mock(ResultSet.class);
+        try {
+            given(rs.getLong("id")).willReturn(id);
+            given(rs.getLong("hook_id")).willReturn(hookId);
+            given(rs.getString("entity_name")).willReturn("LOAN");
+            given(rs.getString("action_name")).willReturn("CREATE");
+            given(rs.getString("payload")).willReturn(payload);
+            given(rs.getInt("attempts")).willReturn(0);
+            given(rs.getString("tenant_identifier")).willReturn(tenantIdentifier);
+            given(rs.findColumn("app_user_id")).willReturn(8);
+            given(rs.getLong(8)).willReturn(appUserId == null ? 0L : appUserId);
+            given(rs.wasNull()).willReturn(appUserId == null);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return rs;
+    }
+}
@@ -0,0 +1,293 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class PartitionedJobExecutorTest {
+
+    private static final List<Long> IDS = LongStream.rangeClosed(1, 7).boxed().collect(Collectors.toList());
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private FineractPlatformTenantConnection connection;
+
+    private PartitionedJobExecutor executor;
+
+    /** ids processed in the transaction of the current worker thread, published on commit and dropped on rollback */
+    private final ThreadLocal<List<Long>> pending = new ThreadLocal<>();
+    private final List<Long> committed = Collections.synchronizedList(new ArrayList<>());
+    private final List<List<Long>> committedTransactions = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> requestedAfter = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", this.connection));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+        given(this.connection.getMaxRetriesOnDeadlock()).willReturn(3);
+        given(this.connection.getMaxIntervalBetweenRetries()).willReturn(0);
+
+        given(this.transactionManager.getTransaction(any())).willAnswer(invocation -> {
+            this.pending.set(new ArrayList<>());
+            return new SimpleTransactionStatus();
+        });
+        willAnswer(invocation -> {
+            final TransactionStatus status = invocation.getArgument(0);
+            if (!status.isRollbackOnly()) {
+                this.committed.addAll(this.pending.get());
+                this.committedTransactions.add(this.pending.get());
+            }
+            this.pending.remove();
+            return null;
+        }).given(this.transactionManager).commit(any());
+        willAnswer(invocation -> {
+            this.pending.remove();
+            return null;
+        }).given(this.transactionManager).rollback(any());
+
+        this.executor = new PartitionedJobExecutor(new TransactionTemplate(this.transactionManager));
+        JobRunProgressHolder.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+        JobRunProgressHolder.clear();
+    }
+
+    @Test
+    public void pagesAfterTheLastIdOfEachPageAndCommitsEachChunkOnce() throws JobExecutionException {
+        final JobRunProgress progress = this.executor.execute("test", parameters(1, 3), producer(IDS), this::record);
+
+        assertEquals(List.of(0L, 3L, 6L, 7L), this.requestedAfter);
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(4L, 5L, 6L), List.of(7L)), this.committedTransactions);
+        assertEquals(IDS, this.committed);
+        assertEquals(7, progress.getItemsProcessed());
+        assertEquals(0, progress.getItemsFailed());
+        assertSame(progress, JobRunProgressHolder.get());
+    }
+
+    @Test
+    public void workersRunInTheContextOfTheCaller() throws JobExecutionException {
+        final Thread caller = Thread.currentThread();
+        final Set<String> tenants = ConcurrentHashMap.newKeySet();
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        this.executor.execute("test", parameters(2, 2), producer(IDS), (id, chunkData) -> {
+            tenants.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            threads.add(Thread.currentThread());
+        });
+
+        assertEquals(Set.of("default"), tenants);
+        assertTrue(threads.stream().noneMatch(thread -> thread == caller));
+        assertEquals("default", ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+    }
+
+    @Test
+    public void processesEveryIdOnceWithSeveralWorkers() throws JobExecutionException {
+        final List<Long> ids = LongStream.rangeClosed(1, 100).boxed().collect(Collectors.toList());
+
+        this.executor.execute("test", parameters(4, 7), producer(ids), this::record);
+
+        final List<Long> sorted = new ArrayList<>(this.committed);
+        Collections.sort(sorted);
+        assertEquals(ids, sorted);
+    }
+
+    @Test
+    public void retriesAFailedChunkOneIdPerTransaction() {
+        final JobExecutionException failure = assertThrows(JobExecutionException.class,
+                () -> this.executor.execute("test", parameters(1, 3), producer(IDS), (id, chunkData) -> {
+                    if (id == 5L) {
+                        throw new IllegalStateException("broken item " + id);
+                    }
+                    record(id, chunkData);
+                }));
+
+        assertEquals(1, failure.getCauses().size());
+        assertEquals("broken item 5", failure.getCauses().get(0).getMessage());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 6L, 7L), this.committed);
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(4L), List.of(6L), List.of(7L)), this.committedTransactions);
+        assertEquals(6, JobRunProgressHolder.get().getItemsProcessed());
+        assertEquals(1, JobRunProgressHolder.get().getItemsFailed());
+    }
+
+    @Test
+    public void retriesAnIdOnDeadlockUntilItSucceeds() throws JobExecutionException {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        this.executor.execute("test", parameters(1, 3), producer(List.of(1L, 2L, 3L)), (id, chunkData) -> {
+            // fails the chunk and the first one by one attempt
+            if (id == 2L && attempts.incrementAndGet() <= 2) {
+                throw new CannotAcquireLockException("deadlock");
+            }
+            record(id, chunkData);
+        });
+
+        assertEquals(3, attempts.get());
+        assertEquals(List.of(1L, 2L, 3L), this.committed);
+        assertEquals(3, JobRunProgressHolder.get().getItemsProcessed());
+    }
+
+    @Test
+    public void givesUpAfterTheMaximumNumberOfRetries() {
+        given(this.connection.getMaxRetriesOnDeadlock()).willReturn(1);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final JobExecutionException failure = assertThrows(JobExecutionException.class,
+                () -> this.executor.execute("test", parameters(1, 3), producer(List.of(1L, 2L)), (id, chunkData) -> {
+                    if (id == 2L) {
+                        attempts.incrementAndGet();
+                        throw new ObjectOptimisticLockingFailureException("m_loan", id);
+                    }
+                    record(id, chunkData);
+                }));
+
+        // once in the chunk, then the first one by one attempt and a single retry
+        assertEquals(3, attempts.get());
+        assertEquals(1, failure.getCauses().size());
+        assertTrue(failure.getCauses().get(0) instanceof ObjectOptimisticLockingFailureException);
+        assertEquals(List.of(1L), this.committed);
+    }
+
+    @Test
+    public void keepsProcessingQueuedChunksWhenFetchingFails() {
+        final KeysetIdProducer failingAfterFirstPage = (lastId, pageSize) -> {
+            if (lastId > 0) {
+                throw new IllegalStateException("fetch failed");
+            }
+            return List.of(1L, 2L);
+        };
+
+        final JobExecutionException failure = assertThrows(JobExecutionException.class,
+                () -> this.executor.execute("test", parameters(2, 2), failingAfterFirstPage, this::record));
+
+        assertEquals(1, failure.getCauses().size());
+        assertEquals("fetch failed", failure.getCauses().get(0).getMessage());
+        assertEquals(List.of(1L, 2L), this.committed);
+    }
+
+    @Test
+    public void doesNotRetryChunksOfNonTransactionalProcessors() {
+        final Set<Long> processed = ConcurrentHashMap.newKeySet();
+        final PartitionedJobItemProcessor<Void> processor = new PartitionedJobItemProcessor<>() {
+
+            @Override
+            public void process(final Long id, final Void chunkData) {
+                processed.add(id);
+            }
+
+            @Override
+            public void processChunk(final List<Long> ids, final Void chunkData) {
+                throw new IllegalStateException("chunk failed");
+            }
+
+            @Override
+            public boolean isChunkTransactional() {
+                return false;
+            }
+        };
+
+        final JobExecutionException failure = assertThrows(JobExecutionException.class,
+                () -> this.executor.execute("test", parameters(1, 3), producer(IDS), processor));
+
+        assertEquals(3, failure.getCauses().size());
+        assertTrue(processed.isEmpty());
+        assertEquals(7, JobRunProgressHolder.get().getItemsFailed());
+        verify(this.transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void preparesEachChunkBeforeProcessingIt() throws JobExecutionException {
+        final Map<Long, List<Long>> chunkOfId = new ConcurrentHashMap<>();
+        final PartitionedJobItemProcessor<List<Long>> processor = new PartitionedJobItemProcessor<>() {
+
+            @Override
+            public List<Long> prepareChunk(final List<Long> ids) {
+                return ids;
+            }
+
+            @Override
+            public void process(final Long id, final List<Long> chunkData) {
+                chunkOfId.put(id, chunkData);
+            }
+        };
+
+        this.executor.execute("test", parameters(2, 3), producer(IDS), processor);
+
+        assertEquals(List.of(1L, 2L, 3L), chunkOfId.get(2L));
+        assertEquals(List.of(7L), chunkOfId.get(7L));
+    }
+
+    private void record(final Long id, @SuppressWarnings("unused") final Object chunkData) {
+        this.pending.get().add(id);
+    }
+
+    private KeysetIdProducer producer(final List<Long> ids) {
+        return (lastId, pageSize) -> {
+            this.requestedAfter.add(lastId);
+            return ids.stream().filter(id -> id > lastId).limit(pageSize).collect(Collectors.toList());
+        };
+    }
+
+    private static PartitionedJobParameters parameters(final int threads, final int chunkSize) {
+        return PartitionedJobParameters.fromJobParameters(Map.of(PartitionedJobParameters.THREAD_POOL_SIZE_PARAMETER,
+                String.valueOf(threads), PartitionedJobParameters.BATCH_SIZE_PARAMETER, String.valueOf(chunkSize)));
+    }
+}
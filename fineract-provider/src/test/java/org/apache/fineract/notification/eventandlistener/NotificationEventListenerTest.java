@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.notification.eventandlistener;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Set;
+import org.apache.fineract.notification.data.NotificationData;
+import org.apache.fineract.notification.service.NotificationWritePlatformService;
+import org.apache.fineract.useradministration.domain.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class NotificationEventListenerTest {
+
+    private static final Long ACTOR_ID = 1L;
+    private static final Long OFFICE_ID = 5L;
+
+    @Mock
+    private NotificationWritePlatformService notificationWritePlatformService;
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @InjectMocks
+    private NotificationEventListener underTest;
+
+    @Test
+    public void testRecipientsOfTheOfficeAreNotifiedTogetherWithoutTheActor() {
+        given(this.appUserRepository.findIdsByOfficeIdAndIdIn(OFFICE_ID, Set.of(ACTOR_ID, 2L, 3L, 4L)))
+                .willReturn(Set.of(ACTOR_ID, 2L, 4L));
+
+        this.underTest.receive(notification(OFFICE_ID, Set.of(ACTOR_ID, 2L, 3L, 4L)));
+
+        // one notification for all recipients, users of other offices and the actor are left out
+        verify(this.notificationWritePlatformService).notify(Set.of(2L, 4L), "loan", 10L, "approved", ACTOR_ID, "Loan approved", false);
+        verify(this.notificationWritePlatformService, never()).notify(anyLong(), anyString(), anyLong(), anyString(), anyLong(),
+                anyString(), anyBoolean());
+    }
+
+    @Test
+    public void testRecipientsAreNotFilteredByOfficeWithoutOne() {
+        this.underTest.receive(notification(null, Set.of(ACTOR_ID, 2L)));
+
+        verify(this.appUserRepository, never()).findIdsByOfficeIdAndIdIn(any(), anyCollection());
+        verify(this.notificationWritePlatformService).notify(Set.of(2L), "loan", 10L, "approved", ACTOR_ID, "Loan approved", false);
+    }
+
+    @Test
+    public void testNothingIsWrittenWhenOnlyTheActorIsLeft() {
+        given(this.appUserRepository.findIdsByOfficeIdAndIdIn(OFFICE_ID, Set.of(ACTOR_ID, 2L))).willReturn(Set.of(ACTOR_ID));
+
+        this.underTest.receive(notification(OFFICE_ID, Set.of(ACTOR_ID, 2L)));
+
+        verify(this.notificationWritePlatformService, never()).notify(anyCollection(), anyString(), anyLong(), anyString(), anyLong(),
+                anyString(), anyBoolean());
+    }
+
+    private static NotificationData notification(final Long officeId, final Set<Long> userIds) {
+        return new NotificationData("loan", 10L, "approved", ACTOR_ID, "Loan approved", false, false, "default", officeId, userIds);
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.notification.eventandlistener;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.notification.data.NotificationData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SpringNotificationEventListenerTest {
+
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private final NotificationData notificationData = new NotificationData("loan", 10L, "approved", 1L, "Loan approved", false, false,
+            "default", 5L, Set.of(2L));
+
+    @Mock
+    private NotificationEventListener notificationEventListener;
+
+    private final FineractProperties fineractProperties = new FineractProperties();
+
+    private SpringNotificationEventListener underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (this.underTest != null) {
+            this.underTest.shutdownDispatcher();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testEventIsProcessedOnThePublishingThreadByDefault() {
+        this.underTest = listener(false);
+
+        this.underTest.onApplicationEvent(event());
+
+        verify(this.notificationEventListener).receive(this.notificationData);
+        assertSame(this.tenant, ThreadLocalContextUtil.getTenant());
+    }
+
+    @Test
+    public void testAsyncEventIsDispatchedOnlyAfterCommitAndTheWorkerContextIsReset() throws InterruptedException {
+        this.underTest = listener(true);
+        final AtomicReference<FineractPlatformTenant> tenantWhileProcessing = new AtomicReference<>();
+        final AtomicReference<FineractPlatformTenant> tenantOfNextEvent = new AtomicReference<>(this.tenant);
+        final CountDownLatch processed = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            tenantWhileProcessing.set(ThreadLocalContextUtil.getTenant());
+            processed.countDown();
+            throw new IllegalStateException("fan out failed");
+        }).given(this.notificationEventListener).receive(this.notificationData);
+
+        TransactionSynchronizationManager.initSynchronization();
+        this.underTest.onApplicationEvent(event());
+        verify(this.notificationEventListener, never()).receive(this.notificationData);
+
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertTrue(processed.await(5, TimeUnit.SECONDS));
+        assertSame(this.tenant, tenantWhileProcessing.get());
+
+        // a single worker, so the next event runs on the thread that processed the failed one; outside of a transaction it
+        // is dispatched at once, and its context is read on the worker before being applied
+        TransactionSynchronizationManager.clearSynchronization();
+        final CountDownLatch inspected = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            inspected.countDown();
+            return null;
+        }).given(this.notificationEventListener).receive(null);
+        this.underTest.onApplicationEvent(new NotificationEvent(this, null, ThreadLocalContextUtil.getContext()) {
+
+            @Override
+            public FineractContext getContext() {
+                tenantOfNextEvent.set(ThreadLocalContextUtil.getTenant());
+                return super.getContext();
+            }
+        });
+        assertTrue(inspected.await(5, TimeUnit.SECONDS));
+        assertNull(tenantOfNextEvent.get());
+    }
+
+    private SpringNotificationEventListener listener(final boolean asyncDispatchEnabled) {
+        final FineractProperties.FineractNotificationProperties notification = new FineractProperties.FineractNotificationProperties();
+        notification.setAsyncDispatchEnabled(asyncDispatchEnabled);
+        notification.setDispatcherThreadPoolSize(1);
+        this.fineractProperties.setNotification(notification);
+        final SpringNotificationEventListener listener = new SpringNotificationEventListener(this.notificationEventListener,
+                this.fineractProperties);
+        listener.initDispatcher();
+        return listener;
+    }
+
+    private NotificationEvent event() {
+        return new NotificationEvent(this, this.notificationData, ThreadLocalContextUtil.getContext());
+    }
+}
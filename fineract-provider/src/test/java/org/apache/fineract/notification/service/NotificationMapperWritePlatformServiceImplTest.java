@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.apache.fineract.notification.domain.NotificationMapperRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class NotificationMapperWritePlatformServiceImplTest {
+
+    @Mock
+    private NotificationMapperRepository notificationMapperRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> rowsCaptor;
+
+    @InjectMocks
+    private NotificationMapperWritePlatformServiceImpl underTest;
+
+    @Test
+    public void testMapperRowsOfAllRecipientsAreInsertedInOneBatch() {
+        final LocalDateTime createdAt = LocalDateTime.of(2022, 6, 1, 10, 0);
+        given(this.jdbcTemplate.batchUpdate(anyString(), any(List.class))).willReturn(new int[] { 1, 1, 1 });
+
+        this.underTest.createAll(42L, List.of(2L, 3L, 4L), createdAt);
+
+        verify(this.jdbcTemplate).batchUpdate(eq("INSERT INTO notification_mapper (notification_id, user_id, is_read, created_at) "
+                + "VALUES (?, ?, ?, ?)"), this.rowsCaptor.capture());
+        final List<Object[]> rows = this.rowsCaptor.getValue();
+        assertEquals(3, rows.size());
+        assertArrayEquals(new Object[] { 42L, 2L, false, createdAt }, rows.get(0));
+        assertArrayEquals(new Object[] { 42L, 4L, false, createdAt }, rows.get(2));
+        verify(this.notificationMapperRepository, never()).saveAndFlush(any());
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class MoneyAccumulatorTest {
+
+    private static final RoundingMode[] ROUNDING_MODES = { RoundingMode.HALF_EVEN, RoundingMode.HALF_UP, RoundingMode.HALF_DOWN,
+            RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR };
+
+    private static final MonetaryCurrency[] CURRENCIES = { new MonetaryCurrency("USD", 2, null), new MonetaryCurrency("KWD", 3, null),
+            new MonetaryCurrency("JPY", 0, null), new MonetaryCurrency("XOF", 0, 50), new MonetaryCurrency("UGX", 0, 100),
+            new MonetaryCurrency("EUR", 2, 5) };
+
+    @AfterEach
+    public void tearDown() {
+        MoneyHelper.initializeRoundingMode(RoundingMode.HALF_EVEN);
+    }
+
+    private static Stream<Arguments> roundingModesAndCurrencies() {
+        final List<Arguments> arguments = new ArrayList<>();
+        for (final RoundingMode roundingMode : ROUNDING_MODES) {
+            for (final MonetaryCurrency currency : CURRENCIES) {
+                arguments.add(Arguments.of(roundingMode, currency));
+            }
+        }
+        return arguments.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("roundingModesAndCurrencies")
+    public void accumulatesLikeChainedMoneyOperations(final RoundingMode roundingMode, final MonetaryCurrency currency) {
+        MoneyHelper.initializeRoundingMode(roundingMode);
+        final Random random = new Random(roundingMode.ordinal() * 31L + currency.getCode().hashCode());
+
+        Money expected = Money.zero(currency);
+        final MoneyAccumulator accumulator = MoneyAccumulator.zero(currency);
+        for (int i = 0; i < 500; i++) {
+            final BigDecimal amount = BigDecimal.valueOf(random.nextInt(2_000_000) - 500_000, random.nextInt(5));
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    expected = expected.plus(amount);
+                    accumulator.plus(amount);
+                }
+                case 1 -> {
+                    expected = expected.minus(amount);
+                    accumulator.minus(amount);
+                }
+                case 2 -> {
+                    final Money money = Money.of(currency, amount);
+                    expected = expected.plus(money);
+                    accumulator.plus(money);
+                }
+                default -> {
+                    final Money money = Money.of(currency, amount);
+                    expected = expected.minus(money);
+                    accumulator.minus(money);
+                }
+            }
+            assertEquals(expected.getAmount(), accumulator.getAmount(), "after operation " + i);
+        }
+        assertSameMoney(expected, accumulator.toMoney());
+    }
+
+    @ParameterizedTest
+    @MethodSource("roundingModesAndCurrencies")
+    public void startsFromTheGivenMoney(final RoundingMode roundingMode, final MonetaryCurrency currency) {
+        MoneyHelper.initializeRoundingMode(roundingMode);
+        final Money start = Money.of(currency, new BigDecimal("1234.5678"));
+
+        final MoneyAccumulator accumulator = MoneyAccumulator.of(start);
+        assertSame(start, accumulator.toMoney());
+
+        accumulator.plus(new BigDecimal("0.005")).minus(Money.of(currency, new BigDecimal("17.25"))).plus(new BigDecimal("75"));
+        assertSameMoney(start.plus(new BigDecimal("0.005")).minus(Money.of(currency, new BigDecimal("17.25"))).plus(new BigDecimal("75")),
+                accumulator.toMoney());
+    }
+
+    @Test
+    public void zeroAndNullAmountsLeaveTheTotalUntouched() {
+        MoneyHelper.initializeRoundingMode(RoundingMode.HALF_EVEN);
+        final MoneyAccumulator accumulator = MoneyAccumulator.of(Money.of(CURRENCIES[0], BigDecimal.TEN));
+        final Money total = accumulator.toMoney();
+
+        accumulator.plus((BigDecimal) null).minus((BigDecimal) null).plus(BigDecimal.ZERO).minus(new BigDecimal("0.000"));
+
+        assertSame(total, accumulator.toMoney());
+    }
+
+    @Test
+    public void moneyOfAnotherCurrencyIsRejected() {
+        MoneyHelper.initializeRoundingMode(RoundingMode.HALF_EVEN);
+        final MoneyAccumulator accumulator = MoneyAccumulator.zero(CURRENCIES[0]);
+        final Money otherCurrency = Money.of(CURRENCIES[1], BigDecimal.ONE);
+
+        assertThrows(UnsupportedOperationException.class, () -> accumulator.plus(otherCurrency));
+        assertThrows(UnsupportedOperationException.class, () -> accumulator.minus(otherCurrency));
+    }
+
+    private static void assertSameMoney(final Money expected, final Money actual) {
+        assertEquals(expected.getCurrencyCode(), actual.getCurrencyCode());
+        assertEquals(expected.getCurrencyDigitsAfterDecimal(), actual.getCurrencyDigitsAfterDecimal());
+        assertEquals(expected.getCurrencyInMultiplesOf(), actual.getCurrencyInMultiplesOf());
+        assertEquals(expected.getAmount(), actual.getAmount());
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobParameters;
+import org.apache.fineract.portfolio.account.data.AccountTransferDTO;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
+import org.apache.fineract.portfolio.client.data.ClientData;
+import org.apache.fineract.portfolio.savings.exception.InsufficientAccountBalanceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class StandingInstructionWritePlatformServiceImplTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2022, 6, 1);
+    private static final String HISTORY_SQL = "INSERT INTO m_account_transfer_standing_instructions_history";
+    private static final String LAST_RUN_SQL = "UPDATE m_account_transfer_standing_instructions SET last_run_date";
+
+    @Mock
+    private StandingInstructionReadPlatformService standingInstructionReadPlatformService;
+
+    @Mock
+    private AccountTransfersWritePlatformService accountTransfersWritePlatformService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, List<StandingInstructionData>> instructionsByClient = new HashMap<>();
+    private final Map<TransactionStatus, Integer> transactionIds = new ConcurrentHashMap<>();
+    private final AtomicInteger transactionSequence = new AtomicInteger();
+    private final ThreadLocal<Integer> currentTransaction = new ThreadLocal<>();
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> committed = Collections.synchronizedList(new ArrayList<>());
+    private final List<Object[]> history = Collections.synchronizedList(new ArrayList<>());
+
+    private StandingInstructionWritePlatformServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE);
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        underTest = new StandingInstructionWritePlatformServiceImpl(null, null, null, null, null, standingInstructionReadPlatformService,
+                accountTransfersWritePlatformService, jdbcTemplate, sqlGenerator, null, null, null,
+                new PartitionedJobExecutor(transactionTemplate), transactionTemplate);
+
+        given(sqlGenerator.escape(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+        given(sqlGenerator.currentTenantDateTime()).willReturn("now()");
+        given(transactionManager.getTransaction(any())).willAnswer(invocation -> {
+            final TransactionStatus status = new SimpleTransactionStatus();
+            final int id = transactionSequence.incrementAndGet();
+            transactionIds.put(status, id);
+            currentTransaction.set(id);
+            return status;
+        });
+        willAnswer(invocation -> {
+            committed.add(transactionIds.get(invocation.getArgument(0)));
+            currentTransaction.remove();
+            return null;
+        }).given(transactionManager).commit(any());
+        willAnswer(invocation -> {
+            currentTransaction.remove();
+            return null;
+        }).given(transactionManager).rollback(any());
+
+        given(standingInstructionReadPlatformService.retrieveFromClientIdsWithDueInstructions(eq(1), anyLong(), anyInt()))
+                .willAnswer(invocation -> {
+                    final Long lastClientId = invocation.getArgument(1);
+                    final int pageSize = invocation.getArgument(2);
+                    return instructionsByClient.keySet().stream().filter(clientId -> clientId > lastClientId).sorted().limit(pageSize)
+                            .collect(Collectors.toList());
+                });
+        given(standingInstructionReadPlatformService.retrieveAllForFromClients(eq(1), anyCollection())).willAnswer(invocation -> {
+            final Collection<Long> clientIds = invocation.getArgument(1);
+            final List<StandingInstructionData> instructions = new ArrayList<>();
+            clientIds.forEach(clientId -> instructions.addAll(instructionsByClient.getOrDefault(clientId, List.of())));
+            return instructions;
+        });
+        given(standingInstructionReadPlatformService.retrieveLoanDuesData(anyCollection())).willReturn(Collections.emptyMap());
+        given(accountTransfersWritePlatformService.transferFunds(any())).willAnswer(invocation -> {
+            final AccountTransferDTO dto = invocation.getArgument(0);
+            events.add("transfer " + dto.getFromAccountId() + " in " + currentTransaction.get());
+            return 1L;
+        });
+        given(jdbcTemplate.update(startsWith(LAST_RUN_SQL), (Object[]) any())).willAnswer(invocation -> {
+            events.add("last run " + invocation.getArgument(2) + " in " + currentTransaction.get());
+            return 1;
+        });
+        given(jdbcTemplate.batchUpdate(startsWith(HISTORY_SQL), anyList())).willAnswer(invocation -> {
+            final List<Object[]> rows = invocation.getArgument(1);
+            history.addAll(rows);
+            return new int[rows.size()];
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testTransfersOfOneClientRunInPriorityOrderAcrossWorkers() throws Exception {
+        for (long clientId = 1; clientId <= 6; clientId++) {
+            instructionsByClient.put(clientId, List.of(instruction(clientId * 10, clientId, clientId * 10),
+                    instruction(clientId * 10 + 1, clientId, clientId * 10 + 1), instruction(clientId * 10 + 2, clientId, clientId * 10 + 2)));
+        }
+
+        underTest.executeStandingInstructions(jobParameters(3, 1));
+
+        for (long clientId = 1; clientId <= 6; clientId++) {
+            final String prefix = "transfer " + clientId;
+            final List<String> transfers = events.stream().filter(event -> event.startsWith(prefix)).map(event -> event.split(" ")[1])
+                    .collect(Collectors.toList());
+            assertEquals(List.of(String.valueOf(clientId * 10), String.valueOf(clientId * 10 + 1), String.valueOf(clientId * 10 + 2)),
+                    transfers);
+        }
+        assertEquals(18, history.size());
+    }
+
+    @Test
+    public void testLastRunDateIsWrittenInTheTransactionOfItsTransfer() throws Exception {
+        instructionsByClient.put(1L, List.of(instruction(10L, 1L, 100L), instruction(11L, 1L, 101L)));
+
+        underTest.executeStandingInstructions(jobParameters(1, 10));
+
+        assertEquals(List.of("transfer 100 in 1", "last run 10 in 1", "transfer 101 in 2", "last run 11 in 2"), events);
+        assertTrue(committed.containsAll(List.of(1, 2)));
+    }
+
+    @Test
+    public void testFailedTransferIsRolledBackWithoutLastRunDateAndRecordedAsFailed() {
+        instructionsByClient.put(1L, List.of(instruction(10L, 1L, 100L), instruction(11L, 1L, 101L)));
+        willAnswer(invocation -> {
+            final AccountTransferDTO dto = invocation.getArgument(0);
+            if (dto.getFromAccountId() == 100L) {
+                throw new InsufficientAccountBalanceException("transactionAmount", BigDecimal.ZERO, null, BigDecimal.TEN);
+            }
+            events.add("transfer " + dto.getFromAccountId() + " in " + currentTransaction.get());
+            return 1L;
+        }).given(accountTransfersWritePlatformService).transferFunds(any());
+
+        assertThrows(JobExecutionException.class, () -> underTest.executeStandingInstructions(jobParameters(1, 10)));
+
+        assertEquals(List.of("transfer 101 in 2", "last run 11 in 2"), events);
+        assertEquals(List.of(2, 3), committed);
+        assertEquals(List.of("failed", "success"), history.stream().map(row -> (String) row[1]).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFailedHistoryBatchKeepsTheCommittedLastRunDates() {
+        instructionsByClient.put(1L, List.of(instruction(10L, 1L, 100L)));
+        willThrow(new DataAccessResourceFailureException("lost")).given(jdbcTemplate).batchUpdate(startsWith(HISTORY_SQL),
+                anyList());
+
+        assertThrows(JobExecutionException.class, () -> underTest.executeStandingInstructions(jobParameters(1, 10)));
+
+        assertEquals(List.of("transfer 100 in 1", "last run 10 in 1"), events);
+        assertEquals(List.of(1), committed);
+    }
+
+    private static Map<String, String> jobParameters(final int threads, final int batchSize) {
+        return Map.of(PartitionedJobParameters.THREAD_POOL_SIZE_PARAMETER, String.valueOf(threads),
+                PartitionedJobParameters.BATCH_SIZE_PARAMETER, String.valueOf(batchSize));
+    }
+
+    private static StandingInstructionData instruction(final Long id, final Long fromClientId, final Long fromAccountId) {
+        final EnumOptionData savings = new EnumOptionData(2L, "accountType.savings", "Savings");
+        return StandingInstructionData.instance(id, id, "instruction " + id, null, null, ClientData.instance(fromClientId, "client"),
+                null, savings, PortfolioAccountData.lookup(fromAccountId, null), savings, PortfolioAccountData.lookup(900L, null),
+                new EnumOptionData(1L, "accountTransferType.account.transfer", "Account Transfer"),
+                new EnumOptionData(1L, "standingInstructionPriority.urgent", "Urgent"),
+                new EnumOptionData(1L, "standingInstructionType.fixed", "Fixed"), new EnumOptionData(1L, "status.active", "Active"),
+                BigDecimal.TEN, BUSINESS_DATE.minusDays(10), null,
+                new EnumOptionData(1L, "accountTransferRecurrenceType.periodic", "Periodic"),
+                new EnumOptionData(0L, "periodFrequencyType.days", "Days"), 1, MonthDay.from(BUSINESS_DATE));
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.businessevent.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.businessevent.AsyncBusinessEventListener;
+import org.apache.fineract.portfolio.businessevent.domain.BusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.BusinessEventIds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class BusinessEventNotifierServiceImplTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BusinessEventNotifierServiceImpl underTest;
+
+    @BeforeEach
+    public void init() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        final FineractProperties properties = new FineractProperties();
+        final FineractProperties.FineractEventsProperties events = new FineractProperties.FineractEventsProperties();
+        events.setAsyncThreadPoolSize(4);
+        properties.setEvents(events);
+        underTest = new BusinessEventNotifierServiceImpl(properties, new SimpleMeterRegistry(), transactionManager);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        underTest.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void asyncListenerCapturesIdsOnCallerAndRunsOffThreadWithContext() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        final List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        underTest.addAsyncPostBusinessEventListener(TestEvent.class, new AsyncBusinessEventListener<TestEvent>() {
+
+            @Override
+            public BusinessEventIds idsOf(TestEvent event) {
+                seen.add(Thread.currentThread().getName());
+                return BusinessEventIds.loan(event.get());
+            }
+
+            @Override
+            public void onBusinessEvent(BusinessEventIds ids) {
+                seen.add(Thread.currentThread().getName());
+                seen.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + ids.getAggregateId());
+                done.countDown();
+            }
+        });
+
+        underTest.notifyPostBusinessEvent(new TestEvent(7L));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Thread.currentThread().getName(), seen.get(0));
+        assertTrue(seen.get(1).startsWith("business-event-"));
+        assertEquals("default:7", seen.get(2));
+    }
+
+    @Test
+    public void asyncListenerRunsOnlyAfterCommit() throws InterruptedException {
+        final AtomicInteger invocations = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+        underTest.addAsyncPostBusinessEventListener(TestEvent.class, countingListener(invocations, done));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.notifyPostBusinessEvent(new TestEvent(1L));
+            final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, synchronizations.size());
+            assertEquals(0, invocations.get());
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void asyncListenerIsSkippedOnRollback() throws InterruptedException {
+        final AtomicInteger invocations = new AtomicInteger();
+        underTest.addAsyncPostBusinessEventListener(TestEvent.class, countingListener(invocations, new CountDownLatch(1)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.notifyPostBusinessEvent(new TestEvent(1L));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        underTest.shutdown();
+        assertEquals(0, invocations.get());
+    }
+
+    @Test
+    public void eventsOfTheSameLoanRunOneAtATimeInOrder() throws InterruptedException {
+        final int events = 200;
+        final CountDownLatch done = new CountDownLatch(events * 2);
+        final List<Long> loan1 = Collections.synchronizedList(new ArrayList<>());
+        final List<Long> loan2 = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+        underTest.addAsyncPostBusinessEventListener(TestEvent.class, new AsyncBusinessEventListener<TestEvent>() {
+
+            @Override
+            public BusinessEventIds idsOf(TestEvent event) {
+                return BusinessEventIds.loanTransaction(event.get() % 2, event.get());
+            }
+
+            @Override
+            public void onBusinessEvent(BusinessEventIds ids) {
+                if (ids.getAggregateId() == 1L && running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                (ids.getAggregateId() == 1L ? loan1 : loan2).add(ids.getEntityId());
+                if (ids.getAggregateId() == 1L) {
+                    running.decrementAndGet();
+                }
+                done.countDown();
+            }
+        });
+
+        for (long i = 0; i < events * 2; i++) {
+            underTest.notifyPostBusinessEvent(new TestEvent(i));
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        for (int i = 1; i < events; i++) {
+            assertTrue(loan1.get(i - 1) < loan1.get(i));
+            assertTrue(loan2.get(i - 1) < loan2.get(i));
+        }
+    }
+
+    @Test
+    public void failingListenerDoesNotStopTheStripeAndContextIsReset() throws Exception {
+        final AtomicInteger invocations = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(2);
+        underTest.addAsyncPostBusinessEventListener(TestEvent.class, new AsyncBusinessEventListener<TestEvent>() {
+
+            @Override
+            public BusinessEventIds idsOf(TestEvent event) {
+                return BusinessEventIds.loanTransaction(1L, event.get());
+            }
+
+            @Override
+            public void onBusinessEvent(BusinessEventIds ids) {
+                invocations.incrementAndGet();
+                done.countDown();
+                if (ids.getEntityId() == 1L) {
+                    throw new IllegalStateException("failed");
+                }
+            }
+        });
+
+        underTest.notifyPostBusinessEvent(new TestEvent(1L));
+        underTest.notifyPostBusinessEvent(new TestEvent(2L));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, invocations.get());
+        assertNull(underTest.executorFor("default", BusinessEventIds.loan(1L)).submit(ThreadLocalContextUtil::getTenant).get());
+    }
+
+    @Test
+    public void eventsFindingTheirStripeFullAreDroppedAndCounted() throws InterruptedException {
+        underTest.shutdown();
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final FineractProperties properties = new FineractProperties();
+        final FineractProperties.FineractEventsProperties events = new FineractProperties.FineractEventsProperties();
+        events.setAsyncThreadPoolSize(1);
+        events.setAsyncQueueCapacity(1);
+        properties.setEvents(events);
+        underTest = new BusinessEventNotifierServiceImpl(properties, meterRegistry, transactionManager);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Long> handled = Collections.synchronizedList(new ArrayList<>());
+        underTest.addAsyncPostBusinessEventListener(TestEvent.class, new AsyncBusinessEventListener<TestEvent>() {
+
+            @Override
+            public BusinessEventIds idsOf(TestEvent event) {
+                return BusinessEventIds.loanTransaction(1L, event.get());
+            }
+
+            @Override
+            public void onBusinessEvent(BusinessEventIds ids) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                handled.add(ids.getEntityId());
+            }
+        });
+
+        underTest.notifyPostBusinessEvent(new TestEvent(1L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // 2 waits in the queue of the only stripe, 3 and 4 find it full and are dropped on the caller without blocking it
+        underTest.notifyPostBusinessEvent(new TestEvent(2L));
+        underTest.notifyPostBusinessEvent(new TestEvent(3L));
+        underTest.notifyPostBusinessEvent(new TestEvent(4L));
+        release.countDown();
+        underTest.shutdown();
+
+        assertEquals(List.of(1L, 2L), handled);
+        assertEquals(2.0, meterRegistry.get("fineract.business-events.async.dropped").tag("event", "TestEvent").counter().count());
+    }
+
+    private static AsyncBusinessEventListener<TestEvent> countingListener(final AtomicInteger invocations, final CountDownLatch done) {
+        return new AsyncBusinessEventListener<TestEvent>() {
+
+            @Override
+            public BusinessEventIds idsOf(TestEvent event) {
+                return BusinessEventIds.loan(event.get());
+            }
+
+            @Override
+            public void onBusinessEvent(BusinessEventIds ids) {
+                invocations.incrementAndGet();
+                done.countDown();
+            }
+        };
+    }
+
+    private static final class TestEvent implements BusinessEvent<Long> {
+
+        private final Long loanId;
+
+        TestEvent(final Long loanId) {
+            this.loanId = loanId;
+        }
+
+        @Override
+        public Long get() {
+            return loanId;
+        }
+    }
+}
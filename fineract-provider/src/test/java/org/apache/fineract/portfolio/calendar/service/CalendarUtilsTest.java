@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.calendar.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import net.fortuna.ical4j.model.Recur;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CalendarUtilsTest {
+
+    private static final String FORTNIGHTLY_ON_MONDAY = "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO";
+    private static final String MONTHLY_ON_FIRST_DAY = "FREQ=MONTHLY;INTERVAL=1;BYMONTHDAY=1";
+    private static final LocalDate SEED_DATE = LocalDate.of(2022, 1, 3);
+    private static final LocalDate PERIOD_START = LocalDate.of(2022, 1, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2022, 4, 1);
+    private static final List<LocalDate> FORTNIGHTLY_DATES = List.of(LocalDate.of(2022, 1, 3), LocalDate.of(2022, 1, 17),
+            LocalDate.of(2022, 1, 31), LocalDate.of(2022, 2, 14), LocalDate.of(2022, 2, 28), LocalDate.of(2022, 3, 14),
+            LocalDate.of(2022, 3, 28));
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testRepeatedExpansionReturnsTheSameDatesInAFreshList() {
+        final Collection<LocalDate> first = CalendarUtils.getRecurringDates(FORTNIGHTLY_ON_MONDAY, SEED_DATE, PERIOD_START, PERIOD_END);
+        final Collection<LocalDate> second = CalendarUtils.getRecurringDates(FORTNIGHTLY_ON_MONDAY, SEED_DATE, PERIOD_START, PERIOD_END);
+
+        assertEquals(FORTNIGHTLY_DATES, first);
+        assertEquals(FORTNIGHTLY_DATES, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testCallersCanModifyTheReturnedDates() {
+        final Collection<LocalDate> dates = CalendarUtils.getRecurringDates(FORTNIGHTLY_ON_MONDAY, SEED_DATE, PERIOD_START, PERIOD_END);
+        dates.clear();
+        dates.add(LocalDate.of(2030, 1, 1));
+
+        final Collection<LocalDate> skipped = CalendarUtils.getRecurringDates(MONTHLY_ON_FIRST_DAY, PERIOD_START, PERIOD_START,
+                PERIOD_END, 10, true, 2);
+        skipped.clear();
+
+        assertEquals(FORTNIGHTLY_DATES,
+                CalendarUtils.getRecurringDates(FORTNIGHTLY_ON_MONDAY, SEED_DATE, PERIOD_START, PERIOD_END));
+        assertEquals(List.of(LocalDate.of(2022, 1, 3), LocalDate.of(2022, 2, 3), LocalDate.of(2022, 3, 3), LocalDate.of(2022, 4, 3)),
+                new ArrayList<>(
+                        CalendarUtils.getRecurringDates(MONTHLY_ON_FIRST_DAY, PERIOD_START, PERIOD_START, PERIOD_END, 10, true, 2)));
+    }
+
+    @Test
+    public void testSkippingTheFirstDayOfTheMonthLeavesTheSharedExpansionUntouched() {
+        final List<LocalDate> firstDays = List.of(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 2, 1), LocalDate.of(2022, 3, 1),
+                LocalDate.of(2022, 4, 1));
+        final LocalDate start = LocalDate.of(2021, 12, 1);
+        final LocalDate end = LocalDate.of(2022, 4, 2);
+
+        final Collection<LocalDate> skipped = CalendarUtils.getRecurringDates(MONTHLY_ON_FIRST_DAY, PERIOD_START, start, end, 10, true, 2);
+        final Collection<LocalDate> plain = CalendarUtils.getRecurringDates(MONTHLY_ON_FIRST_DAY, PERIOD_START, start, end, 10, false, 0);
+        final Collection<LocalDate> skippedAgain = CalendarUtils.getRecurringDates(MONTHLY_ON_FIRST_DAY, PERIOD_START, start, end, 10,
+                true, 5);
+
+        assertEquals(List.of(LocalDate.of(2022, 1, 3), LocalDate.of(2022, 2, 3), LocalDate.of(2022, 3, 3), LocalDate.of(2022, 4, 3)),
+                new ArrayList<>(skipped));
+        assertEquals(firstDays, plain);
+        assertEquals(List.of(LocalDate.of(2022, 1, 6), LocalDate.of(2022, 2, 6), LocalDate.of(2022, 3, 6), LocalDate.of(2022, 4, 6)),
+                new ArrayList<>(skippedAgain));
+    }
+
+    @Test
+    public void testMaxCountIsPartOfTheCachedWindow() {
+        final LocalDate end = LocalDate.of(2023, 1, 1);
+
+        final Collection<LocalDate> ten = CalendarUtils.getRecurringDates(FORTNIGHTLY_ON_MONDAY, SEED_DATE, PERIOD_START, end);
+        final Collection<LocalDate> three = CalendarUtils.getRecurringDates(FORTNIGHTLY_ON_MONDAY, SEED_DATE, PERIOD_START, end, 3, false,
+                0);
+        final Collection<LocalDate> tenAgain = CalendarUtils.getRecurringDates(FORTNIGHTLY_ON_MONDAY, SEED_DATE, PERIOD_START, end);
+
+        assertEquals(10, ten.size());
+        assertEquals(new ArrayList<>(ten).subList(0, 3), three);
+        assertEquals(FORTNIGHTLY_DATES, new ArrayList<>(ten).subList(0, FORTNIGHTLY_DATES.size()));
+        assertEquals(ten, tenAgain);
+    }
+
+    @Test
+    public void testNextRecurringDateIsCachedPerStartDate() {
+        assertEquals(LocalDate.of(2022, 1, 17),
+                CalendarUtils.getNextRecurringDate(FORTNIGHTLY_ON_MONDAY, SEED_DATE, LocalDate.of(2022, 1, 4)));
+        assertEquals(LocalDate.of(2022, 1, 17),
+                CalendarUtils.getNextRecurringDate(FORTNIGHTLY_ON_MONDAY, SEED_DATE, LocalDate.of(2022, 1, 4)));
+        // an equal rule written differently shares the cached next date
+        assertEquals(LocalDate.of(2022, 1, 31),
+                CalendarUtils.getNextRecurringDate(FORTNIGHTLY_ON_MONDAY, SEED_DATE, LocalDate.of(2022, 1, 18)));
+        assertEquals(LocalDate.of(2022, 1, 31),
+                CalendarUtils.getNextRecurringDate("FREQ=WEEKLY;BYDAY=MO;INTERVAL=2", SEED_DATE, LocalDate.of(2022, 1, 18)));
+    }
+
+    @Test
+    public void testParsedRulesAreSharedAndInvalidRulesFailAsBefore() {
+        final Recur recur = CalendarUtils.getICalRecur(FORTNIGHTLY_ON_MONDAY);
+
+        assertSame(recur, CalendarUtils.getICalRecur(FORTNIGHTLY_ON_MONDAY));
+        assertEquals(2, recur.getInterval());
+        assertNull(CalendarUtils.getICalRecur("FREQ=WEEKLY;UNTIL=x"));
+        assertNull(CalendarUtils.getICalRecur("FREQ=WEEKLY;UNTIL=x"));
+        assertNull(CalendarUtils.getRecurringDates("FREQ=WEEKLY;UNTIL=x", SEED_DATE, PERIOD_START, PERIOD_END));
+        assertThrows(IllegalArgumentException.class, () -> CalendarUtils.getICalRecur("FREQ=SOMETIMES"));
+        assertThrows(IllegalArgumentException.class, () -> CalendarUtils.getICalRecur("FREQ=SOMETIMES"));
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
+import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.serialization.ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson;
+import org.apache.fineract.infrastructure.core.serialization.ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.loanaccount.data.LoanAccountData;
+import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoansApiResourceTest {
+
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private ApiRequestParameterHelper apiRequestParameterHelper;
+    @Mock
+    private UriInfo uriInfo;
+    @Mock
+    private AppUser appUser;
+    @Spy
+    private DefaultToApiJsonSerializer<LoanAccountData> toApiJsonSerializer = new DefaultToApiJsonSerializer<>(
+            new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson(),
+            new ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson(), null, new GoogleGsonSerializerHelper());
+
+    @Captor
+    private ArgumentCaptor<Set<String>> parametersCaptor;
+
+    @InjectMocks
+    private LoansApiResource underTest;
+
+    private Page<LoanAccountData> loans;
+
+    @BeforeEach
+    public void setUp() {
+        given(this.context.authenticatedUser()).willReturn(this.appUser);
+        this.loans = new Page<>(
+                List.of(LoanAccountData.clientDefaults(7L, "000000007", "Zoë <Ñandú> & 東京", 1L, LocalDate.of(2022, 6, 1)),
+                        LoanAccountData.clientDefaults(8L, "000000008", "Jane", 2L, null)),
+                2);
+        given(this.loanReadPlatformService.retrieveAll(any())).willReturn(this.loans);
+    }
+
+    @Test
+    public void testStreamedLoanListIsTheSameAsTheSerializedString() throws IOException {
+        for (final boolean prettyPrint : new boolean[] { false, true }) {
+            assertStreamedAsSerialized(new ApiRequestJsonSerializationSettings(prettyPrint, Set.of(), false, false, false));
+        }
+    }
+
+    @Test
+    public void testStreamedPartialLoanListIsTheSameAsTheSerializedString() throws IOException {
+        for (final boolean prettyPrint : new boolean[] { false, true }) {
+            assertStreamedAsSerialized(
+                    new ApiRequestJsonSerializationSettings(prettyPrint, Set.of("clientId", "timeline"), false, false, false));
+        }
+    }
+
+    private void assertStreamedAsSerialized(final ApiRequestJsonSerializationSettings settings) throws IOException {
+        given(this.apiRequestParameterHelper.process(any())).willReturn(settings);
+
+        final StreamingOutput streamingOutput = this.underTest.retrieveAll(this.uriInfo, null, null, null, null, null, null, null);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamingOutput.write(output);
+        // what the endpoint returned before it streamed, for the response parameters it supports
+        verify(this.toApiJsonSerializer, atLeastOnce()).serializeToStream(eq(settings), eq(this.loans), this.parametersCaptor.capture());
+        final String expected = this.toApiJsonSerializer.serialize(settings, this.loans, this.parametersCaptor.getValue());
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), output.toByteArray());
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Property based test for the incremental path of {@code Loan.handleRepaymentOrRecoveryOrWaiverTransaction}: applying
+ * transactions dated after every earlier one on top of the current installment state has to leave the schedule and the
+ * transactions exactly as a full replay from disbursement does.
+ */
+public class LoanRepaymentScheduleIncrementalProcessingTest {
+
+    private static final long SEED = 20221017L;
+    private static final int SCENARIOS = 500;
+    private static final int NUMBER_OF_INSTALLMENTS = 12;
+    private static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2022, 1, 1);
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+
+    private final LoanRepaymentScheduleTransactionProcessor processor =
+            new InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor();
+    private final Set<LoanCharge> charges = new HashSet<>();
+
+    @BeforeEach
+    public void setUp() {
+        MoneyHelper.initializeRoundingMode(RoundingMode.HALF_EVEN);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        final HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, LocalDate.of(2023, 6, 30));
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void appendingLatestTransactionsMatchesFullReplay() {
+        final Random random = new Random(SEED);
+        for (int scenario = 0; scenario < SCENARIOS; scenario++) {
+            final List<TransactionSpec> processed = randomTransactions(random, random.nextInt(20), DISBURSEMENT_DATE);
+            final LocalDate lastProcessedDate = processed.isEmpty() ? DISBURSEMENT_DATE : processed.get(processed.size() - 1).date;
+            final List<TransactionSpec> appended = randomTransactions(random, 1 + random.nextInt(5), lastProcessedDate.plusDays(1));
+
+            final List<LoanRepaymentScheduleInstallment> incrementalSchedule = schedule();
+            final List<LoanTransaction> incrementalTransactions = transactions(processed);
+            this.processor.handleTransaction(DISBURSEMENT_DATE, incrementalTransactions, CURRENCY, incrementalSchedule, this.charges);
+            LocalDate lastDate = lastProcessedDate;
+            for (final LoanTransaction transaction : transactions(appended)) {
+                // the loan only takes this path for a transaction dated after all others
+                if (!transaction.getTransactionDate().isAfter(lastDate)) {
+                    continue;
+                }
+                this.processor.handleTransaction(transaction, CURRENCY, incrementalSchedule, this.charges);
+                incrementalTransactions.add(transaction);
+                lastDate = transaction.getTransactionDate();
+            }
+
+            final List<LoanRepaymentScheduleInstallment> fullSchedule = schedule();
+            final List<LoanTransaction> fullTransactions = new ArrayList<>(incrementalTransactions.size());
+            for (final LoanTransaction transaction : incrementalTransactions) {
+                fullTransactions.add(copy(transaction));
+            }
+            this.processor.handleTransaction(DISBURSEMENT_DATE, fullTransactions, CURRENCY, fullSchedule, this.charges);
+
+            final String description = "scenario " + scenario + " processed " + processed + " appended " + appended;
+            for (int i = 0; i < NUMBER_OF_INSTALLMENTS; i++) {
+                assertEquals(installmentState(fullSchedule.get(i)), installmentState(incrementalSchedule.get(i)), description);
+            }
+            for (int i = 0; i < fullTransactions.size(); i++) {
+                assertEquals(transactionState(fullTransactions.get(i)), transactionState(incrementalTransactions.get(i)), description);
+            }
+        }
+    }
+
+    private List<LoanRepaymentScheduleInstallment> schedule() {
+        final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>(NUMBER_OF_INSTALLMENTS);
+        LocalDate fromDate = DISBURSEMENT_DATE;
+        for (int i = 1; i <= NUMBER_OF_INSTALLMENTS; i++) {
+            final LocalDate dueDate = DISBURSEMENT_DATE.plusMonths(i);
+            installments.add(new LoanRepaymentScheduleInstallment(null, i, fromDate, dueDate, BigDecimal.valueOf(100),
+                    BigDecimal.valueOf(10), BigDecimal.ZERO, BigDecimal.ZERO, false, null));
+            fromDate = dueDate;
+        }
+        return installments;
+    }
+
+    private static List<TransactionSpec> randomTransactions(final Random random, final int count, final LocalDate from) {
+        final List<TransactionSpec> specs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final LocalDate date = from.plusDays(random.nextInt(420));
+            final boolean interestWaiver = random.nextInt(8) == 0;
+            final long cents = interestWaiver ? 1 + random.nextInt(1500) : 1 + random.nextInt(25000);
+            specs.add(new TransactionSpec(date, cents / 100.0, interestWaiver));
+        }
+        specs.sort(Comparator.comparing(spec -> spec.date));
+        return specs;
+    }
+
+    private static List<LoanTransaction> transactions(final List<TransactionSpec> specs) {
+        final List<LoanTransaction> transactions = new ArrayList<>(specs.size());
+        for (final TransactionSpec spec : specs) {
+            transactions.add(transaction(spec.date, spec.amount, spec.interestWaiver));
+        }
+        return transactions;
+    }
+
+    private static LoanTransaction copy(final LoanTransaction transaction) {
+        return transaction(transaction.getTransactionDate(), transaction.getAmount(CURRENCY).getAmount().doubleValue(),
+                transaction.isInterestWaiver());
+    }
+
+    private static LoanTransaction transaction(final LocalDate date, final double value, final boolean interestWaiver) {
+        final Money amount = Money.of(CURRENCY, BigDecimal.valueOf(value));
+        return interestWaiver ? LoanTransaction.waiver(null, null, amount, date, amount, amount.zero())
+                : LoanTransaction.repayment(null, amount, null, date, null);
+    }
+
+    private static List<Object> installmentState(final LoanRepaymentScheduleInstallment installment) {
+        return List.of(installment.getPrincipalCompleted(CURRENCY).getAmount(), installment.getInterestPaid(CURRENCY).getAmount(),
+                installment.getInterestWaived(CURRENCY).getAmount(), installment.getTotalPaidInAdvance(CURRENCY).getAmount(),
+                installment.getTotalPaidLate(CURRENCY).getAmount(), installment.getTotalOutstanding(CURRENCY).getAmount(),
+                installment.isObligationsMet(), String.valueOf(installment.getObligationsMetOnDate()));
+    }
+
+    private static List<Object> transactionState(final LoanTransaction transaction) {
+        return List.of(transaction.getTransactionDate(), transaction.getAmount(CURRENCY).getAmount(),
+                transaction.getPrincipalPortion(CURRENCY).getAmount(), transaction.getInterestPortion(CURRENCY).getAmount(),
+                transaction.getOverPaymentPortion(CURRENCY).getAmount());
+    }
+
+    private static final class TransactionSpec {
+
+        private final LocalDate date;
+        private final double amount;
+        private final boolean interestWaiver;
+
+        TransactionSpec(final LocalDate date, final double amount, final boolean interestWaiver) {
+            this.date = date;
+            this.amount = amount;
+            this.interestWaiver = interestWaiver;
+        }
+
+        @Override
+        public String toString() {
+            return (this.interestWaiver ? "waiver " : "repayment ") + this.amount + " on " + this.date;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import org.apache.fineract.infrastructure.core.exception.InvalidJsonException;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.junit.jupiter.api.Test;
+
+public class LoanEventApiJsonValidatorTest {
+
+    private final FromJsonHelper fromJsonHelper = new FromJsonHelper();
+    private final LoanEventApiJsonValidator underTest = new LoanEventApiJsonValidator(this.fromJsonHelper,
+            null, mock(LoanRepository.class));
+
+    @Test
+    public void validRepaymentPasses() {
+        final JsonElement element = parse("{\"transactionDate\": \"15 March 2022\", \"transactionAmount\": \"100.50\","
+                + " \"paymentTypeId\": 1, \"receiptNumber\": \"r1\", \"locale\": \"en\", \"dateFormat\": \"dd MMMM yyyy\"}");
+
+        assertDoesNotThrow(() -> this.underTest.validateNewRepaymentTransaction(element));
+    }
+
+    @Test
+    public void unsupportedParameterIsRejected() {
+        final JsonElement element = parse("{\"transactionDate\": \"15 March 2022\", \"amount\": 10, \"locale\": \"en\","
+                + " \"dateFormat\": \"dd MMMM yyyy\"}");
+
+        final UnsupportedParameterException exception = assertThrows(UnsupportedParameterException.class,
+                () -> this.underTest.validateTransaction(element));
+        assertEquals(1, exception.getUnsupportedParameters().size());
+        assertEquals("amount", exception.getUnsupportedParameters().get(0));
+    }
+
+    @Test
+    public void missingBodyIsInvalidJson() {
+        assertThrows(InvalidJsonException.class, () -> this.underTest.validateDisbursement(null, false));
+        assertThrows(InvalidJsonException.class, () -> this.underTest.validateAddLoanCharge(JsonNull.INSTANCE));
+    }
+
+    @Test
+    public void invalidValuesAreReported() {
+        final JsonElement element = parse("{\"chargeId\": 0, \"amount\": \"-5\", \"locale\": \"en\"}");
+
+        final PlatformApiDataValidationException exception = assertThrows(PlatformApiDataValidationException.class,
+                () -> this.underTest.validateAddLoanCharge(element));
+        assertEquals(2, exception.getErrors().size());
+    }
+
+    @Test
+    public void installmentChargeWithoutBodyIsAccepted() {
+        assertDoesNotThrow(() -> this.underTest.validateInstallmentChargeTransaction(null));
+        assertDoesNotThrow(() -> this.underTest.validateInstallmentChargeTransaction(JsonNull.INSTANCE));
+        assertThrows(UnsupportedParameterException.class, () -> this.underTest.validateInstallmentChargeTransaction(parse("{\"x\": 1}")));
+    }
+
+    private JsonElement parse(final String json) {
+        return this.fromJsonHelper.parse(json);
+    }
+}
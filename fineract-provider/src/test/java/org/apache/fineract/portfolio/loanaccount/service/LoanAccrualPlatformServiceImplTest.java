@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.JobRunProgressHolder;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoanAccrualPlatformServiceImplTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2022, 6, 1);
+    private static final List<Long> LOAN_IDS = List.of(1L, 2L, 3L, 4L, 5L);
+    private static final Long FAILING_LOAN_ID = 3L;
+    private static final Map<String, String> JOB_PARAMETERS = Map.of("thread-pool-size", "2", "batch-size", "2");
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private FineractPlatformTenantConnection connection;
+
+    private final Map<Long, List<LoanScheduleAccrualData>> accrualDatas = new HashMap<>();
+    private final Map<Long, Collection<LoanScheduleAccrualData>> posted = new ConcurrentHashMap<>();
+
+    private LoanAccrualPlatformServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", this.connection));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE);
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        given(this.connection.getMaxRetriesOnDeadlock()).willReturn(0);
+        given(this.transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        JobRunProgressHolder.clear();
+
+        for (final Long loanId : LOAN_IDS) {
+            this.accrualDatas.put(loanId, List.of(accrualData(loanId), accrualData(loanId)));
+        }
+
+        this.underTest = new LoanAccrualPlatformServiceImpl(this.loanReadPlatformService, this.loanAccrualWritePlatformService,
+                new PartitionedJobExecutor(new TransactionTemplate(this.transactionManager)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+        JobRunProgressHolder.clear();
+    }
+
+    @Test
+    public void testFailingLoanIsReportedWithoutStoppingItsChunk() throws Exception {
+        given(this.loanReadPlatformService.retrieveLoanIdsWithScheduleAccruals(anyLong(), anyInt()))
+                .willAnswer(invocation -> page(invocation.getArgument(0), invocation.getArgument(1)));
+        given(this.loanReadPlatformService.retriveScheduleAccrualData(anyCollection()))
+                .willAnswer(invocation -> rowsOf(invocation.getArgument(0)));
+        final IllegalStateException failure = new IllegalStateException("accrual failed");
+        willAnswer(invocation -> post(invocation.getArgument(0), invocation.getArgument(1), failure))
+                .given(this.loanAccrualWritePlatformService).addAccrualAccounting(anyLong(), any());
+
+        final JobExecutionException exception = assertThrows(JobExecutionException.class,
+                () -> this.underTest.addAccrualAccounting(JOB_PARAMETERS));
+
+        assertEquals(1, exception.getCauses().size());
+        assertSame(failure, exception.getCauses().get(0));
+        assertPostedEveryLoanButTheFailingOne();
+        // loans are posted in their own transactions, the chunk itself is never wrapped in one
+        verify(this.transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void testPeriodicAccrualsPostEveryLoanTillTheBusinessDate() throws Exception {
+        given(this.loanReadPlatformService.retrieveLoanIdsWithPeriodicAccruals(eq(BUSINESS_DATE), anyLong(), anyInt()))
+                .willAnswer(invocation -> page(invocation.getArgument(1), invocation.getArgument(2)));
+        given(this.loanReadPlatformService.retrivePeriodicAccrualData(eq(BUSINESS_DATE), anyCollection()))
+                .willAnswer(invocation -> rowsOf(invocation.getArgument(1)));
+        final IllegalStateException failure = new IllegalStateException("accrual failed");
+        willAnswer(invocation -> post(invocation.getArgument(1), invocation.getArgument(2), failure))
+                .given(this.loanAccrualWritePlatformService).addPeriodicAccruals(eq(BUSINESS_DATE), anyLong(), any());
+
+        final JobExecutionException exception = assertThrows(JobExecutionException.class,
+                () -> this.underTest.addPeriodicAccruals(JOB_PARAMETERS));
+
+        assertEquals(List.of(failure), exception.getCauses());
+        assertPostedEveryLoanButTheFailingOne();
+        verify(this.transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void testNoErrorIsRaisedWhenEveryLoanIsPosted() throws Exception {
+        given(this.loanReadPlatformService.retrieveLoanIdsWithScheduleAccruals(anyLong(), anyInt()))
+                .willAnswer(invocation -> page(invocation.getArgument(0), invocation.getArgument(1)));
+        given(this.loanReadPlatformService.retriveScheduleAccrualData(anyCollection()))
+                .willAnswer(invocation -> rowsOf(invocation.getArgument(0)));
+        willAnswer(invocation -> post(invocation.getArgument(0), invocation.getArgument(1), null))
+                .given(this.loanAccrualWritePlatformService).addAccrualAccounting(anyLong(), any());
+
+        this.underTest.addAccrualAccounting(JOB_PARAMETERS);
+
+        assertEquals(LOAN_IDS, this.posted.keySet().stream().sorted().collect(Collectors.toList()));
+    }
+
+    private void assertPostedEveryLoanButTheFailingOne() {
+        // loan 4 shares its chunk with the failing loan 3 and must still be posted
+        assertEquals(List.of(1L, 2L, 4L, 5L), this.posted.keySet().stream().sorted().collect(Collectors.toList()));
+        for (final Map.Entry<Long, Collection<LoanScheduleAccrualData>> entry : this.posted.entrySet()) {
+            assertEquals(this.accrualDatas.get(entry.getKey()), new ArrayList<>(entry.getValue()));
+        }
+    }
+
+    private List<Long> page(final Long lastLoanId, final Integer pageSize) {
+        return LOAN_IDS.stream().filter(loanId -> loanId > lastLoanId).limit(pageSize).collect(Collectors.toList());
+    }
+
+    private List<LoanScheduleAccrualData> rowsOf(final Collection<Long> loanIds) {
+        final List<LoanScheduleAccrualData> rows = new ArrayList<>();
+        for (final Long loanId : loanIds) {
+            rows.addAll(this.accrualDatas.get(loanId));
+        }
+        return rows;
+    }
+
+    private Object post(final Long loanId, final Collection<LoanScheduleAccrualData> datas, final Exception failure) throws Exception {
+        if (FAILING_LOAN_ID.equals(loanId) && failure != null) {
+            throw failure;
+        }
+        this.posted.put(loanId, datas);
+        return null;
+    }
+
+    private static LoanScheduleAccrualData accrualData(final Long loanId) {
+        final LoanScheduleAccrualData accrualData = mock(LoanScheduleAccrualData.class);
+        given(accrualData.getLoanId()).willReturn(loanId);
+        return accrualData;
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.organisation.monetary.data.CurrencyData;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrencyRepositoryWrapper;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.data.LoanChargeData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.apache.fineract.useradministration.domain.AppUserRepositoryWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoanAccrualWritePlatformServiceImplTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2022, 3, 15);
+    private static final String SCHEDULE_SQL = "UPDATE m_loan_repayment_schedule SET accrual_interest_derived=?, "
+            + "accrual_fee_charges_derived=?, accrual_penalty_charges_derived=? WHERE  id=?";
+    private static final String ACCRUED_TILL_SQL = "UPDATE m_loan  SET accrued_till=?  WHERE  id=?";
+    private static final String CHARGES_PAID_SQL = "INSERT INTO m_loan_charge_paid_by (loan_transaction_id, loan_charge_id, "
+            + "amount,installment_number) VALUES (?,?,?,?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private LoanChargeReadPlatformService loanChargeReadPlatformService;
+    @Mock
+    private JournalEntryWritePlatformService journalEntryWritePlatformService;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchCaptor;
+    @Captor
+    private ArgumentCaptor<Map<String, Object>> bridgeCaptor;
+
+    private final CurrencyData currency = new CurrencyData("USD", 2, null);
+
+    private LoanAccrualWritePlatformServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE);
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        MoneyHelper.initializeRoundingMode(RoundingMode.HALF_EVEN);
+
+        given(databaseTypeResolver.isMySQL()).willReturn(true);
+
+        underTest = new LoanAccrualWritePlatformServiceImpl(jdbcTemplate, loanReadPlatformService, journalEntryWritePlatformService,
+                loanChargeReadPlatformService, mock(AppUserRepositoryWrapper.class), mock(LoanRepositoryWrapper.class),
+                mock(ApplicationCurrencyRepositoryWrapper.class), new DatabaseSpecificSQLGenerator(databaseTypeResolver));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testInstallmentsOfALoanArePostedWithOneScheduleBatchAndOneJournalEntryCall() throws Exception {
+        final LoanChargeData charge = mock(LoanChargeData.class);
+        given(charge.getId()).willReturn(900L);
+        given(charge.getChargeId()).willReturn(90L);
+        given(charge.getDueDate()).willReturn(LocalDate.of(2022, 2, 15));
+        given(charge.getAmount()).willReturn(new BigDecimal("5.00"));
+        given(loanChargeReadPlatformService.retrieveLoanChargesForAccural(7L)).willReturn(List.of(charge));
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).willReturn(11L, 12L);
+
+        final LoanScheduleAccrualData first = accrualData(7L, 1, null, LocalDate.of(2022, 1, 1), LocalDate.of(2022, 2, 1), 101L, null);
+        final LoanScheduleAccrualData second = accrualData(7L, 2, null, LocalDate.of(2022, 2, 1), LocalDate.of(2022, 3, 1), 102L,
+                new BigDecimal("4.00"));
+        // already accrued in full, nothing is posted for it
+        final LoanScheduleAccrualData third = accrualData(7L, 3, null, LocalDate.of(2022, 3, 1), LocalDate.of(2022, 4, 1), 103L,
+                new BigDecimal("10.00"));
+
+        underTest.addAccrualAccounting(7L, List.of(first, second, third));
+
+        // the rows the per installment updates wrote, in installment order
+        verify(jdbcTemplate).batchUpdate(eq(SCHEDULE_SQL), batchCaptor.capture());
+        assertRows(List.of(new Object[] { new BigDecimal("10.00"), null, null, 101L },
+                new Object[] { new BigDecimal("10.00"), new BigDecimal("5.00"), null, 102L }), batchCaptor.getValue());
+
+        verify(jdbcTemplate).batchUpdate(eq(CHARGES_PAID_SQL), batchCaptor.capture());
+        assertRows(List.<Object[]>of(new Object[] { 12L, 900L, new BigDecimal("5.00"), 2 }), batchCaptor.getValue());
+
+        // accrued_till ends on the due date of the last posted installment, written once instead of per installment
+        verify(jdbcTemplate, times(1)).update(eq(ACCRUED_TILL_SQL), (Object[]) any());
+        verify(jdbcTemplate).update(ACCRUED_TILL_SQL, LocalDate.of(2022, 3, 1), 7L);
+
+        verify(journalEntryWritePlatformService, times(1)).createJournalEntriesForLoan(bridgeCaptor.capture());
+        final List<Map<String, Object>> transactions = assertBridgeData(bridgeCaptor.getValue(), first, second);
+        assertTransaction(transactions.get(0), 11L, LocalDate.of(2022, 2, 1), "10.00", "10.00", null);
+        assertTransaction(transactions.get(1), 12L, LocalDate.of(2022, 3, 1), "11.00", "6.00", "5.00");
+        assertEquals(List.of(Map.of("chargeId", 90L, "isPenalty", false, "loanChargeId", 900L, "amount", new BigDecimal("5.00"))),
+                transactions.get(1).get("loanChargesPaid"));
+    }
+
+    @Test
+    public void testPeriodicAccrualsPostTheCurrentInstallmentTillTheGivenDate() throws Exception {
+        given(loanChargeReadPlatformService.retrieveLoanChargesForAccural(8L)).willReturn(List.of());
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).willReturn(21L, 22L, 23L);
+
+        final LoanScheduleAccrualData first = accrualData(8L, 1, LocalDate.of(2022, 1, 1), LocalDate.of(2022, 1, 1),
+                LocalDate.of(2022, 2, 1), 201L, null);
+        final LoanScheduleAccrualData second = accrualData(8L, 2, LocalDate.of(2022, 1, 1), LocalDate.of(2022, 2, 1),
+                LocalDate.of(2022, 3, 1), 202L, new BigDecimal("3.00"));
+        // 14 of its 30 days lie before the till date
+        final LoanScheduleAccrualData current = new LoanScheduleAccrualData(8L, 1L, 3, LocalDate.of(2022, 1, 1),
+                PeriodFrequencyType.MONTHS, 1, LocalDate.of(2022, 3, 31), LocalDate.of(2022, 3, 1), 203L, 5L, new BigDecimal("30.00"),
+                null, null, null, null, null, currency, null, null);
+
+        underTest.addPeriodicAccruals(BUSINESS_DATE, 8L, List.of(first, second, current));
+
+        verify(jdbcTemplate).batchUpdate(eq(SCHEDULE_SQL), batchCaptor.capture());
+        assertRows(List.of(new Object[] { new BigDecimal("10.00"), null, null, 201L },
+                new Object[] { new BigDecimal("10.00"), null, null, 202L }, new Object[] { new BigDecimal("14.00"), null, null, 203L }),
+                batchCaptor.getValue());
+        verify(jdbcTemplate, never()).batchUpdate(eq(CHARGES_PAID_SQL), anyList());
+
+        verify(jdbcTemplate, times(1)).update(eq(ACCRUED_TILL_SQL), (Object[]) any());
+        verify(jdbcTemplate).update(ACCRUED_TILL_SQL, BUSINESS_DATE, 8L);
+
+        verify(journalEntryWritePlatformService, times(1)).createJournalEntriesForLoan(bridgeCaptor.capture());
+        final List<Map<String, Object>> transactions = assertBridgeData(bridgeCaptor.getValue(), first, second, current);
+        assertTransaction(transactions.get(0), 21L, LocalDate.of(2022, 2, 1), "10.00", "10.00", null);
+        assertTransaction(transactions.get(1), 22L, LocalDate.of(2022, 3, 1), "7.00", "7.00", null);
+        assertTransaction(transactions.get(2), 23L, BUSINESS_DATE, "14.00", "14.00", null);
+    }
+
+    @Test
+    public void testLoanWithNothingToAccrueWritesNothing() throws Exception {
+        given(loanChargeReadPlatformService.retrieveLoanChargesForAccural(9L)).willReturn(List.of());
+
+        underTest.addAccrualAccounting(9L, List.of(accrualData(9L, 1, null, LocalDate.of(2022, 1, 1), LocalDate.of(2022, 2, 1), 301L,
+                new BigDecimal("10.00"))));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, never()).update(anyString(), (Object[]) any());
+        verify(journalEntryWritePlatformService, never()).createJournalEntriesForLoan(any());
+    }
+
+    /**
+     * Checks that the single journal entry call carries the loan level data each per installment call carried, and
+     * returns its accrual transactions.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> assertBridgeData(final Map<String, Object> bridgeData,
+            final LoanScheduleAccrualData... postedDatas) {
+        final List<Map<String, Object>> transactions = (List<Map<String, Object>>) bridgeData.get("newLoanTransactions");
+        assertEquals(postedDatas.length, transactions.size());
+        final Map<String, Object> loanData = new LinkedHashMap<>(bridgeData);
+        loanData.remove("newLoanTransactions");
+        for (int i = 0; i < postedDatas.length; i++) {
+            final Map<String, Object> perInstallment = new LinkedHashMap<>(
+                    underTest.deriveAccountingBridgeData(postedDatas[i], List.of(transactions.get(i))));
+            perInstallment.remove("newLoanTransactions");
+            assertEquals(perInstallment, loanData);
+        }
+        return transactions;
+    }
+
+    private static void assertTransaction(final Map<String, Object> transaction, final Long id, final LocalDate date, final String amount,
+            final String interest, final String fee) {
+        assertEquals(id, transaction.get("id"));
+        assertEquals(date, transaction.get("date"));
+        assertEquals(new BigDecimal(amount), transaction.get("amount"));
+        assertEquals(new BigDecimal(interest), transaction.get("interestPortion"));
+        assertEquals(fee == null ? null : new BigDecimal(fee), transaction.get("feeChargesPortion"));
+        assertEquals(null, transaction.get("penaltyChargesPortion"));
+    }
+
+    private static void assertRows(final List<Object[]> expected, final List<Object[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private LoanScheduleAccrualData accrualData(final Long loanId, final Integer installmentNumber, final LocalDate accruedTill,
+            final LocalDate fromDate, final LocalDate dueDate, final Long repaymentScheduleId, final BigDecimal accruedInterest) {
+        return new LoanScheduleAccrualData(loanId, 1L, installmentNumber, accruedTill, PeriodFrequencyType.MONTHS, 1, dueDate, fromDate,
+                repaymentScheduleId, 5L, new BigDecimal("10.00"), null, null, accruedInterest, null, null, currency, null, null);
+    }
+}
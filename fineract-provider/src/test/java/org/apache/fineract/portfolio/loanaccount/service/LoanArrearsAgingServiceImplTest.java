@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.businessevent.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoanArrearsAgingServiceImplTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2022, 6, 1);
+    private static final String UPSERT_SQL = "INSERT INTO m_loan_arrears_aging (principal_overdue_derived, interest_overdue_derived, "
+            + "fee_charges_overdue_derived, penalty_charges_overdue_derived, total_overdue_derived, overdue_since_date_derived, loan_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE principal_overdue_derived = VALUES(principal_overdue_derived), "
+            + "interest_overdue_derived = VALUES(interest_overdue_derived), "
+            + "fee_charges_overdue_derived = VALUES(fee_charges_overdue_derived), "
+            + "penalty_charges_overdue_derived = VALUES(penalty_charges_overdue_derived), "
+            + "total_overdue_derived = VALUES(total_overdue_derived), overdue_since_date_derived = VALUES(overdue_since_date_derived)";
+    private static final String DELETE_SQL = "DELETE FROM m_loan_arrears_aging WHERE loan_id = ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+
+    @Mock
+    private Loan loan;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchCaptor;
+
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2, null);
+
+    private LoanArrearsAgingServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        HashMap<BusinessDateType, LocalDate> businessDates = new HashMap<>();
+        businessDates.put(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE);
+        ThreadLocalContextUtil.setBusinessDates(businessDates);
+        MoneyHelper.initializeRoundingMode(RoundingMode.HALF_EVEN);
+
+        given(databaseTypeResolver.isMySQL()).willReturn(true);
+        given(loan.getId()).willReturn(42L);
+        given(loan.getCurrency()).willReturn(currency);
+
+        underTest = new LoanArrearsAgingServiceImpl(jdbcTemplate, mock(BusinessEventNotifierService.class),
+                new DatabaseSpecificSQLGenerator(databaseTypeResolver), mock(PartitionedJobExecutor.class),
+                mock(LoanRepositoryWrapper.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testOverdueLoanIsUpsertedWithoutReadingItsRowFirst() {
+        given(loan.getRepaymentScheduleInstallments()).willReturn(List.of(
+                installment(LocalDate.of(2022, 4, 1), LocalDate.of(2022, 5, 1), "100", "10"),
+                installment(LocalDate.of(2022, 5, 1), LocalDate.of(2022, 6, 1), "100", "10")));
+
+        underTest.updateLoanArrearsAgeingDetails(loan);
+
+        verify(jdbcTemplate).batchUpdate(eq(UPSERT_SQL), batchCaptor.capture());
+        assertEquals(1, batchCaptor.getValue().size());
+        assertArrayEquals(new Object[] { new BigDecimal("100.00"), new BigDecimal("10.00"), new BigDecimal("0.00"),
+                new BigDecimal("0.00"), new BigDecimal("110.00"), LocalDate.of(2022, 5, 1), 42L }, batchCaptor.getValue().get(0));
+        verify(jdbcTemplate, never()).batchUpdate(eq(DELETE_SQL), batchCaptor.capture());
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), (Object[]) any());
+    }
+
+    @Test
+    public void testLoanNoLongerOverdueHasItsRowDeleted() {
+        given(loan.getRepaymentScheduleInstallments())
+                .willReturn(List.of(installment(LocalDate.of(2022, 6, 1), LocalDate.of(2022, 7, 1), "100", "10")));
+
+        underTest.updateLoanArrearsAgeingDetails(loan);
+
+        verify(jdbcTemplate).batchUpdate(eq(DELETE_SQL), batchCaptor.capture());
+        assertArrayEquals(new Object[] { 42L }, batchCaptor.getValue().get(0));
+        verify(jdbcTemplate, never()).batchUpdate(eq(UPSERT_SQL), batchCaptor.capture());
+    }
+
+    private LoanRepaymentScheduleInstallment installment(final LocalDate fromDate, final LocalDate dueDate, final String principal,
+            final String interest) {
+        return new LoanRepaymentScheduleInstallment(loan, 1, fromDate, dueDate, new BigDecimal(principal), new BigDecimal(interest),
+                BigDecimal.ZERO, BigDecimal.ZERO, false, null);
+    }
+}
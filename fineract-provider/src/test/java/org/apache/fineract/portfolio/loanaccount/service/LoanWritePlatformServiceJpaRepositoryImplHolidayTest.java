@@ -0,0 +1,234 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.partition.KeysetIdProducer;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobExecutor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobItemProcessor;
+import org.apache.fineract.infrastructure.jobs.partition.PartitionedJobParameters;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.domain.HolidayRepositoryWrapper;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoanWritePlatformServiceJpaRepositoryImplHolidayTest {
+
+    private static final LocalDate HOLIDAY_FROM = LocalDate.of(2022, 6, 1);
+    private static final LocalDate HOLIDAY_TO = LocalDate.of(2022, 6, 3);
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+
+    @Mock
+    private HolidayRepositoryWrapper holidayRepository;
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+
+    @Mock
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+
+    @Mock
+    private LoanUtilService loanUtilService;
+
+    @Mock
+    private PartitionedJobExecutor partitionedJobExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LoanWritePlatformServiceJpaRepositoryImpl underTest;
+
+    private final Map<Long, Loan> loans = new HashMap<>();
+    private final List<Long> rescheduledLoanIds = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger transactions = new AtomicInteger();
+    private final ThreadLocal<List<Loan>> savedInTransaction = ThreadLocal.withInitial(ArrayList::new);
+    private final List<Loan> committedLoans = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void setUp() throws JobExecutionException {
+        final FineractPlatformTenantConnection connection = mock(FineractPlatformTenantConnection.class);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", connection));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>());
+
+        // the real executor is used, so that loans are paged and chunked as in a job run
+        final PartitionedJobExecutor executor = new PartitionedJobExecutor(new TransactionTemplate(this.transactionManager));
+        willAnswer(invocation -> executor.execute(invocation.getArgument(0), invocation.<PartitionedJobParameters>getArgument(1),
+                invocation.<KeysetIdProducer>getArgument(2), invocation.<PartitionedJobItemProcessor<Object>>getArgument(3)))
+                .given(this.partitionedJobExecutor).execute(any(), any(), any(), any());
+        given(this.transactionManager.getTransaction(any())).willAnswer(invocation -> {
+            this.transactions.incrementAndGet();
+            return new SimpleTransactionStatus();
+        });
+        willAnswer(invocation -> {
+            this.committedLoans.addAll(this.savedInTransaction.get());
+            this.savedInTransaction.remove();
+            return null;
+        }).given(this.transactionManager).commit(any());
+        willAnswer(invocation -> {
+            this.savedInTransaction.remove();
+            return null;
+        }).given(this.transactionManager).rollback(any());
+        given(this.loanRepositoryWrapper.save(any(Loan.class))).willAnswer(invocation -> {
+            this.savedInTransaction.get().add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        given(this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled()).willReturn(true);
+        given(this.loanRepositoryWrapper.findOneWithNotFoundDetection(anyLong(), eq(true)))
+                .willAnswer(invocation -> this.loans.get(invocation.<Long>getArgument(0)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testLoansWithInstallmentsInTheHolidayAreRescheduledChunkByChunk() throws JobExecutionException {
+        final Holiday holiday = holiday(10L, 7L);
+        givenLoansInHoliday(List.of(7L), LongStream.rangeClosed(1, 5).boxed().collect(Collectors.toList()));
+
+        this.underTest.applyHolidaysToLoans(Map.of(PartitionedJobParameters.THREAD_POOL_SIZE_PARAMETER, "1",
+                PartitionedJobParameters.BATCH_SIZE_PARAMETER, "2"));
+
+        // pages of two, each starting after the last id of the previous page
+        verify(this.loanReadPlatformService).retrieveLoanIdsWithInstallmentsDueBetween(List.of(7L), loanStatuses(), HOLIDAY_FROM,
+                HOLIDAY_TO, 0L, 2);
+        verify(this.loanReadPlatformService).retrieveLoanIdsWithInstallmentsDueBetween(List.of(7L), loanStatuses(), HOLIDAY_FROM,
+                HOLIDAY_TO, 2L, 2);
+        verify(this.loanReadPlatformService).retrieveLoanIdsWithInstallmentsDueBetween(List.of(7L), loanStatuses(), HOLIDAY_FROM,
+                HOLIDAY_TO, 4L, 2);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), this.rescheduledLoanIds);
+        assertEquals(3, this.transactions.get());
+        for (final Loan loan : this.loans.values()) {
+            verify(loan).applyHolidayToRepaymentScheduleDates(holiday, this.loanUtilService);
+        }
+        assertEquals(5, this.committedLoans.size());
+        verify(holiday).processed();
+        verify(this.holidayRepository).save(holiday);
+    }
+
+    @Test
+    public void testHolidayWithAFailedLoanStaysUnprocessedWhileOtherHolidaysAreProcessed() {
+        final Holiday failing = holiday(10L, 7L);
+        final Holiday succeeding = holiday(11L, 8L);
+        given(this.holidayRepository.findUnprocessed()).willReturn(List.of(failing, succeeding));
+        givenLoansInHoliday(List.of(7L), List.of(1L, 2L, 3L));
+        givenLoansInHoliday(List.of(8L), List.of(4L));
+        final RuntimeException failure = new IllegalStateException("loan 2 cannot be rescheduled");
+        willThrow(failure).given(this.loans.get(2L)).applyHolidayToRepaymentScheduleDates(any(), any());
+
+        final JobExecutionException exception = assertThrows(JobExecutionException.class,
+                () -> this.underTest.applyHolidaysToLoans(Map.of(PartitionedJobParameters.THREAD_POOL_SIZE_PARAMETER, "1")));
+
+        assertEquals(List.of(failure), exception.getCauses());
+        // the failed chunk is rolled back and retried one loan per transaction, so the neighbours of the broken loan are kept
+        assertEquals(List.of(this.loans.get(1L), this.loans.get(3L), this.loans.get(4L)), this.committedLoans);
+        verify(failing, never()).processed();
+        verify(this.holidayRepository, never()).save(failing);
+        verify(succeeding).processed();
+        verify(this.holidayRepository).save(succeeding);
+    }
+
+    @Test
+    public void testNothingIsRescheduledWhenRescheduleOnHolidaysIsDisabled() throws JobExecutionException {
+        given(this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled()).willReturn(false);
+
+        this.underTest.applyHolidaysToLoans(Map.of());
+
+        verify(this.holidayRepository, never()).findUnprocessed();
+    }
+
+    private Holiday holiday(final Long holidayId, final Long officeId) {
+        final Office office = mock(Office.class);
+        given(office.getId()).willReturn(officeId);
+        final Holiday holiday = mock(Holiday.class);
+        given(holiday.getId()).willReturn(holidayId);
+        given(holiday.getOffices()).willReturn(Set.of(office));
+        given(holiday.getFromDateLocalDate()).willReturn(HOLIDAY_FROM);
+        given(holiday.getToDateLocalDate()).willReturn(HOLIDAY_TO);
+        given(this.holidayRepository.findUnprocessed()).willReturn(List.of(holiday));
+        return holiday;
+    }
+
+    private void givenLoansInHoliday(final Collection<Long> officeIds, final List<Long> loanIds) {
+        for (final Long loanId : loanIds) {
+            final Loan loan = mock(Loan.class);
+            willAnswer(invocation -> this.rescheduledLoanIds.add(loanId)).given(loan).applyHolidayToRepaymentScheduleDates(any(), any());
+            this.loans.put(loanId, loan);
+        }
+        given(this.loanReadPlatformService.retrieveLoanIdsWithInstallmentsDueBetween(eq(officeIds), anyCollection(), eq(HOLIDAY_FROM),
+                eq(HOLIDAY_TO), anyLong(), anyInt())).willAnswer(invocation -> {
+                    final Long maxLoanId = invocation.getArgument(4);
+                    final int pageSize = invocation.getArgument(5);
+                    return loanIds.stream().filter(id -> id > maxLoanId).limit(pageSize).collect(Collectors.toList());
+                });
+    }
+
+    private static Collection<Integer> loanStatuses() {
+        return List.of(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(), LoanStatus.APPROVED.getValue(), LoanStatus.ACTIVE.getValue());
+    }
+}